@@ -24,12 +24,13 @@ import java.util.Objects;
 import org.jboss.errai.common.client.api.annotations.Portable;
 import org.jboss.errai.databinding.client.api.Bindable;
 import org.jbpm.workbench.cm.util.CaseStatus;
+import org.uberfire.paging.AbstractPageRow;
 
 import static java.util.Optional.ofNullable;
 
 @Bindable
 @Portable
-public class CaseInstanceSummary {
+public class CaseInstanceSummary extends AbstractPageRow {
 
     private String caseId;
     private String description;
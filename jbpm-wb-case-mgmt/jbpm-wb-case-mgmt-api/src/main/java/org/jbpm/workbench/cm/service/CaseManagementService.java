@@ -23,7 +23,9 @@ import org.jboss.errai.bus.server.annotations.Remote;
 import org.jbpm.workbench.cm.model.*;
 import org.jbpm.workbench.cm.util.Actions;
 import org.jbpm.workbench.cm.util.CaseInstanceSearchRequest;
+import org.jbpm.workbench.cm.util.CaseInstanceSnapshot;
 import org.jbpm.workbench.cm.util.CaseMilestoneSearchRequest;
+import org.uberfire.paging.PageResponse;
 
 @Remote
 public interface CaseManagementService {
@@ -37,10 +39,19 @@ public interface CaseManagementService {
                              String owner,
                              List<CaseRoleAssignmentSummary> roleAssignments);
 
-    List<CaseInstanceSummary> getCaseInstances(CaseInstanceSearchRequest request);
+    PageResponse<CaseInstanceSummary> getCaseInstances(CaseInstanceSearchRequest request);
 
     CaseInstanceSummary getCaseInstance(String containerId, String caseId);
 
+    /**
+     * Loads the case instance together with its definition, milestones, first page of comments, actions and the
+     * process definitions of its container, in a single call.
+     */
+    CaseInstanceSnapshot getCaseInstanceSnapshot(String containerId,
+                                                 String caseId,
+                                                 String userId,
+                                                 Integer commentsPageSize);
+
     void cancelCaseInstance(String containerId, String caseId);
 
     void closeCaseInstance(String containerId,
@@ -93,9 +104,14 @@ public interface CaseManagementService {
 
     List<CaseStageSummary> getCaseStages(String containerId, String caseId);
 
+    /**
+     * @param completedActionsOffset number of completed actions already loaded, only the page of completed actions
+     * after them is returned
+     */
     Actions getCaseActions(String container,
                            String caseId,
-                           String userId);
+                           String userId,
+                           int completedActionsOffset);
 
     void addDynamicUserTask(String containerId,
                             String caseId,
@@ -25,6 +25,7 @@ public class Actions {
     private List<CaseActionSummary> availableActions;
     private List<CaseActionSummary> inProgressAction;
     private List<CaseActionSummary> completeActions;
+    private boolean completeActionsLastPage = true;
 
     public List<CaseActionSummary> getAvailableActions() {
         return availableActions;
@@ -49,4 +50,12 @@ public class Actions {
     public void setCompleteActions(List<CaseActionSummary> completeActions) {
         this.completeActions = completeActions;
     }
+
+    public boolean isCompleteActionsLastPage() {
+        return completeActionsLastPage;
+    }
+
+    public void setCompleteActionsLastPage(boolean completeActionsLastPage) {
+        this.completeActionsLastPage = completeActionsLastPage;
+    }
 }
\ No newline at end of file
@@ -29,9 +29,30 @@ public class CaseInstanceSearchRequest {
 
     private Boolean sortByAsc = true;
 
+    private Integer offset = 0;
+
+    private Integer pageSize = 20;
+
+    private String containerId;
+
+    private String caseDefinitionId;
+
+    private String owner;
+
     public CaseInstanceSearchRequest() {
     }
 
+    public CaseInstanceSearchRequest(final CaseInstanceSearchRequest request) {
+        this.status = request.getStatus();
+        this.sortBy = request.getSortBy();
+        this.sortByAsc = request.getSortByAsc();
+        this.offset = request.getOffset();
+        this.pageSize = request.getPageSize();
+        this.containerId = request.getContainerId();
+        this.caseDefinitionId = request.getCaseDefinitionId();
+        this.owner = request.getOwner();
+    }
+
     public CaseStatus getStatus() {
         return status;
     }
@@ -56,12 +77,66 @@ public class CaseInstanceSearchRequest {
         this.sortByAsc = sortByAsc;
     }
 
+    public Integer getOffset() {
+        return offset;
+    }
+
+    public void setOffset(final Integer offset) {
+        this.offset = offset;
+    }
+
+    public Integer getPageSize() {
+        return pageSize;
+    }
+
+    public void setPageSize(final Integer pageSize) {
+        this.pageSize = pageSize;
+    }
+
+    public String getContainerId() {
+        return containerId;
+    }
+
+    /**
+     * Restricts the search to the given container, see also {@link #setCaseDefinitionId(String)}
+     */
+    public void setContainerId(final String containerId) {
+        this.containerId = containerId;
+    }
+
+    public String getCaseDefinitionId() {
+        return caseDefinitionId;
+    }
+
+    /**
+     * Restricts the search to instances of the given case definition, only applied together with a container id
+     */
+    public void setCaseDefinitionId(final String caseDefinitionId) {
+        this.caseDefinitionId = caseDefinitionId;
+    }
+
+    public String getOwner() {
+        return owner;
+    }
+
+    /**
+     * Restricts the search to cases owned by the given user, only applied when no container id is set
+     */
+    public void setOwner(final String owner) {
+        this.owner = owner;
+    }
+
     @Override
     public String toString() {
         return "CaseInstanceSearchRequest{" +
                 "status=" + status +
                 ", sortBy=" + sortBy +
                 ", sortByAsc=" + sortByAsc +
+                ", offset=" + offset +
+                ", pageSize=" + pageSize +
+                ", containerId='" + containerId + '\'' +
+                ", caseDefinitionId='" + caseDefinitionId + '\'' +
+                ", owner='" + owner + '\'' +
                 '}';
     }
 
@@ -82,7 +157,22 @@ public class CaseInstanceSearchRequest {
         if (getSortBy() != that.getSortBy()) {
             return false;
         }
-        return getSortByAsc() != null ? getSortByAsc().equals(that.getSortByAsc()) : that.getSortByAsc() == null;
+        if (getSortByAsc() != null ? !getSortByAsc().equals(that.getSortByAsc()) : that.getSortByAsc() != null) {
+            return false;
+        }
+        if (getOffset() != null ? !getOffset().equals(that.getOffset()) : that.getOffset() != null) {
+            return false;
+        }
+        if (getPageSize() != null ? !getPageSize().equals(that.getPageSize()) : that.getPageSize() != null) {
+            return false;
+        }
+        if (getContainerId() != null ? !getContainerId().equals(that.getContainerId()) : that.getContainerId() != null) {
+            return false;
+        }
+        if (getCaseDefinitionId() != null ? !getCaseDefinitionId().equals(that.getCaseDefinitionId()) : that.getCaseDefinitionId() != null) {
+            return false;
+        }
+        return getOwner() != null ? getOwner().equals(that.getOwner()) : that.getOwner() == null;
     }
 
     @Override
@@ -94,6 +184,16 @@ public class CaseInstanceSearchRequest {
         result = ~~result;
         result = 31 * result + (getSortByAsc() != null ? getSortByAsc().hashCode() : 0);
         result = ~~result;
+        result = 31 * result + (getOffset() != null ? getOffset().hashCode() : 0);
+        result = ~~result;
+        result = 31 * result + (getPageSize() != null ? getPageSize().hashCode() : 0);
+        result = ~~result;
+        result = 31 * result + (getContainerId() != null ? getContainerId().hashCode() : 0);
+        result = ~~result;
+        result = 31 * result + (getCaseDefinitionId() != null ? getCaseDefinitionId().hashCode() : 0);
+        result = ~~result;
+        result = 31 * result + (getOwner() != null ? getOwner().hashCode() : 0);
+        result = ~~result;
         return result;
     }
 }
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jbpm.workbench.cm.util;
+
+import java.util.List;
+
+import org.jboss.errai.common.client.api.annotations.Portable;
+import org.jbpm.workbench.cm.model.CaseCommentSummary;
+import org.jbpm.workbench.cm.model.CaseDefinitionSummary;
+import org.jbpm.workbench.cm.model.CaseInstanceSummary;
+import org.jbpm.workbench.cm.model.CaseMilestoneSummary;
+import org.jbpm.workbench.cm.model.CaseStageSummary;
+import org.jbpm.workbench.cm.model.ProcessDefinitionSummary;
+
+/**
+ * Everything the case overview panels show for a case instance, loaded at once.
+ */
+@Portable
+public class CaseInstanceSnapshot {
+
+    private CaseInstanceSummary caseInstance;
+    private CaseDefinitionSummary caseDefinition;
+    private List<CaseStageSummary> stages;
+    private List<CaseMilestoneSummary> milestones;
+    private List<CaseCommentSummary> comments;
+    private Actions actions;
+    private List<ProcessDefinitionSummary> processDefinitions;
+
+    public CaseInstanceSummary getCaseInstance() {
+        return caseInstance;
+    }
+
+    public void setCaseInstance(CaseInstanceSummary caseInstance) {
+        this.caseInstance = caseInstance;
+    }
+
+    public CaseDefinitionSummary getCaseDefinition() {
+        return caseDefinition;
+    }
+
+    public void setCaseDefinition(CaseDefinitionSummary caseDefinition) {
+        this.caseDefinition = caseDefinition;
+    }
+
+    /**
+     * @return all stages of the case, the case instance only holds its active stages
+     */
+    public List<CaseStageSummary> getStages() {
+        return stages;
+    }
+
+    public void setStages(List<CaseStageSummary> stages) {
+        this.stages = stages;
+    }
+
+    /**
+     * @return milestones sorted as for a default {@link CaseMilestoneSearchRequest}
+     */
+    public List<CaseMilestoneSummary> getMilestones() {
+        return milestones;
+    }
+
+    public void setMilestones(List<CaseMilestoneSummary> milestones) {
+        this.milestones = milestones;
+    }
+
+    /**
+     * @return first page of comments
+     */
+    public List<CaseCommentSummary> getComments() {
+        return comments;
+    }
+
+    public void setComments(List<CaseCommentSummary> comments) {
+        this.comments = comments;
+    }
+
+    public Actions getActions() {
+        return actions;
+    }
+
+    public void setActions(Actions actions) {
+        this.actions = actions;
+    }
+
+    public List<ProcessDefinitionSummary> getProcessDefinitions() {
+        return processDefinitions;
+    }
+
+    public void setProcessDefinitions(List<ProcessDefinitionSummary> processDefinitions) {
+        this.processDefinitions = processDefinitions;
+    }
+}
@@ -0,0 +1,221 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jbpm.workbench.cm.backend.server;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+
+import org.kie.server.api.model.definition.QueryDefinition;
+import org.kie.server.api.model.definition.QueryFilterSpec;
+import org.kie.server.api.util.QueryFilterSpecBuilder;
+import org.kie.server.client.QueryServicesClient;
+import org.kie.server.client.UserTaskServicesClient;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Resolves the actual owners of the user tasks of a case with a single query per batch of work items, instead of one
+ * task lookup per work item. Owners are kept per case for a short time only, as the actions of a case are usually
+ * requested several times in a row while its panels are refreshed.
+ */
+@ApplicationScoped
+public class CaseTaskOwnerResolver {
+
+    public static final String CACHE_TTL = "org.jbpm.wb.cm.task.owner.cache.ttl";
+    public static final String TASK_OWNERS_QUERY = "jbpm-wb-case-task-owners";
+
+    protected static final String WORK_ITEM_ID_COLUMN = "workItemId";
+    // databases such as Oracle limit the number of values of an IN clause to 1000
+    protected static final int BATCH_SIZE = 1000;
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(CaseTaskOwnerResolver.class);
+
+    @Inject
+    private QueryServicesClient queryServicesClient;
+
+    @Inject
+    private UserTaskServicesClient userTaskServicesClient;
+
+    private final long timeToLive;
+
+    private final Map<List<String>, CaseOwners> cache = new ConcurrentHashMap<>();
+
+    private volatile boolean queryRegistered = false;
+
+    public CaseTaskOwnerResolver() {
+        this(Long.getLong(CACHE_TTL,
+                          5000L));
+    }
+
+    /**
+     * @param timeToLive milliseconds the owners of a case are kept, 0 disables caching
+     */
+    public CaseTaskOwnerResolver(final long timeToLive) {
+        this.timeToLive = timeToLive;
+    }
+
+    /**
+     * @return actual owner by work item id, work items without a task or without an owner are not included
+     */
+    public Map<Long, String> getActualOwners(final String containerId,
+                                             final String caseId,
+                                             final Collection<Long> workItemIds) {
+        final long now = currentTimeMillis();
+        cache.values().removeIf(owners -> owners.isExpired(now));
+
+        final List<String> key = Arrays.asList(containerId,
+                                               caseId);
+        final CaseOwners cached = timeToLive > 0 ? cache.computeIfAbsent(key,
+                                                                         k -> new CaseOwners(now + timeToLive)) : new CaseOwners(now);
+        final List<Long> missing = workItemIds.stream()
+                .distinct()
+                .filter(workItemId -> !cached.isResolved(workItemId))
+                .collect(toList());
+        if (!missing.isEmpty()) {
+            cached.resolved(missing,
+                            queryActualOwners(missing));
+        }
+
+        final Map<Long, String> owners = new HashMap<>();
+        for (Long workItemId : workItemIds) {
+            final String owner = cached.getOwner(workItemId);
+            if (owner != null) {
+                owners.put(workItemId,
+                           owner);
+            }
+        }
+        return owners;
+    }
+
+    protected Map<Long, String> queryActualOwners(final List<Long> workItemIds) {
+        try {
+            registerQuery();
+            final Map<Long, String> owners = new HashMap<>();
+            for (int from = 0; from < workItemIds.size(); from += BATCH_SIZE) {
+                final List<Long> batch = workItemIds.subList(from,
+                                                             Math.min(from + BATCH_SIZE,
+                                                                      workItemIds.size()));
+                final QueryFilterSpec filterSpec = new QueryFilterSpecBuilder()
+                        .in(WORK_ITEM_ID_COLUMN,
+                            new ArrayList<>(batch))
+                        .get();
+                // row layout of the owners query: workItemId, actualOwner
+                final List<List> rows = queryServicesClient.query(TASK_OWNERS_QUERY,
+                                                                  QueryServicesClient.QUERY_MAP_RAW,
+                                                                  filterSpec,
+                                                                  0,
+                                                                  batch.size(),
+                                                                  List.class);
+                for (List row : rows) {
+                    if (row.get(0) != null && row.get(1) != null) {
+                        owners.put(((Number) row.get(0)).longValue(),
+                                   row.get(1).toString());
+                    }
+                }
+            }
+            return owners;
+        } catch (Exception e) {
+            // e.g. a KIE Server instance which has not seen the query yet, it is registered again on next request
+            queryRegistered = false;
+            LOGGER.warn("Unable to query owners of {} task(s), looking them up one by one: {}",
+                        workItemIds.size(),
+                        e.getMessage());
+            LOGGER.debug("Owners query failed",
+                         e);
+            return findActualOwners(workItemIds);
+        }
+    }
+
+    protected Map<Long, String> findActualOwners(final List<Long> workItemIds) {
+        final Map<Long, String> owners = new HashMap<>();
+        for (Long workItemId : workItemIds) {
+            final String owner = userTaskServicesClient.findTaskByWorkItemId(workItemId).getActualOwner();
+            if (owner != null) {
+                owners.put(workItemId,
+                           owner);
+            }
+        }
+        return owners;
+    }
+
+    protected void registerQuery() {
+        if (queryRegistered) {
+            return;
+        }
+        final QueryDefinition definition = QueryDefinition.builder()
+                .name(TASK_OWNERS_QUERY)
+                .source("${org.kie.server.persistence.ds}")
+                .target("CUSTOM")
+                .expression("select t.workItemId, t.actualOwner from AuditTaskImpl t")
+                .build();
+        queryServicesClient.replaceQuery(definition);
+        queryRegistered = true;
+    }
+
+    protected int size() {
+        return cache.size();
+    }
+
+    protected long currentTimeMillis() {
+        return System.currentTimeMillis();
+    }
+
+    private static class CaseOwners {
+
+        private final long expiresAt;
+        private final Map<Long, String> owners = new ConcurrentHashMap<>();
+        // work items looked up which have no task or no owner
+        private final Map<Long, Boolean> unowned = new ConcurrentHashMap<>();
+
+        CaseOwners(final long expiresAt) {
+            this.expiresAt = expiresAt;
+        }
+
+        boolean isExpired(final long now) {
+            return now >= expiresAt;
+        }
+
+        boolean isResolved(final Long workItemId) {
+            return owners.containsKey(workItemId) || unowned.containsKey(workItemId);
+        }
+
+        String getOwner(final Long workItemId) {
+            return owners.get(workItemId);
+        }
+
+        void resolved(final List<Long> workItemIds,
+                      final Map<Long, String> resolved) {
+            owners.putAll(resolved);
+            for (Long workItemId : workItemIds) {
+                if (!resolved.containsKey(workItemId)) {
+                    unowned.put(workItemId,
+                                Boolean.TRUE);
+                }
+            }
+        }
+    }
+}
@@ -16,10 +16,19 @@
 
 package org.jbpm.workbench.cm.backend.server;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.function.BiPredicate;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 import javax.enterprise.context.ApplicationScoped;
 import javax.inject.Inject;
@@ -32,6 +41,7 @@ import org.jbpm.workbench.cm.service.CaseManagementService;
 import org.jbpm.workbench.cm.util.Actions;
 import org.jbpm.workbench.cm.util.CaseActionStatus;
 import org.jbpm.workbench.cm.util.CaseInstanceSearchRequest;
+import org.jbpm.workbench.cm.util.CaseInstanceSnapshot;
 import org.jbpm.workbench.cm.util.CaseInstanceSortBy;
 import org.jbpm.workbench.cm.util.CaseMilestoneSearchRequest;
 import org.jbpm.workbench.cm.util.CaseStageStatus;
@@ -44,12 +54,18 @@ import org.kie.server.api.model.cases.CaseStage;
 import org.kie.server.api.model.definition.ProcessDefinition;
 import org.kie.server.api.model.instance.NodeInstance;
 import org.kie.server.client.CaseServicesClient;
-import org.kie.server.client.UserTaskServicesClient;
+import org.uberfire.commons.concurrent.Managed;
+import org.uberfire.paging.PageResponse;
 
+import static com.google.common.base.Strings.isNullOrEmpty;
+import static java.util.Collections.emptyMap;
 import static java.util.Collections.singletonList;
 import static java.util.Comparator.comparing;
 import static java.util.Optional.ofNullable;
+import static java.util.stream.Collectors.toCollection;
 import static java.util.stream.Collectors.toList;
+import static java.util.stream.Collectors.toSet;
+import static org.jbpm.workbench.ks.utils.KieServerUtils.getCredentialsProvider;
 
 @Service
 @ApplicationScoped
@@ -57,12 +73,22 @@ public class RemoteCaseManagementServiceImpl implements CaseManagementService {
 
     public static final int PAGE_SIZE_UNLIMITED = Integer.MAX_VALUE;
     public static final String CASE_OWNER_ROLE = "owner";
+    public static final String COMPLETED_ACTIONS_PAGE_SIZE = "org.jbpm.wb.cm.actions.completed.pageSize";
+
+    private static final String MILESTONE_STATUS_AVAILABLE = "Available";
 
     @Inject
     private CaseServicesClient client;
 
     @Inject
-    private UserTaskServicesClient userTaskServicesClient;
+    private CaseTaskOwnerResolver taskOwnerResolver;
+
+    @Inject
+    @Managed
+    private ExecutorService executorService;
+
+    private int completedActionsPageSize = Integer.getInteger(COMPLETED_ACTIONS_PAGE_SIZE,
+                                                              100);
 
     @Override
     public List<CaseDefinitionSummary> getCaseDefinitions() {
@@ -80,25 +106,64 @@ public class RemoteCaseManagementServiceImpl implements CaseManagementService {
     }
 
     @Override
-    public List<CaseInstanceSummary> getCaseInstances(final CaseInstanceSearchRequest request) {
-        final List<CaseInstance> caseInstances = client.getCaseInstances(singletonList(request.getStatus().getName()),
-                                                                         0,
-                                                                         PAGE_SIZE_UNLIMITED);
-        final Comparator<CaseInstanceSummary> comparator = getCaseInstanceSummaryComparator(request);
-        return caseInstances.stream().map(new CaseInstanceMapper()).sorted(comparator).collect(toList());
+    public PageResponse<CaseInstanceSummary> getCaseInstances(final CaseInstanceSearchRequest request) {
+        final int pageSize = ofNullable(request.getPageSize()).filter(size -> size > 0).orElse(PAGE_SIZE_UNLIMITED);
+        final int offset = ofNullable(request.getOffset()).orElse(0);
+        final int page = offset / pageSize;
+        final List<String> status = singletonList(request.getStatus().getName());
+        final String sort = getCaseInstanceSort(request);
+        final boolean sortOrder = request.getSortByAsc() == null || request.getSortByAsc();
+
+        final List<CaseInstance> caseInstances;
+        if (!isNullOrEmpty(request.getContainerId()) && !isNullOrEmpty(request.getCaseDefinitionId())) {
+            caseInstances = client.getCaseInstancesByDefinition(request.getContainerId(),
+                                                                request.getCaseDefinitionId(),
+                                                                status,
+                                                                page,
+                                                                pageSize,
+                                                                sort,
+                                                                sortOrder);
+        } else if (!isNullOrEmpty(request.getContainerId())) {
+            caseInstances = client.getCaseInstancesByContainer(request.getContainerId(),
+                                                               status,
+                                                               page,
+                                                               pageSize,
+                                                               sort,
+                                                               sortOrder);
+        } else if (!isNullOrEmpty(request.getOwner())) {
+            caseInstances = client.getCaseInstancesOwnedBy(request.getOwner(),
+                                                           status,
+                                                           page,
+                                                           pageSize,
+                                                           sort,
+                                                           sortOrder);
+        } else {
+            caseInstances = client.getCaseInstances(status,
+                                                    page,
+                                                    pageSize,
+                                                    sort,
+                                                    sortOrder);
+        }
+
+        final PageResponse<CaseInstanceSummary> response = new PageResponse<>();
+        response.setPageRowList(caseInstances.stream().map(new CaseInstanceMapper()).collect(toList()));
+        response.setStartRowIndex(page * pageSize);
+        // KIE Server does not report the total number of cases, a full page means there might be more
+        response.setLastPage(caseInstances.size() < pageSize);
+        response.setTotalRowSize(page * pageSize + caseInstances.size());
+        response.setTotalRowSizeExact(response.isLastPage());
+        return response;
     }
 
-    protected Comparator<CaseInstanceSummary> getCaseInstanceSummaryComparator(final CaseInstanceSearchRequest request) {
-        Comparator<CaseInstanceSummary> comparator;
+    protected String getCaseInstanceSort(final CaseInstanceSearchRequest request) {
         switch (ofNullable(request.getSortBy()).orElse(CaseInstanceSortBy.CASE_ID)) {
             case START_TIME:
-                comparator = comparing(CaseInstanceSummary::getStartedAt);
-                break;
+                // process instance ids are assigned when cases are started, so they follow the start time
+                return CaseServicesClient.SORT_BY_PROCESS_INSTANCE_ID;
             case CASE_ID:
             default:
-                comparator = comparing(CaseInstanceSummary::getCaseId);
+                return CaseServicesClient.SORT_BY_CASE_INSTANCE_ID;
         }
-        return request.getSortByAsc() ? comparator : comparator.reversed();
     }
 
     @Override
@@ -146,6 +211,52 @@ public class RemoteCaseManagementServiceImpl implements CaseManagementService {
                 .orElse(null);
     }
 
+    @Override
+    public CaseInstanceSnapshot getCaseInstanceSnapshot(final String containerId,
+                                                        final String caseId,
+                                                        final String userId,
+                                                        final Integer commentsPageSize) {
+        final CompletableFuture<CaseInstanceSummary> caseInstance = supplyAsync(() -> getCaseInstance(containerId,
+                                                                                                      caseId));
+        final CompletableFuture<CaseDefinitionSummary> caseDefinition = thenApplyAsync(caseInstance,
+                                                                                       cis -> getCaseDefinition(containerId,
+                                                                                                                cis));
+        final CompletableFuture<List<CaseStageSummary>> stages = supplyAsync(() -> getCaseStages(containerId,
+                                                                                                 caseId));
+        final CompletableFuture<List<CaseMilestoneSummary>> milestones = supplyAsync(() -> getCaseMilestones(containerId,
+                                                                                                             caseId,
+                                                                                                             new CaseMilestoneSearchRequest()));
+        final CompletableFuture<List<CaseCommentSummary>> comments = supplyAsync(() -> getComments(containerId,
+                                                                                                   caseId,
+                                                                                                   0,
+                                                                                                   commentsPageSize));
+        final CompletableFuture<List<ProcessDefinitionSummary>> processDefinitions = supplyAsync(() -> getProcessDefinitions(containerId));
+        // shares the case instance, fetches its own parts concurrently
+        final Actions actions = getCaseActions(containerId,
+                                               caseId,
+                                               0,
+                                               caseInstance);
+
+        final CaseInstanceSnapshot snapshot = new CaseInstanceSnapshot();
+        snapshot.setCaseInstance(join(caseInstance));
+        snapshot.setCaseDefinition(join(caseDefinition));
+        snapshot.setStages(join(stages));
+        snapshot.setMilestones(join(milestones));
+        snapshot.setComments(join(comments));
+        snapshot.setActions(actions);
+        snapshot.setProcessDefinitions(join(processDefinitions));
+        return snapshot;
+    }
+
+    protected CaseDefinitionSummary getCaseDefinition(final String containerId,
+                                                      final CaseInstanceSummary caseInstance) {
+        if (caseInstance == null || caseInstance.getCaseDefinitionId() == null) {
+            return null;
+        }
+        return getCaseDefinition(containerId,
+                                 caseInstance.getCaseDefinitionId());
+    }
+
     @Override
     public void assignUserToRole(final String containerId,
                                  final String caseId,
@@ -265,71 +376,188 @@ public class RemoteCaseManagementServiceImpl implements CaseManagementService {
     }
 
     @Override
-    public Actions getCaseActions(String container, String caseId, String userId) {
+    public Actions getCaseActions(String container, String caseId, String userId, int completedActionsOffset) {
+        return getCaseActions(container,
+                              caseId,
+                              completedActionsOffset,
+                              supplyAsync(() -> getCaseInstance(container,
+                                                                caseId)));
+    }
+
+    protected Actions getCaseActions(final String container,
+                                     final String caseId,
+                                     final int completedActionsOffset,
+                                     final CompletableFuture<CaseInstanceSummary> caseInstance) {
+        final CompletableFuture<List<CaseActionSummary>> adHocFragments = supplyAsync(() -> getAdHocFragments(container,
+                                                                                                              caseId));
+        final Actions nodeActions = getNodeActions(container,
+                                                   caseId,
+                                                   completedActionsOffset);
+
+        final List<CaseActionSummary> adHocActions = getAdHocActions(join(adHocFragments),
+                                                                     join(caseInstance));
+        final List<CaseActionSummary> inProgressActions = nodeActions.getInProgressAction();
+        final List<CaseActionSummary> completedActions = nodeActions.getCompleteActions();
+
+        final Set<String> startedMilestones = Stream.concat(inProgressActions.stream(),
+                                                            completedActions.stream())
+                .map(CaseActionSummary::getName)
+                .collect(toCollection(HashSet::new));
+        if (completedActionsOffset > 0 || !nodeActions.isCompleteActionsLastPage()) {
+            // milestones completed outside the page of completed actions must not become available again
+            client.getMilestones(container,
+                                 caseId,
+                                 false,
+                                 0,
+                                 PAGE_SIZE_UNLIMITED)
+                    .stream()
+                    .filter(milestone -> !MILESTONE_STATUS_AVAILABLE.equals(milestone.getStatus()))
+                    .forEach(milestone -> startedMilestones.add(milestone.getName()));
+        }
+        final Set<List<String>> inProgressHumanTasks = inProgressActions.stream()
+                .filter(action -> new HumanTaskNodePredicate().test(action.getType()))
+                .map(RemoteCaseManagementServiceImpl::getActionKey)
+                .collect(toSet());
+
         final Actions actions = new Actions();
-        final List<CaseActionSummary> adHocActions = getAdHocActions(container, caseId);
-        final List<CaseActionSummary> inProgressActions = getInProgressActions(container, caseId);
-        final List<CaseActionSummary> completedActions = getCompletedActions(container, caseId);
         actions.setInProgressAction(inProgressActions);
         actions.setCompleteActions(completedActions);
+        actions.setCompleteActionsLastPage(nodeActions.isCompleteActionsLastPage());
         actions.setAvailableActions(
                 adHocActions.stream()
-                        .filter(action -> {
-                            if (new MilestoneNodePredicate().negate().test(action.getType())) {
-                                return true;
-                            }
-                            if (findMilestone(inProgressActions,
-                                              action.getName())) {
-                                return false;
-                            }
-                            if (findMilestone(completedActions,
-                                              action.getName())) {
-                                return false;
-                            }
-                            return true;
-                        })
-                        .filter(action -> new InProgressHumanTaskPredicate().negate().test(action,
-                                                                                           inProgressActions))
+                        .filter(action -> new MilestoneNodePredicate().negate().test(action.getType()) || !startedMilestones.contains(action.getName()))
+                        .filter(action -> !new HumanTaskNodePredicate().test(action.getType()) || !inProgressHumanTasks.contains(getActionKey(action)))
                         .collect(toList()));
         return actions;
     }
 
-    protected boolean findMilestone(final List<CaseActionSummary> actions,
-                                    final String name) {
-        return actions.stream().filter(action -> name.equals(action.getName())).findAny().isPresent();
+    /**
+     * @return in progress actions and a page of the completed actions of the case, the owners of their user tasks are
+     * resolved at once
+     */
+    protected Actions getNodeActions(final String containerId,
+                                     final String caseId,
+                                     final int completedActionsOffset) {
+        final CompletableFuture<List<NodeInstance>> activeNodes = supplyAsync(() -> getCaseActiveNodes(containerId,
+                                                                                                       caseId));
+        final CompletableFuture<List<NodeInstance>> completedNodes = supplyAsync(() -> getCaseCompletedNodes(containerId,
+                                                                                                             caseId,
+                                                                                                             completedActionsOffset));
+        final Map<Long, String> owners = getActualOwners(containerId,
+                                                         caseId,
+                                                         Stream.concat(join(activeNodes).stream(),
+                                                                       join(completedNodes).stream()));
+        final Actions actions = new Actions();
+        actions.setInProgressAction(toCaseActions(join(activeNodes),
+                                                  owners,
+                                                  CaseActionStatus.IN_PROGRESS));
+        actions.setCompleteActions(toCaseActions(join(completedNodes),
+                                                 owners,
+                                                 CaseActionStatus.COMPLETED));
+        actions.setCompleteActionsLastPage(join(completedNodes).size() < completedActionsPageSize);
+        return actions;
+    }
+
+    protected static List<String> getActionKey(final CaseActionSummary action) {
+        return Arrays.asList(action.getType(),
+                             action.getName());
+    }
+
+    protected <T> CompletableFuture<T> supplyAsync(final Supplier<T> supplier) {
+        // KIE Server clients read the user credentials from the calling thread
+        return CompletableFuture.supplyAsync(getCredentialsProvider().propagate(supplier),
+                                             executorService);
+    }
+
+    protected <T, R> CompletableFuture<R> thenApplyAsync(final CompletableFuture<T> future,
+                                                         final Function<T, R> function) {
+        return future.thenApplyAsync(getCredentialsProvider().propagate(function),
+                                     executorService);
+    }
+
+    protected <T> T join(final CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
     }
 
     public List<CaseActionSummary> getInProgressActions(String containerId,
                                                         String caseId) {
-        List<NodeInstance> activeNodes = client.getActiveNodes(containerId,
-                                                               caseId,
-                                                               0,
-                                                               PAGE_SIZE_UNLIMITED);
-        return activeNodes.stream()
-                .map(s -> new CaseActionNodeInstanceMapper(
-                        (new HumanTaskNodePredicate().test(s.getNodeType()) ?
-                                userTaskServicesClient.findTaskByWorkItemId(s.getWorkItemId()).getActualOwner() :
-                                ""),
-                        CaseActionStatus.IN_PROGRESS).apply(s))
-                .collect(toList());
+        final List<NodeInstance> activeNodes = getCaseActiveNodes(containerId,
+                                                                  caseId);
+        return toCaseActions(activeNodes,
+                             getActualOwners(containerId,
+                                             caseId,
+                                             activeNodes.stream()),
+                             CaseActionStatus.IN_PROGRESS);
+    }
+
+    public List<NodeInstance> getCaseActiveNodes(String containerId, String caseId) {
+        return client.getActiveNodes(containerId,
+                                     caseId,
+                                     0,
+                                     PAGE_SIZE_UNLIMITED);
     }
 
+    /**
+     * @return first page of the completed nodes of the case, see {@link #COMPLETED_ACTIONS_PAGE_SIZE}
+     */
     public List<NodeInstance> getCaseCompletedNodes(String containerId, String caseId) {
+        return getCaseCompletedNodes(containerId,
+                                     caseId,
+                                     0);
+    }
+
+    /**
+     * @param offset number of completed nodes already loaded, a multiple of {@link #COMPLETED_ACTIONS_PAGE_SIZE}
+     * @return page of the completed nodes of the case starting at the given offset
+     */
+    public List<NodeInstance> getCaseCompletedNodes(String containerId, String caseId, int offset) {
         return client.getCompletedNodes(containerId,
                                         caseId,
-                                        0,
-                                        PAGE_SIZE_UNLIMITED);
+                                        offset / completedActionsPageSize,
+                                        completedActionsPageSize);
     }
 
     public List<CaseActionSummary> getCompletedActions(String containerId, String caseId) {
-        List<NodeInstance> activeNodes = getCaseCompletedNodes(containerId,
-                                                               caseId);
-        return activeNodes.stream()
+        final List<NodeInstance> completedNodes = getCaseCompletedNodes(containerId,
+                                                                        caseId);
+        return toCaseActions(completedNodes,
+                             getActualOwners(containerId,
+                                             caseId,
+                                             completedNodes.stream()),
+                             CaseActionStatus.COMPLETED);
+    }
+
+    protected Map<Long, String> getActualOwners(final String containerId,
+                                                final String caseId,
+                                                final Stream<NodeInstance> nodes) {
+        final List<Long> workItemIds = nodes
+                .filter(node -> new HumanTaskNodePredicate().test(node.getNodeType()))
+                .map(NodeInstance::getWorkItemId)
+                .collect(toList());
+        if (workItemIds.isEmpty()) {
+            return emptyMap();
+        }
+        return taskOwnerResolver.getActualOwners(containerId,
+                                                 caseId,
+                                                 workItemIds);
+    }
+
+    protected List<CaseActionSummary> toCaseActions(final List<NodeInstance> nodes,
+                                                    final Map<Long, String> owners,
+                                                    final CaseActionStatus status) {
+        return nodes.stream()
                 .map(s -> new CaseActionNodeInstanceMapper(
                         (new HumanTaskNodePredicate().test(s.getNodeType()) ?
-                                userTaskServicesClient.findTaskByWorkItemId(s.getWorkItemId()).getActualOwner() :
+                                owners.get(s.getWorkItemId()) :
                                 ""),
-                        CaseActionStatus.COMPLETED).apply(s))
+                        status).apply(s))
                 .collect(toList());
     }
 
@@ -342,16 +570,21 @@ public class RemoteCaseManagementServiceImpl implements CaseManagementService {
     }
 
     public List<CaseActionSummary> getAdHocActions(String containerId, String caseId) {
-        List<CaseActionSummary> adHocActions = getAdHocFragments(containerId, caseId);
-        CaseInstanceSummary caseInstanceSummary = getCaseInstance(containerId, caseId);
+        return getAdHocActions(getAdHocFragments(containerId,
+                                                 caseId),
+                               getCaseInstance(containerId,
+                                               caseId));
+    }
+
+    protected List<CaseActionSummary> getAdHocActions(final List<CaseActionSummary> adHocFragments,
+                                                      final CaseInstanceSummary caseInstanceSummary) {
+        final List<CaseActionSummary> adHocActions = new ArrayList<>(adHocFragments);
+        if (caseInstanceSummary == null) {
+            return adHocActions;
+        }
         caseInstanceSummary.getStages().stream()
                 .filter(s -> s.getStatus().equals(CaseStageStatus.ACTIVE.getStatus()))
-                .forEach(ah -> {
-                    if (ah.getAdHocActions().size() > 0) {
-                        adHocActions.addAll(ah.getAdHocActions());
-                    }
-                    return;
-                });
+                .forEach(ah -> adHocActions.addAll(ah.getAdHocActions()));
         return adHocActions;
     }
 
@@ -443,13 +676,4 @@ public class RemoteCaseManagementServiceImpl implements CaseManagementService {
         return processDefinitions.stream().map(new ProcessDefinitionMapper()).collect(toList());
     }
 
-    public static class InProgressHumanTaskPredicate implements BiPredicate<CaseActionSummary, List<CaseActionSummary>> {
-
-        @Override
-        public boolean test(final CaseActionSummary summary,
-                            final List<CaseActionSummary> actions) {
-            return new HumanTaskNodePredicate().test(summary.getType()) && actions.stream().filter(action -> action.getType().equals(summary.getType()) && action.getName().equals(summary.getName())).findAny().isPresent();
-        }
-    }
-
 }
\ No newline at end of file
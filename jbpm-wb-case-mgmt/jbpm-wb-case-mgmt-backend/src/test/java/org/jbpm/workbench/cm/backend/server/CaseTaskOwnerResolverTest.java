@@ -0,0 +1,203 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jbpm.workbench.cm.backend.server;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.kie.server.api.model.definition.QueryDefinition;
+import org.kie.server.api.model.definition.QueryFilterSpec;
+import org.kie.server.api.model.instance.TaskInstance;
+import org.kie.server.client.QueryServicesClient;
+import org.kie.server.client.UserTaskServicesClient;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import static java.util.Collections.singletonList;
+import static java.util.stream.Collectors.toList;
+import static org.jbpm.workbench.cm.backend.server.CaseTaskOwnerResolver.*;
+import static org.junit.Assert.*;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.*;
+
+@RunWith(MockitoJUnitRunner.class)
+public class CaseTaskOwnerResolverTest {
+
+    private final String containerId = "containerId";
+    private final String caseId = "CASE-1";
+
+    private long now = 1000;
+
+    private final List<List<Object>> rows = Arrays.asList(Arrays.asList(1,
+                                                                        "john"),
+                                                          Arrays.asList(2L,
+                                                                        null),
+                                                          Arrays.asList(4L,
+                                                                        "mary"));
+
+    @Mock
+    private QueryServicesClient queryServicesClient;
+
+    @Mock
+    private UserTaskServicesClient userTaskServicesClient;
+
+    @InjectMocks
+    private CaseTaskOwnerResolver resolver = new CaseTaskOwnerResolver(100) {
+        @Override
+        protected long currentTimeMillis() {
+            return now;
+        }
+    };
+
+    @Before
+    public void setUp() {
+        when(queryServicesClient.query(eq(TASK_OWNERS_QUERY),
+                                       eq(QueryServicesClient.QUERY_MAP_RAW),
+                                       any(QueryFilterSpec.class),
+                                       eq(0),
+                                       anyInt(),
+                                       eq(List.class))).thenAnswer(invocation -> {
+            final List<?> workItemIds = ((QueryFilterSpec) invocation.getArguments()[2]).getParameters()[0].getValue();
+            return rows.stream()
+                    .filter(row -> workItemIds.contains(((Number) row.get(0)).longValue()))
+                    .collect(toList());
+        });
+    }
+
+    @Test
+    public void testOwnersResolvedWithSingleQuery() {
+        final Map<Long, String> owners = resolver.getActualOwners(containerId,
+                                                                  caseId,
+                                                                  Arrays.asList(1L,
+                                                                                2L,
+                                                                                3L));
+
+        assertEquals(1,
+                     owners.size());
+        assertEquals("john",
+                     owners.get(1L));
+        final ArgumentCaptor<QueryDefinition> definition = ArgumentCaptor.forClass(QueryDefinition.class);
+        verify(queryServicesClient).replaceQuery(definition.capture());
+        assertEquals(TASK_OWNERS_QUERY,
+                     definition.getValue().getName());
+        assertEquals(Arrays.asList(1L,
+                                   2L,
+                                   3L),
+                     getQueriedWorkItemIds().get(0));
+        verifyZeroInteractions(userTaskServicesClient);
+    }
+
+    @Test
+    public void testOwnersCachedPerCase() {
+        resolver.getActualOwners(containerId,
+                                 caseId,
+                                 Arrays.asList(1L,
+                                               2L,
+                                               3L));
+        final Map<Long, String> owners = resolver.getActualOwners(containerId,
+                                                                  caseId,
+                                                                  Arrays.asList(1L,
+                                                                                2L,
+                                                                                3L,
+                                                                                4L));
+        resolver.getActualOwners(containerId,
+                                 "CASE-2",
+                                 singletonList(1L));
+
+        assertEquals("john",
+                     owners.get(1L));
+        assertEquals("mary",
+                     owners.get(4L));
+        // work items without owner are not queried again, another case has its own owners
+        assertEquals(Arrays.asList(Arrays.asList(1L,
+                                                 2L,
+                                                 3L),
+                                   singletonList(4L),
+                                   singletonList(1L)),
+                     getQueriedWorkItemIds());
+        verify(queryServicesClient).replaceQuery(any(QueryDefinition.class));
+        assertEquals(2,
+                     resolver.size());
+    }
+
+    @Test
+    public void testOwnersExpire() {
+        resolver.getActualOwners(containerId,
+                                 caseId,
+                                 singletonList(1L));
+
+        now += 100;
+        resolver.getActualOwners(containerId,
+                                 caseId,
+                                 singletonList(1L));
+
+        assertEquals(2,
+                     getQueriedWorkItemIds().size());
+    }
+
+    @Test
+    public void testFallbackToTaskLookups() {
+        when(queryServicesClient.replaceQuery(any(QueryDefinition.class))).thenThrow(new RuntimeException("Query not supported"));
+        when(userTaskServicesClient.findTaskByWorkItemId(anyLong())).thenReturn(TaskInstance.builder().build());
+        when(userTaskServicesClient.findTaskByWorkItemId(1L)).thenReturn(TaskInstance.builder().actualOwner("john").build());
+
+        final Map<Long, String> owners = resolver.getActualOwners(containerId,
+                                                                  caseId,
+                                                                  Arrays.asList(1L,
+                                                                                2L));
+        resolver.getActualOwners(containerId,
+                                 caseId,
+                                 singletonList(3L));
+
+        assertEquals(1,
+                     owners.size());
+        assertEquals("john",
+                     owners.get(1L));
+        verify(userTaskServicesClient).findTaskByWorkItemId(1L);
+        verify(userTaskServicesClient).findTaskByWorkItemId(2L);
+        // registration is attempted again on next lookup
+        verify(queryServicesClient,
+               times(2)).replaceQuery(any(QueryDefinition.class));
+    }
+
+    private List<List<Object>> getQueriedWorkItemIds() {
+        final ArgumentCaptor<QueryFilterSpec> filterSpec = ArgumentCaptor.forClass(QueryFilterSpec.class);
+        verify(queryServicesClient,
+               atLeastOnce()).query(eq(TASK_OWNERS_QUERY),
+                                    eq(QueryServicesClient.QUERY_MAP_RAW),
+                                    filterSpec.capture(),
+                                    eq(0),
+                                    anyInt(),
+                                    eq(List.class));
+        return filterSpec.getAllValues().stream()
+                .map(spec -> {
+                    assertEquals(WORK_ITEM_ID_COLUMN,
+                                 spec.getParameters()[0].getColumn());
+                    return (List<Object>) spec.getParameters()[0].getValue();
+                })
+                .collect(toList());
+    }
+}
@@ -19,7 +19,10 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
 
 import org.assertj.core.api.SoftAssertions;
 import org.jbpm.workbench.cm.model.*;
@@ -27,21 +30,22 @@ import org.jbpm.workbench.cm.predicate.MilestoneNodePredicate;
 import org.jbpm.workbench.cm.util.Actions;
 import org.jbpm.workbench.cm.util.CaseActionStatus;
 import org.jbpm.workbench.cm.util.CaseInstanceSearchRequest;
+import org.jbpm.workbench.cm.util.CaseInstanceSnapshot;
 import org.jbpm.workbench.cm.util.CaseInstanceSortBy;
 import org.jbpm.workbench.cm.util.CaseMilestoneSearchRequest;
 import org.jbpm.workbench.cm.util.CaseStageStatus;
+import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.kie.server.api.model.cases.*;
 import org.kie.server.api.model.instance.NodeInstance;
-import org.kie.server.api.model.instance.TaskInstance;
 import org.kie.server.client.CaseServicesClient;
-import org.kie.server.client.UserTaskServicesClient;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Spy;
 import org.mockito.runners.MockitoJUnitRunner;
+import org.uberfire.paging.PageResponse;
 
 import static com.google.common.base.Strings.isNullOrEmpty;
 import static java.util.Collections.emptyList;
@@ -81,12 +85,23 @@ public class RemoteCaseManagementServiceImplTest {
     private CaseServicesClient clientMock;
 
     @Mock
-    private UserTaskServicesClient userTaskServicesClient;
+    private CaseTaskOwnerResolver taskOwnerResolver;
+
+    @Mock
+    private ExecutorService executorService;
 
     @Spy
     @InjectMocks
     private RemoteCaseManagementServiceImpl testedService;
 
+    @Before
+    public void setUp() {
+        doAnswer(invocation -> {
+            ((Runnable) invocation.getArguments()[0]).run();
+            return null;
+        }).when(executorService).execute(any(Runnable.class));
+    }
+
     @Test
     public void testGetCaseDefinitions_singleCaseDefinition() {
         final CaseDefinition definition = createTestDefinition();
@@ -136,73 +151,119 @@ public class RemoteCaseManagementServiceImplTest {
         final CaseInstance instance = createTestInstance(caseId);
         when(clientMock.getCaseInstances(eq(singletonList(request.getStatus().getName())),
                                          anyInt(),
-                                         anyInt())).thenReturn(singletonList(instance));
+                                         anyInt(),
+                                         anyString(),
+                                         anyBoolean())).thenReturn(singletonList(instance));
 
-        final List<CaseInstanceSummary> instances = testedService.getCaseInstances(request);
+        final PageResponse<CaseInstanceSummary> instances = testedService.getCaseInstances(request);
         assertNotNull(instances);
-        assertEquals(1, instances.size());
-        assertCaseInstance(instance, instances.get(0));
+        assertEquals(1, instances.getPageRowList().size());
+        assertCaseInstance(instance, instances.getPageRowList().get(0));
+        assertTrue(instances.isLastPage());
+        assertTrue(instances.isTotalRowSizeExact());
+        assertEquals(1, instances.getTotalRowSize());
     }
 
     @Test
     public void getCaseInstances_emptyList() {
         final CaseInstanceSearchRequest request = new CaseInstanceSearchRequest();
-        when(clientMock.getCaseInstances(eq(singletonList(request.getStatus().getName())), anyInt(), anyInt())).thenReturn(emptyList());
+        when(clientMock.getCaseInstances(eq(singletonList(request.getStatus().getName())), anyInt(), anyInt(), anyString(), anyBoolean())).thenReturn(emptyList());
 
-        final List<CaseInstanceSummary> instances = testedService.getCaseInstances(request);
+        final PageResponse<CaseInstanceSummary> instances = testedService.getCaseInstances(request);
         assertNotNull(instances);
-        assertTrue(instances.isEmpty());
+        assertTrue(instances.getPageRowList().isEmpty());
     }
 
     @Test
-    public void getCaseInstances_sortCaseInstanceList() {
-        CaseInstance c1 = createTestInstance("id1");
-        c1.setStartedAt(new Date(10000));
-
-        CaseInstance c2 = createTestInstance("id2");
-        c2.setStartedAt(new Date(10));
-
+    public void getCaseInstances_paged() {
+        final CaseInstanceSearchRequest request = new CaseInstanceSearchRequest();
+        request.setPageSize(2);
+        request.setOffset(4);
         when(clientMock.getCaseInstances(anyList(),
                                          anyInt(),
-                                         anyInt())).thenReturn(Arrays.asList(c1,
-                                                                             c2));
+                                         anyInt(),
+                                         anyString(),
+                                         anyBoolean())).thenReturn(Arrays.asList(createTestInstance("id5"),
+                                                                                 createTestInstance("id6")));
+
+        final PageResponse<CaseInstanceSummary> instances = testedService.getCaseInstances(request);
+
+        verify(clientMock).getCaseInstances(singletonList(request.getStatus().getName()),
+                                            2,
+                                            2,
+                                            CaseServicesClient.SORT_BY_CASE_INSTANCE_ID,
+                                            true);
+        assertEquals(2, instances.getPageRowList().size());
+        assertEquals(4, instances.getStartRowIndex());
+        assertFalse(instances.isLastPage());
+        assertFalse(instances.isTotalRowSizeExact());
+    }
 
-        CaseInstanceSearchRequest defaultSortRequest = new CaseInstanceSearchRequest(); //Default sort is by CASE_ID
-        List<CaseInstanceSummary> sortedInstances = testedService.getCaseInstances(defaultSortRequest);
-        assertEquals("id1",
-                     sortedInstances.get(0).getCaseId());
-        assertEquals("id2",
-                     sortedInstances.get(1).getCaseId());
+    @Test
+    public void getCaseInstances_sortPushedDown() {
+        when(clientMock.getCaseInstances(anyList(),
+                                         anyInt(),
+                                         anyInt(),
+                                         anyString(),
+                                         anyBoolean())).thenReturn(emptyList());
 
         CaseInstanceSearchRequest sortByIdRequest = new CaseInstanceSearchRequest();
         sortByIdRequest.setSortBy(CaseInstanceSortBy.CASE_ID);
-        sortByIdRequest.setSortByAsc(true);
-        sortedInstances = testedService.getCaseInstances(sortByIdRequest);
-        assertEquals("id1",
-                     sortedInstances.get(0).getCaseId());
-        assertEquals("id2",
-                     sortedInstances.get(1).getCaseId());
         sortByIdRequest.setSortByAsc(false);
-        sortedInstances = testedService.getCaseInstances(sortByIdRequest);
-        assertEquals("id2",
-                     sortedInstances.get(0).getCaseId());
-        assertEquals("id1",
-                     sortedInstances.get(1).getCaseId());
+        testedService.getCaseInstances(sortByIdRequest);
+        verify(clientMock).getCaseInstances(anyList(),
+                                            eq(0),
+                                            eq(sortByIdRequest.getPageSize()),
+                                            eq(CaseServicesClient.SORT_BY_CASE_INSTANCE_ID),
+                                            eq(false));
 
         CaseInstanceSearchRequest sortByStarted = new CaseInstanceSearchRequest();
         sortByStarted.setSortBy(CaseInstanceSortBy.START_TIME);
         sortByStarted.setSortByAsc(true);
-        sortedInstances = testedService.getCaseInstances(sortByStarted);
-        assertEquals("id2",
-                     sortedInstances.get(0).getCaseId());
-        assertEquals("id1",
-                     sortedInstances.get(1).getCaseId());
-        sortByStarted.setSortByAsc(false);
-        sortedInstances = testedService.getCaseInstances(sortByStarted);
-        assertEquals("id1",
-                     sortedInstances.get(0).getCaseId());
-        assertEquals("id2",
-                     sortedInstances.get(1).getCaseId());
+        testedService.getCaseInstances(sortByStarted);
+        verify(clientMock).getCaseInstances(anyList(),
+                                            eq(0),
+                                            eq(sortByStarted.getPageSize()),
+                                            eq(CaseServicesClient.SORT_BY_PROCESS_INSTANCE_ID),
+                                            eq(true));
+    }
+
+    @Test
+    public void getCaseInstances_filtered() {
+        final CaseInstanceSearchRequest request = new CaseInstanceSearchRequest();
+        request.setOwner(userId);
+        testedService.getCaseInstances(request);
+        verify(clientMock).getCaseInstancesOwnedBy(eq(userId),
+                                                   anyList(),
+                                                   eq(0),
+                                                   anyInt(),
+                                                   anyString(),
+                                                   anyBoolean());
+
+        request.setContainerId(containerId);
+        testedService.getCaseInstances(request);
+        verify(clientMock).getCaseInstancesByContainer(eq(containerId),
+                                                       anyList(),
+                                                       eq(0),
+                                                       anyInt(),
+                                                       anyString(),
+                                                       anyBoolean());
+
+        request.setCaseDefinitionId(caseDefinitionId);
+        testedService.getCaseInstances(request);
+        verify(clientMock).getCaseInstancesByDefinition(eq(containerId),
+                                                        eq(caseDefinitionId),
+                                                        anyList(),
+                                                        eq(0),
+                                                        anyInt(),
+                                                        anyString(),
+                                                        anyBoolean());
+        verify(clientMock,
+               never()).getCaseInstances(anyList(),
+                                         anyInt(),
+                                         anyInt(),
+                                         anyString(),
+                                         anyBoolean());
     }
 
     @Test
@@ -643,15 +704,20 @@ public class RemoteCaseManagementServiceImplTest {
                                           anyInt())).thenReturn(Arrays.asList(node5,
                                                                               node6));
 
-        TaskInstance t1 = TaskInstance.builder()
-                .actualOwner("Koe")
-                .build();
-
-        when(userTaskServicesClient.findTaskByWorkItemId(node1.getWorkItemId())).thenReturn(t1);
-        when(userTaskServicesClient.findTaskByWorkItemId(node3.getWorkItemId())).thenReturn(t1);
-        when(userTaskServicesClient.findTaskByWorkItemId(node5.getWorkItemId())).thenReturn(t1);
-
-        Actions actions = testedService.getCaseActions(containerId, caseId, userId);
+        final Map<Long, String> owners = new HashMap<>();
+        owners.put(node1.getWorkItemId(),
+                   "Koe");
+        owners.put(node3.getWorkItemId(),
+                   "Koe");
+        owners.put(node5.getWorkItemId(),
+                   "Koe");
+        when(taskOwnerResolver.getActualOwners(containerId,
+                                               caseId,
+                                               Arrays.asList(node1.getWorkItemId(),
+                                                             node3.getWorkItemId(),
+                                                             node5.getWorkItemId()))).thenReturn(owners);
+
+        Actions actions = testedService.getCaseActions(containerId, caseId, userId, 0);
 
         assertEquals(5, actions.getAvailableActions().size());
         assertCaseActionAdHocFragment(cAHF1,
@@ -680,6 +746,7 @@ public class RemoteCaseManagementServiceImplTest {
                                      actions.getCompleteActions().get(0));
         assertCaseActionNodeInstance(node6,
                                      actions.getCompleteActions().get(1));
+        assertTrue(actions.isCompleteActionsLastPage());
 
         verify(clientMock).getAdHocFragments(containerId,
                                              caseId);
@@ -691,12 +758,111 @@ public class RemoteCaseManagementServiceImplTest {
                                              eq(caseId),
                                              eq(0),
                                              anyInt());
-        verify(userTaskServicesClient).findTaskByWorkItemId(node1.getWorkItemId());
-        verify(userTaskServicesClient, never()).findTaskByWorkItemId(node2.getWorkItemId());
-        verify(userTaskServicesClient).findTaskByWorkItemId(node3.getWorkItemId());
-        verify(userTaskServicesClient, never()).findTaskByWorkItemId(node4.getWorkItemId());
-        verify(userTaskServicesClient).findTaskByWorkItemId(node5.getWorkItemId());
-        verify(userTaskServicesClient, never()).findTaskByWorkItemId(node6.getWorkItemId());
+        assertEquals("Koe",
+                     actions.getInProgressAction().get(0).getActualOwner());
+        assertEquals("Koe",
+                     actions.getCompleteActions().get(0).getActualOwner());
+        // owners of in progress and completed tasks are resolved at once
+        verify(taskOwnerResolver).getActualOwners(eq(containerId),
+                                                  eq(caseId),
+                                                  anyList());
+        verify(clientMock,
+               never()).getMilestones(anyString(),
+                                      anyString(),
+                                      anyBoolean(),
+                                      anyInt(),
+                                      anyInt());
+        verify(clientMock).getCaseInstance(containerId,
+                                           caseId,
+                                           false,
+                                           true,
+                                           true,
+                                           true);
+        verify(executorService,
+               times(4)).execute(any(Runnable.class));
+    }
+
+    @Test
+    public void getCaseInstanceSnapshotTest() {
+        final CaseInstance ci = createTestInstance(caseId);
+        ci.setCaseDefinitionId(caseDefinitionId);
+        ci.setStages(emptyList());
+        when(clientMock.getCaseInstance(containerId,
+                                        caseId,
+                                        false,
+                                        true,
+                                        true,
+                                        true)).thenReturn(ci);
+        final CaseDefinition definition = createTestDefinition();
+        when(clientMock.getCaseDefinition(containerId,
+                                          caseDefinitionId)).thenReturn(definition);
+        final CaseComment comment = createTestComment();
+        when(clientMock.getComments(containerId,
+                                    caseId,
+                                    0,
+                                    20)).thenReturn(singletonList(comment));
+        when(clientMock.getMilestones(containerId,
+                                      caseId,
+                                      false,
+                                      0,
+                                      PAGE_SIZE_UNLIMITED)).thenReturn(Arrays.asList(createTestMilestone("id2",
+                                                                                                         "milestone2",
+                                                                                                         "Available"),
+                                                                                     createTestMilestone("id1",
+                                                                                                         "milestone1",
+                                                                                                         "Available")));
+        final NodeInstance node = createTestNodeInstance("active1",
+                                                         "Service Task",
+                                                         1L);
+        when(clientMock.getActiveNodes(containerId,
+                                       caseId,
+                                       0,
+                                       PAGE_SIZE_UNLIMITED)).thenReturn(singletonList(node));
+        // the case instance only holds its active stages
+        final List<CaseStage> caseStages = Arrays.asList(createTestCaseStage("stage1",
+                                                                             "stage1-name",
+                                                                             CaseStageStatus.COMPLETED.getStatus()),
+                                                         createTestCaseStage("stage2",
+                                                                             "stage2-name",
+                                                                             CaseStageStatus.ACTIVE.getStatus()));
+        when(clientMock.getStages(containerId,
+                                  caseId,
+                                  false,
+                                  0,
+                                  PAGE_SIZE_UNLIMITED)).thenReturn(caseStages);
+
+        final CaseInstanceSnapshot snapshot = testedService.getCaseInstanceSnapshot(containerId,
+                                                                                    caseId,
+                                                                                    userId,
+                                                                                    20);
+
+        assertCaseInstance(ci,
+                           snapshot.getCaseInstance());
+        assertCaseDefinition(definition,
+                             snapshot.getCaseDefinition());
+        assertCaseStages(caseStages,
+                         snapshot.getStages());
+        assertEquals(1,
+                     snapshot.getComments().size());
+        assertCaseComment(comment,
+                          snapshot.getComments().get(0));
+        assertEquals("milestone1",
+                     snapshot.getMilestones().get(0).getName());
+        assertEquals(1,
+                     snapshot.getActions().getInProgressAction().size());
+        assertCaseActionNodeInstance(node,
+                                     snapshot.getActions().getInProgressAction().get(0));
+        assertTrue(snapshot.getProcessDefinitions().isEmpty());
+        // the case instance is loaded once and shared by the definition and the actions
+        verify(clientMock).getCaseInstance(containerId,
+                                           caseId,
+                                           false,
+                                           true,
+                                           true,
+                                           true);
+        verify(clientMock).findProcessesByContainerId(containerId,
+                                                      0,
+                                                      PAGE_SIZE_UNLIMITED);
     }
 
     @Test
@@ -711,16 +877,16 @@ public class RemoteCaseManagementServiceImplTest {
         NodeInstance node2 = createTestNodeInstance("active2",
                                                     "Service Task",
                                                     node2WorkItemId);
-        TaskInstance t1 = TaskInstance.builder()
-                .actualOwner(taskActualOwner)
-                .build();
 
         when(clientMock.getActiveNodes(eq(containerId),
                                        eq(caseId),
                                        anyInt(),
                                        anyInt())).thenReturn(Arrays.asList(node1,
                                                                            node2));
-        when(userTaskServicesClient.findTaskByWorkItemId(node1WorkItemId)).thenReturn(t1);
+        when(taskOwnerResolver.getActualOwners(containerId,
+                                               caseId,
+                                               singletonList(node1WorkItemId))).thenReturn(Collections.singletonMap(node1WorkItemId,
+                                                                                                                    taskActualOwner));
 
         List<CaseActionSummary> actionsSummaries = testedService.getInProgressActions(containerId, caseId);
 
@@ -732,8 +898,9 @@ public class RemoteCaseManagementServiceImplTest {
 
         assertCaseActionNodeInstance(node1, actionsSummaries.get(0));
         assertCaseActionNodeInstance(node2, actionsSummaries.get(1));
-        verify(userTaskServicesClient).findTaskByWorkItemId(node1WorkItemId);
-        verify(userTaskServicesClient, never()).findTaskByWorkItemId(node2WorkItemId);
+        verify(taskOwnerResolver).getActualOwners(containerId,
+                                                  caseId,
+                                                  singletonList(node1WorkItemId));
     }
 
     @Test
@@ -793,19 +960,21 @@ public class RemoteCaseManagementServiceImplTest {
         final NodeInstance nodeInstance = createTestNodeInstance("completedNode",
                                                                  NODE_TYPE_HUMAN_TASK,
                                                                  1L);
-        final TaskInstance taskInstance = TaskInstance.builder().actualOwner("owner").build();
         when(clientMock.getCompletedNodes(containerId,
                                           caseId,
                                           0,
-                                          PAGE_SIZE_UNLIMITED)).thenReturn(singletonList(nodeInstance));
-        when(userTaskServicesClient.findTaskByWorkItemId(nodeInstance.getWorkItemId())).thenReturn(taskInstance);
+                                          100)).thenReturn(singletonList(nodeInstance));
+        when(taskOwnerResolver.getActualOwners(containerId,
+                                               caseId,
+                                               singletonList(nodeInstance.getWorkItemId()))).thenReturn(Collections.singletonMap(nodeInstance.getWorkItemId(),
+                                                                                                                                 "owner"));
 
         final List<CaseActionSummary> result = testedService.getCompletedActions(containerId,
                                                                                  caseId);
         SoftAssertions.assertSoftly(softly -> {
             softly.assertThat(result.get(0).getName()).isEqualTo(nodeInstance.getName());
             softly.assertThat(result.get(0).getType()).isEqualTo(nodeInstance.getNodeType());
-            softly.assertThat(result.get(0).getActualOwner()).isEqualTo(taskInstance.getActualOwner());
+            softly.assertThat(result.get(0).getActualOwner()).isEqualTo("owner");
             softly.assertThat(result.get(0).getActionStatus()).isEqualTo(CaseActionStatus.COMPLETED);
         });
     }
@@ -818,12 +987,12 @@ public class RemoteCaseManagementServiceImplTest {
         when(clientMock.getCompletedNodes(containerId,
                                           caseId,
                                           0,
-                                          PAGE_SIZE_UNLIMITED)).thenReturn(singletonList(nodeInstance));
+                                          100)).thenReturn(singletonList(nodeInstance));
 
         final List<CaseActionSummary> result = testedService.getCompletedActions(containerId,
                                                                                  caseId);
 
-        verifyZeroInteractions(userTaskServicesClient);
+        verifyZeroInteractions(taskOwnerResolver);
 
         SoftAssertions.assertSoftly(softly -> {
             softly.assertThat(result.get(0).getName()).isEqualTo(nodeInstance.getName());
@@ -833,26 +1002,113 @@ public class RemoteCaseManagementServiceImplTest {
         });
     }
 
+    @Test
+    public void getCaseActionsTest_completedActionsPaged() {
+        final CaseInstance ci = createTestInstance(caseId);
+        ci.setStages(emptyList());
+        when(clientMock.getCaseInstance(containerId,
+                                        caseId,
+                                        false,
+                                        true,
+                                        true,
+                                        true)).thenReturn(ci);
+        final CaseAdHocFragment milestone1 = createTestCaseAdHocFragment("Milestone 1",
+                                                                         NODE_TYPE_MILESTONE);
+        final CaseAdHocFragment milestone2 = createTestCaseAdHocFragment("Milestone 2",
+                                                                         NODE_TYPE_MILESTONE);
+        when(clientMock.getAdHocFragments(containerId,
+                                          caseId)).thenReturn(Arrays.asList(milestone1,
+                                                                            milestone2));
+        final List<NodeInstance> completedNodes = new ArrayList<>();
+        for (long i = 0; i < 100; i++) {
+            completedNodes.add(createTestNodeInstance("complete" + i,
+                                                      "Service Task",
+                                                      i));
+        }
+        when(clientMock.getActiveNodes(containerId,
+                                       caseId,
+                                       0,
+                                       PAGE_SIZE_UNLIMITED)).thenReturn(emptyList());
+        when(clientMock.getCompletedNodes(containerId,
+                                          caseId,
+                                          0,
+                                          100)).thenReturn(completedNodes);
+        // milestone 1 was completed before the completed actions page
+        when(clientMock.getMilestones(containerId,
+                                      caseId,
+                                      false,
+                                      0,
+                                      PAGE_SIZE_UNLIMITED)).thenReturn(Arrays.asList(createTestMilestone("id1",
+                                                                                                         "Milestone 1",
+                                                                                                         "Completed"),
+                                                                                     createTestMilestone("id2",
+                                                                                                         "Milestone 2",
+                                                                                                         "Available")));
+
+        final Actions actions = testedService.getCaseActions(containerId,
+                                                             caseId,
+                                                             userId,
+                                                             0);
+
+        assertEquals(100,
+                     actions.getCompleteActions().size());
+        assertFalse(actions.isCompleteActionsLastPage());
+        assertEquals(1,
+                     actions.getAvailableActions().size());
+        assertCaseActionAdHocFragment(milestone2,
+                                      actions.getAvailableActions().get(0));
+        verifyZeroInteractions(taskOwnerResolver);
+    }
+
+    @Test
+    public void getCaseActionsTest_nextCompletedActionsPage() {
+        final CaseInstance ci = createTestInstance(caseId);
+        ci.setStages(emptyList());
+        when(clientMock.getCaseInstance(containerId,
+                                        caseId,
+                                        false,
+                                        true,
+                                        true,
+                                        true)).thenReturn(ci);
+        final CaseAdHocFragment milestone1 = createTestCaseAdHocFragment("Milestone 1",
+                                                                         NODE_TYPE_MILESTONE);
+        when(clientMock.getAdHocFragments(containerId,
+                                          caseId)).thenReturn(singletonList(milestone1));
+        when(clientMock.getActiveNodes(containerId,
+                                       caseId,
+                                       0,
+                                       PAGE_SIZE_UNLIMITED)).thenReturn(emptyList());
+        when(clientMock.getCompletedNodes(containerId,
+                                          caseId,
+                                          1,
+                                          100)).thenReturn(singletonList(createTestNodeInstance("complete100",
+                                                                                                "Service Task",
+                                                                                                100L)));
+        // milestone 1 was completed on the first page of completed actions
+        when(clientMock.getMilestones(containerId,
+                                      caseId,
+                                      false,
+                                      0,
+                                      PAGE_SIZE_UNLIMITED)).thenReturn(singletonList(createTestMilestone("id1",
+                                                                                                         "Milestone 1",
+                                                                                                         "Completed")));
+
+        final Actions actions = testedService.getCaseActions(containerId,
+                                                             caseId,
+                                                             userId,
+                                                             100);
+
+        assertEquals(1,
+                     actions.getCompleteActions().size());
+        assertEquals("complete100",
+                     actions.getCompleteActions().get(0).getName());
+        assertTrue(actions.isCompleteActionsLastPage());
+        assertTrue(actions.getAvailableActions().isEmpty());
+    }
+
     @Test
     public void testMilestoneNodePredicate() {
         assertFalse(new MilestoneNodePredicate().test(CaseActionSummary.builder().type(NODE_TYPE_HUMAN_TASK).build().getType()));
         assertTrue(new MilestoneNodePredicate().test(CaseActionSummary.builder().type(NODE_TYPE_MILESTONE).build().getType()));
     }
-
-    @Test
-    public void testHumanTaskNodePredicate() {
-        final String taskName = "Task Name";
-        final List<CaseActionSummary> actions = Arrays.asList(
-                CaseActionSummary.builder().type(NODE_TYPE_LIST_HUMAN_TASK.get(0)).name(taskName).build(),
-                CaseActionSummary.builder().type(NODE_TYPE_LIST_HUMAN_TASK.get(1)).name(taskName).build()
-        );
-        assertTrue(new InProgressHumanTaskPredicate().test(CaseActionSummary.builder().type(NODE_TYPE_LIST_HUMAN_TASK.get(0)).name(taskName).build(),
-                                                           actions));
-        assertTrue(new InProgressHumanTaskPredicate().test(CaseActionSummary.builder().type(NODE_TYPE_LIST_HUMAN_TASK.get(1)).name(taskName).build(),
-                                                           actions));
-        assertFalse(new InProgressHumanTaskPredicate().test(CaseActionSummary.builder().type(NODE_TYPE_LIST_HUMAN_TASK.get(0)).name("Task Name 2").build(),
-                                                            actions));
-        assertFalse(new InProgressHumanTaskPredicate().test(CaseActionSummary.builder().type(NODE_TYPE_MILESTONE).name(taskName).build(),
-                                                            actions));
-    }
-}
\ No newline at end of file
+}
@@ -28,7 +28,6 @@ import javax.inject.Inject;
 import org.jboss.errai.security.shared.api.identity.User;
 import org.jbpm.workbench.cm.client.util.AbstractCaseInstancePresenter;
 import org.jbpm.workbench.cm.model.CaseActionSummary;
-import org.jbpm.workbench.cm.model.CaseInstanceSummary;
 import org.jbpm.workbench.cm.model.CaseStageSummary;
 import org.jbpm.workbench.cm.model.ProcessDefinitionSummary;
 import org.jbpm.workbench.cm.predicate.HumanTaskNodePredicate;
@@ -37,6 +36,7 @@ import org.jbpm.workbench.cm.predicate.SubProcessNodePredicate;
 import org.jbpm.workbench.cm.util.Actions;
 import org.jbpm.workbench.cm.util.CaseActionStatus;
 import org.jbpm.workbench.cm.util.CaseActionType;
+import org.jbpm.workbench.cm.util.CaseInstanceSnapshot;
 import org.jbpm.workbench.cm.util.CaseStageStatus;
 import org.uberfire.client.annotations.WorkbenchPartTitle;
 import org.uberfire.client.annotations.WorkbenchScreen;
@@ -56,6 +56,8 @@ public class CaseActionsPresenter extends AbstractCaseInstancePresenter<CaseActi
 
     private final Map<String, ProcessDefinitionSummary> processDefinitionSummaryMap = new HashMap<>();
 
+    private final List<CaseActionSummary> completedActions = new ArrayList<>();
+
     @Inject
     private User identity;
 
@@ -73,29 +75,27 @@ public class CaseActionsPresenter extends AbstractCaseInstancePresenter<CaseActi
 
     @Override
     protected void clearCaseInstance() {
+        completedActions.clear();
         view.removeAllTasks();
         newActionView.clearAllStages();
         newActionView.clearAllProcessDefinitions();
     }
 
     @Override
-    protected void loadCaseInstance(final CaseInstanceSummary cis) {
+    protected void loadCaseInstance(final CaseInstanceSnapshot snapshot) {
         view.updateListHeaders();
-        setCaseStagesList(cis.getStages());
+        setCaseStagesList(snapshot.getCaseInstance().getStages());
         processDefinitionSummaryMap.clear();
-        caseService.call(
-                (List<ProcessDefinitionSummary> processDefinitionSummaries) -> {
-                    final List<String> processDefinitionNames = new ArrayList<>();
-                    for (ProcessDefinitionSummary processDefinitionSummary : processDefinitionSummaries) {
-                        processDefinitionNames.add(processDefinitionSummary.getName());
-                        processDefinitionSummaryMap.put(processDefinitionSummary.getName(),
-                                                        processDefinitionSummary);
-                    }
-                    Collections.sort(processDefinitionNames);
-                    newActionView.setProcessDefinitions(processDefinitionNames);
-                }
-        ).getProcessDefinitions(containerId);
-        refreshData(true);
+        final List<String> processDefinitionNames = new ArrayList<>();
+        for (ProcessDefinitionSummary processDefinitionSummary : snapshot.getProcessDefinitions()) {
+            processDefinitionNames.add(processDefinitionSummary.getName());
+            processDefinitionSummaryMap.put(processDefinitionSummary.getName(),
+                                            processDefinitionSummary);
+        }
+        Collections.sort(processDefinitionNames);
+        newActionView.setProcessDefinitions(processDefinitionNames);
+        setActions(snapshot.getActions(),
+                   true);
     }
 
     void setCaseStagesList(final List<CaseStageSummary> caseStagesList) {
@@ -186,25 +186,51 @@ public class CaseActionsPresenter extends AbstractCaseInstancePresenter<CaseActi
     }
 
     protected void refreshData(final boolean refreshAvailableActions) {
+        caseService.call((Actions actions) -> setActions(actions,
+                                                         refreshAvailableActions))
+                .getCaseActions(containerId, caseId, identity.getIdentifier(), 0);
+    }
+
+    protected void loadMoreCompletedActions() {
         caseService.call((Actions actions) -> {
-            if (refreshAvailableActions) {
-                List<CaseActionSummary> availableActions = new ArrayList<>();
-                availableActions.add(CaseActionSummary.builder()
-                                             .name(translationService.getTranslation(NEW_USER_TASK))
-                                             .actionType(DYNAMIC_USER_TASK)
-                                             .actionStatus(CaseActionStatus.AVAILABLE)
-                                             .build());
-                availableActions.add(CaseActionSummary.builder()
-                                             .name(translationService.getTranslation(NEW_PROCESS_TASK))
-                                             .actionType(DYNAMIC_SUBPROCESS_TASK)
-                                             .actionStatus(CaseActionStatus.AVAILABLE)
-                                             .build());
-                availableActions.addAll(actions.getAvailableActions());
-                view.setAvailableActionsList(availableActions);
-            }
             view.setInProgressActionsList(actions.getInProgressAction());
-            view.setCompletedActionsList(actions.getCompleteActions());
-        }).getCaseActions(containerId, caseId, identity.getIdentifier());
+            addCompletedActions(actions);
+        }).getCaseActions(containerId,
+                          caseId,
+                          identity.getIdentifier(),
+                          completedActions.size());
+    }
+
+    protected void setActions(final Actions actions,
+                              final boolean refreshAvailableActions) {
+        if (refreshAvailableActions) {
+            List<CaseActionSummary> availableActions = new ArrayList<>();
+            availableActions.add(CaseActionSummary.builder()
+                                         .name(translationService.getTranslation(NEW_USER_TASK))
+                                         .actionType(DYNAMIC_USER_TASK)
+                                         .actionStatus(CaseActionStatus.AVAILABLE)
+                                         .build());
+            availableActions.add(CaseActionSummary.builder()
+                                         .name(translationService.getTranslation(NEW_PROCESS_TASK))
+                                         .actionType(DYNAMIC_SUBPROCESS_TASK)
+                                         .actionStatus(CaseActionStatus.AVAILABLE)
+                                         .build());
+            availableActions.addAll(actions.getAvailableActions());
+            view.setAvailableActionsList(availableActions);
+        }
+        view.setInProgressActionsList(actions.getInProgressAction());
+        completedActions.clear();
+        addCompletedActions(actions);
+    }
+
+    protected void addCompletedActions(final Actions actions) {
+        completedActions.addAll(actions.getCompleteActions());
+        view.setCompletedActionsList(new ArrayList<>(completedActions));
+        if (actions.isCompleteActionsLastPage()) {
+            view.hideLoadMoreCompletedActions();
+        } else {
+            view.showLoadMoreCompletedActions();
+        }
     }
 
     void setAction(final CaseActionItemView caseActionItem) {
@@ -303,6 +329,10 @@ public class CaseActionsPresenter extends AbstractCaseInstancePresenter<CaseActi
 
         void setCompletedActionsList(List<CaseActionSummary> caseActionList);
 
+        void showLoadMoreCompletedActions();
+
+        void hideLoadMoreCompletedActions();
+
         void updateListHeaders();
     }
 
@@ -20,10 +20,14 @@ import java.util.List;
 import javax.enterprise.context.Dependent;
 import javax.inject.Inject;
 
+import org.jboss.errai.common.client.dom.Button;
 import org.jboss.errai.common.client.dom.Div;
 import org.jboss.errai.common.client.dom.HTMLElement;
+import org.jboss.errai.common.client.dom.MouseEvent;
 import org.jboss.errai.ui.client.local.spi.TranslationService;
 import org.jboss.errai.ui.shared.api.annotations.DataField;
+import org.jboss.errai.ui.shared.api.annotations.EventHandler;
+import org.jboss.errai.ui.shared.api.annotations.ForEvent;
 import org.jboss.errai.ui.shared.api.annotations.Templated;
 import org.jbpm.workbench.cm.client.util.AbstractView;
 import org.jbpm.workbench.cm.model.CaseActionSummary;
@@ -48,6 +52,15 @@ public class CaseActionsViewImpl extends AbstractView<CaseActionsPresenter> impl
     @DataField("completed-actions")
     private CaseActionsListViewImpl completedActions;
 
+    @Inject
+    @DataField("load-div")
+    private Div loadDiv;
+
+    @Inject
+    @DataField("load-more-completed-actions")
+    @SuppressWarnings("PMD.UnusedPrivateField")
+    private Button loadMoreCompletedActions;
+
     @Inject
     @DataField("actions")
     private Div actionsContainer;
@@ -90,6 +103,21 @@ public class CaseActionsViewImpl extends AbstractView<CaseActionsPresenter> impl
         completedActions.setCaseActionList(caseActionList);
     }
 
+    @Override
+    public void showLoadMoreCompletedActions() {
+        loadDiv.setHidden(false);
+    }
+
+    @Override
+    public void hideLoadMoreCompletedActions() {
+        loadDiv.setHidden(true);
+    }
+
+    @EventHandler("load-more-completed-actions")
+    public void loadMoreCompletedActions(final @ForEvent("click") MouseEvent event) {
+        presenter.loadMoreCompletedActions();
+    }
+
     @Override
     public void updateListHeaders() {
         availableActions.updateActionsHeader(translationService.format(AVAILABLE_ACTIONS),
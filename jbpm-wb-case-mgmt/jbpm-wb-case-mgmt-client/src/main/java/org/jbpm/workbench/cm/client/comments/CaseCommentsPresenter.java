@@ -25,7 +25,7 @@ import javax.inject.Inject;
 import org.jboss.errai.security.shared.api.identity.User;
 import org.jbpm.workbench.cm.client.util.AbstractCaseInstancePresenter;
 import org.jbpm.workbench.cm.model.CaseCommentSummary;
-import org.jbpm.workbench.cm.model.CaseInstanceSummary;
+import org.jbpm.workbench.cm.util.CaseInstanceSnapshot;
 import org.uberfire.client.annotations.WorkbenchPartTitle;
 import org.uberfire.client.annotations.WorkbenchScreen;
 import org.uberfire.client.mvp.UberElement;
@@ -73,23 +73,31 @@ public class CaseCommentsPresenter extends AbstractCaseInstancePresenter<CaseCom
     }
 
     @Override
-    protected void loadCaseInstance(final CaseInstanceSummary cis) {
-        refreshComments();
+    protected void loadCaseInstance(final CaseInstanceSnapshot snapshot) {
+        if (currentPage != 0) {
+            refreshComments();
+            return;
+        }
+        view.clearCommentInputForm();
+        visibleComments.clear();
+        addComments(snapshot.getComments());
+    }
+
+    private void addComments(final List<CaseCommentSummary> comments) {
+        visibleComments.addAll(comments);
+        if (comments.size() < PAGE_SIZE) {
+            view.hideLoadButton();
+        }
+        view.setCaseCommentList(visibleComments.stream()
+                .sorted((sortAsc ?
+                        comparing(CaseCommentSummary::getAddedAt) :
+                        comparing(CaseCommentSummary::getAddedAt).reversed()))
+                .collect(toList()));
     }
     
     private void commentsServiceCall(int currentPage) {
         caseService.call(
-                (List<CaseCommentSummary> comments) -> {
-                    visibleComments.addAll(comments);
-                    if (comments.size() < PAGE_SIZE) {
-                        view.hideLoadButton();
-                    }
-                    view.setCaseCommentList(visibleComments.stream()
-                            .sorted((sortAsc ?
-                                    comparing(CaseCommentSummary::getAddedAt) :
-                                    comparing(CaseCommentSummary::getAddedAt).reversed()))
-                            .collect(toList()));
-                }
+                (List<CaseCommentSummary> comments) -> addComments(comments)
         ).getComments(containerId,
                       caseId, 
                       currentPage, 
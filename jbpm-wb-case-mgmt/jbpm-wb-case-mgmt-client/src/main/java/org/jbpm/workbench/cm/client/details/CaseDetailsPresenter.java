@@ -21,6 +21,7 @@ import com.google.gwt.user.client.TakesValue;
 import org.jbpm.workbench.cm.client.resources.i18n.Constants;
 import org.jbpm.workbench.cm.client.util.AbstractCaseInstancePresenter;
 import org.jbpm.workbench.cm.model.CaseInstanceSummary;
+import org.jbpm.workbench.cm.util.CaseInstanceSnapshot;
 import org.uberfire.client.annotations.WorkbenchPartTitle;
 import org.uberfire.client.annotations.WorkbenchScreen;
 import org.uberfire.client.mvp.UberElement;
@@ -42,8 +43,8 @@ public class CaseDetailsPresenter extends AbstractCaseInstancePresenter<CaseDeta
     }
 
     @Override
-    protected void loadCaseInstance(final CaseInstanceSummary cis) {
-        view.setValue(cis);
+    protected void loadCaseInstance(final CaseInstanceSnapshot snapshot) {
+        view.setValue(snapshot.getCaseInstance());
     }
 
     public interface CaseDetailsView extends UberElement<CaseDetailsPresenter>,
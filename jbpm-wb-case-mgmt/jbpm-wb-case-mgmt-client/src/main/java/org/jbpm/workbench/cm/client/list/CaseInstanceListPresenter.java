@@ -16,6 +16,7 @@
 
 package org.jbpm.workbench.cm.client.list;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -39,6 +40,7 @@ import org.uberfire.client.annotations.WorkbenchScreen;
 import org.uberfire.client.mvp.PlaceManager;
 import org.uberfire.client.mvp.UberElement;
 import org.uberfire.mvp.impl.DefaultPlaceRequest;
+import org.uberfire.paging.PageResponse;
 
 import static org.jbpm.workbench.cm.client.resources.i18n.Constants.CASE_LIST;
 
@@ -59,6 +61,8 @@ public class CaseInstanceListPresenter extends AbstractPresenter<CaseInstanceLis
     @Inject
     private NewCaseInstancePresenter newCaseInstancePresenter;
 
+    private final List<CaseInstanceSummary> visibleCaseInstances = new ArrayList<>();
+
     @WorkbenchPartTitle
     public String getTitle() {
         return translationService.format(CASE_LIST);
@@ -76,7 +80,29 @@ public class CaseInstanceListPresenter extends AbstractPresenter<CaseInstanceLis
     }
 
     protected void refreshData() {
-        caseService.call((List<CaseInstanceSummary> cases) -> view.setCaseInstanceList(cases)).getCaseInstances(view.getValue());
+        loadCaseInstances(0);
+    }
+
+    public void loadMoreCaseInstances() {
+        loadCaseInstances(visibleCaseInstances.size());
+    }
+
+    protected void loadCaseInstances(final int offset) {
+        // copy the search request, changes on the bound model trigger a new search
+        final CaseInstanceSearchRequest request = new CaseInstanceSearchRequest(view.getValue());
+        request.setOffset(offset);
+        caseService.call((PageResponse<CaseInstanceSummary> response) -> {
+            if (response.getStartRowIndex() == 0) {
+                visibleCaseInstances.clear();
+            }
+            visibleCaseInstances.addAll(response.getPageRowList());
+            view.setCaseInstanceList(new ArrayList<>(visibleCaseInstances));
+            if (response.isLastPage()) {
+                view.hideLoadButton();
+            } else {
+                view.showLoadButton();
+            }
+        }).getCaseInstances(request);
     }
 
     protected void selectCaseInstance(final CaseInstanceSummary cis) {
@@ -123,5 +149,9 @@ public class CaseInstanceListPresenter extends AbstractPresenter<CaseInstanceLis
 
         void setCaseInstanceList(List<CaseInstanceSummary> caseInstanceList);
 
+        void showLoadButton();
+
+        void hideLoadButton();
+
     }
 }
\ No newline at end of file
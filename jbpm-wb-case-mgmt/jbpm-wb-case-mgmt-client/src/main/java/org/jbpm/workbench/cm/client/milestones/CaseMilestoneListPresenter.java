@@ -20,8 +20,8 @@ import java.util.List;
 import javax.enterprise.context.Dependent;
 
 import org.jbpm.workbench.cm.client.util.AbstractCaseInstancePresenter;
-import org.jbpm.workbench.cm.model.CaseInstanceSummary;
 import org.jbpm.workbench.cm.model.CaseMilestoneSummary;
+import org.jbpm.workbench.cm.util.CaseInstanceSnapshot;
 import org.jbpm.workbench.cm.util.CaseMilestoneSearchRequest;
 import org.uberfire.client.annotations.WorkbenchPartTitle;
 import org.uberfire.client.annotations.WorkbenchScreen;
@@ -47,8 +47,13 @@ public class CaseMilestoneListPresenter extends AbstractCaseInstancePresenter<Ca
     }
 
     @Override
-    protected void loadCaseInstance(final CaseInstanceSummary cis) {
-        refreshData(caseId);
+    protected void loadCaseInstance(final CaseInstanceSnapshot snapshot) {
+        // the snapshot is sorted as a default search, which might not be the current one
+        if (Boolean.TRUE.equals(view.getCaseMilestoneSearchRequest().getSortByAsc())) {
+            view.setCaseMilestoneList(snapshot.getMilestones());
+        } else {
+            refreshData(caseId);
+        }
     }
 
     protected void searchCaseMilestones() {
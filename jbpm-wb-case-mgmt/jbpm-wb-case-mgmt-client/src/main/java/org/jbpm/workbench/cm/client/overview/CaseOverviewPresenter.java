@@ -33,6 +33,7 @@ import org.jbpm.workbench.cm.client.roles.CaseRolesPresenter;
 import org.jbpm.workbench.cm.client.stages.CaseStagesPresenter;
 import org.jbpm.workbench.cm.client.util.AbstractCaseInstancePresenter;
 import org.jbpm.workbench.cm.model.CaseInstanceSummary;
+import org.jbpm.workbench.cm.util.CaseInstanceSnapshot;
 import org.uberfire.client.annotations.WorkbenchPartTitle;
 import org.uberfire.client.annotations.WorkbenchScreen;
 import org.uberfire.client.mvp.PlaceManager;
@@ -89,7 +90,8 @@ public class CaseOverviewPresenter extends AbstractCaseInstancePresenter<CaseOve
     }
 
     @Override
-    protected void loadCaseInstance(final CaseInstanceSummary cis) {
+    protected void loadCaseInstance(final CaseInstanceSnapshot snapshot) {
+        final CaseInstanceSummary cis = snapshot.getCaseInstance();
         view.setCaseTitle(cis.getDescription());
         view.setCaseId(cis.getCaseId());
         view.setCaseOwner(cis.getOwner());
@@ -28,6 +28,7 @@ import org.jbpm.workbench.cm.client.util.CaseRolesValidations;
 import org.jbpm.workbench.cm.model.CaseDefinitionSummary;
 import org.jbpm.workbench.cm.model.CaseInstanceSummary;
 import org.jbpm.workbench.cm.model.CaseRoleAssignmentSummary;
+import org.jbpm.workbench.cm.util.CaseInstanceSnapshot;
 import org.uberfire.client.annotations.WorkbenchPartTitle;
 import org.uberfire.client.annotations.WorkbenchScreen;
 import org.uberfire.client.mvp.UberElement;
@@ -73,25 +74,20 @@ public class CaseRolesPresenter extends AbstractCaseInstancePresenter<CaseRolesP
     }
 
     @Override
-    protected void loadCaseInstance(final CaseInstanceSummary cis) {
-        loadCaseRoles(cis);
+    protected void loadCaseInstance(final CaseInstanceSnapshot snapshot) {
+        loadCaseRoles(snapshot.getCaseInstance(),
+                      snapshot.getCaseDefinition());
     }
 
-    protected void loadCaseRoles(final CaseInstanceSummary cis) {
-        if (cis == null || cis.getCaseDefinitionId() == null || cis.getRoleAssignments().isEmpty()) {
+    protected void loadCaseRoles(final CaseInstanceSummary cis,
+                                 final CaseDefinitionSummary cds) {
+        if (cis == null || cds == null || cis.getRoleAssignments().isEmpty()) {
             return;
         }
-        caseService.call(
-                (CaseDefinitionSummary cds) -> {
-                    if (cds == null) {
-                        return;
-                    }
-                    caseDefinition = cds;
-                    setCaseRolesAssignments(cis.getRoleAssignments());
-                    view.setBadge(getCaseRolesAssignments().size());
-                    filterCaseRoles();
-                }
-        ).getCaseDefinition(containerId, cis.getCaseDefinitionId());
+        caseDefinition = cds;
+        setCaseRolesAssignments(cis.getRoleAssignments());
+        view.setBadge(getCaseRolesAssignments().size());
+        filterCaseRoles();
     }
 
     public void filterCaseRoles() {
@@ -20,8 +20,8 @@ import javax.enterprise.context.Dependent;
 
 import org.jbpm.workbench.cm.client.resources.i18n.Constants;
 import org.jbpm.workbench.cm.client.util.AbstractCaseInstancePresenter;
-import org.jbpm.workbench.cm.model.CaseInstanceSummary;
 import org.jbpm.workbench.cm.model.CaseStageSummary;
+import org.jbpm.workbench.cm.util.CaseInstanceSnapshot;
 import org.jbpm.workbench.cm.util.CaseStageStatus;
 import org.uberfire.client.annotations.WorkbenchPartTitle;
 import org.uberfire.client.annotations.WorkbenchScreen;
@@ -44,12 +44,9 @@ public class CaseStagesPresenter extends AbstractCaseInstancePresenter<CaseStage
     }
 
     @Override
-    protected void loadCaseInstance(final CaseInstanceSummary cis) {
-        caseService.call((List<CaseStageSummary> stages) -> {
-            view.setCaseStagesList(stages);
-            setStages();
-        }).getCaseStages(containerId,
-                         caseId);
+    protected void loadCaseInstance(final CaseInstanceSnapshot snapshot) {
+        view.setCaseStagesList(snapshot.getStages());
+        setStages();
     }
 
     void setStages() {
@@ -22,8 +22,8 @@ import javax.inject.Inject;
 import org.jboss.errai.common.client.api.Caller;
 import org.jboss.errai.ui.client.local.spi.TranslationService;
 import org.jbpm.workbench.cm.client.events.CaseRefreshEvent;
-import org.jbpm.workbench.cm.model.CaseInstanceSummary;
 import org.jbpm.workbench.cm.service.CaseManagementService;
+import org.jbpm.workbench.cm.util.CaseInstanceSnapshot;
 import org.uberfire.client.mvp.UberElement;
 import org.uberfire.lifecycle.OnStartup;
 import org.uberfire.mvp.PlaceRequest;
@@ -46,6 +46,8 @@ public abstract class AbstractCaseInstancePresenter<V extends UberElement> exten
 
     protected Caller<CaseManagementService> caseService;
 
+    protected CaseInstanceSnapshotLoader snapshotLoader;
+
     @OnStartup
     public void onStartup(final PlaceRequest place) {
         this.place = place;
@@ -56,14 +58,16 @@ public abstract class AbstractCaseInstancePresenter<V extends UberElement> exten
         findCaseInstance();
     }
 
-    protected abstract void loadCaseInstance(CaseInstanceSummary cis);
+    protected abstract void loadCaseInstance(CaseInstanceSnapshot snapshot);
 
     protected abstract void clearCaseInstance();
 
     public void findCaseInstance() {
         clearCaseInstance();
         if (isCaseInstanceValid()) {
-            caseService.call((CaseInstanceSummary cis) -> loadCaseInstance(cis)).getCaseInstance(containerId, caseId);
+            snapshotLoader.load(containerId,
+                                caseId,
+                                this::loadCaseInstance);
         }
     }
 
@@ -80,4 +84,9 @@ public abstract class AbstractCaseInstancePresenter<V extends UberElement> exten
     public void setCaseService(final Caller<CaseManagementService> caseService) {
         this.caseService = caseService;
     }
+
+    @Inject
+    public void setSnapshotLoader(final CaseInstanceSnapshotLoader snapshotLoader) {
+        this.snapshotLoader = snapshotLoader;
+    }
 }
\ No newline at end of file
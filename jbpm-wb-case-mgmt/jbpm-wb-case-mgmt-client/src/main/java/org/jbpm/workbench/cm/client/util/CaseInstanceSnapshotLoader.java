@@ -0,0 +1,83 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jbpm.workbench.cm.client.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+
+import org.jboss.errai.common.client.api.Caller;
+import org.jboss.errai.common.client.api.RemoteCallback;
+import org.jboss.errai.security.shared.api.identity.User;
+import org.jbpm.workbench.cm.client.comments.CaseCommentsPresenter;
+import org.jbpm.workbench.cm.service.CaseManagementService;
+import org.jbpm.workbench.cm.util.CaseInstanceSnapshot;
+
+/**
+ * Loads the snapshot of a case instance for all the case overview panels. Panels asking for the same case while a
+ * snapshot is being loaded, e.g. when the overview is opened or refreshed, share that single call.
+ */
+@ApplicationScoped
+public class CaseInstanceSnapshotLoader {
+
+    private final Map<List<String>, List<RemoteCallback<CaseInstanceSnapshot>>> pending = new HashMap<>();
+
+    private Caller<CaseManagementService> caseService;
+
+    private User identity;
+
+    public void load(final String containerId,
+                     final String caseId,
+                     final RemoteCallback<CaseInstanceSnapshot> callback) {
+        final List<String> key = Arrays.asList(containerId,
+                                               caseId);
+        final List<RemoteCallback<CaseInstanceSnapshot>> callbacks = pending.get(key);
+        if (callbacks != null) {
+            callbacks.add(callback);
+            return;
+        }
+        final List<RemoteCallback<CaseInstanceSnapshot>> newCallbacks = new ArrayList<>();
+        newCallbacks.add(callback);
+        pending.put(key,
+                    newCallbacks);
+        caseService.call(
+                (CaseInstanceSnapshot snapshot) -> pending.remove(key).forEach(c -> c.callback(snapshot)),
+                (message, throwable) -> {
+                    pending.remove(key);
+                    return true;
+                }
+        ).getCaseInstanceSnapshot(containerId,
+                                  caseId,
+                                  identity.getIdentifier(),
+                                  CaseCommentsPresenter.PAGE_SIZE);
+    }
+
+    @Inject
+    public void setCaseService(final Caller<CaseManagementService> caseService) {
+        this.caseService = caseService;
+    }
+
+    @Inject
+    public void setIdentity(final User identity) {
+        this.identity = identity;
+    }
+}
@@ -98,19 +98,21 @@ public class ActionsPresenterTest extends AbstractCaseInstancePresenterTest {
                                                     createCaseStageSummary(ACTIVE.getStatus()))));
         when(caseManagementService.getCaseActions(anyString(),
                                                   anyString(),
-                                                  anyString())).thenReturn(actions);
+                                                  anyString(),
+                                                  anyInt())).thenReturn(actions);
 
         when(actions.getAvailableActions()).thenReturn(caseActionSummaryList);
         when(actions.getInProgressAction()).thenReturn(caseActionSummaryList);
         when(actions.getCompleteActions()).thenReturn(caseActionSummaryList);
+        snapshot.setActions(actions);
     }
 
     @Test
     public void clearAndLoadCaseInstanceTest() {
-        when(caseManagementService.getProcessDefinitions(containerId)).thenReturn(singletonList(ProcessDefinitionSummary.builder()
-                                                                                                                        .id("processId")
-                                                                                                                        .name("SubProcess_1")
-                                                                                                                        .build()));
+        snapshot.setProcessDefinitions(singletonList(ProcessDefinitionSummary.builder()
+                                                             .id("processId")
+                                                             .name("SubProcess_1")
+                                                             .build()));
         setupCaseInstance(cis);
 
         verifyCaseInstanceCleared();
@@ -139,7 +141,8 @@ public class ActionsPresenterTest extends AbstractCaseInstancePresenterTest {
     }
 
     private void verifySubProcessesLoaded() {
-        verify(caseManagementService).getProcessDefinitions(containerId);
+        verify(caseManagementService,
+               never()).getProcessDefinitions(anyString());
         final ArgumentCaptor<List> captor = ArgumentCaptor.forClass(List.class);
         verify(newActionViewMock).setProcessDefinitions(captor.capture());
         assertEquals(1,
@@ -149,8 +152,13 @@ public class ActionsPresenterTest extends AbstractCaseInstancePresenterTest {
     }
 
     private void verifyActionsLoaded() {
-        verify(presenter).refreshData(true);
-        verify(caseManagementService).getCaseActions(containerId, caseId, identity.getIdentifier());
+        verify(presenter).setActions(actions,
+                                     true);
+        verify(caseManagementService,
+               never()).getCaseActions(anyString(),
+                                       anyString(),
+                                       anyString(),
+                                       anyInt());
 
         final ArgumentCaptor<List> captor = ArgumentCaptor.forClass(List.class);
         verify(caseAllActionsView).setAvailableActionsList(captor.capture());
@@ -163,6 +171,29 @@ public class ActionsPresenterTest extends AbstractCaseInstancePresenterTest {
 
         verify(caseAllActionsView).setInProgressActionsList(caseActionSummaryList);
         verify(caseAllActionsView).setCompletedActionsList(caseActionSummaryList);
+        verify(caseAllActionsView).showLoadMoreCompletedActions();
+    }
+
+    @Test
+    public void testLoadMoreCompletedActions() {
+        setupCaseInstance(cis);
+        final CaseActionSummary nextCompletedAction = CaseActionSummary.builder()
+                .id(2L)
+                .name("nextActionName")
+                .build();
+        final Actions nextActions = new Actions();
+        nextActions.setInProgressAction(new ArrayList<>());
+        nextActions.setCompleteActions(singletonList(nextCompletedAction));
+        when(caseManagementService.getCaseActions(cis.getContainerId(),
+                                                  cis.getCaseId(),
+                                                  identity.getIdentifier(),
+                                                  1)).thenReturn(nextActions);
+
+        presenter.loadMoreCompletedActions();
+
+        verify(caseAllActionsView).setCompletedActionsList(Arrays.asList(caseActionSummaryList.get(0),
+                                                                         nextCompletedAction));
+        verify(caseAllActionsView).hideLoadMoreCompletedActions();
     }
 
     @Test
@@ -69,16 +69,18 @@ public class CaseCommentsPresenterTest extends AbstractCaseInstancePresenterTest
         final CaseInstanceSummary cis = newCaseInstanceSummary();
         final CaseCommentSummary caseComment = CaseCommentSummary.builder().id(commentId).author(author).text(text).addedAt(addedAt).build();
 
-        when(caseManagementService.getComments(cis.getContainerId(),
-                                               cis.getCaseId(), 
-                                               0,
-                                               presenter.getPageSize())).thenReturn(Collections.singletonList(caseComment));
+        snapshot.setComments(Collections.singletonList(caseComment));
         when(identity.getIdentifier()).thenReturn(author);
 
         setupCaseInstance(cis);
 
         verify(caseCommentsView).setCaseCommentList(Collections.singletonList(caseComment));
         verifyClearCaseInstance(1);
+        verify(caseManagementService,
+               never()).getComments(anyString(),
+                                    anyString(),
+                                    anyInt(),
+                                    anyInt());
     }
 
     @Test
@@ -106,6 +108,7 @@ public class CaseCommentsPresenterTest extends AbstractCaseInstancePresenterTest
                                                cis.getCaseId(), 
                                                0,
                                                presenter.getPageSize())).thenReturn(Collections.singletonList(caseComment));
+        snapshot.setComments(Collections.singletonList(caseComment));
 
         setupCaseInstance(cis);
         presenter.updateCaseComment(caseComment, newCommentText);
@@ -128,6 +131,7 @@ public class CaseCommentsPresenterTest extends AbstractCaseInstancePresenterTest
                                                cis.getCaseId(), 
                                                0,
                                                presenter.getPageSize())).thenReturn(Collections.singletonList(caseComment));
+        snapshot.setComments(Collections.singletonList(caseComment));
 
         setupCaseInstance(cis);
 
@@ -180,7 +184,7 @@ public class CaseCommentsPresenterTest extends AbstractCaseInstancePresenterTest
 
         presenter.onStartup(placeRequest);
 
-        verify(caseManagementService, times(timesCalled)).getCaseInstance(anyString(), anyString());
+        verify(caseManagementService, times(timesCalled)).getCaseInstanceSnapshot(anyString(), anyString(), anyString(), anyInt());
     }
 
     @Test
@@ -198,6 +202,7 @@ public class CaseCommentsPresenterTest extends AbstractCaseInstancePresenterTest
                                                cis.getCaseId(), 
                                                0,
                                                presenter.getPageSize())).thenReturn(Arrays.asList(caseComment1, caseComment2));
+        snapshot.setComments(Arrays.asList(caseComment1, caseComment2));
 
         setupCaseInstance(cis);
         final ArgumentCaptor<List> captor = ArgumentCaptor.forClass(List.class);
@@ -222,7 +227,7 @@ public class CaseCommentsPresenterTest extends AbstractCaseInstancePresenterTest
             caseCommentSummary.add(comment);
         }
 
-        when(caseManagementService.getComments(cis.getContainerId(), cis.getCaseId(), 0, presenter.getPageSize())).thenReturn(caseCommentSummary.subList(0, 20));
+        snapshot.setComments(caseCommentSummary.subList(0, 20));
 
         setupCaseInstance(cis);
         
@@ -55,7 +55,7 @@ public class CaseDetailsPresenterTest extends AbstractCaseInstancePresenterTest
 
         verify(view).setValue(new CaseInstanceSummary());
         verifyNoMoreInteractions(view);
-        verify(caseManagementService, never()).getCaseInstance(anyString(), anyString());
+        verify(caseManagementService, never()).getCaseInstanceSnapshot(anyString(), anyString(), anyString(), anyInt());
     }
 
     @Test
@@ -65,7 +65,8 @@ public class CaseDetailsPresenterTest extends AbstractCaseInstancePresenterTest
         verify(view).setValue(new CaseInstanceSummary());
         verify(view).setValue(cis);
         verifyNoMoreInteractions(view);
-        verify(caseManagementService).getCaseInstance(cis.getContainerId(), cis.getCaseId());
+        verifyCaseInstanceSnapshotLoaded(cis,
+                                         1);
     }
 
     @Test
@@ -78,6 +79,7 @@ public class CaseDetailsPresenterTest extends AbstractCaseInstancePresenterTest
         verify(view, times(2)).setValue(cis);
 
         verifyNoMoreInteractions(view);
-        verify(caseManagementService, times(2)).getCaseInstance(cis.getContainerId(), cis.getCaseId());
+        verifyCaseInstanceSnapshotLoaded(cis,
+                                         2);
     }
 }
\ No newline at end of file
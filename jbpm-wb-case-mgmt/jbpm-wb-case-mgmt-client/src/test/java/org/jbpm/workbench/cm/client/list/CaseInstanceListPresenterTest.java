@@ -35,6 +35,7 @@ import org.mockito.runners.MockitoJUnitRunner;
 import org.uberfire.client.mvp.PlaceManager;
 import org.uberfire.mocks.CallerMock;
 import org.uberfire.mvp.impl.DefaultPlaceRequest;
+import org.uberfire.paging.PageResponse;
 
 import static org.junit.Assert.*;
 import static org.mockito.Mockito.*;
@@ -67,10 +68,21 @@ public class CaseInstanceListPresenterTest {
                 .build();
     }
 
+    private PageResponse<CaseInstanceSummary> createPageResponse(final int startRowIndex,
+                                                                 final boolean lastPage) {
+        final PageResponse<CaseInstanceSummary> response = new PageResponse<>();
+        response.setPageRowList(caseInstanceSummaryList);
+        response.setStartRowIndex(startRowIndex);
+        response.setLastPage(lastPage);
+        return response;
+    }
+
     @Before
     public void init() {
         caseService = new CallerMock<>(caseManagementService);
-        when(caseManagementService.getCaseInstances(any(CaseInstanceSearchRequest.class))).thenReturn(caseInstanceSummaryList);
+        when(caseManagementService.getCaseInstances(any(CaseInstanceSearchRequest.class))).thenAnswer(
+                invocation -> createPageResponse(((CaseInstanceSearchRequest) invocation.getArguments()[0]).getOffset(),
+                                                 true));
         presenter.setCaseService(caseService);
         when(view.getValue()).thenReturn(new CaseInstanceSearchRequest());
     }
@@ -115,6 +127,36 @@ public class CaseInstanceListPresenterTest {
                      captor.getValue().size());
     }
 
+    @Test
+    public void testLoadMoreCaseInstances() {
+        doReturn(createPageResponse(0,
+                                    false)).when(caseManagementService).getCaseInstances(any(CaseInstanceSearchRequest.class));
+        presenter.refreshData();
+
+        verify(view).showLoadButton();
+
+        doReturn(createPageResponse(1,
+                                    true)).when(caseManagementService).getCaseInstances(any(CaseInstanceSearchRequest.class));
+        presenter.loadMoreCaseInstances();
+
+        final ArgumentCaptor<CaseInstanceSearchRequest> requestCaptor = ArgumentCaptor.forClass(CaseInstanceSearchRequest.class);
+        verify(caseManagementService,
+               times(2)).getCaseInstances(requestCaptor.capture());
+        assertEquals(Integer.valueOf(0),
+                     requestCaptor.getAllValues().get(0).getOffset());
+        assertEquals(Integer.valueOf(1),
+                     requestCaptor.getAllValues().get(1).getOffset());
+        assertEquals(Integer.valueOf(0),
+                     view.getValue().getOffset());
+
+        final ArgumentCaptor<List> captor = ArgumentCaptor.forClass(List.class);
+        verify(view,
+               times(2)).setCaseInstanceList(captor.capture());
+        assertEquals(2,
+                     captor.getValue().size());
+        verify(view).hideLoadButton();
+    }
+
     @Test
     public void testInit() {
         presenter.init();
@@ -21,7 +21,6 @@ import java.util.List;
 import com.google.common.collect.Lists;
 import org.jbpm.workbench.cm.client.util.AbstractCaseInstancePresenterTest;
 import org.jbpm.workbench.cm.client.util.CaseMilestoneStatus;
-import org.jbpm.workbench.cm.model.CaseDefinitionSummary;
 import org.jbpm.workbench.cm.model.CaseInstanceSummary;
 import org.jbpm.workbench.cm.model.CaseMilestoneSummary;
 import org.jbpm.workbench.cm.util.CaseMilestoneSearchRequest;
@@ -32,7 +31,6 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
-import org.uberfire.mocks.CallerMock;
 
 import static java.util.Collections.singletonList;
 import static org.junit.Assert.assertEquals;
@@ -71,23 +69,15 @@ public class CaseMilestonesPresenterTest extends AbstractCaseInstancePresenterTe
     }
 
     @Before
+    @Override
     public void init() {
-        caseService = new CallerMock<>(caseManagementService);
+        super.init();
         when(caseManagementService.getCaseMilestones(anyString(),
                                                      anyString(),
                                                      any(CaseMilestoneSearchRequest.class))).thenReturn(caseMilestonesSummaryList);
         when(caseMilestoneListView.getCaseMilestoneSearchRequest()).thenReturn(new CaseMilestoneSearchRequest());
-        presenter.setCaseService(caseService);
 
         cis = CaseInstanceSummary.builder().containerId(containerId).caseId(caseId).caseDefinitionId(caseDefId).build();
-        final CaseDefinitionSummary cds = CaseDefinitionSummary.builder().id(caseDefId).build();
-
-        when(caseManagementService.getCaseDefinition(cis.getContainerId(), cis.getCaseDefinitionId())).thenReturn(cds);
-
-        List<CaseMilestoneSummary> milestones = singletonList(createCaseMilestone());
-        when(caseManagementService.getCaseMilestones(anyString(),
-                                                     anyString(),
-                                                     any(CaseMilestoneSearchRequest.class))).thenReturn(milestones);
     }
 
     @Test
@@ -104,14 +94,30 @@ public class CaseMilestonesPresenterTest extends AbstractCaseInstancePresenterTe
     @Test
     public void testLoadCaseInstance() {
         List<CaseMilestoneSummary> milestones = singletonList(createCaseMilestone());
-        when(caseManagementService.getCaseMilestones(anyString(),
-                                                     anyString(),
-                                                     any(CaseMilestoneSearchRequest.class))).thenReturn(milestones);
+        snapshot.setMilestones(milestones);
 
         setupCaseInstance(cis);
 
         verifyClearCaseInstance();
         verify(caseMilestoneListView).setCaseMilestoneList(milestones);
+        verify(caseManagementService,
+               never()).getCaseMilestones(anyString(),
+                                          anyString(),
+                                          any(CaseMilestoneSearchRequest.class));
+    }
+
+    @Test
+    public void testLoadCaseInstanceSortedDescending() {
+        final CaseMilestoneSearchRequest request = new CaseMilestoneSearchRequest();
+        request.setSortByAsc(false);
+        when(caseMilestoneListView.getCaseMilestoneSearchRequest()).thenReturn(request);
+
+        setupCaseInstance(cis);
+
+        verify(caseManagementService).getCaseMilestones(cis.getContainerId(),
+                                                        cis.getCaseId(),
+                                                        request);
+        verify(caseMilestoneListView).setCaseMilestoneList(caseMilestonesSummaryList);
     }
 
     @Test
@@ -119,12 +125,11 @@ public class CaseMilestonesPresenterTest extends AbstractCaseInstancePresenterTe
         setupCaseInstance(cis);
         presenter.searchCaseMilestones();
 
-        verify(caseManagementService,
-               times(2)).getCaseMilestones(cis.getContainerId(),
-                                           cis.getCaseId(),
-                                           caseMilestoneListView.getCaseMilestoneSearchRequest());
+        verify(caseManagementService).getCaseMilestones(cis.getContainerId(),
+                                                        cis.getCaseId(),
+                                                        caseMilestoneListView.getCaseMilestoneSearchRequest());
         final ArgumentCaptor<List> captor = ArgumentCaptor.forClass(List.class);
         verify(caseMilestoneListView, times(2)).setCaseMilestoneList(captor.capture());
-        assertEquals(caseMilestonesSummaryList.size(), captor.getValue().size());
+        assertEquals(caseMilestonesSummaryList, captor.getValue());
     }
 }
\ No newline at end of file
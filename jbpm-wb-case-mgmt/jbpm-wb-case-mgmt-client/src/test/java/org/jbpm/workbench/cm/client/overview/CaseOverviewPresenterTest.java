@@ -90,7 +90,7 @@ public class CaseOverviewPresenterTest extends AbstractCaseInstancePresenterTest
         verify(view).setCaseTitle("");
         verify(view).setCaseOwner("");
         verifyNoMoreInteractions(view);
-        verify(caseManagementService, never()).getCaseInstance(anyString(), anyString());
+        verify(caseManagementService, never()).getCaseInstanceSnapshot(anyString(), anyString(), anyString(), anyInt());
     }
 
     @Test
@@ -112,7 +112,8 @@ public class CaseOverviewPresenterTest extends AbstractCaseInstancePresenterTest
 
         verify(view, times(2)).setCaseId("");
         verify(view, times(2)).setCaseTitle("");
-        verify(caseManagementService, times(2)).getCaseInstance(cis.getContainerId(), cis.getCaseId());
+        verifyCaseInstanceSnapshotLoaded(cis,
+                                         2);
     }
 
     @Test
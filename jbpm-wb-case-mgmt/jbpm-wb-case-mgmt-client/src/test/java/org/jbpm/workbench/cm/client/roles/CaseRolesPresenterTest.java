@@ -96,7 +96,7 @@ public class CaseRolesPresenterTest extends AbstractCaseInstancePresenterTest {
 
     @Test
     public void testLoadCaseInstance_nonExistentCaseInstance() {
-        presenter.loadCaseInstance(null);
+        presenter.loadCaseInstance(snapshot);
 
         assertEquals(0, presenter.getCaseRolesAssignments().size());
         verifyZeroInteractions(view);
@@ -105,7 +105,8 @@ public class CaseRolesPresenterTest extends AbstractCaseInstancePresenterTest {
 
     @Test
     public void testLoadCaseInstance_caseInstanceWithoutAssignments() {
-        presenter.loadCaseInstance(caseInstance);
+        snapshot.setCaseInstance(caseInstance);
+        presenter.loadCaseInstance(snapshot);
 
         assertEquals(0, presenter.getCaseRolesAssignments().size());
         verifyZeroInteractions(view);
@@ -120,7 +121,8 @@ public class CaseRolesPresenterTest extends AbstractCaseInstancePresenterTest {
                                                                                .groups(singletonList(GROUP))
                                                                                .users(singletonList(USER))
                                                                                .build()));
-        presenter.loadCaseInstance(caseInstance);
+        snapshot.setCaseInstance(caseInstance);
+        presenter.loadCaseInstance(snapshot);
 
         assertEquals(0, presenter.getCaseRolesAssignments().size());
         verifyZeroInteractions(view);
@@ -134,8 +136,9 @@ public class CaseRolesPresenterTest extends AbstractCaseInstancePresenterTest {
                                                                                .groups(singletonList(GROUP))
                                                                                .users(singletonList(USER))
                                                                                .build()));
-        when(caseManagementService.getCaseDefinition(anyString(), anyString())).thenReturn(null);
-        presenter.loadCaseInstance(caseInstance);
+        snapshot.setCaseInstance(caseInstance);
+        snapshot.setCaseDefinition(null);
+        presenter.loadCaseInstance(snapshot);
 
         assertEquals(0, presenter.getCaseRolesAssignments().size());
         verifyZeroInteractions(view);
@@ -153,7 +156,7 @@ public class CaseRolesPresenterTest extends AbstractCaseInstancePresenterTest {
         setCaseDefinitionID(CASE_DEFINITION_ID,
                             caseDefinition,
                             caseInstance);
-        when(caseManagementService.getCaseDefinition(caseInstance.getContainerId(), caseInstance.getCaseDefinitionId())).thenReturn(caseDefinition);
+        snapshot.setCaseDefinition(caseDefinition);
         when(view.getFilterValue()).thenReturn("All");
 
         setupCaseInstance(caseInstance);
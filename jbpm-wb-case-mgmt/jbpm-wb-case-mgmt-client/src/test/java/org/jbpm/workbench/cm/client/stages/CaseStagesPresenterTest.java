@@ -19,7 +19,6 @@ package org.jbpm.workbench.cm.client.stages;
 import java.util.List;
 
 import org.jbpm.workbench.cm.client.util.AbstractCaseInstancePresenterTest;
-import org.jbpm.workbench.cm.model.CaseInstanceSummary;
 import org.jbpm.workbench.cm.model.CaseStageSummary;
 import org.junit.Before;
 import org.junit.Test;
@@ -59,17 +58,17 @@ public class CaseStagesPresenterTest extends AbstractCaseInstancePresenterTest {
     public void testClearAndLoadCaseInstance() {
         final List<CaseStageSummary> stages = asList(createCaseStageSummary(AVAILABLE.getStatus()),
                                                      createCaseStageSummary(COMPLETED.getStatus()));
-        when(caseManagementService.getCaseStages(any(),
-                                                 any())).thenReturn(stages);
-
-        final CaseInstanceSummary cis = newCaseInstanceSummary();
-        setupCaseInstance(cis);
+        snapshot.setStages(stages);
+        setupCaseInstance(newCaseInstanceSummary());
 
         verify(caseStagesView).removeAllStages();
         verify(caseStagesView).setCaseStagesList(stages);
         verify(caseStagesView).getCaseStageComponentList();
         verify(presenter).setStages();
         verifyNoMoreInteractions(caseStagesView);
+        verify(caseManagementService,
+               never()).getCaseStages(any(),
+                                      any());
     }
 
     @Test
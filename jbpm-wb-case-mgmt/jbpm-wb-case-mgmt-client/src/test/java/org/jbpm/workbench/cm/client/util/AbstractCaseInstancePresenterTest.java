@@ -16,14 +16,19 @@
 
 package org.jbpm.workbench.cm.client.util;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Date;
 
 import org.jboss.errai.common.client.api.Caller;
+import org.jboss.errai.security.shared.api.identity.User;
 import org.jboss.errai.ui.client.local.spi.TranslationService;
+import org.jbpm.workbench.cm.client.comments.CaseCommentsPresenter;
 import org.jbpm.workbench.cm.model.CaseInstanceSummary;
 import org.jbpm.workbench.cm.model.CaseStageSummary;
 import org.jbpm.workbench.cm.service.CaseManagementService;
+import org.jbpm.workbench.cm.util.Actions;
+import org.jbpm.workbench.cm.util.CaseInstanceSnapshot;
 import org.jbpm.workbench.cm.util.CaseStatus;
 import org.junit.Before;
 import org.mockito.Mock;
@@ -33,8 +38,13 @@ import org.uberfire.mvp.impl.DefaultPlaceRequest;
 
 import static org.jbpm.workbench.cm.client.util.AbstractCaseInstancePresenter.PARAMETER_CASE_ID;
 import static org.jbpm.workbench.cm.client.util.AbstractCaseInstancePresenter.PARAMETER_CONTAINER_ID;
+import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 public abstract class AbstractCaseInstancePresenterTest {
@@ -51,6 +61,8 @@ public abstract class AbstractCaseInstancePresenterTest {
     @Mock
     protected TranslationService translationService;
 
+    protected CaseInstanceSnapshot snapshot;
+
     protected static CaseInstanceSummary newCaseInstanceSummary() {
         return CaseInstanceSummary.builder()
                 .caseId(caseId)
@@ -77,6 +89,23 @@ public abstract class AbstractCaseInstancePresenterTest {
     public void init() {
         caseService = new CallerMock<>(caseManagementService);
         getPresenter().setCaseService(caseService);
+        final CaseInstanceSnapshotLoader snapshotLoader = new CaseInstanceSnapshotLoader();
+        snapshotLoader.setCaseService(caseService);
+        snapshotLoader.setIdentity(mock(User.class));
+        getPresenter().setSnapshotLoader(snapshotLoader);
+        snapshot = new CaseInstanceSnapshot();
+        snapshot.setMilestones(new ArrayList<>());
+        snapshot.setComments(new ArrayList<>());
+        snapshot.setProcessDefinitions(new ArrayList<>());
+        final Actions actions = new Actions();
+        actions.setAvailableActions(new ArrayList<>());
+        actions.setInProgressAction(new ArrayList<>());
+        actions.setCompleteActions(new ArrayList<>());
+        snapshot.setActions(actions);
+        when(caseManagementService.getCaseInstanceSnapshot(any(),
+                                                           any(),
+                                                           any(),
+                                                           any())).thenReturn(snapshot);
         doAnswer(im -> im.getArguments()[0]).when(translationService).format(anyString());
     }
 
@@ -90,10 +119,19 @@ public abstract class AbstractCaseInstancePresenterTest {
         final PlaceRequest placeRequest = new DefaultPlaceRequest();
         placeRequest.addParameter(PARAMETER_CONTAINER_ID, cis.getContainerId());
         placeRequest.addParameter(PARAMETER_CASE_ID, cis.getCaseId());
-        when(caseManagementService.getCaseInstance(cis.getContainerId(), cis.getCaseId())).thenReturn(cis);
+        snapshot.setCaseInstance(cis);
 
         getPresenter().onStartup(placeRequest);
     }
 
+    protected void verifyCaseInstanceSnapshotLoaded(final CaseInstanceSummary cis,
+                                                    final int times) {
+        verify(caseManagementService,
+               times(times)).getCaseInstanceSnapshot(eq(cis.getContainerId()),
+                                                     eq(cis.getCaseId()),
+                                                     any(),
+                                                     eq(CaseCommentsPresenter.PAGE_SIZE));
+    }
+
     public abstract AbstractCaseInstancePresenter getPresenter();
 }
\ No newline at end of file
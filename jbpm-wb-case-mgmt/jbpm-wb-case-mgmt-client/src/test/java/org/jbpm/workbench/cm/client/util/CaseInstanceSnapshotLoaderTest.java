@@ -0,0 +1,146 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jbpm.workbench.cm.client.util;
+
+import org.jboss.errai.common.client.api.Caller;
+import org.jboss.errai.common.client.api.ErrorCallback;
+import org.jboss.errai.common.client.api.RemoteCallback;
+import org.jboss.errai.security.shared.api.identity.User;
+import org.jbpm.workbench.cm.client.comments.CaseCommentsPresenter;
+import org.jbpm.workbench.cm.service.CaseManagementService;
+import org.jbpm.workbench.cm.util.CaseInstanceSnapshot;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.*;
+
+@RunWith(MockitoJUnitRunner.class)
+public class CaseInstanceSnapshotLoaderTest {
+
+    private static final String CONTAINER_ID = "containerId";
+    private static final String CASE_ID = "caseId";
+    private static final String USER_ID = "user";
+
+    @Mock
+    private Caller<CaseManagementService> caseService;
+
+    @Mock
+    private CaseManagementService caseManagementService;
+
+    @Mock
+    private User identity;
+
+    @Mock
+    private RemoteCallback<CaseInstanceSnapshot> firstCallback;
+
+    @Mock
+    private RemoteCallback<CaseInstanceSnapshot> secondCallback;
+
+    private final ArgumentCaptor<RemoteCallback> successCaptor = ArgumentCaptor.forClass(RemoteCallback.class);
+
+    private final ArgumentCaptor<ErrorCallback> errorCaptor = ArgumentCaptor.forClass(ErrorCallback.class);
+
+    private CaseInstanceSnapshotLoader loader;
+
+    @Before
+    public void setUp() {
+        when(identity.getIdentifier()).thenReturn(USER_ID);
+        when(caseService.call(any(RemoteCallback.class),
+                              any(ErrorCallback.class))).thenReturn(caseManagementService);
+        loader = new CaseInstanceSnapshotLoader();
+        loader.setCaseService(caseService);
+        loader.setIdentity(identity);
+    }
+
+    @Test
+    public void testConcurrentLoadsShareCall() {
+        final CaseInstanceSnapshot snapshot = new CaseInstanceSnapshot();
+
+        loader.load(CONTAINER_ID,
+                    CASE_ID,
+                    firstCallback);
+        loader.load(CONTAINER_ID,
+                    CASE_ID,
+                    secondCallback);
+
+        verify(caseManagementService).getCaseInstanceSnapshot(CONTAINER_ID,
+                                                              CASE_ID,
+                                                              USER_ID,
+                                                              CaseCommentsPresenter.PAGE_SIZE);
+        verify(caseService).call(successCaptor.capture(),
+                                 any(ErrorCallback.class));
+        successCaptor.getValue().callback(snapshot);
+        verify(firstCallback).callback(snapshot);
+        verify(secondCallback).callback(snapshot);
+
+        loader.load(CONTAINER_ID,
+                    CASE_ID,
+                    firstCallback);
+        verify(caseManagementService,
+               times(2)).getCaseInstanceSnapshot(CONTAINER_ID,
+                                                 CASE_ID,
+                                                 USER_ID,
+                                                 CaseCommentsPresenter.PAGE_SIZE);
+    }
+
+    @Test
+    public void testLoadsOfOtherCasesNotShared() {
+        loader.load(CONTAINER_ID,
+                    CASE_ID,
+                    firstCallback);
+        loader.load(CONTAINER_ID,
+                    "otherCaseId",
+                    secondCallback);
+
+        verify(caseManagementService).getCaseInstanceSnapshot(CONTAINER_ID,
+                                                              CASE_ID,
+                                                              USER_ID,
+                                                              CaseCommentsPresenter.PAGE_SIZE);
+        verify(caseManagementService).getCaseInstanceSnapshot(CONTAINER_ID,
+                                                              "otherCaseId",
+                                                              USER_ID,
+                                                              CaseCommentsPresenter.PAGE_SIZE);
+    }
+
+    @Test
+    public void testFailedLoadIsNotShared() {
+        loader.load(CONTAINER_ID,
+                    CASE_ID,
+                    firstCallback);
+        verify(caseService).call(any(RemoteCallback.class),
+                                 errorCaptor.capture());
+        errorCaptor.getValue().error(null,
+                                     new RuntimeException());
+
+        loader.load(CONTAINER_ID,
+                    CASE_ID,
+                    secondCallback);
+
+        verify(caseManagementService,
+               times(2)).getCaseInstanceSnapshot(CONTAINER_ID,
+                                                 CASE_ID,
+                                                 USER_ID,
+                                                 CaseCommentsPresenter.PAGE_SIZE);
+        verifyZeroInteractions(firstCallback,
+                               secondCallback);
+    }
+}
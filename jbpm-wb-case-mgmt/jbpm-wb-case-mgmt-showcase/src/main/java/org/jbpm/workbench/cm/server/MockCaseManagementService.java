@@ -18,6 +18,7 @@ package org.jbpm.workbench.cm.server;
 
 import java.io.InputStream;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
@@ -39,15 +40,19 @@ import org.jbpm.workbench.cm.model.CaseMilestoneSummary;
 import org.jbpm.workbench.cm.model.CaseRoleAssignmentSummary;
 import org.jbpm.workbench.cm.model.CaseStageSummary;
 import org.jbpm.workbench.cm.model.ProcessDefinitionSummary;
+import org.jbpm.workbench.cm.util.Actions;
 import org.jbpm.workbench.cm.util.CaseActionStatus;
 import org.jbpm.workbench.cm.util.CaseActionType;
 import org.jbpm.workbench.cm.util.CaseInstanceSearchRequest;
+import org.jbpm.workbench.cm.util.CaseInstanceSortBy;
 import org.jbpm.workbench.cm.util.CaseMilestoneSearchRequest;
 import org.jbpm.workbench.cm.util.CaseStatus;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.uberfire.paging.PageResponse;
 
 import static java.util.Collections.emptyList;
+import static java.util.Comparator.comparing;
 import static java.util.Optional.ofNullable;
 import static java.util.stream.Collectors.toList;
 
@@ -146,11 +151,37 @@ public class MockCaseManagementService extends RemoteCaseManagementServiceImpl {
     }
 
     @Override
-    public List<CaseInstanceSummary> getCaseInstances(final CaseInstanceSearchRequest request) {
-        return caseInstanceList.stream()
+    public PageResponse<CaseInstanceSummary> getCaseInstances(final CaseInstanceSearchRequest request) {
+        final List<CaseInstanceSummary> cases = caseInstanceList.stream()
                 .filter(c -> c.getStatus().equals(request.getStatus()))
                 .sorted(getCaseInstanceSummaryComparator(request))
                 .collect(toList());
+        final int offset = Math.min(ofNullable(request.getOffset()).orElse(0),
+                                    cases.size());
+        final int end = Math.min(offset + ofNullable(request.getPageSize()).orElse(cases.size()),
+                                 cases.size());
+
+        final PageResponse<CaseInstanceSummary> response = new PageResponse<>();
+        response.setPageRowList(new ArrayList<>(cases.subList(offset,
+                                                              end)));
+        response.setStartRowIndex(offset);
+        response.setTotalRowSize(cases.size());
+        response.setTotalRowSizeExact(true);
+        response.setLastPage(end == cases.size());
+        return response;
+    }
+
+    protected Comparator<CaseInstanceSummary> getCaseInstanceSummaryComparator(final CaseInstanceSearchRequest request) {
+        Comparator<CaseInstanceSummary> comparator;
+        switch (ofNullable(request.getSortBy()).orElse(CaseInstanceSortBy.CASE_ID)) {
+            case START_TIME:
+                comparator = comparing(CaseInstanceSummary::getStartedAt);
+                break;
+            case CASE_ID:
+            default:
+                comparator = comparing(CaseInstanceSummary::getCaseId);
+        }
+        return request.getSortByAsc() ? comparator : comparator.reversed();
     }
 
     @Override
@@ -298,6 +329,18 @@ public class MockCaseManagementService extends RemoteCaseManagementServiceImpl {
                 .filter(c -> CaseActionType.AD_HOC_TASK == c.getActionType()).collect(toList());
     }
 
+    @Override
+    protected Actions getNodeActions(final String containerId,
+                                     final String caseId,
+                                     final int completedActionsOffset) {
+        final Actions actions = new Actions();
+        actions.setInProgressAction(getInProgressActions(containerId,
+                                                         caseId));
+        actions.setCompleteActions(completedActionsOffset > 0 ? new ArrayList<>() : getCompletedActions(containerId,
+                                                                                                        caseId));
+        return actions;
+    }
+
     public List<CaseActionSummary> getInProgressActions(String containerId,
                                                         String caseId) {
         return ofNullable(caseActionMap.get(caseId)).orElse(emptyList()).stream()
@@ -0,0 +1,100 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jbpm.workbench.common.client.dataset;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+import org.dashbuilder.dataset.DataSet;
+
+import static org.jbpm.workbench.common.client.util.DataSetUtils.*;
+
+/**
+ * Joins variable rows (id, name, value) of a data set to the summaries of the current page. Summaries are indexed
+ * by id once, so every variable row is merged in constant time instead of scanning the whole page.
+ * @param <T> summary type
+ */
+public class DomainDataJoin<T> {
+
+    private final String idColumn;
+    private final String nameColumn;
+    private final String valueColumn;
+    private final Function<T, Long> idMapper;
+
+    public DomainDataJoin(final String idColumn,
+                          final String nameColumn,
+                          final String valueColumn,
+                          final Function<T, Long> idMapper) {
+        this.idColumn = idColumn;
+        this.nameColumn = nameColumn;
+        this.valueColumn = valueColumn;
+        this.idMapper = idMapper;
+    }
+
+    /**
+     * @param dataSet variable rows
+     * @param summaries summaries receiving the variables
+     * @param merger adds a variable to a summary, returning false when it was skipped
+     * @return names of the variables merged into at least one summary
+     */
+    public Set<String> join(final DataSet dataSet,
+                            final List<T> summaries,
+                            final DomainDataMerger<T> merger) {
+        final Map<Long, List<T>> index = new HashMap<>();
+        for (T summary : summaries) {
+            index.computeIfAbsent(idMapper.apply(summary),
+                                  id -> new ArrayList<>(1)).add(summary);
+        }
+
+        final Set<String> columns = new HashSet<>();
+        for (int i = 0; i < dataSet.getRowCount(); i++) {
+            final List<T> matches = index.get(getColumnLongValue(dataSet,
+                                                                 idColumn,
+                                                                 i));
+            if (matches == null) {
+                continue;
+            }
+            final String variableName = getColumnStringValue(dataSet,
+                                                             nameColumn,
+                                                             i);
+            final String variableValue = getColumnStringValue(dataSet,
+                                                              valueColumn,
+                                                              i);
+            for (T summary : matches) {
+                if (merger.merge(summary,
+                                 variableName,
+                                 variableValue)) {
+                    columns.add(variableName);
+                }
+            }
+        }
+        return columns;
+    }
+
+    @FunctionalInterface
+    public interface DomainDataMerger<T> {
+
+        boolean merge(T summary,
+                      String variableName,
+                      String variableValue);
+    }
+}
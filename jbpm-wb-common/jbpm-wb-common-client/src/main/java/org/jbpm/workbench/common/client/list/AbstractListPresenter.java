@@ -76,6 +76,31 @@ public abstract class AbstractListPresenter<T> implements RefreshMenuBuilder.Sup
         getListView().hideBusyIndicator();
     }
 
+    /**
+     * Updates the rows of a page looked up from a data set. A page smaller than the grid page size is the last one
+     * and gives the exact row count. Otherwise, the total row count reported along with the page is used when it goes
+     * beyond the page, so users are able to jump to any page. That total might be served from a count cached for a while,
+     * so it is not reported as exact.
+     * @param reportedRowCount total row count reported by the data set, see {@link org.dashbuilder.dataset.DataSet#getRowCountNonTrimmed()}
+     */
+    public void updatePageOnCallback(final List<T> instanceSummaries,
+                                     final int startRange,
+                                     final boolean lastPage,
+                                     final int reportedRowCount) {
+        final int pageEnd = startRange + instanceSummaries.size();
+        if (!lastPage && reportedRowCount > pageEnd) {
+            updateDataOnCallback(instanceSummaries,
+                                 startRange,
+                                 reportedRowCount,
+                                 false);
+        } else {
+            updateDataOnCallback(instanceSummaries,
+                                 startRange,
+                                 pageEnd,
+                                 lastPage);
+        }
+    }
+
     public void addDataDisplay(final HasData<T> display) {
         if(dataProvider.getDataDisplays().size() == 1){
             dataProvider.removeDataDisplay(dataProvider.getDataDisplays().iterator().next());
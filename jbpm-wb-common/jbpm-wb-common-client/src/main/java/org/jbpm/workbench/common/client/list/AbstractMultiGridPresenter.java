@@ -194,6 +194,10 @@ public abstract class AbstractMultiGridPresenter<T extends GenericSummary, V ext
                           });
     }
 
+    protected void setDataSetHandler(final FilterSettings tableSettings) {
+        getDataSetQueryHelper().setDataSetHandler(tableSettings);
+    }
+
     @Override
     public void getData(final Range visibleRange) {
         try {
@@ -209,7 +213,7 @@ public abstract class AbstractMultiGridPresenter<T extends GenericSummary, V ext
             }
 
             getDataSetQueryHelper().setCurrentTableSettings(currentTableSettings);
-            getDataSetQueryHelper().setDataSetHandler(currentTableSettings);
+            setDataSetHandler(currentTableSettings);
             getDataSetQueryHelper().lookupDataSet(visibleRange.getStart(),
                                                   getDataSetReadyCallback(visibleRange.getStart(),
                                                                           currentTableSettings));
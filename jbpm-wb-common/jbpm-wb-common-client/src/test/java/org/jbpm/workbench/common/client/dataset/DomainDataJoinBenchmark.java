@@ -0,0 +1,114 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jbpm.workbench.common.client.dataset;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.dashbuilder.dataset.DataSet;
+import org.dashbuilder.dataset.DataSetBuilder;
+import org.dashbuilder.dataset.DataSetFactory;
+
+import static org.jbpm.workbench.common.client.util.DataSetUtils.*;
+
+/**
+ * Compares {@link DomainDataJoin} with the nested loop previously used by the list presenters. Not part of the test
+ * suite, run its main method with the page size and variables per row as optional arguments.
+ */
+public class DomainDataJoinBenchmark {
+
+    private static final int WARM_UP = 200;
+    private static final int ITERATIONS = 1000;
+
+    public static void main(String[] args) {
+        final int pageSize = args.length > 0 ? Integer.parseInt(args[0]) : 100;
+        final int variables = args.length > 1 ? Integer.parseInt(args[1]) : 50;
+
+        final DataSetBuilder builder = DataSetFactory.newDataSetBuilder()
+                .label("id")
+                .label("name")
+                .label("value");
+        for (int i = 0; i < pageSize; i++) {
+            for (int v = 0; v < variables; v++) {
+                builder.row(String.valueOf(i),
+                            "var" + v,
+                            "value" + v);
+            }
+        }
+        final DataSet dataSet = builder.buildDataSet();
+        final List<DomainDataJoinTest.Summary> summaries = new ArrayList<>();
+        for (long i = 0; i < pageSize; i++) {
+            summaries.add(new DomainDataJoinTest.Summary(i));
+        }
+        final DomainDataJoin<DomainDataJoinTest.Summary> join = new DomainDataJoin<>("id",
+                                                                                     "name",
+                                                                                     "value",
+                                                                                     DomainDataJoinTest.Summary::getId);
+
+        System.out.println(String.format("%d rows x %d variables",
+                                         pageSize,
+                                         variables));
+        System.out.println(String.format("nested loop: %,d ns/op",
+                                         measure(() -> nestedLoop(dataSet,
+                                                                  summaries))));
+        System.out.println(String.format("hash join:   %,d ns/op",
+                                         measure(() -> join.join(dataSet,
+                                                                 summaries,
+                                                                 (summary, name, value) -> {
+                                                                     summary.data.put(name,
+                                                                                      value);
+                                                                     return true;
+                                                                 }))));
+    }
+
+    private static long measure(final Runnable operation) {
+        for (int i = 0; i < WARM_UP; i++) {
+            operation.run();
+        }
+        final long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            operation.run();
+        }
+        return (System.nanoTime() - start) / ITERATIONS;
+    }
+
+    private static Set<String> nestedLoop(final DataSet dataSet,
+                                          final List<DomainDataJoinTest.Summary> summaries) {
+        final Set<String> columns = new HashSet<>();
+        for (int i = 0; i < dataSet.getRowCount(); i++) {
+            final Long id = getColumnLongValue(dataSet,
+                                               "id",
+                                               i);
+            final String name = getColumnStringValue(dataSet,
+                                                     "name",
+                                                     i);
+            final String value = getColumnStringValue(dataSet,
+                                                      "value",
+                                                      i);
+            for (DomainDataJoinTest.Summary summary : summaries) {
+                if (summary.getId().equals(id)) {
+                    summary.data.put(name,
+                                     value);
+                    columns.add(name);
+                }
+            }
+        }
+        return columns;
+    }
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jbpm.workbench.common.client.dataset;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.dashbuilder.dataset.DataSet;
+import org.dashbuilder.dataset.DataSetFactory;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class DomainDataJoinTest {
+
+    private final DomainDataJoin<Summary> join = new DomainDataJoin<>("id",
+                                                                      "name",
+                                                                      "value",
+                                                                      Summary::getId);
+
+    @Test
+    public void testJoinMergesRowsIntoMatchingSummaries() {
+        final Summary first = new Summary(1L);
+        final Summary second = new Summary(2L);
+        final DataSet dataSet = DataSetFactory.newDataSetBuilder()
+                .label("id")
+                .label("name")
+                .label("value")
+                .row("1",
+                     "var1",
+                     "a")
+                .row("2",
+                     "var1",
+                     "b")
+                .row("2",
+                     "var2",
+                     "c")
+                .row("3",
+                     "var3",
+                     "d")
+                .buildDataSet();
+
+        final Set<String> columns = join.join(dataSet,
+                                              Arrays.asList(first,
+                                                            second),
+                                              (summary, name, value) -> {
+                                                  summary.data.put(name,
+                                                                   value);
+                                                  return true;
+                                              });
+
+        assertEquals(new HashSet<>(Arrays.asList("var1",
+                                                 "var2")),
+                     columns);
+        assertEquals(Collections.singletonMap("var1",
+                                              "a"),
+                     first.data);
+        assertEquals("b",
+                     second.data.get("var1"));
+        assertEquals("c",
+                     second.data.get("var2"));
+    }
+
+    @Test
+    public void testSkippedRowsAreNotColumns() {
+        final Summary summary = new Summary(1L);
+        final DataSet dataSet = DataSetFactory.newDataSetBuilder()
+                .label("id")
+                .label("name")
+                .label("value")
+                .row("1",
+                     "initiator",
+                     "admin")
+                .buildDataSet();
+
+        final Set<String> columns = join.join(dataSet,
+                                              Collections.singletonList(summary),
+                                              (s, name, value) -> false);
+
+        assertTrue(columns.isEmpty());
+    }
+
+    @Test
+    public void testSummariesSharingId() {
+        final List<Summary> summaries = Arrays.asList(new Summary(1L),
+                                                      new Summary(1L));
+        final DataSet dataSet = DataSetFactory.newDataSetBuilder()
+                .label("id")
+                .label("name")
+                .label("value")
+                .row("1",
+                     "var1",
+                     "a")
+                .buildDataSet();
+
+        join.join(dataSet,
+                  summaries,
+                  (summary, name, value) -> {
+                      summary.data.put(name,
+                                       value);
+                      return true;
+                  });
+
+        summaries.forEach(summary -> assertEquals("a",
+                                                  summary.data.get("var1")));
+    }
+
+    static class Summary {
+
+        private final Long id;
+        final Map<String, String> data = new HashMap<>();
+
+        Summary(final Long id) {
+            this.id = id;
+        }
+
+        Long getId() {
+            return id;
+        }
+    }
+}
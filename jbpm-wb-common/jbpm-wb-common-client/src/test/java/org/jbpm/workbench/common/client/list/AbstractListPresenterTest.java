@@ -100,6 +100,55 @@ public class AbstractListPresenterTest {
         when(viewMock.getListGrid()).thenReturn(extendedPagedTable);
     }
 
+    @Test
+    public void testUpdatePageOnCallBackWithReportedRowCount() {
+        List instanceSummaries = new ArrayList<>();
+        instanceSummaries.add("item1");
+        instanceSummaries.add("item2");
+
+        testListPresenter.setDataProvider(dataProviderMock);
+        testListPresenter.updatePageOnCallback(instanceSummaries,
+                                               10,
+                                               false,
+                                               2000);
+
+        verify(dataProviderMock).updateRowCount(2000,
+                                                false);
+        verify(dataProviderMock).updateRowData(10,
+                                               instanceSummaries);
+    }
+
+    @Test
+    public void testUpdatePageOnCallBackWithoutReportedRowCount() {
+        List instanceSummaries = new ArrayList<>();
+        instanceSummaries.add("item1");
+        instanceSummaries.add("item2");
+
+        testListPresenter.setDataProvider(dataProviderMock);
+        testListPresenter.updatePageOnCallback(instanceSummaries,
+                                               10,
+                                               false,
+                                               2);
+
+        verify(dataProviderMock).updateRowCount(12,
+                                                false);
+    }
+
+    @Test
+    public void testUpdatePageOnCallBackLastPage() {
+        List instanceSummaries = new ArrayList<>();
+        instanceSummaries.add("item1");
+
+        testListPresenter.setDataProvider(dataProviderMock);
+        testListPresenter.updatePageOnCallback(instanceSummaries,
+                                               10,
+                                               true,
+                                               2000);
+
+        verify(dataProviderMock).updateRowCount(11,
+                                                true);
+    }
+
     @Test
     public void testRefreshGrid() {
 
@@ -116,8 +116,11 @@ public class FilterSettings extends DisplayerSettings {
     public FilterSettings cloneInstance() {
         FilterSettings clone = new FilterSettings();
         clone.UUID = UUID;
+        clone.key = key;
         clone.tableName = tableName;
         clone.tableDescription = tableDescription;
+        clone.editable = editable;
+        clone.serverTemplateId = serverTemplateId;
         clone.settings = new HashMap<String, String>(settings);
         clone.columnSettingsList = new ArrayList<ColumnSettings>();
 
@@ -49,6 +49,9 @@ public abstract class FilterSettingsManagerImpl implements FilterSettingsManager
 
     private Caller<UserPreferencesService> preferencesService;
 
+    // replaced by the cache shared by all lists of the session when injected
+    private MultiGridPreferencesStoreCache preferencesStoreCache = new MultiGridPreferencesStoreCache();
+
     @Inject
     private Event<SavedFilterAddedEvent> filterSavedEvent;
 
@@ -62,6 +65,11 @@ public abstract class FilterSettingsManagerImpl implements FilterSettingsManager
         this.preferencesService = preferencesService;
     }
 
+    @Inject
+    public void setPreferencesStoreCache(final MultiGridPreferencesStoreCache preferencesStoreCache) {
+        this.preferencesStoreCache = preferencesStoreCache;
+    }
+
     @Override
     public void loadSavedFilters(final Consumer<List<SavedFilter>> savedFiltersConsumer) {
         loadMultiGridPreferencesStore(store -> loadSavedFiltersFromPreferences(store,
@@ -69,11 +77,22 @@ public abstract class FilterSettingsManagerImpl implements FilterSettingsManager
     }
 
     protected void loadMultiGridPreferencesStore(final Consumer<MultiGridPreferencesStore> multiGridPreferencesStoreConsumer) {
+        final String preferencesKey = getGridGlobalPreferencesKey();
+        if (preferencesStoreCache.get(preferencesKey,
+                                      multiGridPreferencesStoreConsumer)) {
+            return;
+        }
         preferencesService.call((MultiGridPreferencesStore multiGridPreferencesStore) -> {
-            multiGridPreferencesStoreConsumer.accept(ofNullable(multiGridPreferencesStore)
-                                                             .orElse(new MultiGridPreferencesStore(getGridGlobalPreferencesKey())));
-        }).loadUserPreferences(getGridGlobalPreferencesKey(),
-                               UserPreferencesType.MULTIGRIDPREFERENCES);
+                                    preferencesStoreCache.put(preferencesKey,
+                                                              ofNullable(multiGridPreferencesStore)
+                                                                      .orElse(new MultiGridPreferencesStore(preferencesKey)));
+                                },
+                                (message, throwable) -> {
+                                    // callers waiting for the same load try again, each one reports its own failure
+                                    preferencesStoreCache.invalidate(preferencesKey).forEach(this::loadMultiGridPreferencesStore);
+                                    return true;
+                                }).loadUserPreferences(preferencesKey,
+                                                       UserPreferencesType.MULTIGRIDPREFERENCES);
     }
 
     protected abstract String getGridGlobalPreferencesKey();
@@ -137,7 +156,19 @@ public abstract class FilterSettingsManagerImpl implements FilterSettingsManager
 
     protected void saveMultiGridPreferencesStore(final MultiGridPreferencesStore store,
                                                  final Command callback) {
-        preferencesService.call(r -> callback.execute()).saveUserPreferences(store);
+        final String preferencesKey = getGridGlobalPreferencesKey();
+        preferencesService.call(r -> {
+                                    preferencesStoreCache.put(preferencesKey,
+                                                              store);
+                                    if (callback != null) {
+                                        callback.execute();
+                                    }
+                                },
+                                (message, throwable) -> {
+                                    // the cached store might hold the changes which were not saved
+                                    preferencesStoreCache.invalidate(preferencesKey);
+                                    return true;
+                                }).saveUserPreferences(store);
     }
 
     public void loadSavedFiltersFromPreferences(final MultiGridPreferencesStore store,
@@ -180,8 +211,9 @@ public abstract class FilterSettingsManagerImpl implements FilterSettingsManager
             final HashMap<String, Object> params = store.getGridSettings(key);
             final FilterSettings settings;
             if (params != null) {
-                final String json = (String) params.get(FILTER_TABLE_SETTINGS);
-                settings = marshaller.fromJsonString(json);
+                settings = preferencesStoreCache.getFilterSettings(getGridGlobalPreferencesKey(),
+                                                                   key,
+                                                                   () -> marshaller.fromJsonString((String) params.get(FILTER_TABLE_SETTINGS)));
             } else {
                 settings = createFilterSettingsPrototype();
             }
@@ -205,8 +237,9 @@ public abstract class FilterSettingsManagerImpl implements FilterSettingsManager
         loadMultiGridPreferencesStore(store -> {
             final ArrayList<String> existingGrids = new ArrayList<>(store.getGridsId());
             existingGrids.forEach(id -> store.removeTab(id));
-            preferencesService.call(r -> loadSavedFiltersFromPreferences(store,
-                                                                         savedFiltersConsumer)).saveUserPreferences(store);
+            saveMultiGridPreferencesStore(store,
+                                          () -> loadSavedFiltersFromPreferences(store,
+                                                                                savedFiltersConsumer));
         });
     }
 
@@ -221,11 +254,8 @@ public abstract class FilterSettingsManagerImpl implements FilterSettingsManager
                                                     final MultiGridPreferencesStore store,
                                                     final Command callback) {
         removeSavedFilter(store, key);
-        preferencesService.call(r -> {
-            if (callback != null) {
-                callback.execute();
-            }
-        }).saveUserPreferences(store);
+        saveMultiGridPreferencesStore(store,
+                                      callback);
     }
 
     protected FilterSettings createFilterSettings(final String dataSetId,
@@ -317,11 +347,8 @@ public abstract class FilterSettingsManagerImpl implements FilterSettingsManager
     public void saveDefaultActiveFilter(String filterKey, final Command callback) {
         loadMultiGridPreferencesStore(store -> {
             store.setDefaultGridId(filterKey);
-            preferencesService.call(r -> {
-                if (callback != null) {
-                    callback.execute();
-                }
-            }).saveUserPreferences(store);
+            saveMultiGridPreferencesStore(store,
+                                          callback);
         });
     }
 }
@@ -0,0 +1,134 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jbpm.workbench.df.client.filter;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import javax.enterprise.context.ApplicationScoped;
+
+import org.uberfire.ext.services.shared.preferences.MultiGridPreferencesStore;
+
+/**
+ * Keeps the saved filters preferences of each list for the whole session, along with the filter settings parsed from
+ * them. Stores are written through by {@link FilterSettingsManagerImpl}, each load or save of a store increases its
+ * version, and filter settings parsed from a previous version are parsed again.
+ */
+@ApplicationScoped
+public class MultiGridPreferencesStoreCache {
+
+    private final Map<String, CachedStore> stores = new HashMap<>();
+
+    /**
+     * @return false if the store has to be loaded by the caller, which then calls {@link #put} or {@link #invalidate}.
+     * Otherwise the consumer is called with the cached store, or once the pending load of the store completes.
+     */
+    public boolean get(final String preferencesKey,
+                       final Consumer<MultiGridPreferencesStore> consumer) {
+        final CachedStore cached = stores.get(preferencesKey);
+        if (cached == null) {
+            final CachedStore pending = new CachedStore();
+            pending.consumers.add(consumer);
+            stores.put(preferencesKey,
+                       pending);
+            return false;
+        }
+        if (cached.store == null) {
+            cached.consumers.add(consumer);
+        } else {
+            consumer.accept(cached.store);
+        }
+        return true;
+    }
+
+    /**
+     * Caches a store loaded or saved, and calls the consumers waiting for it.
+     */
+    public void put(final String preferencesKey,
+                    final MultiGridPreferencesStore store) {
+        final CachedStore cached = stores.computeIfAbsent(preferencesKey,
+                                                          k -> new CachedStore());
+        cached.store = store;
+        cached.version++;
+        final List<Consumer<MultiGridPreferencesStore>> consumers = new ArrayList<>(cached.consumers);
+        cached.consumers.clear();
+        consumers.forEach(c -> c.accept(store));
+    }
+
+    /**
+     * Discards a store, e.g. after a failed load or save, so it is loaded again on next request.
+     * @return consumers which were waiting for the failed load of the store, except the one of the caller which loaded
+     * it, so that the store is loaded again on their behalf
+     */
+    public List<Consumer<MultiGridPreferencesStore>> invalidate(final String preferencesKey) {
+        final CachedStore cached = stores.remove(preferencesKey);
+        if (cached == null || cached.consumers.size() <= 1) {
+            return Collections.emptyList();
+        }
+        return new ArrayList<>(cached.consumers.subList(1,
+                                                        cached.consumers.size()));
+    }
+
+    /**
+     * @return filter settings parsed from the current version of the store, which callers are free to change as the
+     * cache keeps its own copy. Filter settings are parsed with the given parser if missing or outdated.
+     */
+    public FilterSettings getFilterSettings(final String preferencesKey,
+                                            final String filterKey,
+                                            final Supplier<FilterSettings> parser) {
+        final CachedStore cached = stores.get(preferencesKey);
+        if (cached == null || cached.store == null) {
+            return parser.get();
+        }
+        final ParsedFilterSettings parsed = cached.filterSettings.get(filterKey);
+        if (parsed != null && parsed.version == cached.version) {
+            return parsed.settings.cloneInstance();
+        }
+        final FilterSettings settings = parser.get();
+        if (settings != null) {
+            cached.filterSettings.put(filterKey,
+                                      new ParsedFilterSettings(cached.version,
+                                                               settings.cloneInstance()));
+        }
+        return settings;
+    }
+
+    private static class CachedStore {
+
+        private MultiGridPreferencesStore store;
+        private int version;
+        private final List<Consumer<MultiGridPreferencesStore>> consumers = new ArrayList<>();
+        private final Map<String, ParsedFilterSettings> filterSettings = new HashMap<>();
+    }
+
+    private static class ParsedFilterSettings {
+
+        private final int version;
+        private final FilterSettings settings;
+
+        ParsedFilterSettings(final int version,
+                             final FilterSettings settings) {
+            this.version = version;
+            this.settings = settings;
+        }
+    }
+}
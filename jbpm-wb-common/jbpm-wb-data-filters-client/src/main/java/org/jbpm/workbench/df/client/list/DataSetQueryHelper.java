@@ -15,6 +15,10 @@
  */
 package org.jbpm.workbench.df.client.list;
 
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
 import javax.enterprise.context.Dependent;
 import javax.enterprise.event.Event;
 import javax.inject.Inject;
@@ -22,6 +26,7 @@ import javax.inject.Inject;
 import org.dashbuilder.common.client.StringUtils;
 import org.dashbuilder.common.client.error.ClientRuntimeError;
 import org.dashbuilder.dataset.DataSet;
+import org.dashbuilder.dataset.DataSetLookup;
 import org.dashbuilder.dataset.client.DataSetClientServices;
 import org.dashbuilder.dataset.client.DataSetReadyCallback;
 import org.dashbuilder.dataset.sort.SortOrder;
@@ -48,6 +53,14 @@ public class DataSetQueryHelper {
 
     protected Event<DataSetReadyEvent> event;
 
+    protected String keysetIdColumnId;
+
+    protected Set<String> keysetColumnIds = new HashSet<>();
+
+    protected DataSetLookup lastPageLookup;
+
+    protected DataSet lastPage;
+
     @Inject
     public void setDataSetClientServices(final DataSetClientServices dataSetClientServices) {
         this.dataSetClientServices = dataSetClientServices;
@@ -58,6 +71,61 @@ public class DataSetQueryHelper {
         this.event = event;
     }
 
+    /**
+     * Enables keyset paging: a page following the one previously looked up, sorted on one of the given columns, is
+     * looked up as the rows after the last one seen, which KIE Server finds without skipping the previous pages.
+     * @param idColumnId column uniquely identifying rows, used to order rows having the same sort value
+     * @param indexedColumnIds sort columns eligible to keyset paging, indexed and never holding null values
+     */
+    public void setKeysetPagination(final String idColumnId,
+                                    final String... indexedColumnIds) {
+        this.keysetIdColumnId = idColumnId;
+        this.keysetColumnIds = new HashSet<>(Arrays.asList(indexedColumnIds));
+    }
+
+    /**
+     * Seeks after the last row of the previous page when the current lookup only differs from it by its offset,
+     * which is right after that page.
+     */
+    protected void seekAfterLastPage(final Integer offset) {
+        final DataSetLookup lookup = dataSetHandler.getCurrentDataSetLookup();
+        if (!(lookup instanceof ConsoleDataSetLookup)) {
+            return;
+        }
+        // a reused handler might still seek after a row of another lookup
+        ((ConsoleDataSetLookup) lookup).clearSeek();
+        if (keysetIdColumnId == null || !keysetColumnIds.contains(lastOrderedColumn) || lastPage == null
+                || lastPageLookup == null || offset == null || offset <= 0) {
+            return;
+        }
+        final int lastRow = lastPage.getRowCount() - 1;
+        if (lastRow < 0 || lastPage.getRowCount() != lastPageLookup.getNumberOfRows()
+                || lastPageLookup.getRowOffset() + lastPage.getRowCount() != offset
+                || !samePaging(lastPageLookup,
+                               lookup)) {
+            return;
+        }
+        final Object value = lastPage.getValueAt(lastRow,
+                                                 lastOrderedColumn);
+        final Object id = lastPage.getValueAt(lastRow,
+                                              keysetIdColumnId);
+        if (value instanceof Comparable && id instanceof Comparable) {
+            ((ConsoleDataSetLookup) lookup).seekAfter(lastOrderedColumn,
+                                                      (Comparable) value,
+                                                      keysetIdColumnId,
+                                                      (Comparable) id);
+        }
+    }
+
+    protected boolean samePaging(final DataSetLookup previous,
+                                 final DataSetLookup current) {
+        final DataSetLookup currentPage = current.cloneInstance();
+        currentPage.setRowOffset(previous.getRowOffset());
+        return currentPage.equals(previous)
+                && ((ConsoleDataSetLookup) current).getServerTemplateId() != null
+                && ((ConsoleDataSetLookup) current).getServerTemplateId().equals(((ConsoleDataSetLookup) previous).getServerTemplateId());
+    }
+
     public void lookupDataSet(final Integer offset,
                               final DataSetReadyCallback callback) {
         try {
@@ -77,6 +145,9 @@ public class DataSetQueryHelper {
             // Lookup only the target rows
             dataSetHandler.limitDataSetRows(offset,
                                             currentTableSetting.getTablePageSize());
+            seekAfterLastPage(offset);
+            final DataSetLookup pageLookup = dataSetHandler.getCurrentDataSetLookup();
+            final DataSetLookup keysetLookup = pageLookup instanceof ConsoleDataSetLookup ? pageLookup.cloneInstance() : null;
 
             // Do the lookup
             dataSetHandler.lookupDataSet(
@@ -84,6 +155,8 @@ public class DataSetQueryHelper {
 
                         public void callback(DataSet dataSet) {
                             DataSetQueryHelper.this.dataSet = dataSet;
+                            lastPageLookup = keysetLookup;
+                            lastPage = dataSet;
                             callback.callback(dataSet);
                             event.fire(new DataSetReadyEvent(currentTableSetting, dataSet.getUUID()));
                         }
@@ -142,6 +215,18 @@ public class DataSetQueryHelper {
                                                                                        tableSettings.getServerTemplateId()));
     }
 
+    /**
+     * Looks up the given data set instead of the one of the table settings, keeping their filters
+     */
+    public void setDataSetHandler(FilterSettings tableSettings,
+                                  String dataSetUUID) {
+        final DataSetLookup lookup = ConsoleDataSetLookup.fromInstance(tableSettings.getDataSetLookup(),
+                                                                       tableSettings.getServerTemplateId());
+        lookup.setDataSetUUID(dataSetUUID);
+        this.dataSetHandler = new DataSetHandlerImpl(dataSetClientServices,
+                                                     lookup);
+    }
+
     public void setDataSetHandler(DataSetHandler dataSetHandler) {
         this.dataSetHandler = dataSetHandler;
     }
@@ -35,11 +35,14 @@ import org.uberfire.mvp.Command;
 
 import static org.jbpm.workbench.df.client.filter.FilterSettingsManagerImpl.DEFAULT_FILTER_SETTINGS_KEY;
 import static org.jbpm.workbench.df.client.filter.FilterSettingsManagerImpl.FILTER_TABLE_SETTINGS;
+import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyString;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -160,6 +163,71 @@ public class FilterSettingsManagerImplTest {
         verify(callbackMock).execute();
     }
 
+    @Test
+    public void testPreferencesLoadedOnce() {
+        final HashMap<String, Object> gridSettings = new HashMap<>();
+        gridSettings.put(FILTER_TABLE_SETTINGS,
+                         "jsonContent");
+        when(multiGridPreferencesStore.getGridSettings("key")).thenReturn(gridSettings);
+        when(marshaller.fromJsonString("jsonContent")).then(invocation -> new FilterSettings());
+        final MultiGridPreferencesStoreCache cache = new MultiGridPreferencesStoreCache();
+        filterSettingsManagerImpl.setPreferencesStoreCache(cache);
+
+        filterSettingsManagerImpl.getFilterSettings("key",
+                                                    mock(Consumer.class));
+        filterSettingsManagerImpl.getFilterSettings("key",
+                                                    mock(Consumer.class));
+        filterSettingsManagerImpl.saveDefaultActiveFilter("key",
+                                                          null);
+        filterSettingsManagerImpl.getFilterSettings("key",
+                                                    mock(Consumer.class));
+
+        verify(userPreferencesServiceMock).loadUserPreferences(GRID_GLOBAL_PREFERENCE_KEY,
+                                                               UserPreferencesType.MULTIGRIDPREFERENCES);
+        verify(userPreferencesServiceMock).saveUserPreferences(multiGridPreferencesStore);
+        // parsed again once the preferences are saved
+        verify(marshaller,
+               times(2)).fromJsonString("jsonContent");
+    }
+
+    @Test
+    public void testPreferencesReloadedAfterFailedSave() {
+        doThrow(new RuntimeException()).when(userPreferencesServiceMock).saveUserPreferences(multiGridPreferencesStore);
+
+        filterSettingsManagerImpl.saveDefaultActiveFilter("key",
+                                                          null);
+        filterSettingsManagerImpl.getFilterSettings("key",
+                                                    mock(Consumer.class));
+
+        verify(userPreferencesServiceMock,
+               times(2)).loadUserPreferences(GRID_GLOBAL_PREFERENCE_KEY,
+                                             UserPreferencesType.MULTIGRIDPREFERENCES);
+    }
+
+    @Test
+    public void testWaitingCallersReloadAfterFailedLoad() {
+        final Consumer<FilterSettings> failed = mock(Consumer.class);
+        final Consumer<FilterSettings> waiting = mock(Consumer.class);
+        filterSettingsManagerImpl.setPreferencesStoreCache(new MultiGridPreferencesStoreCache());
+        when(userPreferencesServiceMock.loadUserPreferences(GRID_GLOBAL_PREFERENCE_KEY,
+                                                            UserPreferencesType.MULTIGRIDPREFERENCES)).then(invocation -> {
+            // another caller asks for the preferences while they are loaded
+            filterSettingsManagerImpl.getFilterSettings("key",
+                                                        waiting);
+            throw new RuntimeException();
+        }).thenReturn(multiGridPreferencesStore);
+
+        filterSettingsManagerImpl.getFilterSettings("key",
+                                                    failed);
+
+        verify(userPreferencesServiceMock,
+               times(2)).loadUserPreferences(GRID_GLOBAL_PREFERENCE_KEY,
+                                             UserPreferencesType.MULTIGRIDPREFERENCES);
+        verify(failed,
+               never()).accept(any());
+        verify(waiting).accept(any());
+    }
+
     @Test
     public void testRemoveDefaultSavedFilter() {
         String defaultFilterKey = "key";
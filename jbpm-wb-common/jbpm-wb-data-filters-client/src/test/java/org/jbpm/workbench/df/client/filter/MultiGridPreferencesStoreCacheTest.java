@@ -0,0 +1,158 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jbpm.workbench.df.client.filter;
+
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import com.google.gwtmockito.GwtMockitoTestRunner;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.uberfire.ext.services.shared.preferences.MultiGridPreferencesStore;
+
+import static java.util.Collections.singletonList;
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+@RunWith(GwtMockitoTestRunner.class)
+public class MultiGridPreferencesStoreCacheTest {
+
+    private static final String PREFERENCES_KEY = "DS_test";
+    private static final String FILTER_KEY = PREFERENCES_KEY + "_filter";
+
+    @Mock
+    private Consumer<MultiGridPreferencesStore> firstConsumer;
+
+    @Mock
+    private Consumer<MultiGridPreferencesStore> secondConsumer;
+
+    @Mock
+    private Supplier<FilterSettings> parser;
+
+    private MultiGridPreferencesStoreCache cache;
+
+    private MultiGridPreferencesStore store;
+
+    @Before
+    public void setUp() {
+        cache = new MultiGridPreferencesStoreCache();
+        store = new MultiGridPreferencesStore(PREFERENCES_KEY);
+        when(parser.get()).then(invocation -> {
+            final FilterSettings settings = new FilterSettings();
+            settings.setKey(FILTER_KEY);
+            settings.setTableName("filter");
+            settings.setServerTemplateId("serverTemplateId");
+            return settings;
+        });
+    }
+
+    @Test
+    public void testPendingLoadShared() {
+        assertFalse(cache.get(PREFERENCES_KEY,
+                              firstConsumer));
+        assertTrue(cache.get(PREFERENCES_KEY,
+                             secondConsumer));
+        verifyZeroInteractions(firstConsumer,
+                               secondConsumer);
+
+        cache.put(PREFERENCES_KEY,
+                  store);
+
+        verify(firstConsumer).accept(store);
+        verify(secondConsumer).accept(store);
+
+        assertTrue(cache.get(PREFERENCES_KEY,
+                             firstConsumer));
+        verify(firstConsumer,
+               times(2)).accept(store);
+    }
+
+    @Test
+    public void testInvalidate() {
+        cache.get(PREFERENCES_KEY,
+                  firstConsumer);
+        assertTrue(cache.invalidate(PREFERENCES_KEY).isEmpty());
+
+        assertFalse(cache.get(PREFERENCES_KEY,
+                              secondConsumer));
+        verifyZeroInteractions(firstConsumer);
+    }
+
+    @Test
+    public void testInvalidateReturnsWaitingConsumers() {
+        cache.get(PREFERENCES_KEY,
+                  firstConsumer);
+        cache.get(PREFERENCES_KEY,
+                  secondConsumer);
+
+        assertEquals(singletonList(secondConsumer),
+                     cache.invalidate(PREFERENCES_KEY));
+        assertTrue(cache.invalidate(PREFERENCES_KEY).isEmpty());
+        verifyZeroInteractions(firstConsumer,
+                               secondConsumer);
+    }
+
+    @Test
+    public void testFilterSettingsParsedOncePerVersion() {
+        cache.get(PREFERENCES_KEY,
+                  firstConsumer);
+        cache.put(PREFERENCES_KEY,
+                  store);
+
+        final FilterSettings first = cache.getFilterSettings(PREFERENCES_KEY,
+                                                             FILTER_KEY,
+                                                             parser);
+        first.setTableName("changed by the caller");
+        final FilterSettings second = cache.getFilterSettings(PREFERENCES_KEY,
+                                                              FILTER_KEY,
+                                                              parser);
+
+        verify(parser).get();
+        assertNotSame(first,
+                      second);
+        assertEquals("filter",
+                     second.getTableName());
+        assertEquals(FILTER_KEY,
+                     second.getKey());
+        assertEquals("serverTemplateId",
+                     second.getServerTemplateId());
+
+        // saving the store invalidates the filter settings parsed from it
+        cache.put(PREFERENCES_KEY,
+                  store);
+        cache.getFilterSettings(PREFERENCES_KEY,
+                                FILTER_KEY,
+                                parser);
+
+        verify(parser,
+               times(2)).get();
+    }
+
+    @Test
+    public void testFilterSettingsNotCachedWithoutStore() {
+        cache.getFilterSettings(PREFERENCES_KEY,
+                                FILTER_KEY,
+                                parser);
+        cache.getFilterSettings(PREFERENCES_KEY,
+                                FILTER_KEY,
+                                parser);
+
+        verify(parser,
+               times(2)).get();
+    }
+}
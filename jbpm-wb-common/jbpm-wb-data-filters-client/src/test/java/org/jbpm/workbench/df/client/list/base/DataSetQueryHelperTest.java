@@ -15,10 +15,15 @@
  */
 package org.jbpm.workbench.df.client.list.base;
 
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
 import javax.enterprise.event.Event;
 
 import org.dashbuilder.common.client.error.ClientRuntimeError;
 import org.dashbuilder.dataset.DataSet;
+import org.dashbuilder.dataset.DataSetFactory;
 import org.dashbuilder.dataset.DataSetLookup;
 import org.dashbuilder.dataset.client.DataSetClientServices;
 import org.dashbuilder.dataset.client.DataSetReadyCallback;
@@ -26,6 +31,7 @@ import org.dashbuilder.displayer.client.DataSetHandler;
 import org.jbpm.workbench.df.client.events.DataSetReadyEvent;
 import org.jbpm.workbench.df.client.filter.FilterSettings;
 import org.jbpm.workbench.df.client.list.DataSetQueryHelper;
+import org.jbpm.workbench.ks.integration.ConsoleDataSetLookup;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -121,4 +127,115 @@ public class DataSetQueryHelperTest {
         assertEquals(currentTableSetting,
                      captor.getValue().getFilterSettings());
     }
+
+    @Test
+    public void testLookupNextPageSeeksAfterLastRow() throws Exception {
+        final Date start = new Date();
+        final List<DataSetLookup> lookups = keysetLookups(DataSetFactory.newDataSetBuilder()
+                                                                  .number("id")
+                                                                  .date("start")
+                                                                  .row(1d,
+                                                                       new Date())
+                                                                  .row(2d,
+                                                                       start)
+                                                                  .buildDataSet(),
+                                                          "start",
+                                                          0,
+                                                          2);
+
+        final ConsoleDataSetLookup secondPage = (ConsoleDataSetLookup) lookups.get(1);
+        assertTrue(secondPage.isSeeking());
+        assertEquals("start",
+                     secondPage.getSeekColumnId());
+        assertEquals(start,
+                     secondPage.getSeekValue());
+        assertEquals(2d,
+                     secondPage.getSeekId());
+        assertFalse(((ConsoleDataSetLookup) lookups.get(0)).isSeeking());
+    }
+
+    @Test
+    public void testLookupDoesNotSeekAfterPartialPage() throws Exception {
+        final List<DataSetLookup> lookups = keysetLookups(DataSetFactory.newDataSetBuilder()
+                                                                  .number("id")
+                                                                  .date("start")
+                                                                  .row(1d,
+                                                                       new Date())
+                                                                  .buildDataSet(),
+                                                          "start",
+                                                          0,
+                                                          2);
+
+        assertFalse(((ConsoleDataSetLookup) lookups.get(1)).isSeeking());
+    }
+
+    @Test
+    public void testLookupDoesNotSeekWhenSkippingPages() throws Exception {
+        final List<DataSetLookup> lookups = keysetLookups(twoRows(),
+                                                          "id",
+                                                          0,
+                                                          4);
+
+        assertFalse(((ConsoleDataSetLookup) lookups.get(1)).isSeeking());
+    }
+
+    @Test
+    public void testLookupDoesNotSeekOnNotIndexedColumn() throws Exception {
+        final List<DataSetLookup> lookups = keysetLookups(twoRows(),
+                                                          "name",
+                                                          0,
+                                                          2);
+
+        assertFalse(((ConsoleDataSetLookup) lookups.get(1)).isSeeking());
+    }
+
+    private DataSet twoRows() {
+        return DataSetFactory.newDataSetBuilder()
+                .number("id")
+                .label("name")
+                .row(1d,
+                     "a")
+                .row(2d,
+                     "b")
+                .buildDataSet();
+    }
+
+    /**
+     * Looks up two pages sorted on the given column, with keyset paging on id and start columns
+     * @return lookups sent for both pages
+     */
+    private List<DataSetLookup> keysetLookups(final DataSet page,
+                                              final String sortColumnId,
+                                              final int firstOffset,
+                                              final int secondOffset) throws Exception {
+        final List<DataSetLookup> lookups = new ArrayList<>();
+        doAnswer(invocation -> {
+            lookups.add(((DataSetLookup) invocation.getArguments()[0]).cloneInstance());
+            ((DataSetReadyCallback) invocation.getArguments()[1]).callback(page);
+            return null;
+        }).when(dataSetClientServicesMock).lookupDataSet(any(DataSetLookup.class),
+                                                          any(DataSetReadyCallback.class));
+        final DataSetLookup lookup = new DataSetLookup();
+        lookup.setDataSetUUID("uuid");
+        currentTableSetting.setDataSetLookup(lookup);
+        currentTableSetting.setServerTemplateId("serverTemplateId");
+        currentTableSetting.setTablePageSize(2);
+        dataSetQueryHelper.setKeysetPagination("id",
+                                               "id",
+                                               "start");
+        dataSetQueryHelper.setLastOrderedColumn(sortColumnId);
+        dataSetQueryHelper.setLastSortOrder(DESCENDING);
+        final DataSetReadyCallback callback = mock(DataSetReadyCallback.class);
+
+        dataSetQueryHelper.setDataSetHandler(currentTableSetting);
+        dataSetQueryHelper.lookupDataSet(firstOffset,
+                                         callback);
+        dataSetQueryHelper.setDataSetHandler(currentTableSetting);
+        dataSetQueryHelper.lookupDataSet(secondOffset,
+                                         callback);
+
+        assertEquals(2,
+                     lookups.size());
+        return lookups;
+    }
 }
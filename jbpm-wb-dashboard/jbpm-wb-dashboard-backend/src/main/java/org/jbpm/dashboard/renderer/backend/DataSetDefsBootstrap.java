@@ -15,17 +15,38 @@
  */
 package org.jbpm.dashboard.renderer.backend;
 
+import java.util.Arrays;
 import javax.enterprise.context.ApplicationScoped;
 import javax.enterprise.event.Observes;
+import javax.inject.Inject;
 
 import org.jbpm.workbench.ks.integration.AbstractDataSetDefsBootstrap;
+import org.jbpm.workbench.ks.integration.AggregateDefinition;
+import org.jbpm.workbench.ks.integration.DataSetAggregator;
+import org.jbpm.workbench.ks.integration.MaterializedAggregates;
 import org.jbpm.workbench.ks.integration.event.QueryDefinitionLoaded;
 
+import static org.dashbuilder.dataset.filter.FilterFactory.in;
 import static org.jbpm.dashboard.renderer.model.DashboardData.*;
 
 @ApplicationScoped
 public class DataSetDefsBootstrap extends AbstractDataSetDefsBootstrap {
 
+    /**
+     * Maximum number of rows of a monitoring data set for its dashboard to be aggregated by the workbench, out of
+     * rows fetched once for all the displayers. Larger data sets are aggregated by KIE Server, 0 disables it.
+     */
+    public static final String AGGREGATION_MAX_ROWS = "org.jbpm.wb.dashboard.aggregation.maxRows";
+
+    private final int aggregationMaxRows = Integer.getInteger(AGGREGATION_MAX_ROWS,
+                                                              10000);
+
+    @Inject
+    MaterializedAggregates materializedAggregates;
+
+    @Inject
+    DataSetAggregator dataSetAggregator;
+
     public void registerDataSetDefinitions(@Observes QueryDefinitionLoaded event) {
         if (event.getDefinition().getName().equals(DATASET_PROCESS_INSTANCES)) {
             registerDataSetDefinition(event.getDefinition(),
@@ -41,6 +62,23 @@ public class DataSetDefsBootstrap extends AbstractDataSetDefsBootstrap {
                                                       .label(COLUMN_PROCESS_NAME)
                                                       .label(COLUMN_PROCESS_EXTERNAL_ID)
             );
+            dataSetAggregator.register(DATASET_PROCESS_INSTANCES,
+                                       aggregationMaxRows);
+            // pending, active and suspended instances might still change. Dates are not dimensions, as lookups
+            // grouped or filtered by date are computed by KIE Server
+            materializedAggregates.register(new AggregateDefinition(DATASET_PROCESS_INSTANCES,
+                                                                    COLUMN_PROCESS_INSTANCE_ID,
+                                                                    in(COLUMN_PROCESS_STATUS,
+                                                                       Arrays.asList(0,
+                                                                                     1,
+                                                                                     4)),
+                                                                    Arrays.asList(COLUMN_PROCESS_ID,
+                                                                                  COLUMN_PROCESS_NAME,
+                                                                                  COLUMN_PROCESS_VERSION,
+                                                                                  COLUMN_PROCESS_EXTERNAL_ID,
+                                                                                  COLUMN_PROCESS_STATUS,
+                                                                                  COLUMN_PROCESS_USER_ID),
+                                                                    COLUMN_PROCESS_DURATION));
         } else if (event.getDefinition().getName().equals(DATASET_HUMAN_TASKS)) {
             registerDataSetDefinition(event.getDefinition(),
                                       builder ->
@@ -56,6 +94,22 @@ public class DataSetDefsBootstrap extends AbstractDataSetDefsBootstrap {
                                                       .label(COLUMN_TASK_OWNER_ID)
                                                       .number(COLUMN_TASK_DURATION)
             );
+            dataSetAggregator.register(DATASET_HUMAN_TASKS,
+                                       aggregationMaxRows);
+            materializedAggregates.register(new AggregateDefinition(DATASET_HUMAN_TASKS,
+                                                                    COLUMN_TASK_ID,
+                                                                    in(COLUMN_TASK_STATUS,
+                                                                       Arrays.asList(TASK_STATUS_CREATED,
+                                                                                     TASK_STATUS_READY,
+                                                                                     TASK_STATUS_RESERVED,
+                                                                                     TASK_STATUS_IN_PROGRESS,
+                                                                                     TASK_STATUS_SUSPENDED)),
+                                                                    Arrays.asList(COLUMN_PROCESS_NAME,
+                                                                                  COLUMN_PROCESS_EXTERNAL_ID,
+                                                                                  COLUMN_TASK_NAME,
+                                                                                  COLUMN_TASK_STATUS,
+                                                                                  COLUMN_TASK_OWNER_ID),
+                                                                    COLUMN_TASK_DURATION));
         }
     }
 }
\ No newline at end of file
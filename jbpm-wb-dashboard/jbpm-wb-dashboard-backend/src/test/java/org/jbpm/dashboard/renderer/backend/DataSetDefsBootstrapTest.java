@@ -16,9 +16,14 @@
 
 package org.jbpm.dashboard.renderer.backend;
 
+import java.util.Collections;
+
 import org.dashbuilder.dataset.def.DataSetDefRegistry;
 import org.dashbuilder.dataset.def.SQLDataSetDef;
+import org.jbpm.workbench.ks.integration.AggregateDefinition;
+import org.jbpm.workbench.ks.integration.DataSetAggregator;
 import org.jbpm.workbench.ks.integration.KieServerDataSetProvider;
+import org.jbpm.workbench.ks.integration.MaterializedAggregates;
 import org.jbpm.workbench.ks.integration.event.QueryDefinitionLoaded;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -28,8 +33,7 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
 
-import static org.jbpm.dashboard.renderer.model.DashboardData.DATASET_HUMAN_TASKS;
-import static org.jbpm.dashboard.renderer.model.DashboardData.DATASET_PROCESS_INSTANCES;
+import static org.jbpm.dashboard.renderer.model.DashboardData.*;
 import static org.junit.Assert.*;
 import static org.mockito.Mockito.*;
 
@@ -39,6 +43,12 @@ public class DataSetDefsBootstrapTest {
     @Mock
     DataSetDefRegistry dataSetRegistry;
 
+    @Mock
+    MaterializedAggregates materializedAggregates;
+
+    @Mock
+    DataSetAggregator dataSetAggregator;
+
     @InjectMocks
     DataSetDefsBootstrap dataSetsBootstrap;
 
@@ -61,6 +71,19 @@ public class DataSetDefsBootstrapTest {
                      dataSetDef.getDbSQL());
         assertEquals(10,
                      dataSetDef.getColumns().size());
+        verify(dataSetAggregator).register(DATASET_PROCESS_INSTANCES,
+                                           10000);
+
+        ArgumentCaptor<AggregateDefinition> aggregates = ArgumentCaptor.forClass(AggregateDefinition.class);
+        verify(materializedAggregates).register(aggregates.capture());
+        assertEquals(DATASET_PROCESS_INSTANCES,
+                     aggregates.getValue().getDataSetUUID());
+        assertEquals(COLUMN_PROCESS_INSTANCE_ID,
+                     aggregates.getValue().getIdColumnId());
+        assertTrue(aggregates.getValue().getDimensionColumnIds().contains(COLUMN_PROCESS_VERSION));
+        assertFalse(aggregates.getValue().getDimensionColumnIds().contains(COLUMN_PROCESS_START_DATE));
+        assertEquals(Collections.singletonList(COLUMN_PROCESS_DURATION),
+                     aggregates.getValue().getMeasureColumnIds());
     }
 
     @Test
@@ -82,5 +105,16 @@ public class DataSetDefsBootstrapTest {
                      dataSetDef.getDbSQL());
         assertEquals(11,
                      dataSetDef.getColumns().size());
+        verify(dataSetAggregator).register(DATASET_HUMAN_TASKS,
+                                           10000);
+
+        ArgumentCaptor<AggregateDefinition> aggregates = ArgumentCaptor.forClass(AggregateDefinition.class);
+        verify(materializedAggregates).register(aggregates.capture());
+        assertEquals(DATASET_HUMAN_TASKS,
+                     aggregates.getValue().getDataSetUUID());
+        assertEquals(COLUMN_TASK_ID,
+                     aggregates.getValue().getIdColumnId());
+        assertFalse(aggregates.getValue().getDimensionColumnIds().contains(COLUMN_PROCESS_INSTANCE_ID));
+        assertFalse(aggregates.getValue().getDimensionColumnIds().contains(COLUMN_TASK_CREATED_DATE));
     }
 }
@@ -96,10 +96,10 @@ public class ExecutionErrorListPresenter extends AbstractMultiGridPresenter<Exec
                         if (dataSet.getRowCount() < view.getListGrid().getPageSize()) {
                             lastPageExactCount = true;
                         }
-                        updateDataOnCallback(visibleExecutionErrors,
+                        updatePageOnCallback(visibleExecutionErrors,
                                              startRange,
-                                             startRange + visibleExecutionErrors.size(),
-                                             lastPageExactCount);
+                                             lastPageExactCount,
+                                             dataSet.getRowCountNonTrimmed());
                     }
                 })
                 .withEmptyResultsCallback(() -> setEmptyResults());
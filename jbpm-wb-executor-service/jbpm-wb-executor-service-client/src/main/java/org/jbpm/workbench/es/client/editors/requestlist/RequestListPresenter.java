@@ -101,6 +101,14 @@ public class RequestListPresenter extends AbstractMultiGridPresenter<RequestSumm
         this.placeManager = placeManager;
     }
 
+    @Inject
+    @Override
+    public void setDataSetQueryHelper(final DataSetQueryHelper dataSetQueryHelper) {
+        super.setDataSetQueryHelper(dataSetQueryHelper);
+        dataSetQueryHelper.setKeysetPagination(COLUMN_ID,
+                                               COLUMN_ID);
+    }
+
     @Inject
     protected void setNewJobPresenter(NewJobPresenter newJobPresenter) {
         this.newJobPresenter = newJobPresenter;
@@ -140,10 +148,10 @@ public class RequestListPresenter extends AbstractMultiGridPresenter<RequestSumm
                         if (dataSet.getRowCount() < view.getListGrid().getPageSize()) {
                             lastPageExactCount = true;
                         }
-                        updateDataOnCallback(myRequestSumaryFromDataSet,
+                        updatePageOnCallback(myRequestSumaryFromDataSet,
                                              startRange,
-                                             startRange + myRequestSumaryFromDataSet.size(),
-                                             lastPageExactCount);
+                                             lastPageExactCount,
+                                             dataSet.getRowCountNonTrimmed());
                     }
                 })
                 .withEmptyResultsCallback(() -> setEmptyResults());
@@ -0,0 +1,28 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jbpm.workbench.forms.display.api;
+
+import org.jboss.errai.common.client.api.annotations.Portable;
+
+/**
+ * Thrown when a form is submitted once its rendering context has been discarded, e.g. because the form was left open
+ * for longer than the context time to live, so that the form can be opened again.
+ */
+@Portable
+public class FormExpiredException extends RuntimeException {
+
+}
@@ -45,6 +45,8 @@ public class FormRendererProxyServlet extends HttpServlet {
     
     private static final String RENDERER = System.getProperty("org.jbpm.wb.forms.renderer.name", UIServicesClient.WORKBENCH_FORM_RENDERER);
     
+    private static final boolean STREAMING = Boolean.parseBoolean(System.getProperty("org.jbpm.wb.forms.proxy.streaming", "false"));
+    
     private Pattern containerPattern = Pattern.compile(".*/containers/([^/]+).*");
     private Pattern caseIdPattern = Pattern.compile(".*/cases/([^/]+).*");
     private Pattern processIdPattern = Pattern.compile(".*/processes/([^/]+).*");
@@ -53,7 +55,16 @@ public class FormRendererProxyServlet extends HttpServlet {
     
     @Inject
     protected KieServerIntegration kieServerIntegration;
+    
+    protected boolean streaming = STREAMING;
+    
+    protected FormRendererStreamingProxy streamingProxy;
 
+    @Override
+    public void init() throws ServletException {
+        super.init();
+        streamingProxy = new FormRendererStreamingProxy(kieServerIntegration.getTransport());
+    }
 
     @Override
     protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws ServletException, IOException {
@@ -61,6 +72,10 @@ public class FormRendererProxyServlet extends HttpServlet {
         String serverTemplateId = req.getParameter("serverTemplateId");
         String containerId = req.getParameter("containerId");
         
+        if (streaming) {
+            streamForm(serverTemplateId, containerId, req, resp);
+            return;
+        }
         
         UIServicesClient uiServicesClient = getClient(serverTemplateId,                                                      
                                                       UIServicesClient.class);
@@ -91,6 +106,11 @@ public class FormRendererProxyServlet extends HttpServlet {
             throw new IllegalArgumentException("Missing path information");
         }
         
+        if (streaming) {
+            streamStart(serverTemplateId, pathInfo, req, resp);
+            return;
+        }
+        
         String body = req.getReader().lines().collect(Collectors.joining());
         
         String containerId = extractValue(containerPattern, pathInfo);
@@ -142,6 +162,15 @@ public class FormRendererProxyServlet extends HttpServlet {
             taskServicesClient.startTask(containerId, Long.valueOf(taskId), "");
         } else if ("stopped".equalsIgnoreCase(taskState)) {
             taskServicesClient.stopTask(containerId, Long.valueOf(taskId), "");
+        } else if (streaming) {
+            
+            String path = "containers/" + containerId + "/tasks/" + taskId;
+            if ("completed".equalsIgnoreCase(taskState)) {
+                path += "/states/completed?auto-progress=true";
+            } else {
+                path += "/contents/output";
+            }
+            streamingProxy.send(serverTemplateId, getKieServicesClient(serverTemplateId), "PUT", path, req, resp, null);
         } else if ("completed".equalsIgnoreCase(taskState)) {
             
             String body = req.getReader().lines().collect(Collectors.joining());
@@ -156,6 +185,44 @@ public class FormRendererProxyServlet extends HttpServlet {
     }
 
 
+    protected void streamForm(String serverTemplateId, String containerId, HttpServletRequest req, HttpServletResponse resp) throws IOException {
+        String caseDefId = req.getParameter("caseDefId");
+        String processId = req.getParameter("processId");
+        String taskId = req.getParameter("taskId");
+        
+        String path = "containers/" + containerId + "/forms/";
+        if (caseDefId != null) {
+            path += "cases/" + caseDefId;
+        } else if (processId != null) {
+            path += "processes/" + processId;
+        } else if (taskId != null) {
+            path += "tasks/" + Long.valueOf(taskId);
+        } else {
+            throw new IllegalArgumentException("Missing form information");
+        }
+        
+        streamingProxy.render(serverTemplateId, getKieServicesClient(serverTemplateId), path + "/content?renderer=" + RENDERER, req, resp);
+    }
+    
+    protected void streamStart(String serverTemplateId, String pathInfo, HttpServletRequest req, HttpServletResponse resp) throws IOException {
+        String containerId = extractValue(containerPattern, pathInfo);
+        KieServicesClient client = getKieServicesClient(serverTemplateId);
+        
+        Object responseBody;
+        if (pathInfo.contains("cases")) {
+            String caseDefId = extractValue(caseIdPattern, pathInfo);
+            responseBody = streamingProxy.send(serverTemplateId, client, "POST", "containers/" + containerId + "/cases/" + caseDefId + "/instances", req, resp, String.class);
+        } else {
+            String processId = extractValue(processIdPattern, pathInfo);
+            responseBody = streamingProxy.send(serverTemplateId, client, "POST", "containers/" + containerId + "/processes/" + processId + "/instances", req, resp, Long.class);
+        }
+        
+        if (responseBody != null) {
+            resp.getOutputStream().write(responseBody.toString().getBytes("UTF-8"));
+        }
+    }
+
+
     protected <T> T getClient(final String serverTemplateId,
                               final Class<T> clientType) {
         KieServicesClient client = getKieServicesClient(serverTemplateId);
@@ -0,0 +1,260 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jbpm.workbench.forms.display.backend;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.util.zip.GZIPOutputStream;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.apache.commons.io.IOUtils;
+import org.jbpm.workbench.ks.integration.KieServerTransport;
+import org.jbpm.workbench.ks.utils.KieServerUtils;
+import org.kie.server.api.marshalling.MarshallerFactory;
+import org.kie.server.api.marshalling.MarshallingFormat;
+import org.kie.server.client.CredentialsProvider;
+import org.kie.server.client.KieServicesClient;
+import org.kie.server.client.impl.AbstractKieServicesClientImpl;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Pipes the bodies of form requests and responses between the browser and KIE Server through bounded buffers,
+ * instead of materializing them as strings in the KIE Server clients. Rendered forms are gzipped when the browser
+ * accepts it, and conditional requests are forwarded so that unchanged forms are answered with 304. Connections are
+ * opened through the {@link KieServerTransport}, with its timeout and its bound on the requests in flight per server
+ * template.
+ */
+public class FormRendererStreamingProxy {
+
+    public static final String BUFFER_SIZE = "org.jbpm.wb.forms.proxy.buffer";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(FormRendererStreamingProxy.class);
+
+    private static final String GZIP = "gzip";
+
+    private static final String[] CONDITIONAL_HEADERS = {"If-None-Match", "If-Modified-Since"};
+
+    private static final String[] VALIDATOR_HEADERS = {"ETag", "Last-Modified", "Cache-Control"};
+
+    private final KieServerTransport transport;
+
+    private final int bufferSize;
+
+    public FormRendererStreamingProxy(final KieServerTransport transport) {
+        this(transport,
+             Integer.getInteger(BUFFER_SIZE,
+                                8192));
+    }
+
+    public FormRendererStreamingProxy(final KieServerTransport transport,
+                                      final int bufferSize) {
+        this.transport = transport;
+        this.bufferSize = bufferSize;
+    }
+
+    /**
+     * Streams the form rendered by KIE Server at the given path to the browser.
+     */
+    public void render(final String serverTemplateId,
+                       final KieServicesClient client,
+                       final String path,
+                       final HttpServletRequest req,
+                       final HttpServletResponse resp) throws IOException {
+        final KieServerTransport.RouteConnection routeConnection = open(serverTemplateId,
+                                                                        client,
+                                                                        path,
+                                                                        "GET");
+        final HttpURLConnection connection = routeConnection.getConnection();
+        connection.setRequestProperty("Accept",
+                                      "text/html");
+        final boolean gzipAccepted = acceptsGzip(req);
+        if (gzipAccepted) {
+            connection.setRequestProperty("Accept-Encoding",
+                                          GZIP);
+        }
+        for (String header : CONDITIONAL_HEADERS) {
+            if (req.getHeader(header) != null) {
+                connection.setRequestProperty(header,
+                                              req.getHeader(header));
+            }
+        }
+        try {
+            final int status = connection.getResponseCode();
+            resp.setStatus(status);
+            for (String header : VALIDATOR_HEADERS) {
+                if (connection.getHeaderField(header) != null) {
+                    resp.setHeader(header,
+                                   connection.getHeaderField(header));
+                }
+            }
+            if (status == HttpURLConnection.HTTP_NOT_MODIFIED) {
+                return;
+            }
+            if (connection.getContentType() != null) {
+                resp.setContentType(connection.getContentType());
+            }
+            resp.setHeader("Vary",
+                           "Accept-Encoding");
+
+            try (InputStream in = body(connection)) {
+                if (in == null) {
+                    return;
+                }
+                if (GZIP.equalsIgnoreCase(connection.getContentEncoding())) {
+                    // already compressed by KIE Server, passed through as is
+                    resp.setHeader("Content-Encoding",
+                                   GZIP);
+                    copy(in,
+                         resp.getOutputStream());
+                } else if (gzipAccepted) {
+                    resp.setHeader("Content-Encoding",
+                                   GZIP);
+                    final GZIPOutputStream out = new GZIPOutputStream(resp.getOutputStream(),
+                                                                      bufferSize);
+                    copy(in,
+                         out);
+                    out.finish();
+                } else {
+                    copy(in,
+                         resp.getOutputStream());
+                }
+            }
+        } finally {
+            connection.disconnect();
+            routeConnection.close();
+        }
+    }
+
+    /**
+     * Streams the request body to KIE Server at the given path. Errors returned by KIE Server are streamed back to the
+     * browser as they are.
+     * @param resultType type of the (small) JSON result returned by KIE Server, or null when it is ignored
+     * @return the result, or null when it is ignored or when an error has been returned
+     */
+    public <T> T send(final String serverTemplateId,
+                      final KieServicesClient client,
+                      final String method,
+                      final String path,
+                      final HttpServletRequest req,
+                      final HttpServletResponse resp,
+                      final Class<T> resultType) throws IOException {
+        final KieServerTransport.RouteConnection routeConnection = open(serverTemplateId,
+                                                                        client,
+                                                                        path,
+                                                                        method);
+        final HttpURLConnection connection = routeConnection.getConnection();
+        connection.setRequestProperty("Accept",
+                                      "application/json");
+        connection.setRequestProperty("Content-Type",
+                                      "application/json");
+        connection.setRequestProperty("X-KIE-ContentType",
+                                      MarshallingFormat.JSON.name());
+        connection.setDoOutput(true);
+        if (req.getContentLengthLong() >= 0) {
+            connection.setFixedLengthStreamingMode(req.getContentLengthLong());
+        } else {
+            connection.setChunkedStreamingMode(bufferSize);
+        }
+        try {
+            try (OutputStream out = connection.getOutputStream()) {
+                copy(req.getInputStream(),
+                     out);
+            }
+
+            final int status = connection.getResponseCode();
+            try (InputStream in = body(connection)) {
+                if (status >= HttpURLConnection.HTTP_BAD_REQUEST) {
+                    LOGGER.debug("KIE Server returned {} for {} {}",
+                                 status,
+                                 method,
+                                 path);
+                    resp.setStatus(status);
+                    if (in != null) {
+                        copy(in,
+                             resp.getOutputStream());
+                    }
+                    return null;
+                }
+                if (resultType == null || in == null) {
+                    return null;
+                }
+                return MarshallerFactory.getMarshaller(MarshallingFormat.JSON,
+                                                       getClass().getClassLoader())
+                        .unmarshall(IOUtils.toString(in,
+                                                     "UTF-8"),
+                                    resultType);
+            }
+        } finally {
+            connection.disconnect();
+            routeConnection.close();
+        }
+    }
+
+    protected KieServerTransport.RouteConnection open(final String serverTemplateId,
+                                                      final KieServicesClient client,
+                                                      final String path,
+                                                      final String method) throws IOException {
+        String url = ((AbstractKieServicesClientImpl) client).getLoadBalancer().getUrl();
+        if (!url.endsWith("/")) {
+            url += "/";
+        }
+        final KieServerTransport.RouteConnection routeConnection = transport.openConnection(serverTemplateId,
+                                                                                            url + path);
+        try {
+            final HttpURLConnection connection = routeConnection.getConnection();
+            connection.setRequestMethod(method);
+            final CredentialsProvider credentialsProvider = getCredentialsProvider();
+            final String authorization = credentialsProvider.getAuthorization();
+            if (authorization != null) {
+                connection.setRequestProperty(credentialsProvider.getHeaderName(),
+                                              authorization);
+            }
+            return routeConnection;
+        } catch (IOException | RuntimeException e) {
+            routeConnection.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Credentials of the current user, resolved on the calling thread like the ones of the KIE Server clients.
+     */
+    protected CredentialsProvider getCredentialsProvider() {
+        return KieServerUtils.getCredentialsProvider();
+    }
+
+    protected boolean acceptsGzip(final HttpServletRequest req) {
+        final String acceptEncoding = req.getHeader("Accept-Encoding");
+        return acceptEncoding != null && acceptEncoding.toLowerCase().contains(GZIP);
+    }
+
+    private InputStream body(final HttpURLConnection connection) throws IOException {
+        return connection.getResponseCode() >= HttpURLConnection.HTTP_BAD_REQUEST ? connection.getErrorStream() : connection.getInputStream();
+    }
+
+    private void copy(final InputStream in,
+                      final OutputStream out) throws IOException {
+        IOUtils.copyLarge(in,
+                          out,
+                          new byte[bufferSize]);
+    }
+}
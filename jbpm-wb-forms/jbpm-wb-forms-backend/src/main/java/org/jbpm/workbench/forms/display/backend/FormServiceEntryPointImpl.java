@@ -16,10 +16,16 @@
 
 package org.jbpm.workbench.forms.display.backend;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Supplier;
 
 import javax.enterprise.context.ApplicationScoped;
 import javax.enterprise.inject.Instance;
@@ -42,6 +48,7 @@ import org.jbpm.workbench.ks.utils.KieServerUtils;
 import org.kie.internal.task.api.ContentMarshallerContext;
 import org.kie.server.api.exception.KieServicesException;
 import org.kie.server.api.exception.KieServicesHttpException;
+import org.kie.server.api.model.ReleaseId;
 import org.kie.server.api.model.definition.ProcessDefinition;
 import org.kie.server.api.model.definition.TaskInputsDefinition;
 import org.kie.server.api.model.definition.TaskOutputsDefinition;
@@ -53,6 +60,7 @@ import org.kie.server.client.UIServicesClient;
 import org.kie.server.client.UserTaskServicesClient;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.uberfire.commons.concurrent.Managed;
 
 import static org.jbpm.workbench.forms.display.backend.conversion.TaskDataConverterUtil.convert;
 
@@ -67,13 +75,21 @@ public class FormServiceEntryPointImpl extends AbstractKieServerService implemen
     private final FormProvider<? extends FormRenderingSettings> defaultFormProvider;
     private Set<FormProvider<? extends FormRenderingSettings>> providers = new TreeSet<>((o1, o2) -> o1.getPriority() - o2.getPriority());
 
+    private final TaskFormCache taskFormCache;
+
+    private final ExecutorService executorService;
+
     @Inject
     public FormServiceEntryPointImpl(Instance<FormProvider<? extends FormRenderingSettings>> providersInjected,
-                                     @DefaultFormProvider FormProvider<? extends FormRenderingSettings> defaultFormProvider) {
+                                     @DefaultFormProvider FormProvider<? extends FormRenderingSettings> defaultFormProvider,
+                                     TaskFormCache taskFormCache,
+                                     @Managed ExecutorService executorService) {
         for (FormProvider provider : providersInjected) {
             providers.add(provider);
         }
         this.defaultFormProvider = defaultFormProvider;
+        this.taskFormCache = taskFormCache;
+        this.executorService = executorService;
     }
 
     @Override
@@ -192,24 +208,52 @@ public class FormServiceEntryPointImpl extends AbstractKieServerService implemen
 
         taskInstance.setStatus(task.getStatus());
 
-        TaskInputsDefinition inputDefinitions = processService.getUserTaskInputDefinitions(domainId,
-                                                                                           task.getProcessId(),
-                                                                                           task.getName());
+        // definitions only change with the deployed release, everything else is fetched concurrently
+        ReleaseId releaseId = getContainerReleaseId(serverTemplateId,
+                                                    domainId);
+
+        CompletableFuture<TaskInputsDefinition> inputDefinitionsFuture = supplyAsync(() -> taskFormCache.getTaskInputs(serverTemplateId,
+                                                                                                                          domainId,
+                                                                                                                          releaseId,
+                                                                                                                          task.getProcessId(),
+                                                                                                                          task.getName(),
+                                                                                                                          () -> processService.getUserTaskInputDefinitions(domainId,
+                                                                                                                                                                           task.getProcessId(),
+                                                                                                                                                                           task.getName())));
+
+        CompletableFuture<TaskOutputsDefinition> outputDefinitionsFuture = supplyAsync(() -> taskFormCache.getTaskOutputs(serverTemplateId,
+                                                                                                                             domainId,
+                                                                                                                             releaseId,
+                                                                                                                             task.getProcessId(),
+                                                                                                                             task.getName(),
+                                                                                                                             () -> processService.getUserTaskOutputDefinitions(domainId,
+                                                                                                                                                                                task.getProcessId(),
+                                                                                                                                                                                task.getName())));
+
+        // fetched with the user's credentials on every render, as KIE Server checks the user's access to the task
+        CompletableFuture<String> formContentFuture = supplyAsync(() -> uiServicesClient.getTaskRawForm(domainId,
+                                                                                                        taskId));
+
+        // prepare render context
+        CompletableFuture<Map<String, Object>> inputsFuture = processData(documentClient,
+                                                                          task.getInputData());
+
+        CompletableFuture<Map<String, Object>> outputsFuture = processData(documentClient,
+                                                                           task.getOutputData());
+
+        TaskInputsDefinition inputDefinitions = join(inputDefinitionsFuture);
 
         taskInstance.setTaskInputDefinitions(inputDefinitions.getTaskInputs());
 
-        TaskOutputsDefinition outputDefinitions = processService.getUserTaskOutputDefinitions(domainId,
-                                                                                              task.getProcessId(),
-                                                                                              task.getName());
+        TaskOutputsDefinition outputDefinitions = join(outputDefinitionsFuture);
 
         taskInstance.setTaskOutputDefinitions(outputDefinitions.getTaskOutputs());
 
-        // prepare render context
-        Map<String, Object> inputs = processData(documentClient, task.getInputData());
+        Map<String, Object> inputs = join(inputsFuture);
 
         convert(inputDefinitions.getTaskInputs(), inputs);
 
-        Map<String, Object> outputs = processData(documentClient, task.getOutputData());
+        Map<String, Object> outputs = join(outputsFuture);
 
         if (outputs != null && !outputs.isEmpty()) {
             taskInstance.setOutputIncluded(true);
@@ -218,7 +262,7 @@ public class FormServiceEntryPointImpl extends AbstractKieServerService implemen
         KieServicesClient kieServicesClient = getKieServicesClient(serverTemplateId, domainId);
 
         try {
-            String formContent = uiServicesClient.getTaskRawForm(domainId, taskId);
+            String formContent = join(formContentFuture);
 
             TaskRenderingSettings settings = new TaskRenderingSettings(taskInstance,
                                                                        inputs,
@@ -341,21 +385,45 @@ public class FormServiceEntryPointImpl extends AbstractKieServerService implemen
         return null;
     }
 
-    protected Map<String, Object> processData(DocumentServicesClient documentClient,
-                                              Map<String, Object> data) {
+    protected CompletableFuture<Map<String, Object>> processData(DocumentServicesClient documentClient,
+                                                                 Map<String, Object> data) {
 
         if (data == null || data.isEmpty()) {
-            return data;
+            return CompletableFuture.completedFuture(data);
         }
 
+        List<CompletableFuture<Void>> links = new ArrayList<>();
         for (Map.Entry<String, Object> entry : data.entrySet()) {
             if (entry.getValue() instanceof Document) {
                 Document document = ((Document) entry.getValue());
-                document.setLink(documentClient.getDocumentLink(document.getIdentifier()));
+                links.add(supplyAsync(() -> documentClient.getDocumentLink(document.getIdentifier())).thenAccept(document::setLink));
             }
         }
 
-        return data;
+        return CompletableFuture.allOf(links.toArray(new CompletableFuture[links.size()])).thenApply(done -> data);
+    }
+
+    protected ReleaseId getContainerReleaseId(String serverTemplateId,
+                                              String containerId) {
+        return kieServerIntegration.getContainerReleaseId(serverTemplateId,
+                                                          containerId);
+    }
+
+    protected <T> CompletableFuture<T> supplyAsync(final Supplier<T> supplier) {
+        // KIE Server clients read the user credentials from the calling thread
+        return CompletableFuture.supplyAsync(KieServerUtils.getCredentialsProvider().propagate(supplier),
+                                             executorService);
+    }
+
+    protected <T> T join(final CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
     }
 
     /*
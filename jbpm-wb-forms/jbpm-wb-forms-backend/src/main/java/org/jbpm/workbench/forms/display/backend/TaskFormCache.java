@@ -0,0 +1,117 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jbpm.workbench.forms.display.backend;
+
+import java.util.Arrays;
+import java.util.function.Supplier;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Observes;
+
+import org.jbpm.workbench.ks.integration.ContainerReleaseCache;
+import org.kie.server.api.model.ReleaseId;
+import org.kie.server.api.model.definition.TaskInputsDefinition;
+import org.kie.server.api.model.definition.TaskOutputsDefinition;
+import org.kie.server.controller.api.model.events.ContainerSpecUpdated;
+import org.kie.server.controller.api.model.events.ServerTemplateDeleted;
+import org.kie.server.controller.api.model.events.ServerTemplateUpdated;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Memory bounded cache of the input and output definitions of user tasks. They only depend on the task's process and
+ * name, and can only change when a container is redeployed, therefore entries are keyed by the container release id
+ * and dropped on any container or server template update.
+ * <p>
+ * The raw form content is not cached: KIE Server checks the user's access to the task when it is fetched.
+ */
+@ApplicationScoped
+public class TaskFormCache {
+
+    public static final String TASK_CACHE_SIZE = "org.jbpm.wb.forms.task.cache.size";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TaskFormCache.class);
+
+    private final ContainerReleaseCache<TaskInputsDefinition> inputs;
+    private final ContainerReleaseCache<TaskOutputsDefinition> outputs;
+
+    public TaskFormCache() {
+        this(Integer.getInteger(TASK_CACHE_SIZE,
+                                500));
+    }
+
+    /**
+     * @param maxTasks maximum number of task input (and of output) definitions kept
+     */
+    public TaskFormCache(final int maxTasks) {
+        this.inputs = new ContainerReleaseCache<>(definition -> 1,
+                                                  maxTasks);
+        this.outputs = new ContainerReleaseCache<>(definition -> 1,
+                                                   maxTasks);
+    }
+
+    public TaskInputsDefinition getTaskInputs(final String serverTemplateId,
+                                              final String containerId,
+                                              final ReleaseId releaseId,
+                                              final String processId,
+                                              final String taskName,
+                                              final Supplier<TaskInputsDefinition> loader) {
+        return inputs.get(serverTemplateId,
+                          containerId,
+                          releaseId,
+                          Arrays.asList(processId,
+                                        taskName),
+                          loader);
+    }
+
+    public TaskOutputsDefinition getTaskOutputs(final String serverTemplateId,
+                                                final String containerId,
+                                                final ReleaseId releaseId,
+                                                final String processId,
+                                                final String taskName,
+                                                final Supplier<TaskOutputsDefinition> loader) {
+        return outputs.get(serverTemplateId,
+                           containerId,
+                           releaseId,
+                           Arrays.asList(processId,
+                                         taskName),
+                           loader);
+    }
+
+    public void invalidate(final String serverTemplateId) {
+        inputs.invalidate(serverTemplateId);
+        outputs.invalidate(serverTemplateId);
+        LOGGER.debug("Task form cache invalidated for server template {}",
+                     serverTemplateId);
+    }
+
+    public int size() {
+        return inputs.size() + outputs.size();
+    }
+
+    public void onContainerSpecUpdated(@Observes ContainerSpecUpdated containerSpecUpdated) {
+        invalidate(containerSpecUpdated.getServerTemplate().getId());
+    }
+
+    public void onServerTemplateUpdated(@Observes ServerTemplateUpdated serverTemplateUpdated) {
+        invalidate(serverTemplateUpdated.getServerTemplate().getId());
+    }
+
+    public void onServerTemplateDeleted(@Observes ServerTemplateDeleted serverTemplateDeleted) {
+        invalidate(serverTemplateDeleted.getServerTemplateId());
+    }
+}
@@ -0,0 +1,264 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jbpm.workbench.forms.display.backend.context;
+
+import java.io.Serializable;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import javax.annotation.PreDestroy;
+import javax.enterprise.context.SessionScoped;
+import javax.inject.Inject;
+
+import org.kie.workbench.common.forms.dynamic.service.context.generation.dynamic.BackendFormRenderingContext;
+import org.kie.workbench.common.forms.dynamic.service.context.generation.dynamic.BackendFormRenderingContextManager;
+import org.kie.workbench.common.forms.model.FormDefinition;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Keeps the rendering contexts of a session bounded. A context is registered whenever a form is opened but only
+ * removed once it is submitted, so the contexts of abandoned forms, with their data and class loader, are evicted
+ * once idle for longer than their time to live, or least recently used first whenever the session holds too many
+ * contexts or too much data. The weight of a context is the number of values of its form data, nested ones included.
+ */
+@SessionScoped
+@BoundedContexts
+public class BoundedFormRenderingContextManager implements BackendFormRenderingContextManager {
+
+    public static final String CONTEXT_TTL = "org.jbpm.wb.forms.context.ttl";
+    public static final String CONTEXT_MAX_ENTRIES = "org.jbpm.wb.forms.context.size";
+    public static final String CONTEXT_MAX_WEIGHT = "org.jbpm.wb.forms.context.weight";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(BoundedFormRenderingContextManager.class);
+
+    private static final int MAX_DEPTH = 16;
+
+    @Inject
+    private BackendFormRenderingContextManager delegate;
+
+    @Inject
+    private FormRenderingContextMetrics metrics;
+
+    private final long timeToLive;
+    private final int maxEntries;
+    private final long maxWeight;
+
+    // access ordered, the least recently used context comes first
+    private final Map<Long, ContextEntry> entries = new LinkedHashMap<>(16,
+                                                                        0.75f,
+                                                                        true);
+    private long weight;
+
+    public BoundedFormRenderingContextManager() {
+        this(null,
+             null,
+             Long.getLong(CONTEXT_TTL,
+                          1800000L),
+             Integer.getInteger(CONTEXT_MAX_ENTRIES,
+                                50),
+             Long.getLong(CONTEXT_MAX_WEIGHT,
+                          100000L));
+    }
+
+    public BoundedFormRenderingContextManager(final BackendFormRenderingContextManager delegate,
+                                              final FormRenderingContextMetrics metrics,
+                                              final long timeToLive,
+                                              final int maxEntries,
+                                              final long maxWeight) {
+        this.delegate = delegate;
+        this.metrics = metrics;
+        this.timeToLive = timeToLive;
+        this.maxEntries = maxEntries;
+        this.maxWeight = maxWeight;
+    }
+
+    @Override
+    public BackendFormRenderingContext registerContext(final FormDefinition rootForm,
+                                                       final Map<String, Object> formData,
+                                                       final ClassLoader classLoader,
+                                                       final FormDefinition... nestedForms) {
+        return track(delegate.registerContext(rootForm,
+                                              formData,
+                                              classLoader,
+                                              nestedForms));
+    }
+
+    @Override
+    public BackendFormRenderingContext registerContext(final FormDefinition rootForm,
+                                                       final Map<String, Object> formData,
+                                                       final ClassLoader classLoader,
+                                                       final Map<String, String> params,
+                                                       final FormDefinition... nestedForms) {
+        return track(delegate.registerContext(rootForm,
+                                              formData,
+                                              classLoader,
+                                              params,
+                                              nestedForms));
+    }
+
+    @Override
+    public synchronized BackendFormRenderingContext updateContextData(final long timestamp,
+                                                                      final Map<String, Object> formData) {
+        evictExpired();
+        final BackendFormRenderingContext context = delegate.updateContextData(timestamp,
+                                                                               formData);
+        final ContextEntry entry = entries.get(timestamp);
+        if (entry != null && context != null) {
+            final long contextWeight = weigh(context);
+            weight += contextWeight - entry.weight;
+            metrics.onWeightChanged(contextWeight - entry.weight);
+            entry.weight = contextWeight;
+            entry.lastAccess = currentTimeMillis();
+        }
+        return context;
+    }
+
+    @Override
+    public synchronized BackendFormRenderingContext getContext(final Long timestamp) {
+        evictExpired();
+        final ContextEntry entry = entries.get(timestamp);
+        if (entry != null) {
+            entry.lastAccess = currentTimeMillis();
+        }
+        return delegate.getContext(timestamp);
+    }
+
+    @Override
+    public synchronized boolean removeContext(final Long timestamp) {
+        final ContextEntry entry = entries.remove(timestamp);
+        if (entry != null) {
+            weight -= entry.weight;
+            metrics.onRemoved(entry.weight);
+        }
+        return delegate.removeContext(timestamp);
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized long getWeight() {
+        return weight;
+    }
+
+    /**
+     * Contexts of the session are discarded along with it, only the metrics are updated.
+     */
+    @PreDestroy
+    public synchronized void destroy() {
+        entries.values().forEach(entry -> metrics.onRemoved(entry.weight));
+        entries.clear();
+        weight = 0;
+    }
+
+    protected synchronized BackendFormRenderingContext track(final BackendFormRenderingContext context) {
+        if (context == null) {
+            return null;
+        }
+        evictExpired();
+        final ContextEntry entry = new ContextEntry(weigh(context),
+                                                    currentTimeMillis());
+        final ContextEntry previous = entries.put(context.getTimestamp(),
+                                                  entry);
+        if (previous != null) {
+            weight -= previous.weight;
+            metrics.onRemoved(previous.weight);
+        }
+        weight += entry.weight;
+        metrics.onRegistered(entry.weight);
+
+        // the context just registered is kept whatever its weight, as it's about to be rendered
+        final Iterator<Map.Entry<Long, ContextEntry>> iterator = entries.entrySet().iterator();
+        while (iterator.hasNext() && (entries.size() > maxEntries || weight > maxWeight) && entries.size() > 1) {
+            final Map.Entry<Long, ContextEntry> eldest = iterator.next();
+            if (eldest.getKey().equals(context.getTimestamp())) {
+                continue;
+            }
+            iterator.remove();
+            weight -= eldest.getValue().weight;
+            metrics.onEvicted(eldest.getValue().weight);
+            delegate.removeContext(eldest.getKey());
+            LOGGER.debug("Evicted form rendering context {}, session keeps {} context(s) weighing {}",
+                         eldest.getKey(),
+                         entries.size(),
+                         weight);
+        }
+        return context;
+    }
+
+    protected void evictExpired() {
+        if (timeToLive <= 0) {
+            return;
+        }
+        final long now = currentTimeMillis();
+        final Iterator<Map.Entry<Long, ContextEntry>> iterator = entries.entrySet().iterator();
+        while (iterator.hasNext()) {
+            final Map.Entry<Long, ContextEntry> entry = iterator.next();
+            if (now - entry.getValue().lastAccess >= timeToLive) {
+                iterator.remove();
+                weight -= entry.getValue().weight;
+                metrics.onExpired(entry.getValue().weight);
+                delegate.removeContext(entry.getKey());
+                LOGGER.debug("Form rendering context {} expired",
+                             entry.getKey());
+            }
+        }
+    }
+
+    protected long currentTimeMillis() {
+        return System.currentTimeMillis();
+    }
+
+    protected static long weigh(final BackendFormRenderingContext context) {
+        return 1 + weigh(context.getFormData(),
+                         0);
+    }
+
+    private static long weigh(final Object value,
+                              final int depth) {
+        if (depth > MAX_DEPTH) {
+            return 0;
+        }
+        if (value instanceof Map) {
+            return weigh(((Map<?, ?>) value).values(),
+                         depth);
+        }
+        if (value instanceof Collection) {
+            long result = 0;
+            for (Object item : (Collection<?>) value) {
+                result += 1 + weigh(item,
+                                    depth + 1);
+            }
+            return result;
+        }
+        return 0;
+    }
+
+    private static class ContextEntry implements Serializable {
+
+        private long weight;
+        private long lastAccess;
+
+        ContextEntry(final long weight,
+                     final long lastAccess) {
+            this.weight = weight;
+            this.lastAccess = lastAccess;
+        }
+    }
+}
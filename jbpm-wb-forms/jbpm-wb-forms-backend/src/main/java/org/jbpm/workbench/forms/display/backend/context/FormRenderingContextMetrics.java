@@ -0,0 +1,84 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jbpm.workbench.forms.display.backend.context;
+
+import java.util.concurrent.atomic.AtomicLong;
+import javax.enterprise.context.ApplicationScoped;
+
+/**
+ * Counts the form rendering contexts kept by all the sessions of the workbench node.
+ */
+@ApplicationScoped
+public class FormRenderingContextMetrics {
+
+    private final AtomicLong liveContexts = new AtomicLong();
+    private final AtomicLong liveWeight = new AtomicLong();
+    private final AtomicLong registeredCount = new AtomicLong();
+    private final AtomicLong expiredCount = new AtomicLong();
+    private final AtomicLong evictedCount = new AtomicLong();
+
+    void onRegistered(final long weight) {
+        registeredCount.incrementAndGet();
+        liveContexts.incrementAndGet();
+        liveWeight.addAndGet(weight);
+    }
+
+    void onWeightChanged(final long delta) {
+        liveWeight.addAndGet(delta);
+    }
+
+    void onRemoved(final long weight) {
+        liveContexts.decrementAndGet();
+        liveWeight.addAndGet(-weight);
+    }
+
+    void onExpired(final long weight) {
+        expiredCount.incrementAndGet();
+        onRemoved(weight);
+    }
+
+    void onEvicted(final long weight) {
+        evictedCount.incrementAndGet();
+        onRemoved(weight);
+    }
+
+    public long getLiveContexts() {
+        return liveContexts.get();
+    }
+
+    public long getLiveWeight() {
+        return liveWeight.get();
+    }
+
+    public long getRegisteredCount() {
+        return registeredCount.get();
+    }
+
+    /**
+     * @return number of contexts removed as idle for longer than their time to live
+     */
+    public long getExpiredCount() {
+        return expiredCount.get();
+    }
+
+    /**
+     * @return number of contexts removed as their session exceeded its maximum number of contexts or weight
+     */
+    public long getEvictedCount() {
+        return evictedCount.get();
+    }
+}
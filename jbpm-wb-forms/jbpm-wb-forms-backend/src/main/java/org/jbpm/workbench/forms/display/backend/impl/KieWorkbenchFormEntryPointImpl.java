@@ -22,9 +22,11 @@ import javax.enterprise.context.Dependent;
 import javax.inject.Inject;
 
 import org.jboss.errai.bus.server.annotations.Service;
+import org.jbpm.workbench.forms.display.backend.context.BoundedContexts;
 import org.jbpm.workbench.ht.service.TaskService;
 import org.jbpm.workbench.forms.display.backend.provider.ProcessFormsValuesProcessor;
 import org.jbpm.workbench.forms.display.backend.provider.TaskFormValuesProcessor;
+import org.jbpm.workbench.forms.display.api.FormExpiredException;
 import org.jbpm.workbench.forms.display.service.KieWorkbenchFormsEntryPoint;
 import org.jbpm.workbench.pr.service.ProcessService;
 import org.kie.workbench.common.forms.dynamic.service.context.generation.dynamic.BackendFormRenderingContextManager;
@@ -48,7 +50,7 @@ public class KieWorkbenchFormEntryPointImpl implements KieWorkbenchFormsEntryPoi
                                           TaskService taskService,
                                           ProcessFormsValuesProcessor processRenderingSettingsInterpreter,
                                           TaskFormValuesProcessor taskRenderingSettingsInterpreter,
-                                          BackendFormRenderingContextManager contextManager) {
+                                          @BoundedContexts BackendFormRenderingContextManager contextManager) {
         this.processService = processService;
         this.taskService = taskService;
         this.processRenderingSettingsInterpreter = processRenderingSettingsInterpreter;
@@ -64,6 +66,7 @@ public class KieWorkbenchFormEntryPointImpl implements KieWorkbenchFormsEntryPoi
                                               String processId,
                                               String correlationKey) {
 
+        checkContext(timestamp);
         Map<String, Object> data = processRenderingSettingsInterpreter.generateRuntimeValuesMap(timestamp,
                                                                                                 formData);
         clearContext(timestamp);
@@ -80,6 +83,7 @@ public class KieWorkbenchFormEntryPointImpl implements KieWorkbenchFormsEntryPoi
                                                String serverTemplateId,
                                                String containerId,
                                                Long taskId) {
+        checkContext(timestamp);
         Map<String, Object> data = taskRenderingSettingsInterpreter.generateRuntimeValuesMap(timestamp,
                                                                                              formData);
         clearContext(timestamp);
@@ -95,6 +99,7 @@ public class KieWorkbenchFormEntryPointImpl implements KieWorkbenchFormsEntryPoi
                                         String serverTemplateId,
                                         String containerId,
                                         Long taskId) {
+        checkContext(timestamp);
         Map<String, Object> data = taskRenderingSettingsInterpreter.generateRuntimeValuesMap(timestamp,
                                                                                              formData);
         clearContext(timestamp);
@@ -104,6 +109,16 @@ public class KieWorkbenchFormEntryPointImpl implements KieWorkbenchFormsEntryPoi
                                  data);
     }
 
+    /**
+     * Contexts of forms left open for too long are evicted, submitting them would lose the form data.
+     */
+    protected void checkContext(Long timestamp) {
+        if (contextManager.getContext(timestamp) == null) {
+            // the form has to be opened again, which the client does on this exception
+            throw new FormExpiredException();
+        }
+    }
+
     @Override
     public void clearContext(long timestamp) {
         contextManager.removeContext(timestamp);
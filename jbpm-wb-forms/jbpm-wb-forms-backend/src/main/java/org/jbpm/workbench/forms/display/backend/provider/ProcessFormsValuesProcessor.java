@@ -24,6 +24,7 @@ import java.util.stream.Collectors;
 import javax.enterprise.context.Dependent;
 import javax.inject.Inject;
 
+import org.jbpm.workbench.forms.display.backend.context.BoundedContexts;
 import org.jbpm.workbench.forms.service.providing.ProcessRenderingSettings;
 import org.kie.workbench.common.forms.dynamic.service.context.generation.dynamic.BackendFormRenderingContext;
 import org.kie.workbench.common.forms.dynamic.service.context.generation.dynamic.BackendFormRenderingContextManager;
@@ -43,7 +44,7 @@ public class ProcessFormsValuesProcessor extends KieWorkbenchFormsValuesProcesso
 
     @Inject
     public ProcessFormsValuesProcessor(FormDefinitionSerializer formSerializer,
-                                       BackendFormRenderingContextManager contextManager,
+                                       @BoundedContexts BackendFormRenderingContextManager contextManager,
                                        DynamicBPMNFormGenerator dynamicBPMNFormGenerator) {
         super(formSerializer,
               contextManager,
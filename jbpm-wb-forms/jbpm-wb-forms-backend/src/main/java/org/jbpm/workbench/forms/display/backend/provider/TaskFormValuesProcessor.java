@@ -26,6 +26,7 @@ import java.util.stream.Collectors;
 import javax.enterprise.context.Dependent;
 import javax.inject.Inject;
 
+import org.jbpm.workbench.forms.display.backend.context.BoundedContexts;
 import org.jbpm.workbench.forms.service.providing.TaskRenderingSettings;
 import org.jbpm.workbench.forms.service.providing.model.TaskDefinition;
 import org.kie.workbench.common.forms.dynamic.service.context.generation.dynamic.BackendFormRenderingContext;
@@ -47,7 +48,7 @@ public class TaskFormValuesProcessor extends KieWorkbenchFormsValuesProcessor<Ta
 
     @Inject
     public TaskFormValuesProcessor(FormDefinitionSerializer formSerializer,
-                                   BackendFormRenderingContextManager contextManager,
+                                   @BoundedContexts BackendFormRenderingContextManager contextManager,
                                    DynamicBPMNFormGenerator dynamicBPMNFormGenerator) {
         super(formSerializer,
               contextManager,
@@ -0,0 +1,293 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jbpm.workbench.forms.display.backend;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.util.zip.GZIPInputStream;
+
+import javax.servlet.ReadListener;
+import javax.servlet.ServletInputStream;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.apache.commons.io.IOUtils;
+import org.jbpm.workbench.ks.integration.KieServerTransport;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.kie.server.client.CredentialsProvider;
+import org.kie.server.client.balancer.LoadBalancer;
+import org.kie.server.client.credentials.EnteredCredentialsProvider;
+import org.kie.server.client.impl.KieServicesClientImpl;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+public class FormRendererStreamingProxyTest {
+
+    private static final String SERVER_TEMPLATE_ID = "serverTemplateId";
+
+    private HttpServer server;
+
+    private HttpExchange exchange;
+
+    private String requestBody;
+
+    private FormRendererStreamingProxy proxy;
+
+    private KieServicesClientImpl client;
+
+    private HttpServletRequest req;
+
+    private HttpServletResponse resp;
+
+    private ByteArrayOutputStream output;
+
+    @Before
+    public void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost",
+                                                         0),
+                                   0);
+        server.start();
+
+        final LoadBalancer loadBalancer = mock(LoadBalancer.class);
+        when(loadBalancer.getUrl()).thenReturn("http://localhost:" + server.getAddress().getPort() + "/server");
+        client = mock(KieServicesClientImpl.class);
+        when(client.getLoadBalancer()).thenReturn(loadBalancer);
+
+        proxy = new FormRendererStreamingProxy(new KieServerTransport(1,
+                                                                      1000,
+                                                                      1000),
+                                               4) {
+            @Override
+            protected CredentialsProvider getCredentialsProvider() {
+                return new EnteredCredentialsProvider("user",
+                                                      "password");
+            }
+        };
+
+        req = mock(HttpServletRequest.class);
+        resp = mock(HttpServletResponse.class);
+        output = new ByteArrayOutputStream();
+        when(resp.getOutputStream()).thenReturn(new ServletOutputStream() {
+            @Override
+            public boolean isReady() {
+                return true;
+            }
+
+            @Override
+            public void setWriteListener(WriteListener writeListener) {
+            }
+
+            @Override
+            public void write(int b) {
+                output.write(b);
+            }
+        });
+    }
+
+    @After
+    public void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    public void testRenderedFormGzipped() throws Exception {
+        respond(200,
+                "<div>rendered form</div>");
+        when(req.getHeader("Accept-Encoding")).thenReturn("gzip, deflate");
+
+        proxy.render(SERVER_TEMPLATE_ID,
+                     client,
+                     "containers/evaluation/forms/processes/evaluation/content?renderer=workbench",
+                     req,
+                     resp);
+
+        assertEquals("/server/containers/evaluation/forms/processes/evaluation/content",
+                     exchange.getRequestURI().getPath());
+        assertEquals("renderer=workbench",
+                     exchange.getRequestURI().getQuery());
+        assertNotNull(exchange.getRequestHeaders().getFirst("Authorization"));
+        verify(resp).setStatus(200);
+        verify(resp).setHeader("Content-Encoding",
+                               "gzip");
+        assertEquals("<div>rendered form</div>",
+                     IOUtils.toString(new GZIPInputStream(new ByteArrayInputStream(output.toByteArray())),
+                                      "UTF-8"));
+    }
+
+    @Test
+    public void testConnectionGivenBackToTransport() throws Exception {
+        respond(200,
+                "<div>rendered form</div>");
+
+        // the transport of the test allows a single connection per server template
+        for (int i = 0; i < 2; i++) {
+            proxy.render(SERVER_TEMPLATE_ID,
+                         client,
+                         "containers/evaluation/forms/tasks/1/content",
+                         req,
+                         resp);
+        }
+
+        verify(resp,
+               times(2)).setStatus(200);
+    }
+
+    @Test
+    public void testRenderedFormNotGzipped() throws Exception {
+        respond(200,
+                "<div>rendered form</div>");
+
+        proxy.render(SERVER_TEMPLATE_ID,
+                     client,
+                     "containers/evaluation/forms/tasks/1/content",
+                     req,
+                     resp);
+
+        verify(resp,
+               never()).setHeader(eq("Content-Encoding"),
+                                  anyString());
+        assertEquals("<div>rendered form</div>",
+                     output.toString("UTF-8"));
+    }
+
+    @Test
+    public void testUnchangedFormNotModified() throws Exception {
+        server.createContext("/",
+                             exchange -> {
+                                 this.exchange = exchange;
+                                 exchange.getResponseHeaders().add("ETag",
+                                                                   "\"v1\"");
+                                 if ("\"v1\"".equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+                                     exchange.sendResponseHeaders(304,
+                                                                  -1);
+                                 } else {
+                                     exchange.sendResponseHeaders(200,
+                                                                  0);
+                                 }
+                                 exchange.close();
+                             });
+        when(req.getHeader("If-None-Match")).thenReturn("\"v1\"");
+
+        proxy.render(SERVER_TEMPLATE_ID,
+                     client,
+                     "containers/evaluation/forms/tasks/1/content",
+                     req,
+                     resp);
+
+        verify(resp).setStatus(304);
+        verify(resp).setHeader("ETag",
+                               "\"v1\"");
+        assertEquals(0,
+                     output.size());
+    }
+
+    @Test
+    public void testRequestBodyStreamed() throws Exception {
+        respond(201,
+                "12");
+        request("{\"name\":\"value\"}");
+
+        final Long processInstanceId = proxy.send(SERVER_TEMPLATE_ID,
+                                                  client,
+                                                  "POST",
+                                                  "containers/evaluation/processes/evaluation/instances",
+                                                  req,
+                                                  resp,
+                                                  Long.class);
+
+        assertEquals(Long.valueOf(12),
+                     processInstanceId);
+        assertEquals("POST",
+                     exchange.getRequestMethod());
+        assertEquals("application/json",
+                     exchange.getRequestHeaders().getFirst("Content-Type"));
+        assertEquals("{\"name\":\"value\"}",
+                     requestBody);
+        verify(resp,
+               never()).setStatus(anyInt());
+    }
+
+    @Test
+    public void testErrorForwarded() throws Exception {
+        respond(403,
+                "denied");
+        request("{}");
+
+        assertNull(proxy.send(SERVER_TEMPLATE_ID,
+                              client,
+                              "PUT",
+                              "containers/evaluation/tasks/1/contents/output",
+                              req,
+                              resp,
+                              null));
+
+        verify(resp).setStatus(403);
+        assertEquals("denied",
+                     output.toString("UTF-8"));
+    }
+
+    private void respond(final int status,
+                         final String body) {
+        server.createContext("/",
+                             exchange -> {
+                                 this.exchange = exchange;
+                                 requestBody = IOUtils.toString(exchange.getRequestBody(),
+                                                                "UTF-8");
+                                 final byte[] bytes = body.getBytes("UTF-8");
+                                 exchange.sendResponseHeaders(status,
+                                                              bytes.length);
+                                 try (OutputStream out = exchange.getResponseBody()) {
+                                     out.write(bytes);
+                                 }
+                             });
+    }
+
+    private void request(final String body) throws IOException {
+        final ByteArrayInputStream in = new ByteArrayInputStream(body.getBytes("UTF-8"));
+        when(req.getContentLengthLong()).thenReturn(-1L);
+        when(req.getInputStream()).thenReturn(new ServletInputStream() {
+            @Override
+            public boolean isFinished() {
+                return in.available() == 0;
+            }
+
+            @Override
+            public boolean isReady() {
+                return true;
+            }
+
+            @Override
+            public void setReadListener(ReadListener readListener) {
+            }
+
+            @Override
+            public int read() {
+                return in.read();
+            }
+        });
+    }
+}
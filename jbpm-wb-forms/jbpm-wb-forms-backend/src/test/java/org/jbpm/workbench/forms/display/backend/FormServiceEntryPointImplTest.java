@@ -20,6 +20,7 @@ import java.io.IOException;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
 
 import javax.enterprise.inject.Instance;
 import javax.ws.rs.core.Response;
@@ -42,6 +43,7 @@ import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.kie.server.api.exception.KieServicesException;
 import org.kie.server.api.exception.KieServicesHttpException;
+import org.kie.server.api.model.ReleaseId;
 import org.kie.server.api.model.definition.ProcessDefinition;
 import org.kie.server.api.model.definition.TaskInputsDefinition;
 import org.kie.server.api.model.definition.TaskOutputsDefinition;
@@ -84,6 +86,7 @@ import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.anyBoolean;
 import static org.mockito.Mockito.anyLong;
 import static org.mockito.Mockito.anyString;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
@@ -116,6 +119,9 @@ public class FormServiceEntryPointImplTest {
     @Mock
     private ModelReaderService<ClassLoader> modelReaderService;
 
+    @Mock
+    private ExecutorService executorService;
+
     private FieldValueMarshallerRegistry registry;
 
     private DynamicBPMNFormGenerator dynamicBPMNFormGenerator;
@@ -128,6 +134,8 @@ public class FormServiceEntryPointImplTest {
 
     private String formContent;
 
+    private ReleaseId releaseId;
+
     @Before
     public void init() {
         SubFormFieldValueMarshaller subFormFieldValueMarshaller = new SubFormFieldValueMarshaller();
@@ -180,7 +188,15 @@ public class FormServiceEntryPointImplTest {
 
         when(instance.iterator()).then(result -> Arrays.asList(kieWorkbenchFormsProvider).iterator());
 
-        serviceEntryPoint = new FormServiceEntryPointImpl(instance, defaultProvider) {
+        doAnswer(invocation -> {
+            ((Runnable) invocation.getArguments()[0]).run();
+            return null;
+        }).when(executorService).execute(any(Runnable.class));
+
+        serviceEntryPoint = new FormServiceEntryPointImpl(instance,
+                                                          defaultProvider,
+                                                          new TaskFormCache(),
+                                                          executorService) {
 
             @Override
             protected <T> T getClient(String serverTemplateId,
@@ -207,6 +223,12 @@ public class FormServiceEntryPointImplTest {
                                                              String containerId) {
                 return kieServicesClient;
             }
+
+            @Override
+            protected ReleaseId getContainerReleaseId(String serverTemplateId,
+                                                      String containerId) {
+                return releaseId;
+            }
         };
 
         ProcessDefinition processDefinition = new ProcessDefinition();
@@ -358,6 +380,46 @@ public class FormServiceEntryPointImplTest {
         checkRenderingSettings(settings);
     }
 
+    @Test
+    public void testRenderTaskFormDefinitionsCached() {
+
+        formContent = FormContentReader.getTaskForms();
+        releaseId = new ReleaseId("org.jbpm",
+                                  "invoices",
+                                  "1.0");
+
+        when(uiServicesClient.getTaskRawForm(anyString(),
+                                             anyLong())).thenReturn(formContent);
+
+        serviceEntryPoint.getFormDisplayTask("template",
+                                             "domain",
+                                             12);
+        FormRenderingSettings settings = serviceEntryPoint.getFormDisplayTask("template",
+                                                                              "domain",
+                                                                              12);
+
+        verify(userTaskServicesClient,
+               times(2)).getTaskInstance(anyString(),
+                                         anyLong(),
+                                         anyBoolean(),
+                                         anyBoolean(),
+                                         anyBoolean());
+        verify(processServicesClient).getUserTaskInputDefinitions(anyString(),
+                                                                  anyString(),
+                                                                  anyString());
+        verify(processServicesClient).getUserTaskOutputDefinitions(anyString(),
+                                                                   anyString(),
+                                                                   anyString());
+        // the raw form is where KIE Server checks the user's access to the task, it is never cached
+        verify(uiServicesClient,
+               times(2)).getTaskRawForm(anyString(),
+                                        anyLong());
+
+        verify(defaultProvider, never()).render(any(TaskRenderingSettings.class));
+
+        checkRenderingSettings(settings);
+    }
+
     @Test
     public void testRenderTaskDefaultForm() {
         FormRenderingSettings settings = serviceEntryPoint.getFormDisplayTask("template",
@@ -380,6 +442,27 @@ public class FormServiceEntryPointImplTest {
         checkRenderingSettings(settings);
     }
 
+    @Test(expected = TaskFormPermissionDeniedException.class)
+    public void testRenderCachedTaskFormWithPermissionException() {
+        formContent = FormContentReader.getTaskForms();
+        releaseId = new ReleaseId("org.jbpm",
+                                  "invoices",
+                                  "1.0");
+
+        when(uiServicesClient.getTaskRawForm(anyString(),
+                                             anyLong()))
+                .thenReturn(formContent)
+                .thenThrow(new KieServicesHttpException("", Response.Status.FORBIDDEN.getStatusCode(), "", ""));
+
+        serviceEntryPoint.getFormDisplayTask("template",
+                                             "domain",
+                                             12);
+        // another user, without access to the task, opening it once its definitions are cached
+        serviceEntryPoint.getFormDisplayTask("template",
+                                             "domain",
+                                             12);
+    }
+
     @Test(expected = TaskFormPermissionDeniedException.class)
     public void testRenderTaskFormWithPermissionException() {
         when(uiServicesClient.getTaskRawForm(anyString(), anyLong()))
@@ -0,0 +1,175 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jbpm.workbench.forms.display.backend;
+
+import java.util.function.Supplier;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.kie.server.api.model.ReleaseId;
+import org.kie.server.api.model.definition.TaskInputsDefinition;
+import org.kie.server.api.model.definition.TaskOutputsDefinition;
+import org.kie.server.controller.api.model.events.ContainerSpecUpdated;
+import org.kie.server.controller.api.model.events.ServerTemplateDeleted;
+import org.kie.server.controller.api.model.spec.ServerTemplate;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+public class TaskFormCacheTest {
+
+    private static final String SERVER_TEMPLATE_ID = "serverTemplateId";
+
+    private final ReleaseId releaseId = new ReleaseId("org.jbpm",
+                                                      "evaluation",
+                                                      "1.0");
+
+    private TaskFormCache cache;
+
+    @Before
+    public void setUp() {
+        cache = new TaskFormCache(2);
+    }
+
+    @Test
+    public void testInputsSharedBetweenContainersOfSameRelease() {
+        final Supplier<TaskInputsDefinition> loader = mock(Supplier.class);
+        when(loader.get()).thenReturn(new TaskInputsDefinition());
+
+        final TaskInputsDefinition first = cache.getTaskInputs(SERVER_TEMPLATE_ID,
+                                                               "container",
+                                                               releaseId,
+                                                               "process",
+                                                               "task",
+                                                               loader);
+        final TaskInputsDefinition second = cache.getTaskInputs(SERVER_TEMPLATE_ID,
+                                                                "alias",
+                                                                releaseId,
+                                                                "process",
+                                                                "task",
+                                                                loader);
+
+        assertSame(first,
+                   second);
+        verify(loader).get();
+    }
+
+    @Test
+    public void testOutputsWithoutReleaseIdKeyedByContainer() {
+        final Supplier<TaskOutputsDefinition> loader = mock(Supplier.class);
+        when(loader.get()).thenReturn(new TaskOutputsDefinition());
+
+        cache.getTaskOutputs(SERVER_TEMPLATE_ID,
+                             "container",
+                             null,
+                             "process",
+                             "task",
+                             loader);
+        cache.getTaskOutputs(SERVER_TEMPLATE_ID,
+                             "anotherContainer",
+                             null,
+                             "process",
+                             "task",
+                             loader);
+        cache.getTaskOutputs(SERVER_TEMPLATE_ID,
+                             "container",
+                             null,
+                             "process",
+                             "task",
+                             loader);
+
+        verify(loader,
+               times(2)).get();
+    }
+
+    @Test
+    public void testDefinitionsAreBounded() {
+        for (int i = 0; i < 5; i++) {
+            cache.getTaskInputs(SERVER_TEMPLATE_ID,
+                                "container",
+                                releaseId,
+                                "process",
+                                "task" + i,
+                                TaskInputsDefinition::new);
+        }
+
+        assertEquals(2,
+                     cache.size());
+    }
+
+    @Test
+    public void testInvalidateOnServerTemplateEvents() {
+        final ServerTemplate serverTemplate = new ServerTemplate(SERVER_TEMPLATE_ID,
+                                                                 "name");
+        cache.getTaskInputs(SERVER_TEMPLATE_ID,
+                            "container",
+                            releaseId,
+                            "process",
+                            "task",
+                            TaskInputsDefinition::new);
+        cache.getTaskOutputs(SERVER_TEMPLATE_ID,
+                             "container",
+                             releaseId,
+                             "process",
+                             "task",
+                             TaskOutputsDefinition::new);
+        cache.getTaskOutputs("another",
+                             "container",
+                             releaseId,
+                             "process",
+                             "task",
+                             TaskOutputsDefinition::new);
+
+        cache.onContainerSpecUpdated(new ContainerSpecUpdated(serverTemplate,
+                                                              null,
+                                                              null));
+
+        assertEquals(1,
+                     cache.size());
+
+        cache.onServerTemplateDeleted(new ServerTemplateDeleted("another"));
+
+        assertEquals(0,
+                     cache.size());
+    }
+
+    @Test
+    public void testValueLoadedDuringInvalidationNotCached() {
+        cache.getTaskInputs(SERVER_TEMPLATE_ID,
+                            "container",
+                            releaseId,
+                            "process",
+                            "task",
+                            () -> {
+                                // container updated while the definition is being loaded
+                                cache.invalidate(SERVER_TEMPLATE_ID);
+                                return new TaskInputsDefinition();
+                            });
+        cache.getTaskOutputs(SERVER_TEMPLATE_ID,
+                             "container",
+                             releaseId,
+                             "process",
+                             "task",
+                             () -> {
+                                 cache.invalidate(SERVER_TEMPLATE_ID);
+                                 return new TaskOutputsDefinition();
+                             });
+
+        assertEquals(0,
+                     cache.size());
+    }
+}
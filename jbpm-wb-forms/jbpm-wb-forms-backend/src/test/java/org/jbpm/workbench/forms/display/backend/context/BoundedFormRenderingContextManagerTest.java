@@ -0,0 +1,212 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jbpm.workbench.forms.display.backend.context;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.kie.workbench.common.forms.dynamic.service.context.generation.dynamic.BackendFormRenderingContext;
+import org.kie.workbench.common.forms.dynamic.service.context.generation.dynamic.BackendFormRenderingContextManager;
+import org.kie.workbench.common.forms.model.FormDefinition;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import static org.junit.Assert.*;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@RunWith(MockitoJUnitRunner.class)
+public class BoundedFormRenderingContextManagerTest {
+
+    @Mock
+    private BackendFormRenderingContextManager delegate;
+
+    @Mock
+    private FormDefinition form;
+
+    private FormRenderingContextMetrics metrics;
+
+    private BoundedFormRenderingContextManager contextManager;
+
+    private long now = 1000;
+
+    private long nextTimestamp = 1;
+
+    @Before
+    public void setUp() {
+        metrics = new FormRenderingContextMetrics();
+        contextManager = new BoundedFormRenderingContextManager(delegate,
+                                                                metrics,
+                                                                100,
+                                                                3,
+                                                                10) {
+            @Override
+            protected long currentTimeMillis() {
+                return now;
+            }
+        };
+    }
+
+    @Test
+    public void testContextsTrackedUntilRemoved() {
+        final BackendFormRenderingContext context = register(Collections.singletonMap("name",
+                                                                                       "value"));
+
+        assertEquals(1,
+                     contextManager.size());
+        assertEquals(2,
+                     contextManager.getWeight());
+        assertEquals(1,
+                     metrics.getLiveContexts());
+
+        contextManager.removeContext(context.getTimestamp());
+
+        verify(delegate).removeContext(context.getTimestamp());
+        assertEquals(0,
+                     contextManager.size());
+        assertEquals(0,
+                     metrics.getLiveContexts());
+        assertEquals(0,
+                     metrics.getLiveWeight());
+    }
+
+    @Test
+    public void testIdleContextsExpire() {
+        final BackendFormRenderingContext abandoned = register(Collections.emptyMap());
+        now += 50;
+        final BackendFormRenderingContext used = register(Collections.emptyMap());
+        now += 50;
+        contextManager.getContext(used.getTimestamp());
+
+        now += 50;
+        register(Collections.emptyMap());
+
+        verify(delegate).removeContext(abandoned.getTimestamp());
+        verify(delegate,
+               never()).removeContext(used.getTimestamp());
+        assertEquals(2,
+                     contextManager.size());
+        assertEquals(1,
+                     metrics.getExpiredCount());
+    }
+
+    @Test
+    public void testLeastRecentlyUsedContextEvictedBeyondMaxEntries() {
+        final BackendFormRenderingContext first = register(Collections.emptyMap());
+        final BackendFormRenderingContext second = register(Collections.emptyMap());
+        register(Collections.emptyMap());
+        contextManager.getContext(first.getTimestamp());
+
+        register(Collections.emptyMap());
+
+        verify(delegate).removeContext(second.getTimestamp());
+        verify(delegate,
+               never()).removeContext(first.getTimestamp());
+        assertEquals(3,
+                     contextManager.size());
+        assertEquals(1,
+                     metrics.getEvictedCount());
+        assertEquals(3,
+                     metrics.getLiveContexts());
+    }
+
+    @Test
+    public void testContextsEvictedBeyondMaxWeight() {
+        final BackendFormRenderingContext first = register(Collections.singletonMap("values",
+                                                                                     Arrays.asList(1,
+                                                                                                   2,
+                                                                                                   3)));
+        final BackendFormRenderingContext heavy = register(Collections.singletonMap("values",
+                                                                                     Arrays.asList(1,
+                                                                                                   2,
+                                                                                                   3,
+                                                                                                   4,
+                                                                                                   5,
+                                                                                                   6,
+                                                                                                   7,
+                                                                                                   8,
+                                                                                                   9,
+                                                                                                   10)));
+
+        verify(delegate).removeContext(first.getTimestamp());
+        assertEquals(1,
+                     contextManager.size());
+        assertEquals(12,
+                     contextManager.getWeight());
+        assertNotNull(contextManager.getContext(heavy.getTimestamp()));
+    }
+
+    @Test
+    public void testWeightUpdatedWithContextData() {
+        final BackendFormRenderingContext context = register(Collections.emptyMap());
+        final Map<String, Object> data = new HashMap<>();
+        data.put("first",
+                 "value");
+        data.put("second",
+                 "value");
+        when(context.getFormData()).thenReturn(data);
+        when(delegate.updateContextData(context.getTimestamp(),
+                                        data)).thenReturn(context);
+
+        contextManager.updateContextData(context.getTimestamp(),
+                                         data);
+
+        assertEquals(3,
+                     contextManager.getWeight());
+        assertEquals(3,
+                     metrics.getLiveWeight());
+    }
+
+    @Test
+    public void testMetricsReleasedWithSession() {
+        register(Collections.emptyMap());
+        register(Collections.emptyMap());
+
+        contextManager.destroy();
+
+        assertEquals(0,
+                     metrics.getLiveContexts());
+        assertEquals(0,
+                     metrics.getLiveWeight());
+        assertEquals(2,
+                     metrics.getRegisteredCount());
+        verify(delegate,
+               never()).removeContext(anyLong());
+    }
+
+    private BackendFormRenderingContext register(final Map<String, Object> formData) {
+        final long timestamp = nextTimestamp++;
+        final BackendFormRenderingContext context = mock(BackendFormRenderingContext.class);
+        when(context.getTimestamp()).thenReturn(timestamp);
+        when(context.getFormData()).thenReturn(formData);
+        when(delegate.registerContext(any(FormDefinition.class),
+                                      any(Map.class),
+                                      any(ClassLoader.class),
+                                      any(Map.class))).thenReturn(context);
+        when(delegate.getContext(timestamp)).thenReturn(context);
+        return contextManager.registerContext(form,
+                                              formData,
+                                              getClass().getClassLoader(),
+                                              Collections.emptyMap());
+    }
+}
@@ -19,12 +19,15 @@ package org.jbpm.workbench.forms.client.display;
 import javax.enterprise.context.Dependent;
 import javax.inject.Inject;
 
+import org.jboss.errai.bus.client.api.messaging.Message;
 import org.jboss.errai.common.client.api.Caller;
+import org.jboss.errai.common.client.api.ErrorCallback;
 import org.jboss.errai.common.client.ui.ElementWrapperWidget;
 import org.jbpm.workbench.forms.client.display.displayer.KieWorkbenchFormDisplayer;
 import org.jbpm.workbench.forms.display.FormDisplayerConfig;
 import org.jbpm.workbench.forms.client.display.task.AbstractHumanTaskFormDisplayer;
 import org.jbpm.workbench.ht.model.TaskKey;
+import org.jbpm.workbench.forms.display.api.FormExpiredException;
 import org.jbpm.workbench.forms.display.api.KieWorkbenchFormRenderingSettings;
 import org.jbpm.workbench.forms.display.service.KieWorkbenchFormsEntryPoint;
 import org.uberfire.mvp.Command;
@@ -62,7 +65,7 @@ public class KieWorkbenchFormsHumanTaskDisplayer extends AbstractHumanTaskFormDi
     protected void completeFromDisplayer() {
         if (formDisplayer.isValid()) {
             service.call(getCompleteTaskRemoteCallback(),
-                         getUnexpectedErrorCallback()).completeTaskFromContext(
+                         getSubmitErrorCallback()).completeTaskFromContext(
                     renderingSettings.getTimestamp(),
                     renderingSettings.getRenderingContext().getModel(),
                     serverTemplateId,
@@ -75,7 +78,7 @@ public class KieWorkbenchFormsHumanTaskDisplayer extends AbstractHumanTaskFormDi
     protected void saveStateFromDisplayer() {
         if (formDisplayer.isValid()) {
             service.call(getSaveTaskStateCallback(),
-                         getUnexpectedErrorCallback()).saveTaskStateFromRenderContext(
+                         getSubmitErrorCallback()).saveTaskStateFromRenderContext(
                     renderingSettings.getTimestamp(),
                     renderingSettings.getRenderingContext().getModel(),
                     serverTemplateId,
@@ -84,6 +87,19 @@ public class KieWorkbenchFormsHumanTaskDisplayer extends AbstractHumanTaskFormDi
         }
     }
 
+    protected ErrorCallback<Message> getSubmitErrorCallback() {
+        return (message, throwable) -> {
+            if (throwable instanceof FormExpiredException) {
+                // the rendering context of the form is gone, the form is loaded again along with a new one
+                errorPopup.showMessage(constants.FormExpired());
+                refresh();
+                return false;
+            }
+            return getUnexpectedErrorCallback().error(message,
+                                                      throwable);
+        };
+    }
+
     @Override
     protected void startFromDisplayer() {
         service.call(response -> start()).clearContext(renderingSettings.getTimestamp());
@@ -20,10 +20,13 @@ import javax.enterprise.context.Dependent;
 import javax.inject.Inject;
 
 import com.google.gwt.user.client.ui.IsWidget;
+import org.jboss.errai.bus.client.api.messaging.Message;
 import org.jboss.errai.common.client.api.Caller;
+import org.jboss.errai.common.client.api.ErrorCallback;
 import org.jboss.errai.common.client.ui.ElementWrapperWidget;
 import org.jbpm.workbench.forms.client.display.displayer.KieWorkbenchFormDisplayer;
 import org.jbpm.workbench.forms.client.display.process.AbstractStartProcessFormDisplayer;
+import org.jbpm.workbench.forms.display.api.FormExpiredException;
 import org.jbpm.workbench.forms.display.api.KieWorkbenchFormRenderingSettings;
 import org.jbpm.workbench.forms.display.service.KieWorkbenchFormsEntryPoint;
 
@@ -59,7 +62,8 @@ public class KieWorkbenchFormsStartProcessDisplayer extends AbstractStartProcess
     @Override
     public void startProcessFromDisplayer() {
         if (formDisplayer.isValid()) {
-            service.call(getStartProcessRemoteCallback()).startProcessFromRenderContext(
+            service.call(getStartProcessRemoteCallback(),
+                         getStartProcessErrorCallback()).startProcessFromRenderContext(
                     renderingSettings.getTimestamp(),
                     renderingSettings.getRenderingContext().getModel(),
                     serverTemplateId,
@@ -68,7 +72,20 @@ public class KieWorkbenchFormsStartProcessDisplayer extends AbstractStartProcess
                     getCorrelationKey());
         }
     }
-    
+
+    protected ErrorCallback<Message> getStartProcessErrorCallback() {
+        return (message, throwable) -> {
+            if (throwable instanceof FormExpiredException) {
+                // opening the form again registers a new rendering context
+                errorPopup.showMessage(constants.FormExpired());
+                refresh();
+                return false;
+            }
+            // any other error is left to the default error handling
+            return true;
+        };
+    }
+
     @Override
     public boolean appendFooter() {
         return true;
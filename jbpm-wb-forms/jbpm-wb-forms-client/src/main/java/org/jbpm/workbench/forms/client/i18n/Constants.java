@@ -61,6 +61,8 @@ public interface Constants extends Messages {
 
     String UnexpectedError(String errorMessage);
 
+    String FormExpired();
+
     String TaskCompleted(Long id);
 
     String TaskStarted(Long id);
@@ -17,10 +17,13 @@
 package org.jbpm.workbench.forms.client.display;
 
 import com.google.gwtmockito.GwtMockitoTestRunner;
+import org.jboss.errai.bus.client.api.messaging.Message;
 import org.jboss.errai.common.client.api.Caller;
+import org.jboss.errai.common.client.api.ErrorCallback;
 import org.jbpm.workbench.forms.client.display.displayer.KieWorkbenchFormDisplayer;
 import org.jbpm.workbench.forms.client.display.displayers.pr.AbstractStartProcessFormDisplayerTest;
 import org.jbpm.workbench.forms.client.display.process.AbstractStartProcessFormDisplayer;
+import org.jbpm.workbench.forms.display.api.FormExpiredException;
 import org.jbpm.workbench.forms.display.api.KieWorkbenchFormRenderingSettings;
 import org.jbpm.workbench.forms.display.api.ProcessDisplayerConfig;
 import org.jbpm.workbench.forms.display.service.KieWorkbenchFormsEntryPoint;
@@ -29,11 +32,17 @@ import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.kie.workbench.common.forms.dynamic.client.DynamicFormRenderer;
 import org.kie.workbench.common.forms.dynamic.service.shared.impl.MapModelRenderingContext;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.uberfire.client.workbench.widgets.common.ErrorPopupPresenter;
+import org.uberfire.mvp.Command;
 
+import static org.junit.Assert.*;
 import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -52,6 +61,9 @@ public class KieWorkbenchFormsStartProcessDisplayerTest extends AbstractStartPro
     @Mock
     protected KieWorkbenchFormRenderingSettings formRenderingSettings;
 
+    @Mock
+    protected ErrorPopupPresenter errorPopup;
+
     @InjectMocks
     protected KieWorkbenchFormsStartProcessDisplayer kieWorkbenchFormsStartProcessDisplayer;
 
@@ -62,7 +74,8 @@ public class KieWorkbenchFormsStartProcessDisplayerTest extends AbstractStartPro
 
         MapModelRenderingContext mapModelRenderingContext = mock(MapModelRenderingContext.class);
         when(formRenderingSettings.getRenderingContext()).thenReturn(mapModelRenderingContext);
-        when(service.call(any())).thenReturn(kieWorkbenchFormsEntryPoint);
+        when(service.call(any(),
+                          any())).thenReturn(kieWorkbenchFormsEntryPoint);
 
         ProcessDefinitionKey processDefinitionKey = new ProcessDefinitionKey( "test-serverTemplateId",
                                                                               "test-deploymentId",
@@ -75,8 +88,8 @@ public class KieWorkbenchFormsStartProcessDisplayerTest extends AbstractStartPro
         kieWorkbenchFormsStartProcessDisplayer.initConfigs(processDisplayerConfig, null, null);
         kieWorkbenchFormsStartProcessDisplayer.startProcessFromDisplayer();
 
-        //Verify that the call is DefaultWorkbenchErrorCallback, not a custom one.
-        verify(service).call(any());
+        verify(service).call(any(),
+                             any());
         verify(kieWorkbenchFormsEntryPoint).startProcessFromRenderContext(100000l,
                                                                           null,
                                                                           "test-serverTemplateId",
@@ -85,6 +98,43 @@ public class KieWorkbenchFormsStartProcessDisplayerTest extends AbstractStartPro
                                                                           "");
     }
 
+    @Test
+    public void testStartProcessErrorCallback() {
+        final Command onRefresh = mock(Command.class);
+        when(displayer.isValid()).thenReturn(true);
+        when(formRenderingSettings.getRenderingContext()).thenReturn(mock(MapModelRenderingContext.class));
+        when(service.call(any(),
+                          any())).thenReturn(kieWorkbenchFormsEntryPoint);
+        ProcessDisplayerConfig processDisplayerConfig = new ProcessDisplayerConfig(new ProcessDefinitionKey("test-serverTemplateId",
+                                                                                                            "test-deploymentId",
+                                                                                                            "test-processId",
+                                                                                                            "test-processDefName"),
+                                                                                   "test",
+                                                                                   false);
+        processDisplayerConfig.setRenderingSettings(formRenderingSettings);
+        kieWorkbenchFormsStartProcessDisplayer.initConfigs(processDisplayerConfig,
+                                                           null,
+                                                           onRefresh);
+        kieWorkbenchFormsStartProcessDisplayer.startProcessFromDisplayer();
+
+        final ArgumentCaptor<ErrorCallback> errorCallback = ArgumentCaptor.forClass(ErrorCallback.class);
+        verify(service).call(any(),
+                             errorCallback.capture());
+
+        //Other errors are left to the DefaultWorkbenchErrorCallback (JBPM-5333)
+        assertTrue(errorCallback.getValue().error(mock(Message.class),
+                                                  new RuntimeException("error")));
+        verify(errorPopup,
+               never()).showMessage(anyString());
+        verify(onRefresh,
+               never()).execute();
+
+        assertFalse(errorCallback.getValue().error(mock(Message.class),
+                                                   new FormExpiredException()));
+        verify(errorPopup).showMessage(anyString());
+        verify(onRefresh).execute();
+    }
+
     @Override
     public AbstractStartProcessFormDisplayer getStartProcessFormDisplayer() {
         return kieWorkbenchFormsStartProcessDisplayer;
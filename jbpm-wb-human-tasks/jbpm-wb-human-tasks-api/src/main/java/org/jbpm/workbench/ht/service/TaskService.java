@@ -24,6 +24,7 @@ import org.jboss.errai.bus.server.annotations.Remote;
 import org.jbpm.workbench.ht.model.CommentSummary;
 import org.jbpm.workbench.ht.model.TaskAssignmentSummary;
 import org.jbpm.workbench.ht.model.TaskEventSummary;
+import org.jbpm.workbench.ht.model.TaskKey;
 import org.jbpm.workbench.ht.model.TaskSummary;
 
 @Remote
@@ -34,6 +35,13 @@ public interface TaskService {
     void updateTask(String serverTemplateId, String containerId, Long taskId, Integer priority, String description,
                     Date dueDate);
 
+    /**
+     * Updates the same properties on all the given tasks, null properties are left unchanged.
+     * @return tasks that could not be updated
+     */
+    List<TaskKey> updateTasks(String serverTemplateId, List<TaskKey> tasks, Integer priority, String description,
+                              Date dueDate);
+
     void claimTask(String serverTemplateId, String containerId, Long taskId);
 
     void releaseTask(String serverTemplateId, String containerId, Long taskId);
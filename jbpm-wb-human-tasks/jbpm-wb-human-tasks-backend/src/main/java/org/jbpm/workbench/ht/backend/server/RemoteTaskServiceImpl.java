@@ -16,28 +16,35 @@
 
 package org.jbpm.workbench.ht.backend.server;
 
+import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.Date;
 import java.util.List;
 import java.util.Map;
 import javax.enterprise.context.ApplicationScoped;
 import javax.enterprise.event.Event;
+import javax.enterprise.event.Observes;
 import javax.inject.Inject;
 
 import org.jboss.errai.bus.server.annotations.Service;
 import org.jbpm.workbench.ht.model.CommentSummary;
 import org.jbpm.workbench.ht.model.TaskAssignmentSummary;
 import org.jbpm.workbench.ht.model.TaskEventSummary;
+import org.jbpm.workbench.ht.model.TaskKey;
 import org.jbpm.workbench.ht.model.TaskSummary;
 import org.jbpm.workbench.ht.model.events.TaskCompletedEvent;
 import org.jbpm.workbench.ht.service.TaskService;
 import org.jbpm.workbench.ks.integration.AbstractKieServerService;
+import org.jbpm.workbench.ks.integration.KieServerDataSetCache;
 import org.kie.internal.identity.IdentityProvider;
+import org.kie.server.api.exception.KieServicesException;
 import org.kie.server.api.exception.KieServicesHttpException;
 import org.kie.server.api.model.instance.TaskComment;
 import org.kie.server.api.model.instance.TaskEventInstance;
 import org.kie.server.api.model.instance.TaskInstance;
 import org.kie.server.client.UserTaskServicesClient;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import static java.util.Collections.emptyList;
 import static java.util.stream.Collectors.toList;
@@ -48,12 +55,17 @@ public class RemoteTaskServiceImpl extends AbstractKieServerService implements T
 
     public static int NOT_FOUND_ERROR_CODE = 404;
 
+    private static final Logger LOGGER = LoggerFactory.getLogger(RemoteTaskServiceImpl.class);
+
     @Inject
     private IdentityProvider identityProvider;
 
     @Inject
     private Event<TaskCompletedEvent> taskCompletedEvent;
 
+    @Inject
+    private KieServerDataSetCache dataSetCache;
+
     @Override
     public TaskSummary getTask(String serverTemplateId,
                                String containerId,
@@ -90,16 +102,94 @@ public class RemoteTaskServiceImpl extends AbstractKieServerService implements T
 
         UserTaskServicesClient client = getClient(serverTemplateId,
                                                   UserTaskServicesClient.class);
-        // TODO update only when it actually changed
-        client.setTaskDescription(containerId,
-                                  taskId,
-                                  description);
-        client.setTaskPriority(containerId,
-                               taskId,
-                               priority);
-        client.setTaskExpirationDate(containerId,
-                                     taskId,
+        final TaskInstance task = client.getTaskInstance(containerId,
+                                                         taskId);
+        boolean updated = updateTask(client,
+                                     containerId,
+                                     task,
+                                     priority,
+                                     description,
                                      dueDate);
+        if (dueDate == null && task.getExpirationDate() != null) {
+            // a cleared due date can not be expressed in the update
+            client.setTaskExpirationDate(containerId,
+                                         taskId,
+                                         null);
+            updated = true;
+        }
+        if (updated) {
+            dataSetCache.invalidate(serverTemplateId);
+        }
+    }
+
+    @Override
+    public List<TaskKey> updateTasks(String serverTemplateId,
+                                     List<TaskKey> tasks,
+                                     Integer priority,
+                                     String description,
+                                     Date dueDate) {
+        if (serverTemplateId == null || serverTemplateId.isEmpty() || tasks == null) {
+            return emptyList();
+        }
+
+        UserTaskServicesClient client = getClient(serverTemplateId,
+                                                  UserTaskServicesClient.class);
+        final List<TaskKey> failed = new ArrayList<>();
+        boolean updated = false;
+        for (TaskKey key : tasks) {
+            try {
+                // fields left null are not part of the update, the current task state is not needed
+                updated |= updateTask(client,
+                                      key.getDeploymentId(),
+                                      TaskInstance.builder().id(key.getTaskId()).build(),
+                                      priority,
+                                      description,
+                                      dueDate);
+            } catch (KieServicesException kieException) {
+                LOGGER.warn("Unable to update task {} in container {}: {}",
+                            key.getTaskId(),
+                            key.getDeploymentId(),
+                            kieException.getMessage());
+                failed.add(key);
+            }
+        }
+        if (updated) {
+            dataSetCache.invalidate(serverTemplateId);
+        }
+        return failed;
+    }
+
+    /**
+     * Sends the changed task properties in a single request.
+     * @return false when there was nothing to update
+     */
+    protected boolean updateTask(final UserTaskServicesClient client,
+                                 final String containerId,
+                                 final TaskInstance task,
+                                 final Integer priority,
+                                 final String description,
+                                 final Date dueDate) {
+        final TaskInstance update = new TaskInstance();
+        boolean changed = false;
+        if (priority != null && !priority.equals(task.getPriority())) {
+            update.setPriority(priority);
+            changed = true;
+        }
+        if (description != null && !description.equals(task.getDescription())) {
+            update.setDescription(description);
+            changed = true;
+        }
+        if (dueDate != null && !dueDate.equals(task.getExpirationDate())) {
+            update.setExpirationDate(dueDate);
+            changed = true;
+        }
+        if (changed) {
+            client.updateTask(containerId,
+                              task.getId(),
+                              identityProvider.getName(),
+                              update);
+        }
+        return changed;
     }
 
     @Override
@@ -375,6 +465,11 @@ public class RemoteTaskServiceImpl extends AbstractKieServerService implements T
 
     }
 
+    public void onTaskCompletedEvent(@Observes TaskCompletedEvent event) {
+        // cached task and process data sets no longer reflect the state on the server
+        dataSetCache.invalidate(event.getServerTemplateId());
+    }
+
     protected CommentSummary build(TaskComment comment) {
         CommentSummary summary = new CommentSummary(
                 comment.getId(),
@@ -25,14 +25,17 @@ import java.util.Map;
 import javax.enterprise.event.Event;
 
 import org.jbpm.workbench.ht.model.TaskEventSummary;
+import org.jbpm.workbench.ht.model.TaskKey;
 import org.jbpm.workbench.ht.model.TaskSummary;
 import org.jbpm.workbench.ht.model.events.TaskCompletedEvent;
 import org.jbpm.workbench.ht.service.TaskService;
+import org.jbpm.workbench.ks.integration.KieServerDataSetCache;
 import org.jbpm.workbench.ks.integration.KieServerIntegration;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.kie.internal.identity.IdentityProvider;
+import org.kie.server.api.exception.KieServicesHttpException;
 import org.kie.server.api.model.instance.TaskEventInstance;
 import org.kie.server.api.model.instance.TaskInstance;
 import org.kie.server.client.KieServicesClient;
@@ -66,6 +69,9 @@ public class RemoteTaskServiceImplTest {
     @Mock
     Event<TaskCompletedEvent> taskCompletedEvent;
 
+    @Mock
+    KieServerDataSetCache dataSetCache;
+
     @InjectMocks
     RemoteTaskServiceImpl remoteTaskService;
 
@@ -303,4 +309,159 @@ public class RemoteTaskServiceImplTest {
         assertEquals(eventInstance.getMessage(),
                      taskEventSummaries.get(0).getMessage());
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testTaskCompletedEventInvalidatesDataSetCache() {
+        remoteTaskService.onTaskCompletedEvent(new TaskCompletedEvent("serverTemplateId",
+                                                                      "containerId",
+                                                                      1L));
+
+        verify(dataSetCache).invalidate("serverTemplateId");
+    }
+
+    @Test
+    public void testUpdateTaskSendsOnlyChangedProperties() {
+        final String containerId = "containerId";
+        final Long taskId = 1L;
+        final Date dueDate = new Date();
+        final TaskInstance task = TaskInstance.builder()
+                .id(taskId)
+                .priority(5)
+                .description("description")
+                .expirationTime(dueDate)
+                .build();
+        when(userTaskServicesClient.getTaskInstance(containerId,
+                                                    taskId)).thenReturn(task);
+
+        remoteTaskService.updateTask("serverTemplateId",
+                                     containerId,
+                                     taskId,
+                                     8,
+                                     "description",
+                                     dueDate);
+
+        final ArgumentCaptor<TaskInstance> captor = ArgumentCaptor.forClass(TaskInstance.class);
+        verify(userTaskServicesClient).updateTask(eq(containerId),
+                                                  eq(taskId),
+                                                  eq(CURRENT_USER),
+                                                  captor.capture());
+        assertEquals(Integer.valueOf(8),
+                     captor.getValue().getPriority());
+        assertNull(captor.getValue().getDescription());
+        assertNull(captor.getValue().getExpirationDate());
+        verify(userTaskServicesClient,
+               never()).setTaskPriority(any(),
+                                        any(),
+                                        anyInt());
+        verify(userTaskServicesClient,
+               never()).setTaskDescription(any(),
+                                           any(),
+                                           any());
+        verify(dataSetCache).invalidate("serverTemplateId");
+    }
+
+    @Test
+    public void testUpdateTaskWithoutChanges() {
+        final String containerId = "containerId";
+        final Long taskId = 1L;
+        final Date dueDate = new Date();
+        when(userTaskServicesClient.getTaskInstance(containerId,
+                                                    taskId)).thenReturn(TaskInstance.builder()
+                                                                                .id(taskId)
+                                                                                .priority(5)
+                                                                                .description("description")
+                                                                                .expirationTime(dueDate)
+                                                                                .build());
+
+        remoteTaskService.updateTask("serverTemplateId",
+                                     containerId,
+                                     taskId,
+                                     5,
+                                     "description",
+                                     dueDate);
+
+        verify(userTaskServicesClient,
+               never()).updateTask(any(),
+                                   any(),
+                                   any(),
+                                   any());
+        verify(userTaskServicesClient,
+               never()).setTaskExpirationDate(any(),
+                                              any(),
+                                              any());
+        verify(dataSetCache,
+               never()).invalidate(any());
+    }
+
+    @Test
+    public void testUpdateTaskClearsDueDate() {
+        final String containerId = "containerId";
+        final Long taskId = 1L;
+        when(userTaskServicesClient.getTaskInstance(containerId,
+                                                    taskId)).thenReturn(TaskInstance.builder()
+                                                                                .id(taskId)
+                                                                                .priority(5)
+                                                                                .expirationTime(new Date())
+                                                                                .build());
+
+        remoteTaskService.updateTask("serverTemplateId",
+                                     containerId,
+                                     taskId,
+                                     5,
+                                     null,
+                                     null);
+
+        verify(userTaskServicesClient,
+               never()).updateTask(any(),
+                                   any(),
+                                   any(),
+                                   any());
+        verify(userTaskServicesClient).setTaskExpirationDate(containerId,
+                                                             taskId,
+                                                             null);
+    }
+
+    @Test
+    public void testUpdateTasks() {
+        final TaskKey task1 = new TaskKey("serverTemplateId",
+                                          "container1",
+                                          1L);
+        final TaskKey task2 = new TaskKey("serverTemplateId",
+                                          "container2",
+                                          2L);
+        final TaskKey task3 = new TaskKey("serverTemplateId",
+                                          "container1",
+                                          3L);
+        doThrow(new KieServicesHttpException()).when(userTaskServicesClient).updateTask(eq("container2"),
+                                                                                         eq(2L),
+                                                                                         any(),
+                                                                                         any());
+
+        final List<TaskKey> failed = remoteTaskService.updateTasks("serverTemplateId",
+                                                                   Arrays.asList(task1,
+                                                                                 task2,
+                                                                                 task3),
+                                                                   10,
+                                                                   null,
+                                                                   null);
+
+        assertEquals(Collections.singletonList(task2),
+                     failed);
+        final ArgumentCaptor<TaskInstance> captor = ArgumentCaptor.forClass(TaskInstance.class);
+        verify(userTaskServicesClient).updateTask(eq("container1"),
+                                                  eq(1L),
+                                                  eq(CURRENT_USER),
+                                                  captor.capture());
+        verify(userTaskServicesClient).updateTask(eq("container1"),
+                                                  eq(3L),
+                                                  eq(CURRENT_USER),
+                                                  any());
+        assertEquals(Integer.valueOf(10),
+                     captor.getValue().getPriority());
+        assertNull(captor.getValue().getDescription());
+        verify(userTaskServicesClient,
+               never()).getTaskInstance(any(),
+                                        any());
+        verify(dataSetCache).invalidate("serverTemplateId");
+    }
+}
@@ -17,7 +17,6 @@
 package org.jbpm.workbench.ht.client.editors.taskslist;
 
 import java.util.ArrayList;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
@@ -38,6 +37,7 @@ import org.jboss.errai.bus.client.api.messaging.Message;
 import org.jboss.errai.common.client.api.Caller;
 import org.jboss.errai.ui.client.local.spi.TranslationService;
 import org.jbpm.workbench.common.client.PerspectiveIds;
+import org.jbpm.workbench.common.client.dataset.DomainDataJoin;
 import org.jbpm.workbench.common.client.filters.active.ActiveFilterItem;
 import org.jbpm.workbench.common.client.list.AbstractMultiGridPresenter;
 import org.jbpm.workbench.common.client.list.MultiGridView;
@@ -67,6 +67,11 @@ public abstract class AbstractTaskListPresenter<V extends AbstractTaskListPresen
 
     private DataSetQueryHelper dataSetQueryHelperDomainSpecific;
 
+    private final DomainDataJoin<TaskSummary> domainDataJoin = new DomainDataJoin<>(COLUMN_TASK_ID,
+                                                                                     COLUMN_TASK_VARIABLE_NAME,
+                                                                                     COLUMN_TASK_VARIABLE_VALUE,
+                                                                                     TaskSummary::getId);
+
     protected TranslationService translationService;
 
     @Inject
@@ -116,12 +121,13 @@ public abstract class AbstractTaskListPresenter<V extends AbstractTaskListPresen
                         if (filterValue != null) {
                             getDomainSpecifDataForTasks(startRange,
                                                         myTasksFromDataSet,
-                                                        lastPageExactCount);
+                                                        lastPageExactCount,
+                                                        dataSet.getRowCountNonTrimmed());
                         } else {
-                            updateDataOnCallback(myTasksFromDataSet,
+                            updatePageOnCallback(myTasksFromDataSet,
                                                  startRange,
-                                                 startRange + myTasksFromDataSet.size(),
-                                                 lastPageExactCount);
+                                                 lastPageExactCount,
+                                                 dataSet.getRowCountNonTrimmed());
                         }
                     }
                     view.hideBusyIndicator();
@@ -169,7 +175,8 @@ public abstract class AbstractTaskListPresenter<V extends AbstractTaskListPresen
 
     public void getDomainSpecifDataForTasks(final Integer startRange,
                                             final List<TaskSummary> tasksFromDataSet,
-                                            final Boolean lastPageExactCount) {
+                                            final Boolean lastPageExactCount,
+                                            final int reportedRowCount) {
 
         List<Long> taskIds = tasksFromDataSet.stream().map(t -> t.getId()).collect(Collectors.toList());
         FilterSettings variablesTableSettings = filterSettingsManager.getVariablesFilterSettings(taskIds);
@@ -184,41 +191,31 @@ public abstract class AbstractTaskListPresenter<V extends AbstractTaskListPresen
                                                        createDataSetDomainSpecificCallback(startRange,
                                                                                            tasksFromDataSet,
                                                                                            variablesTableSettings,
-                                                                                           lastPageExactCount));
+                                                                                           lastPageExactCount,
+                                                                                           reportedRowCount));
     }
 
     protected DataSetReadyCallback createDataSetDomainSpecificCallback(final int startRange,
                                                                        final List<TaskSummary> instances,
                                                                        final FilterSettings tableSettings,
-                                                                       boolean lastPageExactCount) {
+                                                                       boolean lastPageExactCount,
+                                                                       int reportedRowCount) {
         return errorHandlerBuilder.get().withUUID(tableSettings.getUUID()).withDataSetCallback(
                 dataSet -> {
                     if (dataSet.getRowCount() > 0) {
-                        Set<String> columns = new HashSet<String>();
-                        for (int i = 0; i < dataSet.getRowCount(); i++) {
-                            Long taskId = getColumnLongValue(dataSet,
-                                                             COLUMN_TASK_ID,
-                                                             i);
-                            String variableName = getColumnStringValue(dataSet,
-                                                                       COLUMN_TASK_VARIABLE_NAME,
-                                                                       i);
-                            String variableValue = getColumnStringValue(dataSet,
-                                                                        COLUMN_TASK_VARIABLE_VALUE,
-                                                                        i);
-                            for (TaskSummary task : instances) {
-                                if (task.getId().equals(taskId)) {
-                                    task.addDomainData(variableName,
-                                                       variableValue);
-                                    columns.add(variableName);
-                                }
-                            }
-                        }
+                        Set<String> columns = domainDataJoin.join(dataSet,
+                                                                  instances,
+                                                                  (task, variableName, variableValue) -> {
+                                                                      task.addDomainData(variableName,
+                                                                                         variableValue);
+                                                                      return true;
+                                                                  });
                         view.addDomainSpecifColumns(columns);
                     }
-                    updateDataOnCallback(instances,
+                    updatePageOnCallback(instances,
                                          startRange,
-                                         startRange + instances.size(),
-                                         lastPageExactCount);
+                                         lastPageExactCount,
+                                         reportedRowCount);
                 })
                 .withEmptyResultsCallback(() -> setEmptyResults());
     }
@@ -353,6 +350,14 @@ public abstract class AbstractTaskListPresenter<V extends AbstractTaskListPresen
         return e -> selectedTask != null && e.getServerTemplateId().equals(getSelectedServerTemplate()) && e.getContainerId().equals(selectedTask.getDeploymentId()) && e.getTaskId().equals(selectedTask.getId());
     }
 
+    @Inject
+    @Override
+    public void setDataSetQueryHelper(final DataSetQueryHelper dataSetQueryHelper) {
+        super.setDataSetQueryHelper(dataSetQueryHelper);
+        dataSetQueryHelper.setKeysetPagination(COLUMN_TASK_ID,
+                                               COLUMN_TASK_ID);
+    }
+
     @Inject
     public void setDataSetQueryHelperDomainSpecific(final DataSetQueryHelper dataSetQueryHelperDomainSpecific) {
         this.dataSetQueryHelperDomainSpecific = dataSetQueryHelperDomainSpecific;
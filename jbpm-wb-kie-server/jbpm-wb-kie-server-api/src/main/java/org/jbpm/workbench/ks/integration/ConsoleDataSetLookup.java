@@ -20,11 +20,22 @@ import org.dashbuilder.dataset.DataSetLookup;
 import org.dashbuilder.dataset.DataSetOp;
 import org.jboss.errai.common.client.api.annotations.Portable;
 
+/**
+ * Data set lookup bound to a server template. Besides offset based paging, it supports keyset (seek) paging: once
+ * the last row of the previous page is known, the next page is looked up as the rows following it in the sort order,
+ * which costs the same for any page as it doesn't make KIE Server skip the previous rows.
+ */
 @Portable
 public class ConsoleDataSetLookup extends DataSetLookup {
 
     private String serverTemplateId;
 
+    private String seekColumnId;
+    private Comparable seekValue;
+    private String seekIdColumnId;
+    private Comparable seekId;
+    private int seekRowOffset = -1;
+
     public static DataSetLookup fromInstance(DataSetLookup orig,
                                              String serverTemplateId) {
         ConsoleDataSetLookup clone = new ConsoleDataSetLookup();
@@ -38,6 +49,54 @@ public class ConsoleDataSetLookup extends DataSetLookup {
         return clone;
     }
 
+    /**
+     * Looks up the rows following the given one, which must be the row just before the current offset, in the order
+     * of the given column, ties being ordered by id. Only applies while the offset is not changed.
+     * @param columnId sort column, whose values must not be null
+     * @param value sort column value of the last row of the previous page
+     * @param idColumnId column uniquely identifying rows
+     * @param id id of the last row of the previous page
+     */
+    public void seekAfter(final String columnId,
+                          final Comparable value,
+                          final String idColumnId,
+                          final Comparable id) {
+        this.seekColumnId = columnId;
+        this.seekValue = value;
+        this.seekIdColumnId = idColumnId;
+        this.seekId = id;
+        this.seekRowOffset = getRowOffset();
+    }
+
+    public void clearSeek() {
+        this.seekColumnId = null;
+        this.seekValue = null;
+        this.seekIdColumnId = null;
+        this.seekId = null;
+        this.seekRowOffset = -1;
+    }
+
+    public boolean isSeeking() {
+        return seekColumnId != null && seekValue != null && seekIdColumnId != null && seekId != null
+                && seekRowOffset == getRowOffset();
+    }
+
+    public String getSeekColumnId() {
+        return seekColumnId;
+    }
+
+    public Comparable getSeekValue() {
+        return seekValue;
+    }
+
+    public String getSeekIdColumnId() {
+        return seekIdColumnId;
+    }
+
+    public Comparable getSeekId() {
+        return seekId;
+    }
+
     public String getServerTemplateId() {
         return serverTemplateId;
     }
@@ -48,7 +107,13 @@ public class ConsoleDataSetLookup extends DataSetLookup {
 
     @Override
     public DataSetLookup cloneInstance() {
-        return fromInstance(super.cloneInstance(),
-                            getServerTemplateId());
+        final ConsoleDataSetLookup clone = (ConsoleDataSetLookup) fromInstance(super.cloneInstance(),
+                                                                               getServerTemplateId());
+        clone.seekColumnId = seekColumnId;
+        clone.seekValue = seekValue;
+        clone.seekIdColumnId = seekIdColumnId;
+        clone.seekId = seekId;
+        clone.seekRowOffset = seekRowOffset;
+        return clone;
     }
 }
@@ -27,6 +27,17 @@ import org.jbpm.workbench.ks.integration.validation.RemoteDataSetDefValidation;
 @Portable
 public class RemoteDataSetDef extends SQLDataSetDef {
 
+    /**
+     * Target of workbench side data sets extending the process instance query named by their SQL with one column per
+     * process variable, holding its latest value. Such data sets are never registered on KIE Server.
+     */
+    public static final String PROCESS_VARIABLES_QUERY_TARGET = "PROCESS_VARIABLES";
+
+    /**
+     * Prefix of the process variable columns of {@link #PROCESS_VARIABLES_QUERY_TARGET} data sets
+     */
+    public static final String VARIABLE_COLUMN_PREFIX = "var_";
+
     @NotNull(groups = {RemoteDataSetDefValidation.class})
     @Size(min = 1, groups = {RemoteDataSetDefValidation.class})
     protected String queryTarget;
@@ -0,0 +1,112 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jbpm.workbench.ks.security;
+
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.kie.server.client.CredentialsProvider;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Credentials provider of the user bound KIE Server clients. User credentials are read from the calling thread, i.e.
+ * from the HTTP request or the container subject, so work handed over to other threads has to capture them first with
+ * {@link #propagate(Supplier)} or {@link #propagate(Function)}, which make the clients use the captured credentials
+ * while that work runs.
+ */
+public class PropagatedCredentialsProvider implements CredentialsProvider {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(PropagatedCredentialsProvider.class);
+
+    private static final ThreadLocal<Authorization> PROPAGATED = new ThreadLocal<>();
+
+    private final CredentialsProvider delegate;
+
+    public PropagatedCredentialsProvider(final CredentialsProvider delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public String getHeaderName() {
+        return delegate.getHeaderName();
+    }
+
+    @Override
+    public String getAuthorization() {
+        final Authorization propagated = PROPAGATED.get();
+        if (propagated != null) {
+            return propagated.value;
+        }
+        return delegate.getAuthorization();
+    }
+
+    /**
+     * Captures the credentials of the calling thread.
+     * @return supplier running the given one with the captured credentials, on whichever thread it is called
+     */
+    public <T> Supplier<T> propagate(final Supplier<T> supplier) {
+        final Authorization captured = new Authorization(capture());
+        return () -> run(captured,
+                         supplier);
+    }
+
+    /**
+     * Captures the credentials of the calling thread.
+     * @return function applying the given one with the captured credentials, on whichever thread it is called
+     */
+    public <T, R> Function<T, R> propagate(final Function<T, R> function) {
+        final Authorization captured = new Authorization(capture());
+        return value -> run(captured,
+                            () -> function.apply(value));
+    }
+
+    private static <T> T run(final Authorization captured,
+                             final Supplier<T> supplier) {
+        final Authorization previous = PROPAGATED.get();
+        PROPAGATED.set(captured);
+        try {
+            return supplier.get();
+        } finally {
+            if (previous == null) {
+                PROPAGATED.remove();
+            } else {
+                PROPAGATED.set(previous);
+            }
+        }
+    }
+
+    protected String capture() {
+        try {
+            return getAuthorization();
+        } catch (RuntimeException | LinkageError e) {
+            // no user bound to the calling thread, work handed over must not pick up whatever the other thread has
+            LOGGER.debug("No credentials to propagate: {}",
+                         e.toString());
+            return null;
+        }
+    }
+
+    private static class Authorization {
+
+        private final String value;
+
+        Authorization(final String value) {
+            this.value = value;
+        }
+    }
+}
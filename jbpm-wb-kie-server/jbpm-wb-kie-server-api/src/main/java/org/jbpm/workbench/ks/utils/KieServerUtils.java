@@ -19,6 +19,7 @@ package org.jbpm.workbench.ks.utils;
 import java.util.Arrays;
 
 import org.jbpm.workbench.ks.security.KeyCloakTokenCredentialsProvider;
+import org.jbpm.workbench.ks.security.PropagatedCredentialsProvider;
 import org.kie.server.api.KieServerConstants;
 import org.kie.server.api.marshalling.MarshallingFormat;
 import org.kie.server.client.CredentialsProvider;
@@ -41,6 +42,8 @@ public class KieServerUtils {
     
     private static boolean KIE_SERVER_FORM_RENDERER = Boolean.parseBoolean(System.getProperty("org.jbpm.wb.forms.renderer.ext", "false"));
 
+    private static volatile PropagatedCredentialsProvider credentialsProvider;
+
     public static KieServicesClient createKieServicesClient(final String... capabilities) {
         final String kieServerEndpoint = System.getProperty(KieServerConstants.KIE_SERVER_LOCATION);
         checkNotNull(kieServerEndpoint,
@@ -93,12 +96,9 @@ public class KieServerUtils {
                                                             final String... capabilities) {
         LOGGER.debug("Creating client that will use following endpoint {}",
                      endpoint);
-        configuration.setTimeout(60000);
-        if (capabilities != null) {
-            configuration.setCapabilities(Arrays.asList(capabilities));
-        }
-        configuration.setMarshallingFormat(isKieServerRendererEnabled() ? MarshallingFormat.JSON : MarshallingFormat.XSTREAM);
-        configuration.setLoadBalancer(LoadBalancer.getDefault(endpoint));
+        configure(endpoint,
+                  configuration,
+                  capabilities);
 
         KieServicesClient kieServicesClient;
 
@@ -113,15 +113,35 @@ public class KieServerUtils {
         return kieServicesClient;
     }
 
-    public static CredentialsProvider getCredentialsProvider() {
-        CredentialsProvider credentialsProvider;
-        try {
-            credentialsProvider = new KeyCloakTokenCredentialsProvider();
-        } catch (UnsupportedOperationException e) {
-            credentialsProvider = new SubjectCredentialsProvider();
+    /**
+     * Applies the settings shared by all the KIE Server clients of the workbench to the given configuration.
+     */
+    public static void configure(final String endpoint,
+                                 final KieServicesConfiguration configuration,
+                                 final String... capabilities) {
+        configuration.setTimeout(60000);
+        if (capabilities != null) {
+            configuration.setCapabilities(Arrays.asList(capabilities));
+        }
+        configuration.setMarshallingFormat(isKieServerRendererEnabled() ? MarshallingFormat.JSON : MarshallingFormat.XSTREAM);
+        configuration.setLoadBalancer(LoadBalancer.getDefault(endpoint));
+    }
+
+    /**
+     * @return credentials provider of the current user, shared by all user bound clients
+     */
+    public static PropagatedCredentialsProvider getCredentialsProvider() {
+        if (credentialsProvider == null) {
+            CredentialsProvider delegate;
+            try {
+                delegate = new KeyCloakTokenCredentialsProvider();
+            } catch (UnsupportedOperationException e) {
+                delegate = new SubjectCredentialsProvider();
+            }
+            LOGGER.debug("{} initialized for the client.",
+                         delegate.getClass().getName());
+            credentialsProvider = new PropagatedCredentialsProvider(delegate);
         }
-        LOGGER.debug("{} initialized for the client.",
-                     credentialsProvider.getClass().getName());
         return credentialsProvider;
     }
 
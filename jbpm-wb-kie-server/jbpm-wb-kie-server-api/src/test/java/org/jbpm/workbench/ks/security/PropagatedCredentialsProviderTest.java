@@ -0,0 +1,100 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jbpm.workbench.ks.security;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.kie.server.client.CredentialsProvider;
+
+import static org.junit.Assert.*;
+
+public class PropagatedCredentialsProviderTest {
+
+    // credentials bound to the calling thread, as the HTTP request or the container subject are
+    private final ThreadLocal<String> threadCredentials = new ThreadLocal<>();
+
+    private final ExecutorService executorService = Executors.newSingleThreadExecutor();
+
+    private PropagatedCredentialsProvider credentialsProvider;
+
+    @Before
+    public void setUp() {
+        credentialsProvider = new PropagatedCredentialsProvider(new CredentialsProvider() {
+            @Override
+            public String getHeaderName() {
+                return "Authorization";
+            }
+
+            @Override
+            public String getAuthorization() {
+                if (threadCredentials.get() == null) {
+                    throw new IllegalStateException("No request bound to thread");
+                }
+                return threadCredentials.get();
+            }
+        });
+    }
+
+    @After
+    public void tearDown() {
+        executorService.shutdownNow();
+    }
+
+    @Test
+    public void testCredentialsPropagatedToOtherThread() {
+        executorService.submit(() -> threadCredentials.set("Basic previous"));
+        threadCredentials.set("Basic user");
+
+        final Supplier<String> authorization = credentialsProvider.propagate(credentialsProvider::getAuthorization);
+
+        assertEquals("Basic user",
+                     CompletableFuture.supplyAsync(authorization,
+                                                   executorService).join());
+        // credentials are only propagated while the work runs
+        assertEquals("Basic previous",
+                     CompletableFuture.supplyAsync(credentialsProvider::getAuthorization,
+                                                   executorService).join());
+    }
+
+    @Test
+    public void testCredentialsPropagatedToDependentWork() {
+        threadCredentials.set("Basic user");
+
+        final Function<String, String> authorization = credentialsProvider.propagate(header -> header + credentialsProvider.getAuthorization());
+
+        assertEquals("Authorization: Basic user",
+                     CompletableFuture.completedFuture("Authorization: ").thenApplyAsync(authorization,
+                                                                                         executorService).join());
+    }
+
+    @Test
+    public void testNoCredentialsPropagated() {
+        executorService.submit(() -> threadCredentials.set("Basic previous"));
+
+        final Supplier<String> authorization = credentialsProvider.propagate(credentialsProvider::getAuthorization);
+
+        assertNull(CompletableFuture.supplyAsync(authorization,
+                                                 executorService).join());
+    }
+}
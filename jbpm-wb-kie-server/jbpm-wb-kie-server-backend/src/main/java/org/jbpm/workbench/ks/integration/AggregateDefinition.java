@@ -0,0 +1,75 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jbpm.workbench.ks.integration;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.dashbuilder.dataset.filter.ColumnFilter;
+
+/**
+ * Describes how the rows of a remote data set are materialized as aggregates, see {@link MaterializedAggregates}.
+ */
+public class AggregateDefinition {
+
+    private final String dataSetUUID;
+    private final String idColumnId;
+    private final ColumnFilter openFilter;
+    private final List<String> dimensionColumnIds;
+    private final List<String> measureColumnIds;
+
+    /**
+     * @param dataSetUUID data set materialized
+     * @param idColumnId increasing numeric id of the rows
+     * @param openFilter matches rows which might still be updated, e.g. active process instances
+     * @param dimensionColumnIds columns the rows are grouped by, with few distinct values as the number of aggregates
+     * is the product of their numbers of values (dates are not useful, lookups grouped by date being computed by KIE
+     * Server)
+     * @param measureColumnIds numeric columns which are summed
+     */
+    public AggregateDefinition(final String dataSetUUID,
+                               final String idColumnId,
+                               final ColumnFilter openFilter,
+                               final List<String> dimensionColumnIds,
+                               final String... measureColumnIds) {
+        this.dataSetUUID = dataSetUUID;
+        this.idColumnId = idColumnId;
+        this.openFilter = openFilter;
+        this.dimensionColumnIds = dimensionColumnIds;
+        this.measureColumnIds = Arrays.asList(measureColumnIds);
+    }
+
+    public String getDataSetUUID() {
+        return dataSetUUID;
+    }
+
+    public String getIdColumnId() {
+        return idColumnId;
+    }
+
+    public ColumnFilter getOpenFilter() {
+        return openFilter;
+    }
+
+    public List<String> getDimensionColumnIds() {
+        return dimensionColumnIds;
+    }
+
+    public List<String> getMeasureColumnIds() {
+        return measureColumnIds;
+    }
+}
@@ -0,0 +1,170 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jbpm.workbench.ks.integration;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+
+import org.kie.server.api.model.ReleaseId;
+
+/**
+ * Memory bounded, least recently used cache of values that can only change when a container is redeployed, such as
+ * process or task definitions. Entries are keyed by server template, container release id (containers deployed from
+ * the same release share them) and names within the release, and are dropped per server template when it or one of
+ * its containers is updated. Entries are weighed, the total weight of the cached values is kept under a maximum.
+ * @param <T> type of the cached values
+ */
+public class ContainerReleaseCache<T> {
+
+    private final ToLongFunction<T> weigher;
+    private final long maxWeight;
+
+    private final Map<CacheKey, T> entries = new LinkedHashMap<>(16,
+                                                                 0.75f,
+                                                                 true);
+    private long weight = 0;
+    // bumped by every invalidation, values loaded meanwhile are not cached as they might be stale
+    private long generation = 0;
+
+    /**
+     * @param weigher weight of a value, e.g. 1 to bound the number of entries or the length of textual values
+     * @param maxWeight maximum total weight of the cached values, values heavier than that are not cached
+     */
+    public ContainerReleaseCache(final ToLongFunction<T> weigher,
+                                 final long maxWeight) {
+        this.weigher = weigher;
+        this.maxWeight = maxWeight;
+    }
+
+    /**
+     * @param names names of the value within the release, e.g. the process id
+     * @param loader loads the value when not cached, null values are not cached
+     */
+    public T get(final String serverTemplateId,
+                 final String containerId,
+                 final ReleaseId releaseId,
+                 final List<String> names,
+                 final Supplier<T> loader) {
+        final CacheKey key = new CacheKey(serverTemplateId,
+                                          containerId,
+                                          releaseId,
+                                          names);
+        final long loadGeneration;
+        synchronized (entries) {
+            final T cached = entries.get(key);
+            if (cached != null) {
+                return cached;
+            }
+            loadGeneration = generation;
+        }
+
+        final T value = loader.get();
+        if (value == null) {
+            return null;
+        }
+        final long valueWeight = weigher.applyAsLong(value);
+        if (valueWeight > maxWeight) {
+            return value;
+        }
+        synchronized (entries) {
+            if (loadGeneration != generation) {
+                return value;
+            }
+            final T previous = entries.put(key,
+                                           value);
+            weight += valueWeight - (previous == null ? 0 : weigher.applyAsLong(previous));
+            final Iterator<T> eldest = entries.values().iterator();
+            while (weight > maxWeight && eldest.hasNext()) {
+                weight -= weigher.applyAsLong(eldest.next());
+                eldest.remove();
+            }
+        }
+        return value;
+    }
+
+    public void invalidate(final String serverTemplateId) {
+        synchronized (entries) {
+            generation++;
+            final Iterator<Map.Entry<CacheKey, T>> iterator = entries.entrySet().iterator();
+            while (iterator.hasNext()) {
+                final Map.Entry<CacheKey, T> entry = iterator.next();
+                if (Objects.equals(entry.getKey().serverTemplateId,
+                                   serverTemplateId)) {
+                    weight -= weigher.applyAsLong(entry.getValue());
+                    iterator.remove();
+                }
+            }
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    public long getWeight() {
+        synchronized (entries) {
+            return weight;
+        }
+    }
+
+    protected static class CacheKey {
+
+        private final String serverTemplateId;
+        private final String release;
+        private final List<String> names;
+
+        CacheKey(final String serverTemplateId,
+                 final String containerId,
+                 final ReleaseId releaseId,
+                 final List<String> names) {
+            this.serverTemplateId = serverTemplateId;
+            this.release = releaseId == null ? containerId : releaseId.toExternalForm();
+            this.names = names;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            CacheKey that = (CacheKey) o;
+            return Objects.equals(serverTemplateId,
+                                  that.serverTemplateId) &&
+                    Objects.equals(release,
+                                   that.release) &&
+                    Objects.equals(names,
+                                   that.names);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(serverTemplateId,
+                                release,
+                                names);
+        }
+    }
+}
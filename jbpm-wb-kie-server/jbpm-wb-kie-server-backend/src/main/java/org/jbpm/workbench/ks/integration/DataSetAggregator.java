@@ -0,0 +1,538 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jbpm.workbench.ks.integration;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.regex.Pattern;
+
+import javax.enterprise.context.ApplicationScoped;
+
+import org.dashbuilder.dataset.ColumnType;
+import org.dashbuilder.dataset.DataColumn;
+import org.dashbuilder.dataset.DataSet;
+import org.dashbuilder.dataset.DataSetFactory;
+import org.dashbuilder.dataset.DataSetLookup;
+import org.dashbuilder.dataset.DataSetOp;
+import org.dashbuilder.dataset.DataSetOpType;
+import org.dashbuilder.dataset.filter.ColumnFilter;
+import org.dashbuilder.dataset.filter.CoreFunctionFilter;
+import org.dashbuilder.dataset.filter.CoreFunctionType;
+import org.dashbuilder.dataset.filter.DataSetFilter;
+import org.dashbuilder.dataset.filter.LogicalExprFilter;
+import org.dashbuilder.dataset.filter.LogicalExprType;
+import org.dashbuilder.dataset.group.ColumnGroup;
+import org.dashbuilder.dataset.group.DataSetGroup;
+import org.dashbuilder.dataset.group.GroupFunction;
+import org.dashbuilder.dataset.group.GroupStrategy;
+import org.dashbuilder.dataset.group.Interval;
+import org.dashbuilder.dataset.impl.DataColumnImpl;
+import org.dashbuilder.dataset.sort.ColumnSort;
+import org.dashbuilder.dataset.sort.DataSetSort;
+import org.dashbuilder.dataset.sort.SortOrder;
+
+import static org.kie.soup.commons.validation.PortablePreconditions.checkNotNull;
+
+/**
+ * Computes grouped lookups in memory, out of all the rows of a data set. Filters and interval selections are applied
+ * first, then every group function is computed in a single pass over the matching rows. Results have the same
+ * columns as the ones KIE Server returns for the lookup, so any displayer can be served from rows fetched once.
+ * Lookups whose result KIE Server would compute differently (e.g. date intervals) are not supported.
+ * <p>
+ * Only data sets registered with a maximum number of rows are aggregated in memory. A data set found larger than its
+ * maximum is aggregated by KIE Server for the size check period, instead of fetching its rows again on every lookup.
+ */
+@ApplicationScoped
+public class DataSetAggregator {
+
+    public static final String SIZE_CHECK_PERIOD = "org.jbpm.wb.dataset.aggregation.sizeCheck";
+
+    private final long sizeCheckPeriod;
+
+    private final ConcurrentMap<String, Integer> maxRowsByDataSet = new ConcurrentHashMap<>();
+
+    // time until which data sets are known to be too large, by server template and data set
+    private final ConcurrentMap<List<String>, Long> tooLarge = new ConcurrentHashMap<>();
+
+    public DataSetAggregator() {
+        this(Long.getLong(SIZE_CHECK_PERIOD,
+                          600000L));
+    }
+
+    /**
+     * @param sizeCheckPeriod time in milliseconds a data set found too large is aggregated by KIE Server
+     */
+    public DataSetAggregator(final long sizeCheckPeriod) {
+        this.sizeCheckPeriod = sizeCheckPeriod;
+    }
+
+    /**
+     * @param maxRows maximum number of rows of the data set for its lookups to be aggregated in memory, 0 disables it
+     */
+    public void register(final String dataSetUUID,
+                         final int maxRows) {
+        checkNotNull("dataSetUUID",
+                     dataSetUUID);
+        if (maxRows > 0) {
+            maxRowsByDataSet.put(dataSetUUID,
+                                 maxRows);
+        } else {
+            maxRowsByDataSet.remove(dataSetUUID);
+        }
+    }
+
+    /**
+     * @return maximum number of rows of the data set to aggregate in memory, or null if its lookups have to be
+     * aggregated by KIE Server, as it isn't registered or is known to be too large
+     */
+    public Integer getMaxRows(final String serverTemplateId,
+                              final String dataSetUUID) {
+        if (dataSetUUID == null) {
+            return null;
+        }
+        final Integer maxRows = maxRowsByDataSet.get(dataSetUUID);
+        if (maxRows == null) {
+            return null;
+        }
+        final List<String> key = Arrays.asList(serverTemplateId,
+                                               dataSetUUID);
+        final Long until = tooLarge.get(key);
+        if (until != null) {
+            if (currentTimeMillis() < until) {
+                return null;
+            }
+            tooLarge.remove(key,
+                            until);
+        }
+        return maxRows;
+    }
+
+    /**
+     * Records that the data set has more rows than its maximum, its lookups being aggregated by KIE Server until the
+     * size check period elapses.
+     */
+    public void setTooLarge(final String serverTemplateId,
+                            final String dataSetUUID) {
+        tooLarge.put(Arrays.asList(serverTemplateId,
+                                   dataSetUUID),
+                     currentTimeMillis() + sizeCheckPeriod);
+    }
+
+    protected long currentTimeMillis() {
+        return System.currentTimeMillis();
+    }
+
+    /**
+     * @param base all the rows of the data set
+     * @param lookup grouped lookup
+     * @param columns columns of the result, see {@link KieServerDataSetProvider#handleDataSetGroup}
+     * @return the lookup result or null if it can't be computed in memory
+     */
+    public DataSet aggregate(final DataSet base,
+                             final DataSetLookup lookup,
+                             final List<DataColumn> columns) {
+        final DataSetGroup group = lookup.getLastGroupOp();
+        if (group == null || group.getGroupFunctions().isEmpty() || !isSupported(base,
+                                                                                  lookup)) {
+            return null;
+        }
+        final ColumnGroup columnGroup = group.getColumnGroup();
+        if (columnGroup != null && !isSupported(base,
+                                                columnGroup)) {
+            return null;
+        }
+        for (GroupFunction function : group.getGroupFunctions()) {
+            if (function.getFunction() != null && !isSupported(base,
+                                                               function)) {
+                return null;
+            }
+        }
+
+        final Map<Object, List<Integer>> groups = new LinkedHashMap<>();
+        if (columnGroup == null) {
+            groups.put(null,
+                       new ArrayList<>());
+        }
+        final DataColumn groupColumn = columnGroup == null ? null : base.getColumnById(columnGroup.getSourceId());
+        for (int row = 0; row < base.getRowCount(); row++) {
+            if (matches(base,
+                        lookup,
+                        row)) {
+                groups.computeIfAbsent(groupColumn == null ? null : groupColumn.getValues().get(row),
+                                       key -> new ArrayList<>()).add(row);
+            }
+        }
+
+        final List<Object> keys = new ArrayList<>(groups.keySet());
+        keys.sort(Comparator.nullsFirst(DataSetAggregator::compareValues));
+        final List<Object[]> rows = new ArrayList<>(keys.size());
+        for (Object key : keys) {
+            final Object[] row = new Object[columns.size()];
+            for (int i = 0; i < group.getGroupFunctions().size(); i++) {
+                final GroupFunction function = group.getGroupFunctions().get(i);
+                if (function.getFunction() != null) {
+                    row[i] = aggregate(base,
+                                       function,
+                                       groups.get(key));
+                } else if (columnGroup != null && columnGroup.getSourceId().equals(function.getSourceId())) {
+                    row[i] = key;
+                } else {
+                    // a plain column which is not grouped by has no single value
+                    return null;
+                }
+            }
+            rows.add(row);
+        }
+
+        sort(rows,
+             lookup.getFirstSortOp(),
+             columns);
+        return buildDataSet(base,
+                            lookup,
+                            columns,
+                            rows);
+    }
+
+    protected boolean isSupported(final DataSet base,
+                                  final DataSetLookup lookup) {
+        for (DataSetOp op : lookup.getOperationList()) {
+            if (op.getType() == DataSetOpType.GROUP && ((DataSetGroup) op).isSelect()) {
+                final DataSetGroup selection = (DataSetGroup) op;
+                if (selection.getColumnGroup() == null || !isSupported(base,
+                                                                       selection.getColumnGroup())) {
+                    return false;
+                }
+                for (Interval interval : selection.getSelectedIntervalList()) {
+                    if (interval.getMinValue() != null || interval.getMaxValue() != null) {
+                        return false;
+                    }
+                }
+            }
+        }
+        for (DataSetFilter filter : lookup.getOperationList(DataSetFilter.class)) {
+            for (ColumnFilter columnFilter : filter.getColumnFilterList()) {
+                if (!isSupported(base,
+                                 columnFilter)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Only groups of distinct values are supported, KIE Server builds date and fixed intervals on its own.
+     */
+    protected boolean isSupported(final DataSet base,
+                                  final ColumnGroup columnGroup) {
+        if (columnGroup == null) {
+            return true;
+        }
+        final DataColumn column = base.getColumnById(columnGroup.getSourceId());
+        return column != null
+                && column.getColumnType() != ColumnType.DATE
+                && columnGroup.getIntervalSize() == null
+                && (columnGroup.getStrategy() == null || columnGroup.getStrategy() == GroupStrategy.DYNAMIC);
+    }
+
+    protected boolean isSupported(final DataSet base,
+                                  final ColumnFilter filter) {
+        if (filter instanceof LogicalExprFilter) {
+            final LogicalExprFilter logicalExprFilter = (LogicalExprFilter) filter;
+            if (logicalExprFilter.getLogicalOperator() == null) {
+                return false;
+            }
+            switch (logicalExprFilter.getLogicalOperator()) {
+                case AND:
+                case OR:
+                    return logicalExprFilter.getLogicalTerms().stream().allMatch(term -> isSupported(base,
+                                                                                                     term));
+                default:
+                    return false;
+            }
+        }
+        if (!(filter instanceof CoreFunctionFilter) || base.getColumnById(filter.getColumnId()) == null) {
+            return false;
+        }
+        final CoreFunctionType type = ((CoreFunctionFilter) filter).getType();
+        return type != null && type != CoreFunctionType.TIME_FRAME;
+    }
+
+    protected boolean matches(final DataSet base,
+                              final DataSetLookup lookup,
+                              final int row) {
+        for (DataSetFilter filter : lookup.getOperationList(DataSetFilter.class)) {
+            for (ColumnFilter columnFilter : filter.getColumnFilterList()) {
+                if (!matches(base,
+                             columnFilter,
+                             row)) {
+                    return false;
+                }
+            }
+        }
+        for (DataSetGroup selection : lookup.getFirstGroupOpSelections()) {
+            if (selection.getSelectedIntervalList() == null || selection.getSelectedIntervalList().isEmpty()) {
+                continue;
+            }
+            final Object value = base.getColumnById(selection.getColumnGroup().getSourceId()).getValues().get(row);
+            boolean selected = false;
+            for (Interval interval : selection.getSelectedIntervalList()) {
+                selected |= value != null && value.toString().equals(interval.getName());
+            }
+            if (!selected) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    protected boolean matches(final DataSet base,
+                              final ColumnFilter filter,
+                              final int row) {
+        if (filter instanceof LogicalExprFilter) {
+            final LogicalExprFilter logicalExprFilter = (LogicalExprFilter) filter;
+            final boolean and = logicalExprFilter.getLogicalOperator() == LogicalExprType.AND;
+            for (ColumnFilter term : logicalExprFilter.getLogicalTerms()) {
+                if (matches(base,
+                            term,
+                            row) != and) {
+                    return !and;
+                }
+            }
+            return and;
+        }
+
+        final CoreFunctionFilter coreFunctionFilter = (CoreFunctionFilter) filter;
+        final Object value = base.getColumnById(coreFunctionFilter.getColumnId()).getValues().get(row);
+        final List<Comparable> params = coreFunctionFilter.getParameters();
+        switch (coreFunctionFilter.getType()) {
+            case IS_NULL:
+                return value == null;
+            case NOT_NULL:
+                return value != null;
+            case EQUALS_TO:
+            case IN:
+                return value != null && params.stream().anyMatch(param -> compare(value,
+                                                                                  param) == 0);
+            case NOT_EQUALS_TO:
+            case NOT_IN:
+                return value != null && params.stream().noneMatch(param -> compare(value,
+                                                                                   param) == 0);
+            case LIKE_TO:
+                return value != null && like(value.toString(),
+                                             params);
+            case GREATER_THAN:
+                return value != null && compare(value,
+                                                params.get(0)) > 0;
+            case GREATER_OR_EQUALS_TO:
+                return value != null && compare(value,
+                                                params.get(0)) >= 0;
+            case LOWER_THAN:
+                return value != null && compare(value,
+                                                params.get(0)) < 0;
+            case LOWER_OR_EQUALS_TO:
+                return value != null && compare(value,
+                                                params.get(0)) <= 0;
+            case BETWEEN:
+                return value != null && compare(value,
+                                                params.get(0)) >= 0 && compare(value,
+                                                                               params.get(1)) <= 0;
+            default:
+                return false;
+        }
+    }
+
+    protected boolean like(final String value,
+                           final List<Comparable> params) {
+        final boolean caseSensitive = params.size() < 2 || Boolean.parseBoolean(String.valueOf(params.get(1)));
+        final StringBuilder regex = new StringBuilder();
+        for (char c : String.valueOf(params.get(0)).toCharArray()) {
+            if (c == '%') {
+                regex.append(".*");
+            } else if (c == '_') {
+                regex.append('.');
+            } else {
+                regex.append(Pattern.quote(String.valueOf(c)));
+            }
+        }
+        return Pattern.compile(regex.toString(),
+                               caseSensitive ? 0 : Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE).matcher(value).matches();
+    }
+
+    protected boolean isSupported(final DataSet base,
+                                  final GroupFunction function) {
+        return base.getColumnById(function.getSourceId()) != null;
+    }
+
+    /**
+     * Null values are ignored, as done by KIE Server.
+     */
+    protected Double aggregate(final DataSet base,
+                               final GroupFunction function,
+                               final List<Integer> rows) {
+        final DataColumn column = base.getColumnById(function.getSourceId());
+        switch (function.getFunction()) {
+            case COUNT:
+                return (double) rows.stream().filter(row -> column.getValues().get(row) != null).count();
+            case DISTINCT:
+                final Set<Object> distinct = new HashSet<>();
+                rows.stream().map(row -> column.getValues().get(row)).filter(Objects::nonNull).forEach(distinct::add);
+                return (double) distinct.size();
+            default:
+                double sum = 0;
+                double min = Double.MAX_VALUE;
+                double max = -Double.MAX_VALUE;
+                int count = 0;
+                for (Integer row : rows) {
+                    final Object value = column.getValues().get(row);
+                    if (value instanceof Number) {
+                        final double number = ((Number) value).doubleValue();
+                        sum += number;
+                        min = Math.min(min,
+                                       number);
+                        max = Math.max(max,
+                                       number);
+                        count++;
+                    }
+                }
+                if (count == 0) {
+                    return 0d;
+                }
+                switch (function.getFunction()) {
+                    case AVERAGE:
+                        return sum / count;
+                    case MIN:
+                        return min;
+                    case MAX:
+                        return max;
+                    default:
+                        return sum;
+                }
+        }
+    }
+
+    protected void sort(final List<Object[]> rows,
+                        final DataSetSort sort,
+                        final List<DataColumn> columns) {
+        if (sort == null) {
+            return;
+        }
+        Comparator<Object[]> comparator = null;
+        for (ColumnSort columnSort : sort.getColumnSortList()) {
+            final int index = indexOf(columns,
+                                      columnSort.getColumnId());
+            if (index < 0) {
+                continue;
+            }
+            Comparator<Object[]> columnComparator = Comparator.comparing(row -> row[index],
+                                                                         Comparator.nullsFirst(DataSetAggregator::compareValues));
+            if (columnSort.getOrder() == SortOrder.DESCENDING) {
+                columnComparator = columnComparator.reversed();
+            }
+            comparator = comparator == null ? columnComparator : comparator.thenComparing(columnComparator);
+        }
+        if (comparator != null) {
+            rows.sort(comparator);
+        }
+    }
+
+    protected DataSet buildDataSet(final DataSet base,
+                                   final DataSetLookup lookup,
+                                   final List<DataColumn> columns,
+                                   final List<Object[]> rows) {
+        final DataSet dataSet = DataSetFactory.newEmptyDataSet();
+        dataSet.setUUID(base.getUUID());
+        dataSet.setDefinition(base.getDefinition());
+        for (DataColumn column : columns) {
+            dataSet.addColumn(new DataColumnImpl(column.getId(),
+                                                 column.getColumnType()));
+        }
+        final int from = Math.min(Math.max(lookup.getRowOffset(),
+                                           0),
+                                  rows.size());
+        final int to = lookup.getNumberOfRows() > 0 ? Math.min(from + lookup.getNumberOfRows(),
+                                                               rows.size()) : rows.size();
+        for (Object[] row : rows.subList(from,
+                                         to)) {
+            for (int i = 0; i < row.length; i++) {
+                dataSet.getColumnByIndex(i).getValues().add(row[i]);
+            }
+        }
+        dataSet.setRowCountNonTrimmed(rows.size());
+        return dataSet;
+    }
+
+    private static int indexOf(final List<DataColumn> columns,
+                               final String columnId) {
+        for (int i = 0; i < columns.size(); i++) {
+            if (Objects.equals(columns.get(i).getId(),
+                               columnId)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Compares values of the same column, or a value with a filter parameter which might have been sent with
+     * another type (e.g. a status number as a string).
+     */
+    protected static int compare(final Object value,
+                                 final Object param) {
+        if (param == null) {
+            return 1;
+        }
+        return compareValues(value,
+                             param);
+    }
+
+    private static int compareValues(final Object first,
+                                     final Object second) {
+        final Double firstNumber = toNumber(first);
+        final Double secondNumber = toNumber(second);
+        if (firstNumber != null && secondNumber != null && (first instanceof Number || second instanceof Number
+                || first instanceof Date || second instanceof Date)) {
+            return Double.compare(firstNumber,
+                                  secondNumber);
+        }
+        return first.toString().compareTo(second.toString());
+    }
+
+    private static Double toNumber(final Object value) {
+        if (value instanceof Number) {
+            return ((Number) value).doubleValue();
+        }
+        if (value instanceof Date) {
+            return (double) ((Date) value).getTime();
+        }
+        try {
+            return Double.valueOf(value.toString());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,353 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jbpm.workbench.ks.integration;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Observes;
+
+import org.dashbuilder.dataset.def.DataSetDef;
+import org.dashbuilder.dataset.events.DataSetDefModifiedEvent;
+import org.dashbuilder.dataset.events.DataSetDefRemovedEvent;
+import org.kie.server.api.model.definition.QueryFilterSpec;
+import org.kie.server.api.model.definition.QueryParam;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static org.kie.soup.commons.validation.PortablePreconditions.checkNotNull;
+
+/**
+ * Bounded, per server template cache of raw query results returned by KIE Server for remote data sets.
+ * Entries expire after a configurable time to live and are evicted whenever the data they were built from
+ * might have changed. Total row counts are cached along with them, usually for longer as they only serve paging.
+ */
+@ApplicationScoped
+public class KieServerDataSetCache {
+
+    public static final String CACHE_TTL = "org.jbpm.wb.dataset.cache.ttl";
+    public static final String CACHE_MAX_ENTRIES = "org.jbpm.wb.dataset.cache.size";
+    public static final String COUNT_STALENESS = "org.jbpm.wb.dataset.count.staleness";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(KieServerDataSetCache.class);
+
+    private final long timeToLive;
+    private final int maxEntries;
+    private final long countStaleness;
+
+    private final ConcurrentMap<String, Map<CacheKey, CacheEntry>> cachesByServerTemplate = new ConcurrentHashMap<>();
+
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+
+    public KieServerDataSetCache() {
+        this(Long.getLong(CACHE_TTL,
+                          10000L),
+             Integer.getInteger(CACHE_MAX_ENTRIES,
+                                200),
+             Long.getLong(COUNT_STALENESS,
+                          60000L));
+    }
+
+    public KieServerDataSetCache(final long timeToLive,
+                                 final int maxEntries) {
+        this(timeToLive,
+             maxEntries,
+             timeToLive);
+    }
+
+    /**
+     * @param countStaleness maximum time, in milliseconds, a total row count is reused for
+     */
+    public KieServerDataSetCache(final long timeToLive,
+                                 final int maxEntries,
+                                 final long countStaleness) {
+        this.timeToLive = timeToLive;
+        this.maxEntries = maxEntries;
+        this.countStaleness = countStaleness;
+    }
+
+    public boolean isEnabled() {
+        return timeToLive > 0 && maxEntries > 0;
+    }
+
+    public List<List> lookup(final String serverTemplateId,
+                             final CacheKey key,
+                             final Supplier<List<List>> loader) {
+        if (!isEnabled()) {
+            return loader.get();
+        }
+        return lookup(serverTemplateId,
+                      key,
+                      timeToLive,
+                      () -> {
+                          final List<List> rows = loader.get();
+                          return rows == null ? null : Collections.unmodifiableList(rows);
+                      });
+    }
+
+    /**
+     * @param key key built by {@link #countKey(String, String, QueryFilterSpec)}
+     */
+    public Long lookupCount(final String serverTemplateId,
+                            final CacheKey key,
+                            final Supplier<Long> loader) {
+        if (countStaleness <= 0 || maxEntries <= 0) {
+            return loader.get();
+        }
+        return lookup(serverTemplateId,
+                      key,
+                      countStaleness,
+                      loader);
+    }
+
+    protected <T> T lookup(final String serverTemplateId,
+                           final CacheKey key,
+                           final long expiresAfter,
+                           final Supplier<T> loader) {
+        final Map<CacheKey, CacheEntry> cache = getCache(serverTemplateId);
+        final CacheEntry cached = cache.get(key);
+        if (cached != null && !cached.isExpired(currentTimeMillis())) {
+            hitCount.incrementAndGet();
+            LOGGER.debug("Data set cache hit for server template {} and key {}",
+                         serverTemplateId,
+                         key);
+            return (T) cached.getValue();
+        }
+
+        missCount.incrementAndGet();
+        final T value = loader.get();
+        if (value != null) {
+            cache.put(key,
+                      new CacheEntry(value,
+                                     currentTimeMillis() + expiresAfter));
+        }
+        return value;
+    }
+
+    public void invalidate(final String serverTemplateId) {
+        if (serverTemplateId == null) {
+            invalidateAll();
+            return;
+        }
+        final Map<CacheKey, CacheEntry> removed = cachesByServerTemplate.remove(serverTemplateId);
+        if (removed != null) {
+            LOGGER.debug("Data set cache invalidated for server template {}",
+                         serverTemplateId);
+        }
+    }
+
+    public void invalidateDataSet(final String dataSetUUID) {
+        cachesByServerTemplate.values().forEach(cache -> {
+            synchronized (cache) {
+                cache.keySet().removeIf(key -> key.getDataSetUUID().equals(dataSetUUID));
+            }
+        });
+        LOGGER.debug("Data set cache invalidated for data set {}",
+                     dataSetUUID);
+    }
+
+    public void invalidateAll() {
+        cachesByServerTemplate.clear();
+        LOGGER.debug("Data set cache invalidated for all server templates");
+    }
+
+    public long getHitCount() {
+        return hitCount.get();
+    }
+
+    public long getMissCount() {
+        return missCount.get();
+    }
+
+    public int size() {
+        return cachesByServerTemplate.values().stream().mapToInt(Map::size).sum();
+    }
+
+    void onDataSetDefModifiedEvent(@Observes DataSetDefModifiedEvent event) {
+        checkNotNull("event",
+                     event);
+        invalidateDataSet(event.getOldDataSetDef());
+    }
+
+    void onDataSetDefRemovedEvent(@Observes DataSetDefRemovedEvent event) {
+        checkNotNull("event",
+                     event);
+        invalidateDataSet(event.getDataSetDef());
+    }
+
+    protected void invalidateDataSet(final DataSetDef def) {
+        if (def != null && def.getUUID() != null) {
+            invalidateDataSet(def.getUUID());
+        }
+    }
+
+    protected long currentTimeMillis() {
+        return System.currentTimeMillis();
+    }
+
+    protected Map<CacheKey, CacheEntry> getCache(final String serverTemplateId) {
+        return cachesByServerTemplate.computeIfAbsent(serverTemplateId,
+                                                      id -> Collections.synchronizedMap(new LinkedHashMap<CacheKey, CacheEntry>(16,
+                                                                                                                                0.75f,
+                                                                                                                                true) {
+                                                          @Override
+                                                          protected boolean removeEldestEntry(Map.Entry<CacheKey, CacheEntry> eldest) {
+                                                              return size() > maxEntries;
+                                                          }
+                                                      }));
+    }
+
+    public static CacheKey key(final String dataSetUUID,
+                               final String user,
+                               final QueryFilterSpec filterSpec,
+                               final int rowOffset,
+                               final int numberOfRows) {
+        return new CacheKey(dataSetUUID,
+                            user,
+                            normalize(filterSpec),
+                            rowOffset,
+                            numberOfRows);
+    }
+
+    /**
+     * Key of the total row count of a data set, which does not depend on the sorting nor the page.
+     */
+    public static CacheKey countKey(final String dataSetUUID,
+                                    final String user,
+                                    final QueryFilterSpec filterSpec) {
+        return new CacheKey(dataSetUUID,
+                            user,
+                            "count;params=" + normalizeParameters(filterSpec),
+                            0,
+                            0);
+    }
+
+    /**
+     * Builds a stable textual representation of the filter spec. Parameter order is kept as group and
+     * aggregate parameters define the order of the returned columns.
+     */
+    protected static String normalize(final QueryFilterSpec filterSpec) {
+        if (filterSpec == null) {
+            return "";
+        }
+        return "orderBy=" + filterSpec.getOrderBy() + ";ascending=" + filterSpec.isAscending() + ";params=" + normalizeParameters(filterSpec);
+    }
+
+    protected static List<String> normalizeParameters(final QueryFilterSpec filterSpec) {
+        final List<String> params = new ArrayList<>();
+        if (filterSpec != null && filterSpec.getParameters() != null) {
+            for (QueryParam param : filterSpec.getParameters()) {
+                params.add(param.getColumn() + " " + param.getOperator() + " " + param.getValue());
+            }
+        }
+        return params;
+    }
+
+    public static class CacheKey {
+
+        private final String dataSetUUID;
+        private final String user;
+        private final String filter;
+        private final int rowOffset;
+        private final int numberOfRows;
+
+        public CacheKey(final String dataSetUUID,
+                        final String user,
+                        final String filter,
+                        final int rowOffset,
+                        final int numberOfRows) {
+            this.dataSetUUID = dataSetUUID;
+            this.user = user;
+            this.filter = filter;
+            this.rowOffset = rowOffset;
+            this.numberOfRows = numberOfRows;
+        }
+
+        public String getDataSetUUID() {
+            return dataSetUUID;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            CacheKey that = (CacheKey) o;
+            return rowOffset == that.rowOffset &&
+                    numberOfRows == that.numberOfRows &&
+                    Objects.equals(dataSetUUID,
+                                   that.dataSetUUID) &&
+                    Objects.equals(user,
+                                   that.user) &&
+                    Objects.equals(filter,
+                                   that.filter);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(dataSetUUID,
+                                user,
+                                filter,
+                                rowOffset,
+                                numberOfRows);
+        }
+
+        @Override
+        public String toString() {
+            return "CacheKey{" +
+                    "dataSetUUID='" + dataSetUUID + '\'' +
+                    ", user='" + user + '\'' +
+                    ", filter='" + filter + '\'' +
+                    ", rowOffset=" + rowOffset +
+                    ", numberOfRows=" + numberOfRows +
+                    '}';
+        }
+    }
+
+    protected static class CacheEntry {
+
+        private final Object value;
+        private final long expiresAt;
+
+        CacheEntry(final Object value,
+                   final long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+
+        Object getValue() {
+            return value;
+        }
+
+        boolean isExpired(final long now) {
+            return now >= expiresAt;
+        }
+    }
+}
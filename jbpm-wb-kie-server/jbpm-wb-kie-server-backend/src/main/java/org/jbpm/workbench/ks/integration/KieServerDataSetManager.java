@@ -18,12 +18,19 @@ package org.jbpm.workbench.ks.integration;
 
 import static org.kie.soup.commons.validation.PortablePreconditions.checkNotNull;
 
-import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.stream.Collectors;
 
+import javax.annotation.PreDestroy;
 import javax.enterprise.context.ApplicationScoped;
 import javax.enterprise.event.Event;
 import javax.enterprise.event.Observes;
@@ -48,15 +55,25 @@ import org.kie.server.controller.api.model.spec.ServerTemplate;
 import org.kie.workbench.common.screens.server.management.service.SpecManagementService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.uberfire.commons.async.DescriptiveThreadFactory;
 import org.uberfire.commons.concurrent.Managed;
 
 @ApplicationScoped
 public class KieServerDataSetManager {
 
+    public static final String REGISTRATION_THREADS = "org.jbpm.wb.dataset.registration.threads";
+
     private static final Logger LOGGER = LoggerFactory.getLogger(KieServerDataSetManager.class);
 
+    private static final long INITIAL_RETRY_DELAY = 500;
+    private static final long MAX_RETRY_DELAY = 30 * 1000;
+
     private ExecutorService executorService;
 
+    private ExecutorService registrationExecutorService;
+
+    private Map<String, Long> registrationLatencies = new ConcurrentHashMap<>();
+
     private DataSetDefRegistry dataSetDefRegistry;
 
     private KieServerIntegration kieServerIntegration;
@@ -76,6 +93,14 @@ public class KieServerDataSetManager {
         this.event = event;
         this.executorService = executorService;
         this.specManagementService = specManagementService;
+        this.registrationExecutorService = Executors.newFixedThreadPool(Integer.getInteger(REGISTRATION_THREADS,
+                                                                                           4),
+                                                                        new DescriptiveThreadFactory());
+    }
+
+    @PreDestroy
+    public void stop() {
+        registrationExecutorService.shutdownNow();
     }
 
     public void registerInKieServer(@Observes final ServerInstanceRegistered serverInstanceRegistered) {
@@ -110,6 +135,7 @@ public class KieServerDataSetManager {
 
                 final Set<QueryDefinition> queryDefinitions = dataSetDefs.stream()
                         .filter(dataSetDef -> dataSetDef.getProvider().getName().equals("REMOTE"))
+                        .filter(dataSetDef -> !isWorkbenchSideDataSet(dataSetDef))
                         .map(
                                 dataSetDef ->
                                         QueryDefinition.builder()
@@ -132,6 +158,15 @@ public class KieServerDataSetManager {
         });
     }
     
+    /**
+     * Data sets targeting {@link RemoteDataSetDef#PROCESS_VARIABLES_QUERY_TARGET} are resolved by the workbench
+     * out of other queries, KIE Server does not know their target.
+     */
+    protected boolean isWorkbenchSideDataSet(DataSetDef dataSetDef) {
+        return dataSetDef instanceof RemoteDataSetDef
+                && RemoteDataSetDef.PROCESS_VARIABLES_QUERY_TARGET.equals(((RemoteDataSetDef) dataSetDef).getQueryTarget());
+    }
+
     protected String extractQueryTarget(DataSetDef dataSetDef) {
         if (dataSetDef instanceof RemoteDataSetDef && ((RemoteDataSetDef) dataSetDef).getQueryTarget() != null) {
             
@@ -146,34 +181,41 @@ public class KieServerDataSetManager {
                                             String serverInstanceId,
                                             Set<QueryDefinition> queryDefinitions) throws Exception {
         long waitLimit = 5 * 60 * 1000;   // default 5 min
+        long start = System.currentTimeMillis();
         long elapsed = 0;
+        int attempt = 0;
+        // successfully stored definitions are removed to avoid duplicated reads in case of intermediate error
+        final Set<QueryDefinition> pending = ConcurrentHashMap.newKeySet();
+        pending.addAll(queryDefinitions);
         try {
             QueryServicesClient queryClient = kieServerIntegration.getAdminServerClient(serverTemplateId, serverInstanceId).getServicesClient(QueryServicesClient.class);
 
             while (elapsed < waitLimit) {
                 try {
-                    Iterator<QueryDefinition> definitionIt = queryDefinitions.iterator();
-
-                    while (definitionIt.hasNext()) {
-                        QueryDefinition definition = definitionIt.next();
-                        queryClient.replaceQuery(definition);
-                        LOGGER.info("Query definition {} (type {}) successfully registered on kie server '{}'",
-                                    definition.getName(),
-                                    definition.getTarget(),
-                                    serverInstanceId);
-                        // remove successfully stored definition to avoid duplicated reads in case of intermediate error
-                        definitionIt.remove();
-                    }
+                    removeAlreadyRegistered(queryClient,
+                                            serverInstanceId,
+                                            pending);
+                    registerQueries(queryClient,
+                                    serverInstanceId,
+                                    pending);
+
+                    long latency = System.currentTimeMillis() - start;
+                    registrationLatencies.put(serverInstanceId,
+                                              latency);
+                    LOGGER.info("Query definitions registered on kie server '{}' in {} ms after {} attempt(s)",
+                                serverInstanceId,
+                                latency,
+                                attempt + 1);
 
                     event.fire(new KieServerDataSetRegistered(serverInstanceId,
                                                               serverTemplateId));
                     return;
                 } catch (KieServicesException | KieServerHttpRequestException e) {
                     // unable to register, might still be booting
-                    Thread.sleep(500);
-                    elapsed += 500;
-                    // get admin client with forced check of endpoints as they might have been banned (marked as failed)
-                    queryClient = kieServerIntegration.getAdminServerClientCheckEndpoints(serverTemplateId).getServicesClient(QueryServicesClient.class);
+                    Thread.sleep(getRetryDelay(attempt++));
+                    elapsed = System.currentTimeMillis() - start;
+                    // get a new client for the same server instance, the registry checked and updated is the one of that instance
+                    queryClient = kieServerIntegration.getAdminServerClient(serverTemplateId, serverInstanceId).getServicesClient(QueryServicesClient.class);
                     LOGGER.debug("Cannot reach KIE Server, elapsed time while waiting '{}', max time '{}' error {}",
                                  elapsed,
                                  waitLimit,
@@ -190,6 +232,77 @@ public class KieServerDataSetManager {
                         ex.getMessage());
         }
     }
+
+    /**
+     * Drops definitions that the server instance already holds with identical SQL, data source and target,
+     * e.g. when it was only restarted and its query registry was preserved.
+     */
+    protected void removeAlreadyRegistered(QueryServicesClient queryClient,
+                                           String serverInstanceId,
+                                           Set<QueryDefinition> queryDefinitions) {
+        final List<QueryDefinition> registered = queryClient.getQueries(0,
+                                                                        Integer.MAX_VALUE);
+        if (registered == null || registered.isEmpty()) {
+            return;
+        }
+        final Map<String, QueryDefinition> registeredByName = registered.stream().collect(Collectors.toMap(QueryDefinition::getName,
+                                                                                                         definition -> definition,
+                                                                                                         (first, second) -> first));
+        queryDefinitions.removeIf(definition -> {
+            final QueryDefinition current = registeredByName.get(definition.getName());
+            final boolean upToDate = current != null &&
+                    Objects.equals(definition.getExpression(),
+                                   current.getExpression()) &&
+                    Objects.equals(definition.getSource(),
+                                   current.getSource()) &&
+                    Objects.equals(definition.getTarget(),
+                                   current.getTarget());
+            if (upToDate) {
+                LOGGER.debug("Query definition {} already up to date on kie server '{}', skipping",
+                             definition.getName(),
+                             serverInstanceId);
+            }
+            return upToDate;
+        });
+    }
+
+    protected void registerQueries(QueryServicesClient queryClient,
+                                   String serverInstanceId,
+                                   Set<QueryDefinition> queryDefinitions) {
+        final List<CompletableFuture<Void>> registrations = queryDefinitions.stream()
+                .map(definition -> CompletableFuture.runAsync(() -> {
+                                                                  queryClient.replaceQuery(definition);
+                                                                  LOGGER.info("Query definition {} (type {}) successfully registered on kie server '{}'",
+                                                                              definition.getName(),
+                                                                              definition.getTarget(),
+                                                                              serverInstanceId);
+                                                                  queryDefinitions.remove(definition);
+                                                              },
+                                                              registrationExecutorService))
+                .collect(Collectors.toList());
+        try {
+            CompletableFuture.allOf(registrations.toArray(new CompletableFuture[registrations.size()])).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Exponential backoff with jitter so that instances restarted together do not retry in lock step.
+     */
+    protected long getRetryDelay(int attempt) {
+        final long delay = Math.min(MAX_RETRY_DELAY,
+                                    INITIAL_RETRY_DELAY << Math.min(attempt,
+                                                                    16));
+        return delay / 2 + ThreadLocalRandom.current().nextLong(delay / 2 + 1);
+    }
+
+    public Long getRegistrationLatency(String serverInstanceId) {
+        return registrationLatencies.get(serverInstanceId);
+    }
     
     void onDataSetDefRegisteredEvent(@Observes DataSetDefRegisteredEvent event) {
         checkNotNull("event",
@@ -210,21 +323,21 @@ public class KieServerDataSetManager {
                      event);
 
         DataSetDef def = event.getDataSetDef();
-        if (def instanceof RemoteDataSetDef) {
-            kieServerIntegration.broadcastToKieServers(((RemoteDataSetDef) def).getServerTemplateId(), (KieServicesClient client) -> {
+        if (def instanceof RemoteDataSetDef && !isWorkbenchSideDataSet(def)) {
+            final List<CompletableFuture<Object>> results = kieServerIntegration.broadcastToKieServersAsync(((RemoteDataSetDef) def).getServerTemplateId(), (KieServicesClient client) -> {
                 QueryServicesClient instanceQueryClient = client.getServicesClient(QueryServicesClient.class);
                 instanceQueryClient.unregisterQuery(def.getUUID());
                 return null;
             });
             
-            LOGGER.info("Data set definition {} ({}) deletion event processed", def.getUUID(), def.getName());
+            logOutcome(def, "deletion", results).join();
         }
         
     }    
 
     protected void replaceQueryInKieServers(DataSetDef def) {
         
-        if (def instanceof RemoteDataSetDef && ((RemoteDataSetDef) def).getServerTemplateId() != null) {
+        if (def instanceof RemoteDataSetDef && ((RemoteDataSetDef) def).getServerTemplateId() != null && !isWorkbenchSideDataSet(def)) {
             QueryDefinition queryDefinition = QueryDefinition.builder()
                     .name(def.getUUID())
                     .source(((RemoteDataSetDef) def).getDataSource())
@@ -232,12 +345,24 @@ public class KieServerDataSetManager {
                     .expression(((RemoteDataSetDef) def).getDbSQL())
                     .build();
             
-            kieServerIntegration.broadcastToKieServers(((RemoteDataSetDef) def).getServerTemplateId(), (KieServicesClient client) -> {
+            final List<CompletableFuture<Object>> results = kieServerIntegration.broadcastToKieServersAsync(((RemoteDataSetDef) def).getServerTemplateId(), (KieServicesClient client) -> {
                 QueryServicesClient instanceQueryClient = client.getServicesClient(QueryServicesClient.class);
                 QueryDefinition registered = instanceQueryClient.replaceQuery(queryDefinition);
                 return registered;
             });
-            LOGGER.info("Data set definition {} ({}) modification event processed", def.getUUID(), def.getName());
+            logOutcome(def, "modification", results);
         }
     }
+
+    protected CompletableFuture<Void> logOutcome(DataSetDef def, String event, List<CompletableFuture<Object>> results) {
+        return CompletableFuture.allOf(results.toArray(new CompletableFuture[results.size()])).handle((r, e) -> {
+            final long failed = results.stream().filter(CompletableFuture::isCompletedExceptionally).count();
+            if (failed == 0) {
+                LOGGER.info("Data set definition {} ({}) {} event processed", def.getUUID(), def.getName(), event);
+            } else {
+                LOGGER.warn("Data set definition {} ({}) {} event failed on {} of {} KIE Server instance(s)", def.getUUID(), def.getName(), event, failed, results.size());
+            }
+            return null;
+        });
+    }
 }
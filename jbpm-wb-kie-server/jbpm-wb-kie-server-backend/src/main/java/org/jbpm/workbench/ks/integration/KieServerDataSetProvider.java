@@ -18,10 +18,20 @@ package org.jbpm.workbench.ks.integration;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Map.Entry;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Supplier;
 import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
 
 import org.dashbuilder.dataprovider.DataSetProvider;
 import org.dashbuilder.dataprovider.DataSetProviderType;
@@ -35,6 +45,7 @@ import org.dashbuilder.dataset.def.DataColumnDef;
 import org.dashbuilder.dataset.def.DataSetDef;
 import org.dashbuilder.dataset.filter.ColumnFilter;
 import org.dashbuilder.dataset.filter.CoreFunctionFilter;
+import org.dashbuilder.dataset.filter.CoreFunctionType;
 import org.dashbuilder.dataset.filter.DataSetFilter;
 import org.dashbuilder.dataset.filter.FilterFactory;
 import org.dashbuilder.dataset.filter.LogicalExprFilter;
@@ -47,20 +58,53 @@ import org.dashbuilder.dataset.impl.DataSetMetadataImpl;
 import org.dashbuilder.dataset.sort.ColumnSort;
 import org.dashbuilder.dataset.sort.DataSetSort;
 import org.dashbuilder.dataset.sort.SortOrder;
+import org.kie.internal.identity.IdentityProvider;
 import org.kie.server.api.model.definition.QueryDefinition;
 import org.kie.server.api.model.definition.QueryFilterSpec;
 import org.kie.server.api.model.definition.QueryParam;
+import org.kie.server.api.util.QueryFilterSpecBuilder;
 import org.kie.server.client.KieServicesClient;
 import org.kie.server.client.QueryServicesClient;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.uberfire.commons.concurrent.Managed;
+
+import static org.jbpm.workbench.ks.utils.KieServerUtils.getCredentialsProvider;
 
 @ApplicationScoped
 public class KieServerDataSetProvider extends AbstractKieServerService implements DataSetProvider {
 
     public static final DataSetProviderType TYPE = new KieServerDataSetProviderType();
+    public static final String PROCESS_INSTANCE_VARIABLES_QUERY = "jbpmProcessInstanceVariables";
+    public static final String PROCESS_INSTANCE_ID_COLUMN = "processInstanceId";
+    public static final String COUNT_ENABLED = "org.jbpm.wb.dataset.count";
+    public static final String COUNT_COLUMN = "count";
     private static final Logger LOGGER = LoggerFactory.getLogger(KieServerDataSetProvider.class);
 
+    @Inject
+    protected KieServerDataSetCache dataSetCache;
+
+    @Inject
+    protected IdentityProvider identityProvider;
+
+    @Inject
+    protected MaterializedAggregates materializedAggregates;
+
+    @Inject
+    @Managed
+    protected ExecutorService executorService;
+
+    private final boolean countEnabled = Boolean.parseBoolean(System.getProperty(COUNT_ENABLED,
+                                                                                 "true"));
+
+    @Inject
+    protected DataSetAggregator dataSetAggregator;
+
+    /**
+     * Base rows being fetched for in memory aggregation, shared by the concurrent lookups needing them
+     */
+    private final ConcurrentMap<List<Object>, CompletableFuture<List<List>>> aggregationBases = new ConcurrentHashMap<>();
+
     @Override
     public DataSetProviderType getType() {
         return TYPE;
@@ -126,18 +170,9 @@ public class KieServerDataSetProvider extends AbstractKieServerService implement
             if (filter != null) {
 
                 for (ColumnFilter cFilter : filter.getColumnFilterList()) {
-                    if (cFilter instanceof CoreFunctionFilter) {
-
-                        CoreFunctionFilter coreFunctionFilter = (CoreFunctionFilter) cFilter;
-
-                        filterParams.add(new QueryParam(coreFunctionFilter.getColumnId(),
-                                                        coreFunctionFilter.getType().toString(),
-                                                        coreFunctionFilter.getParameters()));
-                    } else if (cFilter instanceof LogicalExprFilter) {
-                        LogicalExprFilter logicalExprFilter = (LogicalExprFilter) cFilter;
-                        filterParams.add(new QueryParam(logicalExprFilter.getColumnId(),
-                                                        logicalExprFilter.getLogicalOperator().toString(),
-                                                        logicalExprFilter.getLogicalTerms()));
+                    final QueryParam filterParam = toQueryParam(cFilter);
+                    if (filterParam != null) {
+                        filterParams.add(filterParam);
                     }
                 }
             }
@@ -158,6 +193,30 @@ public class KieServerDataSetProvider extends AbstractKieServerService implement
                            filterParams,
                            extraColumns);
 
+        if (isMaterialized(def,
+                            dataSetLookup,
+                            extraColumns)) {
+            final DataSet aggregated = lookupMaterializedDataSet((RemoteDataSetDef) def,
+                                                                 dataSetLookup,
+                                                                 queryClient,
+                                                                 extraColumns);
+            if (aggregated != null) {
+                return aggregated;
+            }
+        }
+
+        if (isAggregatedInMemory(def,
+                                 dataSetLookup,
+                                 extraColumns)) {
+            final DataSet aggregated = lookupAggregatedDataSet((RemoteDataSetDef) def,
+                                                               dataSetLookup,
+                                                               queryClient,
+                                                               extraColumns);
+            if (aggregated != null) {
+                return aggregated;
+            }
+        }
+
         if (!filterParams.isEmpty()) {
             filterSpec.setParameters(filterParams.toArray(new QueryParam[filterParams.size()]));
         }
@@ -177,16 +236,439 @@ public class KieServerDataSetProvider extends AbstractKieServerService implement
             filterSpec.setOrderBy(orderBy.toString());
             filterSpec.setAscending(sortOrder.equals(SortOrder.ASCENDING));
         }
-        final List<List> instances = performQuery((RemoteDataSetDef) def,
+        final boolean processVariablesDataSet = isProcessVariablesDataSet(def);
+        final Supplier<Long> rowCount = countRows(def,
+                                                  processVariablesDataSet ? ((RemoteDataSetDef) def).getDbSQL() : dataSetLookup.getDataSetUUID(),
                                                   dataSetLookup,
                                                   queryClient,
+                                                  filterSpec,
+                                                  extraColumns);
+        // the first page tells whether there is anything to count, later pages are counted concurrently
+        final CompletableFuture<Long> concurrentRowCount = rowCount == null || dataSetLookup.getRowOffset() == 0 ? null :
+                CompletableFuture.supplyAsync(getCredentialsProvider().propagate(rowCount),
+                                              executorService);
+        ConsoleDataSetLookup pageLookup = dataSetLookup;
+        QueryFilterSpec pageSpec = filterSpec;
+        final QueryFilterSpec seekSpec = seekFilterSpec(dataSetLookup,
+                                                        filterSpec);
+        if (seekSpec != null) {
+            // rows preceding the page are excluded by the seek filter, the page is the first one matching it
+            pageLookup = (ConsoleDataSetLookup) dataSetLookup.cloneInstance();
+            pageLookup.setRowOffset(0);
+            pageSpec = seekSpec;
+        }
+        final DataSet dataSet;
+        if (processVariablesDataSet) {
+            dataSet = lookupProcessVariablesDataSet((RemoteDataSetDef) def,
+                                                    pageLookup,
+                                                    queryClient,
+                                                    pageSpec,
+                                                    extraColumns);
+        } else {
+            final List<List> instances = performQuery((RemoteDataSetDef) def,
+                                                      pageLookup,
+                                                      queryClient,
+                                                      pageSpec);
+            LOGGER.debug("Query client returned {} row(s)",
+                         instances.size());
+
+            dataSet = buildDataSet(def,
+                                   instances,
+                                   extraColumns);
+        }
+        applyRowCount(dataSet,
+                      dataSetLookup,
+                      rowCount,
+                      concurrentRowCount);
+        return dataSet;
+    }
+
+    /**
+     * Grouped lookups of data sets registered in {@link MaterializedAggregates} are computed out of their aggregates.
+     */
+    protected boolean isMaterialized(final DataSetDef def,
+                                     final ConsoleDataSetLookup dataSetLookup,
+                                     final List<DataColumn> extraColumns) {
+        return def instanceof RemoteDataSetDef
+                && materializedAggregates.isMaterialized(dataSetLookup.getDataSetUUID())
+                && !dataSetLookup.testMode()
+                && !extraColumns.isEmpty();
+    }
+
+    /**
+     * @return the lookup result or null if it can't be computed out of the aggregates, e.g. when grouped by date
+     */
+    protected DataSet lookupMaterializedDataSet(final RemoteDataSetDef def,
+                                                final ConsoleDataSetLookup dataSetLookup,
+                                                final QueryServicesClient queryClient,
+                                                final List<DataColumn> extraColumns) {
+        try {
+            return materializedAggregates.lookup(dataSetLookup.getServerTemplateId(),
+                                                 def,
+                                                 dataSetLookup,
+                                                 extraColumns,
+                                                 (filterSpec, numberOfRows) -> buildDataSet(def,
+                                                                                            queryClient.query(dataSetLookup.getDataSetUUID(),
+                                                                                                              QueryServicesClient.QUERY_MAP_RAW,
+                                                                                                              filterSpec,
+                                                                                                              0,
+                                                                                                              numberOfRows,
+                                                                                                              List.class),
+                                                                                            null));
+        } catch (Exception e) {
+            LOGGER.warn("Unable to refresh aggregates of data set {} due to {}",
+                        dataSetLookup.getDataSetUUID(),
+                        e.getMessage());
+            LOGGER.debug("Aggregates refresh failed",
+                         e);
+            return null;
+        }
+    }
+
+    /**
+     * Grouped lookups of data sets registered in {@link DataSetAggregator} are computed in memory, see
+     * {@link #lookupAggregatedDataSet}.
+     */
+    protected boolean isAggregatedInMemory(final DataSetDef def,
+                                           final ConsoleDataSetLookup dataSetLookup,
+                                           final List<DataColumn> extraColumns) {
+        return def instanceof RemoteDataSetDef
+                && dataSetAggregator.getMaxRows(dataSetLookup.getServerTemplateId(),
+                                                def.getUUID()) != null
+                && dataSetCache.isEnabled()
+                && !dataSetLookup.testMode()
+                && !extraColumns.isEmpty()
+                && !isProcessVariablesDataSet(def);
+    }
+
+    /**
+     * Computes a grouped lookup out of all the rows of the data set, up to its registered max rows. These rows are
+     * fetched once and cached for all the lookups (e.g. dashboard displayers) of the data set, whatever their filters
+     * and group functions.
+     * @return the lookup result or null if it has to be computed by KIE Server, as the data set is larger than its max
+     * rows or the lookup isn't supported by {@link DataSetAggregator}
+     */
+    protected DataSet lookupAggregatedDataSet(final RemoteDataSetDef def,
+                                              final ConsoleDataSetLookup dataSetLookup,
+                                              final QueryServicesClient queryClient,
+                                              final List<DataColumn> extraColumns) throws Exception {
+        final Integer maxRows = dataSetAggregator.getMaxRows(dataSetLookup.getServerTemplateId(),
+                                                             def.getUUID());
+        if (maxRows == null) {
+            return null;
+        }
+        final List<List> rows = lookupAggregationBase(def,
+                                                      dataSetLookup,
+                                                      queryClient,
+                                                      maxRows);
+        if (rows == null || rows.size() > maxRows) {
+            // not fetched again, for any user, until the size check period elapses
+            LOGGER.debug("Data set {} exceeds {} row(s), aggregating on KIE Server",
+                         dataSetLookup.getDataSetUUID(),
+                         maxRows);
+            dataSetAggregator.setTooLarge(dataSetLookup.getServerTemplateId(),
+                                          def.getUUID());
+            return null;
+        }
+        return dataSetAggregator.aggregate(buildDataSet(def,
+                                                        rows,
+                                                        null),
+                                           dataSetLookup,
+                                           extraColumns);
+    }
+
+    protected List<List> lookupAggregationBase(final RemoteDataSetDef def,
+                                               final ConsoleDataSetLookup dataSetLookup,
+                                               final QueryServicesClient queryClient,
+                                               final int maxRows) {
+        // one more row than kept tells whether the data set is too large
+        final int numberOfRows = maxRows + 1;
+        final KieServerDataSetCache.CacheKey key = KieServerDataSetCache.key(dataSetLookup.getDataSetUUID(),
+                                                                             getCurrentUser(),
+                                                                             new QueryFilterSpec(),
+                                                                             0,
+                                                                             numberOfRows);
+        final List<Object> fetchKey = Arrays.asList(dataSetLookup.getServerTemplateId(),
+                                                    key);
+        final CompletableFuture<List<List>> fetch = new CompletableFuture<>();
+        final CompletableFuture<List<List>> pending = aggregationBases.putIfAbsent(fetchKey,
+                                                                                   fetch);
+        if (pending != null) {
+            return pending.join();
+        }
+        try {
+            fetch.complete(dataSetCache.lookup(dataSetLookup.getServerTemplateId(),
+                                               key,
+                                               () -> queryClient.query(dataSetLookup.getDataSetUUID(),
+                                                                       QueryServicesClient.QUERY_MAP_RAW,
+                                                                       new QueryFilterSpec(),
+                                                                       0,
+                                                                       numberOfRows,
+                                                                       List.class)));
+        } catch (RuntimeException e) {
+            fetch.completeExceptionally(e);
+            throw e;
+        } finally {
+            aggregationBases.remove(fetchKey,
+                                    fetch);
+        }
+        return fetch.join();
+    }
+
+    /**
+     * Builds the filter of a keyset paged lookup: rows following the last one of the previous page in the order of the
+     * sort column, ties being ordered by id. As sorting direction applies to all columns, id is compared the same way.
+     * @return the filter to query the page with or null if the lookup can't be keyset paged
+     */
+    protected QueryFilterSpec seekFilterSpec(final ConsoleDataSetLookup dataSetLookup,
+                                             final QueryFilterSpec filterSpec) {
+        if (!dataSetLookup.isSeeking() || dataSetLookup.testMode() || dataSetLookup.getNumberOfRows() <= 0
+                || dataSetLookup.getLastGroupOp() != null) {
+            return null;
+        }
+        final DataSetSort sort = dataSetLookup.getFirstSortOp();
+        if (sort == null || sort.getColumnSortList().size() != 1
+                || !dataSetLookup.getSeekColumnId().equals(sort.getColumnSortList().get(0).getColumnId())) {
+            return null;
+        }
+        final boolean descending = SortOrder.DESCENDING.equals(sort.getColumnSortList().get(0).getOrder());
+        final String columnId = dataSetLookup.getSeekColumnId();
+        final String idColumnId = dataSetLookup.getSeekIdColumnId();
+
+        // built as the lookup filters are, so that KIE Server reads the nested terms the same way
+        final ColumnFilter afterId = seekAfter(idColumnId,
+                                               seekValue(dataSetLookup.getSeekId()),
+                                               descending);
+        final ColumnFilter seekFilter;
+        if (columnId.equals(idColumnId)) {
+            seekFilter = afterId;
+        } else {
+            final Comparable seekValue = seekValue(dataSetLookup.getSeekValue());
+            seekFilter = FilterFactory.OR(columnId,
+                                          seekAfter(columnId,
+                                                    seekValue,
+                                                    descending),
+                                          FilterFactory.AND(columnId,
+                                                            new CoreFunctionFilter(columnId,
+                                                                                   CoreFunctionType.EQUALS_TO,
+                                                                                   Collections.singletonList(seekValue)),
+                                                            afterId));
+        }
+
+        final List<QueryParam> seekParams = new ArrayList<>();
+        if (filterSpec.getParameters() != null) {
+            seekParams.addAll(Arrays.asList(filterSpec.getParameters()));
+        }
+        seekParams.add(toQueryParam(seekFilter));
+        final QueryFilterSpec seekSpec = new QueryFilterSpec();
+        seekSpec.setParameters(seekParams.toArray(new QueryParam[seekParams.size()]));
+        seekSpec.setOrderBy(columnId.equals(idColumnId) ? columnId : columnId + "," + idColumnId);
+        seekSpec.setAscending(filterSpec.isAscending());
+        return seekSpec;
+    }
+
+    // unlike the filter factory, keeps integral values as such
+    private static ColumnFilter seekAfter(final String columnId,
+                                          final Comparable value,
+                                          final boolean descending) {
+        return new CoreFunctionFilter(columnId,
+                                      descending ? CoreFunctionType.LOWER_THAN : CoreFunctionType.GREATER_THAN,
+                                      Collections.singletonList(value));
+    }
+
+    /**
+     * Maps a lookup filter to the query parameter KIE Server builds the same filter from, logical expressions keep their
+     * terms as column filters.
+     * @return null if the filter is not supported
+     */
+    protected QueryParam toQueryParam(final ColumnFilter columnFilter) {
+        if (columnFilter instanceof CoreFunctionFilter) {
+            final CoreFunctionFilter coreFunctionFilter = (CoreFunctionFilter) columnFilter;
+            return new QueryParam(coreFunctionFilter.getColumnId(),
+                                  coreFunctionFilter.getType().toString(),
+                                  coreFunctionFilter.getParameters());
+        }
+        if (columnFilter instanceof LogicalExprFilter) {
+            final LogicalExprFilter logicalExprFilter = (LogicalExprFilter) columnFilter;
+            return new QueryParam(logicalExprFilter.getColumnId(),
+                                  logicalExprFilter.getLogicalOperator().toString(),
+                                  logicalExprFilter.getLogicalTerms());
+        }
+        return null;
+    }
+
+    /**
+     * Numbers are sent by clients as decimals, ids and other integral values are compared as such.
+     */
+    protected Comparable seekValue(final Comparable value) {
+        if (value instanceof Number && !(value instanceof Long)
+                && ((Number) value).doubleValue() == Math.rint(((Number) value).doubleValue())) {
+            return ((Number) value).longValue();
+        }
+        return value;
+    }
+
+    /**
+     * Counts the rows matching the lookup filters. Counts are cached per filter, see
+     * {@link KieServerDataSetCache#COUNT_STALENESS}. Only paged, not grouped lookups are counted.
+     * @return supplier of the total row count, null if not counted
+     */
+    protected Supplier<Long> countRows(final DataSetDef def,
+                                       final String queryName,
+                                       final ConsoleDataSetLookup dataSetLookup,
+                                       final QueryServicesClient queryClient,
+                                       final QueryFilterSpec filterSpec,
+                                       final List<DataColumn> extraColumns) {
+        if (!countEnabled || dataSetLookup.testMode() || dataSetLookup.getNumberOfRows() <= 0 || !extraColumns.isEmpty()
+                || def.getColumns() == null || def.getColumns().isEmpty()) {
+            return null;
+        }
+
+        final List<QueryParam> countParams = new ArrayList<>();
+        if (filterSpec.getParameters() != null) {
+            countParams.addAll(Arrays.asList(filterSpec.getParameters()));
+        }
+        countParams.add(new QueryParam(def.getColumns().get(0).getId(),
+                                       "COUNT",
+                                       Collections.singletonList(COUNT_COLUMN)));
+        final QueryFilterSpec countSpec = new QueryFilterSpec();
+        countSpec.setParameters(countParams.toArray(new QueryParam[countParams.size()]));
+
+        final KieServerDataSetCache.CacheKey key = KieServerDataSetCache.countKey(queryName,
+                                                                                  getCurrentUser(),
+                                                                                  filterSpec);
+        return () -> dataSetCache.lookupCount(dataSetLookup.getServerTemplateId(),
+                                              key,
+                                              () -> {
+                                                  final List<List> rows = queryClient.query(queryName,
+                                                                                            QueryServicesClient.QUERY_MAP_RAW,
+                                                                                            countSpec,
+                                                                                            0,
+                                                                                            1,
+                                                                                            List.class);
+                                                  if (rows == null || rows.isEmpty() || rows.get(0).isEmpty()) {
+                                                      return null;
+                                                  }
+                                                  return ((Number) rows.get(0).get(0)).longValue();
+                                              });
+    }
+
+    /**
+     * A page smaller than requested is the last one, and gives the exact total. Otherwise the counted total (if any)
+     * is reported, it might be stale but never less than the rows seen so far.
+     */
+    protected void applyRowCount(final DataSet dataSet,
+                                 final ConsoleDataSetLookup dataSetLookup,
+                                 final Supplier<Long> rowCount,
+                                 final CompletableFuture<Long> concurrentRowCount) {
+        if (rowCount == null) {
+            return;
+        }
+        final int pageEnd = dataSetLookup.getRowOffset() + dataSet.getRowCount();
+        if (dataSet.getRowCount() < dataSetLookup.getNumberOfRows()) {
+            dataSet.setRowCountNonTrimmed(pageEnd);
+            return;
+        }
+        try {
+            final Long total = concurrentRowCount == null ? rowCount.get() : concurrentRowCount.join();
+            if (total != null) {
+                dataSet.setRowCountNonTrimmed((int) Math.min(Integer.MAX_VALUE,
+                                                             Math.max(total,
+                                                                      pageEnd)));
+            }
+        } catch (Exception e) {
+            LOGGER.debug("Unable to count rows of data set {} due to {}",
+                         dataSetLookup.getDataSetUUID(),
+                         e.getMessage());
+        }
+    }
+
+    protected boolean isProcessVariablesDataSet(DataSetDef def) {
+        return def instanceof RemoteDataSetDef
+                && RemoteDataSetDef.PROCESS_VARIABLES_QUERY_TARGET.equals(((RemoteDataSetDef) def).getQueryTarget());
+    }
+
+    /**
+     * Pages the process instance query named by the definition SQL and appends one column per process variable
+     * holding its latest value. Variables are only fetched for the instances of the requested page.
+     */
+    protected DataSet lookupProcessVariablesDataSet(RemoteDataSetDef def,
+                                                    ConsoleDataSetLookup dataSetLookup,
+                                                    QueryServicesClient queryClient,
+                                                    QueryFilterSpec filterSpec,
+                                                    List<DataColumn> extraColumns) throws Exception {
+        final ConsoleDataSetLookup instancesLookup = (ConsoleDataSetLookup) ConsoleDataSetLookup.fromInstance(dataSetLookup,
+                                                                                                                dataSetLookup.getServerTemplateId());
+        instancesLookup.setDataSetUUID(def.getDbSQL());
+        final List<List> instances = performQuery(def,
+                                                  instancesLookup,
+                                                  queryClient,
                                                   filterSpec);
-        LOGGER.debug("Query client returned {} row(s)",
-                     instances.size());
+        final DataSet dataSet = buildDataSet(def,
+                                             instances,
+                                             extraColumns);
+
+        final DataColumn idColumn = dataSet.getColumnById(PROCESS_INSTANCE_ID_COLUMN);
+        if (idColumn == null || idColumn.getValues().isEmpty()) {
+            return dataSet;
+        }
+        final List<Object> ids = idColumn.getValues();
+        final Map<Object, Integer> rowsById = new HashMap<>();
+        for (int i = 0; i < ids.size(); i++) {
+            rowsById.put(toLong(ids.get(i)),
+                         i);
+        }
+
+        final QueryFilterSpec variablesSpec = new QueryFilterSpecBuilder()
+                .in(PROCESS_INSTANCE_ID_COLUMN,
+                    new ArrayList<>(rowsById.keySet()))
+                .get();
+        final List<List> variables = queryVariables(dataSetLookup.getServerTemplateId(),
+                                                    queryClient,
+                                                    variablesSpec);
+        LOGGER.debug("Query client returned {} variable(s) for {} process instance(s)",
+                     variables.size(),
+                     ids.size());
+
+        // row layout of the variables query: processInstanceId, variableId, value, ...
+        final Map<String, Object[]> columns = new TreeMap<>();
+        for (List row : variables) {
+            final Integer rowIndex = rowsById.get(toLong(row.get(0)));
+            if (rowIndex == null || row.get(1) == null) {
+                continue;
+            }
+            columns.computeIfAbsent(row.get(1).toString(),
+                                    name -> new Object[ids.size()])[rowIndex] = row.get(2);
+        }
+        for (Entry<String, Object[]> column : columns.entrySet()) {
+            final DataColumn variableColumn = new DataColumnImpl(RemoteDataSetDef.VARIABLE_COLUMN_PREFIX + column.getKey(),
+                                                                 ColumnType.LABEL);
+            variableColumn.setValues(new ArrayList<>(Arrays.asList(column.getValue())));
+            dataSet.addColumn(variableColumn);
+        }
+        return dataSet;
+    }
+
+    protected List<List> queryVariables(String serverTemplateId,
+                                        QueryServicesClient queryClient,
+                                        QueryFilterSpec filterSpec) {
+        final KieServerDataSetCache.CacheKey key = KieServerDataSetCache.key(PROCESS_INSTANCE_VARIABLES_QUERY,
+                                                                             getCurrentUser(),
+                                                                             filterSpec,
+                                                                             0,
+                                                                             -1);
+        return dataSetCache.lookup(serverTemplateId,
+                                   key,
+                                   () -> queryClient.query(PROCESS_INSTANCE_VARIABLES_QUERY,
+                                                           QueryServicesClient.QUERY_MAP_RAW,
+                                                           filterSpec,
+                                                           0,
+                                                           -1,
+                                                           List.class));
+    }
 
-        return buildDataSet(def,
-                            instances,
-                            extraColumns);
+    private static Object toLong(Object value) {
+        return value instanceof Number ? ((Number) value).longValue() : value;
     }
 
     protected ConsoleDataSetLookup adoptLookup(DataSetDef def,
@@ -225,21 +707,30 @@ public class KieServerDataSetProvider extends AbstractKieServerService implement
                     .expression(def.getDbSQL())
                     .build();
 
-            kieServerIntegration.broadcastToKieServers(((RemoteDataSetDef) def).getServerTemplateId(),
-                                                       (KieServicesClient client) -> {
-                                                           QueryServicesClient instanceQueryClient = client.getServicesClient(QueryServicesClient.class);
-                                                           QueryDefinition registered = instanceQueryClient.replaceQuery(queryDefinition);
-                                                           if (registered.getColumns() != null) {
-
-                                                               for (Entry<String, String> entry : registered.getColumns().entrySet()) {
-                                                                   if (def.getColumnById(entry.getKey()) == null) {
-                                                                       def.addColumn(entry.getKey(),
-                                                                                     ColumnType.valueOf(entry.getValue()));
-                                                                   }
-                                                               }
-                                                           }
-                                                           return registered;
-                                                       });
+            // definition under test might have changed, results cached for it are no longer valid
+            dataSetCache.invalidateDataSet(dataSetLookup.getDataSetUUID());
+
+            final List<CompletableFuture<Object>> registrations = kieServerIntegration.broadcastToKieServersAsync(def.getServerTemplateId(),
+                                                                                                                  (KieServicesClient client) -> {
+                                                                                                                      QueryServicesClient instanceQueryClient = client.getServicesClient(QueryServicesClient.class);
+                                                                                                                      QueryDefinition registered = instanceQueryClient.replaceQuery(queryDefinition);
+                                                                                                                      if (registered.getColumns() != null) {
+                                                                                                                          // instances respond concurrently, definition is not thread safe
+                                                                                                                          synchronized (def) {
+                                                                                                                              for (Entry<String, String> entry : registered.getColumns().entrySet()) {
+                                                                                                                                  if (def.getColumnById(entry.getKey()) == null) {
+                                                                                                                                      def.addColumn(entry.getKey(),
+                                                                                                                                                    ColumnType.valueOf(entry.getValue()));
+                                                                                                                                  }
+                                                                                                                              }
+                                                                                                                          }
+                                                                                                                      }
+                                                                                                                      return registered;
+                                                                                                                  });
+            // query must only be executed once all instances are aware of it, failed instances are already logged
+            CompletableFuture.allOf(registrations.toArray(new CompletableFuture[registrations.size()]))
+                    .exceptionally(e -> null)
+                    .join();
 
             try {
                 return queryClient.query(
@@ -254,7 +745,7 @@ public class KieServerDataSetProvider extends AbstractKieServerService implement
                 queryClient.unregisterQuery(dataSetLookup.getDataSetUUID());
                 throw new RuntimeException(e);
             }
-        } else {
+        } else if (dataSetLookup.getServerTemplateId() == null) {
             return queryClient.query(
                     dataSetLookup.getDataSetUUID(),
                     QueryServicesClient.QUERY_MAP_RAW,
@@ -263,6 +754,36 @@ public class KieServerDataSetProvider extends AbstractKieServerService implement
                     dataSetLookup.getNumberOfRows(),
                     List.class
             );
+        } else {
+            final KieServerDataSetCache.CacheKey key = KieServerDataSetCache.key(dataSetLookup.getDataSetUUID(),
+                                                                                 getCurrentUser(),
+                                                                                 filterSpec,
+                                                                                 dataSetLookup.getRowOffset(),
+                                                                                 dataSetLookup.getNumberOfRows());
+            return dataSetCache.lookup(dataSetLookup.getServerTemplateId(),
+                                       key,
+                                       () -> queryClient.query(
+                                               dataSetLookup.getDataSetUUID(),
+                                               QueryServicesClient.QUERY_MAP_RAW,
+                                               filterSpec,
+                                               dataSetLookup.getRowOffset() / dataSetLookup.getNumberOfRows(),
+                                               dataSetLookup.getNumberOfRows(),
+                                               List.class
+                                       ));
+        }
+    }
+
+    /**
+     * Results of some query targets depend on the identity used to reach KIE Server (e.g. potential owners),
+     * so cached results are never shared across users.
+     */
+    protected String getCurrentUser() {
+        try {
+            return identityProvider.getName();
+        } catch (Exception e) {
+            LOGGER.debug("Unable to resolve current user for data set lookup due to {}",
+                         e.getMessage());
+            return null;
         }
     }
 
@@ -21,10 +21,18 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.ServiceLoader;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.function.Function;
 
 import javax.annotation.PostConstruct;
@@ -38,6 +46,7 @@ import org.jbpm.workbench.ks.integration.event.ServerInstanceRegistered;
 import org.kie.api.KieServices;
 import org.kie.api.runtime.KieContainer;
 import org.kie.server.api.KieServerConstants;
+import org.kie.server.api.model.ReleaseId;
 import org.kie.server.client.CredentialsProvider;
 import org.kie.server.client.KieServicesClient;
 import org.kie.server.client.balancer.LoadBalancer;
@@ -59,7 +68,7 @@ import org.slf4j.LoggerFactory;
 import org.uberfire.commons.services.cdi.Startup;
 
 import static java.util.Collections.emptyMap;
-import static org.jbpm.workbench.ks.utils.KieServerUtils.createKieServicesClient;
+import static java.util.stream.Collectors.toList;
 import static org.jbpm.workbench.ks.utils.KieServerUtils.getAdminCredentialsProvider;
 import static org.jbpm.workbench.ks.utils.KieServerUtils.getCredentialsProvider;
 
@@ -71,17 +80,31 @@ public class KieServerIntegration {
 
     protected static final String SERVER_TEMPLATE_KEY = "_SERVER_TEMPLATE_MAIN_CLIENT_";
 
+    public static final String BROADCAST_THREADS = "org.jbpm.wb.kieserver.broadcast.threads";
+    public static final String BROADCAST_TIMEOUT = "org.jbpm.wb.kieserver.broadcast.timeout";
+
     private KieServices kieServices;
 
     private ConcurrentMap<String, Map<String, KieServicesClient>> serverTemplatesClients = new ConcurrentHashMap<String, Map<String, KieServicesClient>>();
     private ConcurrentMap<String, KieServicesClient> adminClients = new ConcurrentHashMap<String, KieServicesClient>();
     private ConcurrentMap<String, ServerInstanceKey> serverInstancesById = new ConcurrentHashMap<String, ServerInstanceKey>();
+    private ConcurrentMap<String, Map<String, ReleaseId>> containerReleaseIds = new ConcurrentHashMap<String, Map<String, ReleaseId>>();
 
     private List<KieServicesClientProvider> clientProviders = new ArrayList<>();
     private List<KieServicesClientProvider> allClientProviders = new ArrayList<>();
     
     private ExecutorService executorService = Executors.newSingleThreadExecutor();
 
+    private ExecutorService broadcastExecutorService = Executors.newFixedThreadPool(Integer.getInteger(BROADCAST_THREADS,
+                                                                                                       8));
+
+    private ScheduledExecutorService broadcastTimeoutService = Executors.newSingleThreadScheduledExecutor();
+
+    private long broadcastTimeout = Long.getLong(BROADCAST_TIMEOUT,
+                                                 60000L);
+
+    private KieServerTransport transport = new KieServerTransport();
+
     @Inject
     private SpecManagementService specManagementService;
 
@@ -117,6 +140,8 @@ public class KieServerIntegration {
     @PreDestroy
     public void stop(){
         executorService.shutdownNow();
+        broadcastExecutorService.shutdownNow();
+        broadcastTimeoutService.shutdownNow();
     }
 
     protected void setKieServices(final KieServices kieServices) {
@@ -142,6 +167,12 @@ public class KieServerIntegration {
          return client;
     }
 
+    public ReleaseId getContainerReleaseId(String serverTemplateId,
+                                           String containerId) {
+        return containerReleaseIds.getOrDefault(serverTemplateId,
+                                                emptyMap()).get(containerId);
+    }
+
     public KieServicesClient getAdminServerClient(String serverTemplateId,
                                                   String serverInstanceId) {
         try {
@@ -204,6 +235,10 @@ public class KieServerIntegration {
         // remove admin client
         adminClients.remove(serverTemplateDeleted.getServerTemplateId());
 
+        containerReleaseIds.remove(serverTemplateDeleted.getServerTemplateId());
+
+        transport.removeRoute(serverTemplateDeleted.getServerTemplateId());
+
         removeServerInstancesFromIndex(serverTemplateDeleted.getServerTemplateId());
     }
 
@@ -273,27 +308,69 @@ public class KieServerIntegration {
                                               Function<KieServicesClient, Object> operation) {
         List<Object> results = new ArrayList<>();
 
+        for (CompletableFuture<Object> result : broadcastToKieServersAsync(serverTemplateId,
+                                                                           operation)) {
+            try {
+                results.add(result.join());
+            } catch (CompletionException | CancellationException e) {
+                // already logged by the instance operation itself
+            }
+        }
+
+        return results;
+    }
+
+    /**
+     * Sends given operation to all server instances of the server template in parallel, each one bounded by
+     * the broadcast timeout. Returned futures complete independently as soon as given instance responds, fails
+     * or times out.
+     */
+    public List<CompletableFuture<Object>> broadcastToKieServersAsync(String serverTemplateId,
+                                                                      Function<KieServicesClient, Object> operation) {
         ServerTemplate serverTemplate = specManagementService.getServerTemplate(serverTemplateId);
 
         if (serverTemplate.getServerInstanceKeys() == null || serverTemplate.getServerInstanceKeys().isEmpty()) {
 
-            return results;
+            return new ArrayList<>();
         }
 
-        for (ServerInstanceKey instanceUrl : serverTemplate.getServerInstanceKeys()) {
+        return serverTemplate.getServerInstanceKeys()
+                .stream()
+                .map(instanceUrl -> broadcastToKieServer(instanceUrl,
+                                                         operation))
+                .collect(toList());
+    }
 
+    protected CompletableFuture<Object> broadcastToKieServer(ServerInstanceKey instanceUrl,
+                                                             Function<KieServicesClient, Object> operation) {
+        final long start = System.currentTimeMillis();
+        final CompletableFuture<Object> result = new CompletableFuture<>();
+        final Future<?> task = broadcastExecutorService.submit(() -> {
             try {
-                KieServicesClient client = getClient(instanceUrl.getUrl());
+                result.complete(operation.apply(getClient(instanceUrl.getUrl())));
+            } catch (Throwable e) {
+                result.completeExceptionally(e);
+            }
+        });
 
-                Object result = operation.apply(client);
-                results.add(result);
-                logger.debug("KIE Server at {} returned result {} for broadcast operation {}", instanceUrl, result, operation);
-            } catch (Exception e) {
+        // a timed out operation doesn't hold a broadcast thread any longer, or isn't started at all if still queued
+        final Runnable onTimeout = () -> {
+            if (result.completeExceptionally(new TimeoutException("Broadcast to " + instanceUrl.getUrl() + " timed out after " + broadcastTimeout + " ms"))) {
+                task.cancel(true);
+            }
+        };
+        final ScheduledFuture<?> timeout = broadcastTimeoutService.schedule(onTimeout,
+                                                                            broadcastTimeout,
+                                                                            TimeUnit.MILLISECONDS);
+
+        return result.whenComplete((value, e) -> {
+            timeout.cancel(false);
+            if (e == null) {
+                logger.debug("KIE Server at {} returned result {} for broadcast operation {} in {} ms", instanceUrl, value, operation, System.currentTimeMillis() - start);
+            } else {
                 logger.debug("Unable to send breadcast to {} due to {}", instanceUrl, e.getMessage(), e);
             }
-        }
-
-        return results;
+        });
     }
 
     protected KieServicesClient getClient(String url) {
@@ -330,8 +407,13 @@ public class KieServerIntegration {
             serverTemplatesClients.get(serverTemplate.getId()).put(SERVER_TEMPLATE_KEY, kieServicesClient);
         }
 
+        final Map<String, ReleaseId> releaseIds = new ConcurrentHashMap<>();
         if (serverTemplate.getContainersSpec() != null) {
             for (ContainerSpec containerSpec : serverTemplate.getContainersSpec()) {
+                if (containerSpec.getReleasedId() != null) {
+                    releaseIds.put(containerSpec.getId(),
+                                   containerSpec.getReleasedId());
+                }
                 try {
                     if (serverTemplatesClients.get(serverTemplate.getId()).containsKey(containerSpec.getId())) {
                         logger.debug("KieServerClient for {} is already created", containerSpec.getId());
@@ -354,6 +436,8 @@ public class KieServerIntegration {
                 }
             }
         }
+        containerReleaseIds.put(serverTemplate.getId(),
+                                releaseIds);
         // lastly create admin client
         KieServicesClient adminKieServicesClient = createClientForTemplate(serverTemplate,
                                                                            null,
@@ -392,10 +476,11 @@ public class KieServerIntegration {
                 mappedCapabilities.add(KieServerConstants.CAPABILITY_BRP);
             }
 
-            final KieServicesClient kieServicesClient = createKieServicesClient(endpoints.toString(),
-                                                                                classLoader,
-                                                                                credentialsProvider,
-                                                                                mappedCapabilities.toArray(new String[mappedCapabilities.size()]));
+            final KieServicesClient kieServicesClient = transport.createClient(serverTemplate.getId(),
+                                                                               endpoints.toString(),
+                                                                               classLoader,
+                                                                               credentialsProvider,
+                                                                               mappedCapabilities.toArray(new String[mappedCapabilities.size()]));
 
             logger.debug("KieServerClient created successfully for server template {}", serverTemplate.getId());
 
@@ -411,6 +496,10 @@ public class KieServerIntegration {
         }
     }
 
+    public KieServerTransport getTransport() {
+        return transport;
+    }
+
     protected Map<String, Map<String, KieServicesClient>> getServerTemplatesClients() {
         return serverTemplatesClients;
     }
@@ -423,4 +512,8 @@ public class KieServerIntegration {
         this.allClientProviders = providers;
     }
 
+    protected void setBroadcastTimeout(long broadcastTimeout) {
+        this.broadcastTimeout = broadcastTimeout;
+    }
+
 }
@@ -0,0 +1,342 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jbpm.workbench.ks.integration;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.kie.server.api.exception.KieServicesException;
+import org.kie.server.client.CredentialsProvider;
+import org.kie.server.client.KieServicesClient;
+import org.kie.server.client.KieServicesConfiguration;
+import org.kie.server.client.KieServicesFactory;
+import org.kie.server.client.impl.KieServicesClientImpl;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static org.jbpm.workbench.ks.utils.KieServerUtils.configure;
+
+/**
+ * HTTP transport shared by the KIE Server clients created by {@link KieServerIntegration}. The REST clients open JDK
+ * connections, which the JDK keeps alive and pools per host and port. On top of that pool, the number of requests in
+ * flight to the servers of a template is bounded, and the time spent waiting for a free connection is measured.
+ * Connections opened outside of the clients, to stream content, go through the same bound with
+ * {@link #openConnection(String, String)}.
+ * <p>
+ * The JDK pool itself is JVM-wide startup configuration, read once by the JDK: its size and keep-alive are set with the
+ * standard http.maxConnections and http.keepAlive system properties of the application server.
+ */
+public class KieServerTransport {
+
+    public static final String MAX_CONNECTIONS = "org.jbpm.wb.kieserver.http.maxConnections";
+    public static final String TIMEOUT = "org.jbpm.wb.kieserver.http.timeout";
+    public static final String WAIT_TIMEOUT = "org.jbpm.wb.kieserver.http.waitTimeout";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(KieServerTransport.class);
+
+    private final int maxConnections;
+    private final long timeout;
+    private final long waitTimeout;
+
+    private final Map<String, Route> routes = new ConcurrentHashMap<>();
+
+    public KieServerTransport() {
+        this(Integer.getInteger(MAX_CONNECTIONS,
+                                50),
+             Long.getLong(TIMEOUT,
+                          60000L),
+             Long.getLong(WAIT_TIMEOUT,
+                          30000L));
+    }
+
+    /**
+     * @param maxConnections maximum number of requests in flight to the servers of a template
+     * @param timeout connect and read timeout of every request, in milliseconds
+     * @param waitTimeout maximum time a request waits for a free connection, in milliseconds
+     */
+    public KieServerTransport(final int maxConnections,
+                              final long timeout,
+                              final long waitTimeout) {
+        this.maxConnections = maxConnections;
+        this.timeout = timeout;
+        this.waitTimeout = waitTimeout;
+    }
+
+    public KieServicesClient createClient(final String serverTemplateId,
+                                          final String endpoints,
+                                          final ClassLoader classLoader,
+                                          final CredentialsProvider credentialsProvider,
+                                          final String... capabilities) {
+        final KieServicesConfiguration configuration = KieServicesFactory.newRestConfiguration(endpoints,
+                                                                                               credentialsProvider);
+        configure(endpoints,
+                  configuration,
+                  capabilities);
+        configuration.setTimeout(timeout);
+
+        final Route route = routes.computeIfAbsent(serverTemplateId,
+                                                   Route::new);
+        if (classLoader == null) {
+            return new RouteClient(configuration,
+                                   route);
+        }
+        return new RouteClient(configuration,
+                               classLoader,
+                               route);
+    }
+
+    /**
+     * Opens a connection to a server of the given template for requests made outside of the KIE Server clients, e.g.
+     * to stream content. The connection has the timeout of the clients and counts as one of the requests in flight to
+     * the template until it is closed.
+     * @throws KieServicesException when no connection is available within the wait timeout
+     */
+    public RouteConnection openConnection(final String serverTemplateId,
+                                          final String url) throws IOException {
+        final Route route = routes.computeIfAbsent(serverTemplateId,
+                                                   Route::new);
+        route.acquire();
+        try {
+            final HttpURLConnection connection = (HttpURLConnection) new URL(url).openConnection();
+            connection.setConnectTimeout((int) timeout);
+            connection.setReadTimeout((int) timeout);
+            return new RouteConnection(connection,
+                                       route);
+        } catch (IOException | RuntimeException e) {
+            route.release();
+            throw e;
+        }
+    }
+
+    /**
+     * @return metrics of the connections to the servers of the given template, null if no client has been created
+     */
+    public Route getRoute(final String serverTemplateId) {
+        return routes.get(serverTemplateId);
+    }
+
+    public void removeRoute(final String serverTemplateId) {
+        routes.remove(serverTemplateId);
+    }
+
+    /**
+     * Connections to the servers of a template.
+     */
+    public class Route {
+
+        private final String serverTemplateId;
+        private final Semaphore connections;
+
+        private final AtomicLong requests = new AtomicLong();
+        private final AtomicLong saturations = new AtomicLong();
+        private final AtomicLong rejections = new AtomicLong();
+        private final AtomicLong waitNanos = new AtomicLong();
+        private final AtomicLong maxWaitNanos = new AtomicLong();
+
+        Route(final String serverTemplateId) {
+            this.serverTemplateId = serverTemplateId;
+            this.connections = new Semaphore(maxConnections,
+                                             true);
+        }
+
+        @SuppressWarnings("unchecked")
+        <T> T bound(final Class<T> type,
+                    final T client) {
+            if (client == null || !type.isInterface()) {
+                return client;
+            }
+            return (T) Proxy.newProxyInstance(type.getClassLoader(),
+                                              new Class<?>[]{type},
+                                              (proxy, method, args) -> invoke(client,
+                                                                              method,
+                                                                              args));
+        }
+
+        private Object invoke(final Object client,
+                              final Method method,
+                              final Object[] args) throws Throwable {
+            if (method.getDeclaringClass() != Object.class) {
+                acquire();
+            }
+            try {
+                return method.invoke(client,
+                                     args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            } finally {
+                if (method.getDeclaringClass() != Object.class) {
+                    release();
+                }
+            }
+        }
+
+        private void release() {
+            connections.release();
+        }
+
+        private void acquire() {
+            requests.incrementAndGet();
+            if (connections.tryAcquire()) {
+                return;
+            }
+
+            saturations.incrementAndGet();
+            final long start = System.nanoTime();
+            boolean acquired = false;
+            try {
+                acquired = connections.tryAcquire(waitTimeout,
+                                                  TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                final long waited = System.nanoTime() - start;
+                waitNanos.addAndGet(waited);
+                maxWaitNanos.accumulateAndGet(waited,
+                                              Math::max);
+            }
+            if (!acquired) {
+                rejections.incrementAndGet();
+                LOGGER.warn("All {} connections to server template {} busy for {} ms",
+                            maxConnections,
+                            serverTemplateId,
+                            waitTimeout);
+                throw new KieServicesException("No connection to '" + serverTemplateId + "' server(s) available within " + waitTimeout + " ms");
+            }
+        }
+
+        public String getServerTemplateId() {
+            return serverTemplateId;
+        }
+
+        public int getMaxConnections() {
+            return maxConnections;
+        }
+
+        public int getActiveConnections() {
+            return maxConnections - connections.availablePermits();
+        }
+
+        public int getQueueLength() {
+            return connections.getQueueLength();
+        }
+
+        public long getRequests() {
+            return requests.get();
+        }
+
+        /**
+         * @return number of requests which had to wait for a free connection
+         */
+        public long getSaturations() {
+            return saturations.get();
+        }
+
+        /**
+         * @return number of requests which did not get a free connection in time
+         */
+        public long getRejections() {
+            return rejections.get();
+        }
+
+        public long getTotalWaitMillis() {
+            return TimeUnit.NANOSECONDS.toMillis(waitNanos.get());
+        }
+
+        public long getMaxWaitMillis() {
+            return TimeUnit.NANOSECONDS.toMillis(maxWaitNanos.get());
+        }
+    }
+
+    /**
+     * Connection opened with {@link #openConnection(String, String)}, closing it gives its place in the route back. It
+     * does not disconnect the underlying connection, which the JDK might keep alive.
+     */
+    public static class RouteConnection implements Closeable {
+
+        private final HttpURLConnection connection;
+        private final Route route;
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        RouteConnection(final HttpURLConnection connection,
+                        final Route route) {
+            this.connection = connection;
+            this.route = route;
+        }
+
+        public HttpURLConnection getConnection() {
+            return connection;
+        }
+
+        @Override
+        public void close() {
+            if (closed.compareAndSet(false,
+                                     true)) {
+                route.release();
+            }
+        }
+    }
+
+    /**
+     * Client whose services clients go through the connections of a route.
+     */
+    private static class RouteClient extends KieServicesClientImpl {
+
+        private final Route route;
+        private final Map<Class<?>, Object> servicesClients = new ConcurrentHashMap<>();
+
+        RouteClient(final KieServicesConfiguration configuration,
+                    final Route route) {
+            super(configuration);
+            this.route = route;
+        }
+
+        RouteClient(final KieServicesConfiguration configuration,
+                    final ClassLoader classLoader,
+                    final Route route) {
+            super(configuration,
+                  classLoader);
+            this.route = route;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> T getServicesClient(final Class<T> serviceClient) {
+            final Object cached = servicesClients.get(serviceClient);
+            if (cached != null) {
+                return (T) cached;
+            }
+            final T bound = route.bound(serviceClient,
+                                        super.getServicesClient(serviceClient));
+            if (bound != null) {
+                servicesClients.put(serviceClient,
+                                    bound);
+            }
+            return bound;
+        }
+    }
+}
@@ -0,0 +1,693 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jbpm.workbench.ks.integration;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Observes;
+import javax.inject.Inject;
+
+import org.dashbuilder.dataset.ColumnType;
+import org.dashbuilder.dataset.DataColumn;
+import org.dashbuilder.dataset.DataSet;
+import org.dashbuilder.dataset.DataSetFactory;
+import org.dashbuilder.dataset.DataSetLookup;
+import org.dashbuilder.dataset.def.DataSetDef;
+import org.dashbuilder.dataset.events.DataSetDefModifiedEvent;
+import org.dashbuilder.dataset.events.DataSetDefRemovedEvent;
+import org.dashbuilder.dataset.filter.ColumnFilter;
+import org.dashbuilder.dataset.filter.CoreFunctionFilter;
+import org.dashbuilder.dataset.filter.CoreFunctionType;
+import org.dashbuilder.dataset.filter.LogicalExprFilter;
+import org.dashbuilder.dataset.group.ColumnGroup;
+import org.dashbuilder.dataset.group.GroupFunction;
+import org.dashbuilder.dataset.impl.DataColumnImpl;
+import org.kie.server.api.model.definition.QueryFilterSpec;
+import org.kie.server.api.model.definition.QueryParam;
+import org.kie.server.controller.api.model.events.ServerTemplateDeleted;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.uberfire.commons.concurrent.Managed;
+
+import static org.jbpm.workbench.ks.utils.KieServerUtils.getCredentialsProvider;
+import static org.kie.soup.commons.validation.PortablePreconditions.checkNotNull;
+
+/**
+ * Per server template store of remote data set rows aggregated by the dimensions of an {@link AggregateDefinition}.
+ * Grouped lookups are then computed out of these aggregates, whose number is bounded by the distinct dimension values,
+ * instead of out of all the rows of the data set.
+ * <p>
+ * Aggregates are built in the background, lookups being computed by KIE Server meanwhile, and then refreshed
+ * incrementally in the background, at most once per refresh period, lookups being computed out of the previous
+ * snapshot of the aggregates meanwhile. Rows which are closed (e.g. completed process instances) are aggregated once,
+ * when they follow the highest id seen (the high-water mark) or when they were open at the previous refresh. Rows may
+ * commit after rows with higher ids, so a safety window of ids below the high-water mark is scanned again, skipping the
+ * rows already aggregated. Open rows may change any of their dimensions without a trace in the data set (e.g. a task
+ * being claimed), so their aggregates are computed again by every refresh, only their ids being kept in between.
+ * Whatever the refreshes miss, e.g. rows committed later than the safety window or deleted closed rows, is fixed by
+ * rebuilding the aggregates once per rebuild period. As the aggregated rows are the same for all users, aggregates are
+ * shared by the users of a server template.
+ */
+@ApplicationScoped
+public class MaterializedAggregates {
+
+    public static final String REFRESH_PERIOD = "org.jbpm.wb.dataset.aggregates.refresh";
+    public static final String REBUILD_PERIOD = "org.jbpm.wb.dataset.aggregates.rebuild";
+    public static final String FETCH_SIZE = "org.jbpm.wb.dataset.aggregates.fetchSize";
+    public static final String SAFETY_WINDOW = "org.jbpm.wb.dataset.aggregates.safetyWindow";
+    public static final String ROWS_COLUMN = "_rows";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MaterializedAggregates.class);
+
+    private final long refreshPeriod;
+    private final long rebuildPeriod;
+    private final int fetchSize;
+    private final long safetyWindow;
+
+    private final ConcurrentMap<String, AggregateDefinition> definitions = new ConcurrentHashMap<>();
+
+    private final ConcurrentMap<List<String>, Aggregates> aggregatesByDataSet = new ConcurrentHashMap<>();
+
+    private final Set<List<String>> building = ConcurrentHashMap.newKeySet();
+
+    // incremented on rebuilds, so that builds started before are dropped
+    private final AtomicLong generation = new AtomicLong();
+
+    @Inject
+    @Managed
+    protected ExecutorService executorService;
+
+    public MaterializedAggregates() {
+        this(Long.getLong(REFRESH_PERIOD,
+                          30000L),
+             Long.getLong(REBUILD_PERIOD,
+                          3600000L),
+             Integer.getInteger(FETCH_SIZE,
+                                1000),
+             Long.getLong(SAFETY_WINDOW,
+                          100L));
+    }
+
+    /**
+     * @param refreshPeriod minimum time between refreshes in milliseconds, a negative value disables the store
+     * @param rebuildPeriod time between rebuilds in milliseconds
+     * @param fetchSize number of rows fetched per query
+     * @param safetyWindow number of ids below the high-water mark scanned again by refreshes
+     */
+    public MaterializedAggregates(final long refreshPeriod,
+                                  final long rebuildPeriod,
+                                  final int fetchSize,
+                                  final long safetyWindow) {
+        this.refreshPeriod = refreshPeriod;
+        this.rebuildPeriod = rebuildPeriod;
+        this.fetchSize = fetchSize;
+        this.safetyWindow = Math.max(0,
+                                     safetyWindow);
+    }
+
+    public void register(final AggregateDefinition definition) {
+        checkNotNull("definition",
+                     definition);
+        definitions.put(definition.getDataSetUUID(),
+                        definition);
+        rebuildDataSet(definition.getDataSetUUID());
+    }
+
+    public boolean isMaterialized(final String dataSetUUID) {
+        return refreshPeriod >= 0 && fetchSize > 0 && dataSetUUID != null && definitions.containsKey(dataSetUUID);
+    }
+
+    /**
+     * @param fetcher queries the rows of the data set
+     * @return the lookup result or null if it can't be computed out of the aggregates
+     */
+    public DataSet lookup(final String serverTemplateId,
+                          final DataSetDef def,
+                          final DataSetLookup lookup,
+                          final List<DataColumn> columns,
+                          final RowFetcher fetcher) throws Exception {
+        final AggregateDefinition definition = definitions.get(def.getUUID());
+        if (!isMaterialized(def.getUUID())) {
+            return null;
+        }
+        final List<String> key = Arrays.asList(serverTemplateId,
+                                               def.getUUID());
+        Aggregates aggregates = aggregatesByDataSet.get(key);
+        if (aggregates == null || currentTimeMillis() - aggregates.builtAt >= rebuildPeriod) {
+            build(key,
+                  def,
+                  definition,
+                  fetcher);
+            aggregates = aggregatesByDataSet.get(key);
+            if (aggregates == null) {
+                // computed by KIE Server until the aggregates are built
+                return null;
+            }
+        }
+        if (currentTimeMillis() - aggregates.refreshedAt >= refreshPeriod) {
+            refresh(key,
+                    definition,
+                    aggregates,
+                    fetcher);
+        }
+        return new AggregatesDataSetAggregator(definition).aggregate(aggregates.getSnapshot(),
+                                                                     lookup,
+                                                                     columns);
+    }
+
+    /**
+     * Builds the aggregates of a data set in the background, unless already being built, and replaces the current ones
+     * once done.
+     */
+    protected void build(final List<String> key,
+                         final DataSetDef def,
+                         final AggregateDefinition definition,
+                         final RowFetcher fetcher) {
+        if (!building.add(key)) {
+            return;
+        }
+        final long buildGeneration = generation.get();
+        // KIE Server clients read the user credentials from the calling thread
+        CompletableFuture.supplyAsync(getCredentialsProvider().propagate(() -> {
+                                          final Aggregates aggregates = new Aggregates(def,
+                                                                                       definition,
+                                                                                       safetyWindow);
+                                          aggregates.builtAt = aggregates.refreshedAt = currentTimeMillis();
+                                          try {
+                                              aggregates.refresh(fetcher,
+                                                                 fetchSize);
+                                          } catch (Exception e) {
+                                              throw new CompletionException(e);
+                                          }
+                                          return aggregates;
+                                      }),
+                                      executorService)
+                .whenComplete((aggregates, e) -> {
+                    if (e != null) {
+                        final Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+                        LOGGER.warn("Unable to build aggregates of data set {} due to {}",
+                                    definition.getDataSetUUID(),
+                                    cause.getMessage());
+                        LOGGER.debug("Aggregates build failed",
+                                     cause);
+                    } else if (generation.get() == buildGeneration) {
+                        aggregatesByDataSet.put(key,
+                                                aggregates);
+                    }
+                    building.remove(key);
+                });
+    }
+
+    /**
+     * Refreshes the aggregates of a data set in the background, unless already being refreshed. Their snapshot is
+     * replaced once done.
+     */
+    protected void refresh(final List<String> key,
+                           final AggregateDefinition definition,
+                           final Aggregates aggregates,
+                           final RowFetcher fetcher) {
+        if (!aggregates.refreshing.compareAndSet(false,
+                                                 true)) {
+            return;
+        }
+        final long refreshedAt = currentTimeMillis();
+        CompletableFuture.supplyAsync(getCredentialsProvider().propagate(() -> {
+                                          try {
+                                              aggregates.refresh(fetcher,
+                                                                 fetchSize);
+                                          } catch (Exception e) {
+                                              throw new CompletionException(e);
+                                          }
+                                          return aggregates;
+                                      }),
+                                      executorService)
+                .whenComplete((refreshed, e) -> {
+                    if (e != null) {
+                        final Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+                        LOGGER.warn("Unable to refresh aggregates of data set {} due to {}",
+                                    definition.getDataSetUUID(),
+                                    cause.getMessage());
+                        LOGGER.debug("Aggregates refresh failed",
+                                     cause);
+                        // partly refreshed, built again by the next lookup
+                        aggregatesByDataSet.remove(key,
+                                                   aggregates);
+                    } else {
+                        aggregates.refreshedAt = refreshedAt;
+                    }
+                    aggregates.refreshing.set(false);
+                });
+    }
+
+    /**
+     * Drops the aggregates of a server template, or of all of them if null, which are rebuilt by the next lookup.
+     */
+    public void rebuild(final String serverTemplateId) {
+        LOGGER.debug("Rebuilding aggregates of server template {}",
+                     serverTemplateId);
+        generation.incrementAndGet();
+        aggregatesByDataSet.keySet().removeIf(key -> serverTemplateId == null || key.get(0).equals(serverTemplateId));
+    }
+
+    public void rebuildDataSet(final String dataSetUUID) {
+        generation.incrementAndGet();
+        aggregatesByDataSet.keySet().removeIf(key -> key.get(1).equals(dataSetUUID));
+    }
+
+    void onServerTemplateDeleted(@Observes ServerTemplateDeleted event) {
+        checkNotNull("event",
+                     event);
+        rebuild(event.getServerTemplateId());
+    }
+
+    void onDataSetDefModifiedEvent(@Observes DataSetDefModifiedEvent event) {
+        checkNotNull("event",
+                     event);
+        if (event.getOldDataSetDef() != null) {
+            rebuildDataSet(event.getOldDataSetDef().getUUID());
+        }
+    }
+
+    void onDataSetDefRemovedEvent(@Observes DataSetDefRemovedEvent event) {
+        checkNotNull("event",
+                     event);
+        if (event.getDataSetDef() != null) {
+            rebuildDataSet(event.getDataSetDef().getUUID());
+        }
+    }
+
+    protected long currentTimeMillis() {
+        return System.currentTimeMillis();
+    }
+
+    protected static QueryParam toQueryParam(final ColumnFilter filter) {
+        if (filter instanceof LogicalExprFilter) {
+            final LogicalExprFilter logicalExprFilter = (LogicalExprFilter) filter;
+            return new QueryParam(logicalExprFilter.getColumnId(),
+                                  logicalExprFilter.getLogicalOperator().toString(),
+                                  logicalExprFilter.getLogicalTerms());
+        }
+        final CoreFunctionFilter coreFunctionFilter = (CoreFunctionFilter) filter;
+        return new QueryParam(coreFunctionFilter.getColumnId(),
+                              coreFunctionFilter.getType().toString(),
+                              coreFunctionFilter.getParameters());
+    }
+
+    @FunctionalInterface
+    public interface RowFetcher {
+
+        /**
+         * @return the first rows matching the filter, with all the columns of the data set
+         */
+        DataSet fetch(QueryFilterSpec filterSpec,
+                      int numberOfRows) throws Exception;
+    }
+
+    /**
+     * Contribution of a row to the aggregates: its group key, made of the dimension values followed by whether each
+     * measure is set, and its values, the row count followed by the measures.
+     */
+    protected static class Contribution {
+
+        private final List<Object> key;
+        private final double[] values;
+
+        Contribution(final List<Object> key,
+                     final double[] values) {
+            this.key = key;
+            this.values = values;
+        }
+    }
+
+    /**
+     * Aggregates of a data set, refreshed by a single thread at once. Lookups only read their snapshot.
+     */
+    protected static class Aggregates {
+
+        private final DataSetDef def;
+        private final AggregateDefinition definition;
+        private final DataSetAggregator filterEvaluator = new DataSetAggregator();
+
+        private final long safetyWindow;
+
+        // aggregates of the closed rows, which are final
+        private final Map<List<Object>, double[]> closed = new HashMap<>();
+        // ids of the rows which were open at the previous refresh
+        private Set<Long> openIds = new HashSet<>();
+        // ids of the safety window, which are already aggregated
+        private final Set<Long> recent = new HashSet<>();
+        private Long highWaterMark;
+        private final AtomicBoolean refreshing = new AtomicBoolean();
+        private volatile long builtAt;
+        private volatile long refreshedAt;
+        private volatile DataSet snapshot;
+
+        Aggregates(final DataSetDef def,
+                   final AggregateDefinition definition,
+                   final long safetyWindow) {
+            this.def = def;
+            this.definition = definition;
+            this.safetyWindow = safetyWindow;
+        }
+
+        void refresh(final RowFetcher fetcher,
+                     final int fetchSize) throws Exception {
+            final String idColumnId = definition.getIdColumnId();
+            final Map<List<Object>, double[]> open = new HashMap<>();
+            if (highWaterMark == null) {
+                final int rows = fetch(fetcher,
+                                       fetchSize,
+                                       Collections.emptyList(),
+                                       null,
+                                       false,
+                                       open);
+                snapshot = buildSnapshot(open);
+                LOGGER.debug("Built {} aggregate(s) of data set {} out of {} row(s)",
+                             snapshot.getRowCount(),
+                             definition.getDataSetUUID(),
+                             rows);
+                return;
+            }
+
+            final long mark = highWaterMark;
+            final Set<Long> previouslyOpen = openIds;
+            openIds = new HashSet<>();
+            // rows still open are aggregated again
+            int rows = fetch(fetcher,
+                             fetchSize,
+                             Arrays.asList(toQueryParam(definition.getOpenFilter()),
+                                           new QueryParam(idColumnId,
+                                                          CoreFunctionType.LOWER_OR_EQUALS_TO.toString(),
+                                                          Collections.singletonList(mark))),
+                             null,
+                             false,
+                             open);
+            previouslyOpen.removeAll(openIds);
+            // rows closed since the previous refresh, unless deleted meanwhile
+            final List<Long> closedIds = new ArrayList<>(previouslyOpen);
+            for (int i = 0; i < closedIds.size(); i += fetchSize) {
+                final QueryFilterSpec filterSpec = new QueryFilterSpec();
+                filterSpec.setParameters(new QueryParam[]{new QueryParam(idColumnId,
+                                                                         CoreFunctionType.IN.toString(),
+                                                                         closedIds.subList(i,
+                                                                                           Math.min(i + fetchSize,
+                                                                                                    closedIds.size())))});
+                rows += accept(fetcher.fetch(filterSpec,
+                                             fetchSize),
+                               false,
+                               open);
+            }
+            // rows added since the previous refresh, and rows of the safety window committed late
+            rows += fetch(fetcher,
+                          fetchSize,
+                          Collections.emptyList(),
+                          mark - safetyWindow,
+                          true,
+                          open);
+            snapshot = buildSnapshot(open);
+            LOGGER.debug("Refreshed {} aggregate(s) of data set {} out of {} row(s)",
+                         snapshot.getRowCount(),
+                         definition.getDataSetUUID(),
+                         rows);
+        }
+
+        /**
+         * Fetches the rows matching the parameters in pages, each page following the last id of the previous one.
+         * @param skipRecent whether rows of the safety window which are already aggregated are skipped
+         * @param open aggregates of the open rows
+         * @return number of rows fetched
+         */
+        int fetch(final RowFetcher fetcher,
+                  final int fetchSize,
+                  final List<QueryParam> params,
+                  final Long after,
+                  final boolean skipRecent,
+                  final Map<List<Object>, double[]> open) throws Exception {
+            int rows = 0;
+            Long lastId = after;
+            while (true) {
+                final List<QueryParam> pageParams = new ArrayList<>(params);
+                if (lastId != null) {
+                    pageParams.add(new QueryParam(definition.getIdColumnId(),
+                                                  CoreFunctionType.GREATER_THAN.toString(),
+                                                  Collections.singletonList(lastId)));
+                }
+                final QueryFilterSpec filterSpec = new QueryFilterSpec();
+                filterSpec.setParameters(pageParams.toArray(new QueryParam[pageParams.size()]));
+                filterSpec.setOrderBy(definition.getIdColumnId());
+                filterSpec.setAscending(true);
+                final DataSet page = fetcher.fetch(filterSpec,
+                                                   fetchSize);
+                rows += accept(page,
+                               skipRecent,
+                               open);
+                if (page.getRowCount() < fetchSize) {
+                    return rows;
+                }
+                lastId = toLong(page.getColumnById(definition.getIdColumnId()).getValues().get(page.getRowCount() - 1));
+            }
+        }
+
+        /**
+         * Aggregates the rows of the page, closed rows for good and open rows in the given aggregates.
+         */
+        int accept(final DataSet page,
+                   final boolean skipRecent,
+                   final Map<List<Object>, double[]> open) {
+            final DataColumn idColumn = page.getColumnById(definition.getIdColumnId());
+            for (int row = 0; row < page.getRowCount(); row++) {
+                final Long id = toLong(idColumn.getValues().get(row));
+                if (skipRecent && recent.contains(id)) {
+                    continue;
+                }
+                final Contribution contribution = contribution(page,
+                                                               row);
+                if (filterEvaluator.matches(page,
+                                            definition.getOpenFilter(),
+                                            row)) {
+                    add(open,
+                        contribution);
+                    openIds.add(id);
+                } else {
+                    add(closed,
+                        contribution);
+                }
+                recent.add(id);
+                if (highWaterMark == null || id > highWaterMark) {
+                    highWaterMark = id;
+                }
+            }
+            if (highWaterMark != null) {
+                final long windowStart = highWaterMark - safetyWindow;
+                recent.removeIf(id -> id <= windowStart);
+            }
+            return page.getRowCount();
+        }
+
+        Contribution contribution(final DataSet page,
+                                  final int row) {
+            final List<Object> key = new ArrayList<>(definition.getDimensionColumnIds().size() + definition.getMeasureColumnIds().size());
+            for (String columnId : definition.getDimensionColumnIds()) {
+                final Object value = page.getColumnById(columnId).getValues().get(row);
+                key.add(value);
+            }
+            final double[] values = new double[definition.getMeasureColumnIds().size() + 1];
+            values[0] = 1;
+            for (int i = 0; i < definition.getMeasureColumnIds().size(); i++) {
+                final Object value = page.getColumnById(definition.getMeasureColumnIds().get(i)).getValues().get(row);
+                key.add(value instanceof Number);
+                values[i + 1] = value instanceof Number ? ((Number) value).doubleValue() : 0;
+            }
+            return new Contribution(key,
+                                    values);
+        }
+
+        static void add(final Map<List<Object>, double[]> groups,
+                        final Contribution contribution) {
+            final double[] values = groups.computeIfAbsent(contribution.key,
+                                                           key -> new double[contribution.values.length]);
+            for (int i = 0; i < values.length; i++) {
+                values[i] += contribution.values[i];
+            }
+        }
+
+        /**
+         * @return the aggregates of the last build or refresh
+         */
+        DataSet getSnapshot() {
+            return snapshot;
+        }
+
+        /**
+         * @param open aggregates of the open rows
+         * @return a data set with a row per aggregate of the closed and open rows: its dimensions, the sums of its
+         * measures (null if not set) and its row count
+         */
+        DataSet buildSnapshot(final Map<List<Object>, double[]> open) {
+            final Map<List<Object>, double[]> groups = new HashMap<>(closed.size() + open.size());
+            closed.forEach((key, values) -> groups.put(key,
+                                                       values.clone()));
+            open.forEach((key, values) -> add(groups,
+                                              new Contribution(key,
+                                                               values)));
+            final DataSet dataSet = DataSetFactory.newEmptyDataSet();
+            dataSet.setUUID(def.getUUID());
+            dataSet.setDefinition(def);
+            for (String columnId : definition.getDimensionColumnIds()) {
+                dataSet.addColumn(new DataColumnImpl(columnId,
+                                                     def.getColumnById(columnId) == null ? ColumnType.LABEL : def.getColumnById(columnId).getColumnType()));
+            }
+            for (String columnId : definition.getMeasureColumnIds()) {
+                dataSet.addColumn(new DataColumnImpl(columnId,
+                                                     ColumnType.NUMBER));
+            }
+            dataSet.addColumn(new DataColumnImpl(ROWS_COLUMN,
+                                                 ColumnType.NUMBER));
+            final int dimensions = definition.getDimensionColumnIds().size();
+            for (Map.Entry<List<Object>, double[]> group : groups.entrySet()) {
+                for (int i = 0; i < dimensions; i++) {
+                    dataSet.getColumnByIndex(i).getValues().add(group.getKey().get(i));
+                }
+                for (int i = 0; i < definition.getMeasureColumnIds().size(); i++) {
+                    final boolean set = Boolean.TRUE.equals(group.getKey().get(dimensions + i));
+                    dataSet.getColumnByIndex(dimensions + i).getValues().add(set ? group.getValue()[i + 1] : null);
+                }
+                dataSet.getColumnById(ROWS_COLUMN).getValues().add(group.getValue()[0]);
+            }
+            return dataSet;
+        }
+
+        private static Long toLong(final Object value) {
+            return value instanceof Number ? ((Number) value).longValue() : Long.valueOf(value.toString());
+        }
+    }
+
+    /**
+     * Computes grouped lookups out of the aggregates, each row standing for the number of rows in its {@link #ROWS_COLUMN}.
+     * Only filters and groups on dimensions are supported, and neither minimums nor maximums which are not kept.
+     */
+    protected static class AggregatesDataSetAggregator extends DataSetAggregator {
+
+        private final AggregateDefinition definition;
+
+        AggregatesDataSetAggregator(final AggregateDefinition definition) {
+            this.definition = definition;
+        }
+
+        @Override
+        protected boolean isSupported(final DataSet base,
+                                      final ColumnGroup columnGroup) {
+            return columnGroup == null || (definition.getDimensionColumnIds().contains(columnGroup.getSourceId())
+                    && super.isSupported(base,
+                                         columnGroup));
+        }
+
+        @Override
+        protected boolean isSupported(final DataSet base,
+                                      final ColumnFilter filter) {
+            if (filter instanceof CoreFunctionFilter) {
+                final CoreFunctionType type = ((CoreFunctionFilter) filter).getType();
+                final String columnId = filter.getColumnId();
+                if (definition.getIdColumnId().equals(columnId) || definition.getMeasureColumnIds().contains(columnId)) {
+                    return type == CoreFunctionType.IS_NULL || type == CoreFunctionType.NOT_NULL;
+                }
+                if (!definition.getDimensionColumnIds().contains(columnId)) {
+                    return false;
+                }
+            }
+            return super.isSupported(base,
+                                     filter);
+        }
+
+        @Override
+        protected boolean matches(final DataSet base,
+                                  final ColumnFilter filter,
+                                  final int row) {
+            if (filter instanceof CoreFunctionFilter && definition.getIdColumnId().equals(filter.getColumnId())) {
+                // ids are never null
+                return ((CoreFunctionFilter) filter).getType() == CoreFunctionType.NOT_NULL;
+            }
+            return super.matches(base,
+                                 filter,
+                                 row);
+        }
+
+        @Override
+        protected boolean isSupported(final DataSet base,
+                                      final GroupFunction function) {
+            final String columnId = function.getSourceId();
+            final boolean dimension = definition.getDimensionColumnIds().contains(columnId);
+            final boolean measure = definition.getMeasureColumnIds().contains(columnId);
+            switch (function.getFunction()) {
+                case COUNT:
+                    return dimension || measure || definition.getIdColumnId().equals(columnId);
+                case DISTINCT:
+                    return dimension;
+                case SUM:
+                case AVERAGE:
+                    return measure;
+                default:
+                    return false;
+            }
+        }
+
+        @Override
+        protected Double aggregate(final DataSet base,
+                                   final GroupFunction function,
+                                   final List<Integer> rows) {
+            final List<Object> counts = base.getColumnById(ROWS_COLUMN).getValues();
+            final List<Object> values = definition.getIdColumnId().equals(function.getSourceId()) ? null : base.getColumnById(function.getSourceId()).getValues();
+            double count = 0;
+            double sum = 0;
+            for (Integer row : rows) {
+                if (values == null || values.get(row) != null) {
+                    count += ((Number) counts.get(row)).doubleValue();
+                    if (values != null && values.get(row) instanceof Number) {
+                        sum += ((Number) values.get(row)).doubleValue();
+                    }
+                }
+            }
+            switch (function.getFunction()) {
+                case COUNT:
+                    return count;
+                case SUM:
+                    return sum;
+                case AVERAGE:
+                    return count == 0 ? 0d : sum / count;
+                default:
+                    return super.aggregate(base,
+                                           function,
+                                           rows);
+            }
+        }
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jbpm.workbench.ks.integration;
+
+import java.util.function.Supplier;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.kie.server.api.model.ReleaseId;
+
+import static java.util.Collections.singletonList;
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+public class ContainerReleaseCacheTest {
+
+    private static final String SERVER_TEMPLATE_ID = "serverTemplateId";
+
+    private final ReleaseId releaseId = new ReleaseId("org.jbpm",
+                                                      "evaluation",
+                                                      "1.0");
+
+    private ContainerReleaseCache<String> cache;
+
+    @Before
+    public void setUp() {
+        cache = new ContainerReleaseCache<>(String::length,
+                                            10);
+    }
+
+    @Test
+    public void testValueSharedBetweenContainersOfSameRelease() {
+        final Supplier<String> loader = mock(Supplier.class);
+        when(loader.get()).thenReturn("value");
+
+        cache.get(SERVER_TEMPLATE_ID,
+                  "container",
+                  releaseId,
+                  singletonList("name"),
+                  loader);
+        cache.get(SERVER_TEMPLATE_ID,
+                  "alias",
+                  releaseId,
+                  singletonList("name"),
+                  loader);
+
+        verify(loader).get();
+    }
+
+    @Test
+    public void testLeastRecentlyUsedEvictedOverMaxWeight() {
+        cache.get(SERVER_TEMPLATE_ID,
+                  "container",
+                  releaseId,
+                  singletonList("first"),
+                  () -> "first");
+        cache.get(SERVER_TEMPLATE_ID,
+                  "container",
+                  releaseId,
+                  singletonList("second"),
+                  () -> "second");
+
+        assertEquals(1,
+                     cache.size());
+        assertEquals(6,
+                     cache.getWeight());
+
+        assertEquals("a value heavier than the cache",
+                     cache.get(SERVER_TEMPLATE_ID,
+                               "container",
+                               releaseId,
+                               singletonList("third"),
+                               () -> "a value heavier than the cache"));
+        assertEquals(1,
+                     cache.size());
+    }
+
+    @Test
+    public void testValueLoadedDuringInvalidationNotCached() {
+        cache.get(SERVER_TEMPLATE_ID,
+                  "container",
+                  releaseId,
+                  singletonList("name"),
+                  () -> {
+                      cache.invalidate(SERVER_TEMPLATE_ID);
+                      return "value";
+                  });
+
+        assertEquals(0,
+                     cache.size());
+        assertEquals(0,
+                     cache.getWeight());
+    }
+
+    @Test
+    public void testInvalidatePerServerTemplate() {
+        cache.get(SERVER_TEMPLATE_ID,
+                  "container",
+                  releaseId,
+                  singletonList("name"),
+                  () -> "value");
+        cache.get("another",
+                  "container",
+                  releaseId,
+                  singletonList("name"),
+                  () -> "value");
+
+        cache.invalidate(SERVER_TEMPLATE_ID);
+
+        assertEquals(1,
+                     cache.size());
+        assertEquals(5,
+                     cache.getWeight());
+    }
+}
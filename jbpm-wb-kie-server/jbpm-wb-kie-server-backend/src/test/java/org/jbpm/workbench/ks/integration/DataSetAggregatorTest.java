@@ -0,0 +1,288 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jbpm.workbench.ks.integration;
+
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+
+import org.dashbuilder.dataset.ColumnType;
+import org.dashbuilder.dataset.DataColumn;
+import org.dashbuilder.dataset.DataSet;
+import org.dashbuilder.dataset.DataSetFactory;
+import org.dashbuilder.dataset.DataSetLookup;
+import org.dashbuilder.dataset.DataSetLookupFactory;
+import org.dashbuilder.dataset.group.ColumnGroup;
+import org.dashbuilder.dataset.group.DataSetGroup;
+import org.dashbuilder.dataset.group.DateIntervalType;
+import org.dashbuilder.dataset.impl.DataColumnImpl;
+import org.dashbuilder.dataset.sort.SortOrder;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.dashbuilder.dataset.filter.FilterFactory.*;
+import static org.dashbuilder.dataset.group.AggregateFunctionType.*;
+import static org.junit.Assert.*;
+
+public class DataSetAggregatorTest {
+
+    private DataSetAggregator aggregator;
+
+    private DataSet base;
+
+    @Before
+    public void setUp() {
+        aggregator = new DataSetAggregator();
+        base = DataSetFactory.newDataSetBuilder()
+                .number("id")
+                .label("name")
+                .number("status")
+                .number("duration")
+                .date("start")
+                .row(1d,
+                     "Evaluation",
+                     1d,
+                     10d,
+                     new Date())
+                .row(2d,
+                     "Evaluation",
+                     2d,
+                     null,
+                     new Date())
+                .row(3d,
+                     "Hiring",
+                     1d,
+                     30d,
+                     new Date())
+                .row(4d,
+                     null,
+                     1d,
+                     40d,
+                     new Date())
+                .buildDataSet();
+    }
+
+    @Test
+    public void testCountByName() {
+        final DataSet result = aggregator.aggregate(base,
+                                                    DataSetLookupFactory.newDataSetLookupBuilder()
+                                                            .group("name")
+                                                            .column("name")
+                                                            .column("id",
+                                                                    COUNT,
+                                                                    "count")
+                                                            .buildLookup(),
+                                                    columns(new DataColumnImpl("name",
+                                                                               ColumnType.LABEL),
+                                                            new DataColumnImpl("id",
+                                                                               ColumnType.NUMBER)));
+
+        assertEquals(3,
+                     result.getRowCount());
+        assertNull(result.getValueAt(0,
+                                     0));
+        assertEquals("Evaluation",
+                     result.getValueAt(1,
+                                       0));
+        assertEquals(2d,
+                     result.getValueAt(1,
+                                       1));
+        assertEquals("Hiring",
+                     result.getValueAt(2,
+                                       0));
+    }
+
+    @Test
+    public void testAverageSortedDescending() {
+        final DataSet result = aggregator.aggregate(base,
+                                                    DataSetLookupFactory.newDataSetLookupBuilder()
+                                                            .filter(notNull("duration"))
+                                                            .group("name")
+                                                            .column("name")
+                                                            .column("duration",
+                                                                    AVERAGE,
+                                                                    "duration")
+                                                            .sort("duration",
+                                                                  SortOrder.DESCENDING)
+                                                            .buildLookup(),
+                                                    columns(new DataColumnImpl("name",
+                                                                               ColumnType.LABEL),
+                                                            new DataColumnImpl("duration",
+                                                                               ColumnType.NUMBER)));
+
+        assertEquals(3,
+                     result.getRowCount());
+        assertEquals(40d,
+                     result.getValueAt(0,
+                                       1));
+        assertEquals("Evaluation",
+                     result.getValueAt(2,
+                                       0));
+        assertEquals(10d,
+                     result.getValueAt(2,
+                                       1));
+    }
+
+    @Test
+    public void testMetricWithFilters() {
+        final DataSet result = aggregator.aggregate(base,
+                                                    DataSetLookupFactory.newDataSetLookupBuilder()
+                                                            .filter(equalsTo("status",
+                                                                             1),
+                                                                    OR(likeTo("name",
+                                                                              "eval%",
+                                                                              false),
+                                                                       isNull("name")))
+                                                            .column("id",
+                                                                    COUNT,
+                                                                    "count")
+                                                            .column("duration",
+                                                                    SUM,
+                                                                    "duration")
+                                                            .buildLookup(),
+                                                    columns(new DataColumnImpl("id",
+                                                                               ColumnType.NUMBER),
+                                                            new DataColumnImpl("duration",
+                                                                               ColumnType.NUMBER)));
+
+        assertEquals(1,
+                     result.getRowCount());
+        assertEquals(2d,
+                     result.getValueAt(0,
+                                       0));
+        assertEquals(50d,
+                     result.getValueAt(0,
+                                       1));
+    }
+
+    @Test
+    public void testIntervalSelection() {
+        final DataSetLookup lookup = DataSetLookupFactory.newDataSetLookupBuilder()
+                .column("id",
+                        COUNT,
+                        "count")
+                .buildLookup();
+        final DataSetGroup selection = new DataSetGroup();
+        selection.setColumnGroup(new ColumnGroup("name",
+                                                 "name"));
+        selection.addSelectedIntervalNames("Hiring");
+        lookup.addOperation(0,
+                            selection);
+
+        final DataSet result = aggregator.aggregate(base,
+                                                    lookup,
+                                                    columns(new DataColumnImpl("id",
+                                                                               ColumnType.NUMBER)));
+
+        assertEquals(1d,
+                     result.getValueAt(0,
+                                       0));
+    }
+
+    @Test
+    public void testPaging() {
+        final DataSetLookup lookup = DataSetLookupFactory.newDataSetLookupBuilder()
+                .group("id")
+                .column("id")
+                .column("id",
+                        COUNT,
+                        "count")
+                .rowOffset(1)
+                .rowNumber(2)
+                .buildLookup();
+
+        final DataSet result = aggregator.aggregate(base,
+                                                    lookup,
+                                                    columns(new DataColumnImpl("id",
+                                                                               ColumnType.NUMBER),
+                                                            new DataColumnImpl("id",
+                                                                               ColumnType.NUMBER)));
+
+        assertEquals(2,
+                     result.getRowCount());
+        assertEquals(4,
+                     result.getRowCountNonTrimmed());
+        assertEquals(2d,
+                     result.getValueAt(0,
+                                       0));
+    }
+
+    @Test
+    public void testDateIntervalsNotSupported() {
+        assertNull(aggregator.aggregate(base,
+                                        DataSetLookupFactory.newDataSetLookupBuilder()
+                                                .group("start").dynamic(30,
+                                                                        DateIntervalType.DAY,
+                                                                        true)
+                                                .column("start")
+                                                .column("id",
+                                                        COUNT,
+                                                        "count")
+                                                .buildLookup(),
+                                        columns(new DataColumnImpl("start",
+                                                                   ColumnType.LABEL),
+                                                new DataColumnImpl("id",
+                                                                   ColumnType.NUMBER))));
+    }
+
+    @Test
+    public void testNotGroupedLookupNotSupported() {
+        assertNull(aggregator.aggregate(base,
+                                        DataSetLookupFactory.newDataSetLookupBuilder()
+                                                .filter(equalsTo("status",
+                                                                 1))
+                                                .buildLookup(),
+                                        columns()));
+    }
+
+    @Test
+    public void testTooLargeDataSetCheckedAgainAfterPeriod() {
+        final long[] now = {0L};
+        aggregator = new DataSetAggregator(1000) {
+            @Override
+            protected long currentTimeMillis() {
+                return now[0];
+            }
+        };
+        assertNull(aggregator.getMaxRows("serverTemplateId",
+                                         "uuid"));
+
+        aggregator.register("uuid",
+                            10);
+        aggregator.setTooLarge("serverTemplateId",
+                               "uuid");
+
+        assertNull(aggregator.getMaxRows("serverTemplateId",
+                                         "uuid"));
+        assertEquals(Integer.valueOf(10),
+                     aggregator.getMaxRows("otherServerTemplateId",
+                                           "uuid"));
+        now[0] = 1000L;
+        assertEquals(Integer.valueOf(10),
+                     aggregator.getMaxRows("serverTemplateId",
+                                           "uuid"));
+
+        aggregator.register("uuid",
+                            0);
+        assertNull(aggregator.getMaxRows("serverTemplateId",
+                                         "uuid"));
+    }
+
+    private List<DataColumn> columns(final DataColumn... columns) {
+        return Arrays.asList(columns);
+    }
+}
@@ -0,0 +1,297 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jbpm.workbench.ks.integration;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Supplier;
+
+import org.dashbuilder.dataset.def.DataSetDef;
+import org.dashbuilder.dataset.events.DataSetDefModifiedEvent;
+import org.dashbuilder.dataset.events.DataSetDefRemovedEvent;
+import org.junit.Before;
+import org.junit.Test;
+import org.kie.server.api.model.definition.QueryFilterSpec;
+import org.kie.server.api.model.definition.QueryParam;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+public class KieServerDataSetCacheTest {
+
+    private static final String SERVER_TEMPLATE_ID = "serverTemplateId";
+
+    private long now;
+
+    private KieServerDataSetCache cache;
+
+    private Supplier<List<List>> loader;
+
+    @Before
+    public void setUp() {
+        now = 0;
+        cache = new KieServerDataSetCache(1000,
+                                          2) {
+            @Override
+            protected long currentTimeMillis() {
+                return now;
+            }
+        };
+        loader = mock(Supplier.class);
+        when(loader.get()).thenAnswer(invocation -> new ArrayList<>(Collections.singletonList(Arrays.asList(1,
+                                                                                                            "a"))));
+    }
+
+    @Test
+    public void testHitAndMiss() {
+        final KieServerDataSetCache.CacheKey key = key("uuid",
+                                                       0);
+
+        final List<List> first = cache.lookup(SERVER_TEMPLATE_ID,
+                                              key,
+                                              loader);
+        final List<List> second = cache.lookup(SERVER_TEMPLATE_ID,
+                                               key,
+                                               loader);
+
+        assertEquals(first,
+                     second);
+        verify(loader,
+               times(1)).get();
+        assertEquals(1,
+                     cache.getHitCount());
+        assertEquals(1,
+                     cache.getMissCount());
+    }
+
+    @Test
+    public void testEntryExpires() {
+        final KieServerDataSetCache.CacheKey key = key("uuid",
+                                                       0);
+
+        cache.lookup(SERVER_TEMPLATE_ID,
+                     key,
+                     loader);
+        now = 1000;
+        cache.lookup(SERVER_TEMPLATE_ID,
+                     key,
+                     loader);
+
+        verify(loader,
+               times(2)).get();
+        assertEquals(0,
+                     cache.getHitCount());
+    }
+
+    @Test
+    public void testEntriesAreBounded() {
+        cache.lookup(SERVER_TEMPLATE_ID,
+                     key("uuid",
+                         0),
+                     loader);
+        cache.lookup(SERVER_TEMPLATE_ID,
+                     key("uuid",
+                         10),
+                     loader);
+        cache.lookup(SERVER_TEMPLATE_ID,
+                     key("uuid",
+                         20),
+                     loader);
+
+        assertEquals(2,
+                     cache.size());
+
+        cache.lookup(SERVER_TEMPLATE_ID,
+                     key("uuid",
+                         0),
+                     loader);
+        verify(loader,
+               times(4)).get();
+    }
+
+    @Test
+    public void testDisabledCache() {
+        cache = new KieServerDataSetCache(0,
+                                          10);
+        final KieServerDataSetCache.CacheKey key = key("uuid",
+                                                       0);
+
+        cache.lookup(SERVER_TEMPLATE_ID,
+                     key,
+                     loader);
+        cache.lookup(SERVER_TEMPLATE_ID,
+                     key,
+                     loader);
+
+        verify(loader,
+               times(2)).get();
+        assertEquals(0,
+                     cache.size());
+    }
+
+    @Test
+    public void testInvalidateServerTemplate() {
+        cache.lookup(SERVER_TEMPLATE_ID,
+                     key("uuid",
+                         0),
+                     loader);
+        cache.lookup("anotherServerTemplateId",
+                     key("uuid",
+                         0),
+                     loader);
+
+        cache.invalidate(SERVER_TEMPLATE_ID);
+
+        assertEquals(1,
+                     cache.size());
+
+        cache.invalidate(null);
+
+        assertEquals(0,
+                     cache.size());
+    }
+
+    @Test
+    public void testInvalidateOnDataSetDefEvents() {
+        final DataSetDef def = new DataSetDef();
+        def.setUUID("uuid");
+
+        cache.lookup(SERVER_TEMPLATE_ID,
+                     key("uuid",
+                         0),
+                     loader);
+        cache.lookup(SERVER_TEMPLATE_ID,
+                     key("anotherUuid",
+                         0),
+                     loader);
+
+        cache.onDataSetDefModifiedEvent(new DataSetDefModifiedEvent(def,
+                                                                    def));
+        assertEquals(1,
+                     cache.size());
+
+        def.setUUID("anotherUuid");
+        cache.onDataSetDefRemovedEvent(new DataSetDefRemovedEvent(def));
+        assertEquals(0,
+                     cache.size());
+    }
+
+    @Test
+    public void testKeyNormalization() {
+        final QueryFilterSpec spec = new QueryFilterSpec();
+        spec.setOrderBy("id");
+        spec.setAscending(true);
+        spec.setParameters(new QueryParam[]{new QueryParam("status",
+                                                           "EQUALS_TO",
+                                                           Collections.singletonList(1))});
+        final QueryFilterSpec sameSpec = new QueryFilterSpec();
+        sameSpec.setOrderBy("id");
+        sameSpec.setAscending(true);
+        sameSpec.setParameters(new QueryParam[]{new QueryParam("status",
+                                                               "EQUALS_TO",
+                                                               Collections.singletonList(1))});
+        final QueryFilterSpec otherSpec = new QueryFilterSpec();
+        otherSpec.setOrderBy("id");
+        otherSpec.setAscending(false);
+
+        assertEquals(KieServerDataSetCache.key("uuid",
+                                               "user",
+                                               spec,
+                                               0,
+                                               10),
+                     KieServerDataSetCache.key("uuid",
+                                               "user",
+                                               sameSpec,
+                                               0,
+                                               10));
+        assertNotEquals(KieServerDataSetCache.key("uuid",
+                                                  "user",
+                                                  spec,
+                                                  0,
+                                                  10),
+                        KieServerDataSetCache.key("uuid",
+                                                  "user",
+                                                  otherSpec,
+                                                  0,
+                                                  10));
+    }
+
+    @Test
+    public void testCountStaleness() {
+        cache = new KieServerDataSetCache(1000,
+                                          10,
+                                          5000) {
+            @Override
+            protected long currentTimeMillis() {
+                return now;
+            }
+        };
+        final Supplier<Long> countLoader = mock(Supplier.class);
+        when(countLoader.get()).thenReturn(42L);
+        final QueryFilterSpec spec = new QueryFilterSpec();
+        spec.setOrderBy("id");
+        final QueryFilterSpec otherOrderSpec = new QueryFilterSpec();
+        otherOrderSpec.setOrderBy("name");
+
+        assertEquals(Long.valueOf(42),
+                     cache.lookupCount(SERVER_TEMPLATE_ID,
+                                       KieServerDataSetCache.countKey("uuid",
+                                                                      "user",
+                                                                      spec),
+                                       countLoader));
+        now = 4999;
+        assertEquals(Long.valueOf(42),
+                     cache.lookupCount(SERVER_TEMPLATE_ID,
+                                       KieServerDataSetCache.countKey("uuid",
+                                                                      "user",
+                                                                      otherOrderSpec),
+                                       countLoader));
+        verify(countLoader).get();
+        assertNotEquals(KieServerDataSetCache.countKey("uuid",
+                                                       "user",
+                                                       spec),
+                        KieServerDataSetCache.key("uuid",
+                                                  "user",
+                                                  spec,
+                                                  0,
+                                                  0));
+
+        now = 5000;
+        cache.lookupCount(SERVER_TEMPLATE_ID,
+                          KieServerDataSetCache.countKey("uuid",
+                                                         "user",
+                                                         spec),
+                          countLoader);
+        verify(countLoader,
+               times(2)).get();
+
+        cache.invalidateDataSet("uuid");
+        assertEquals(0,
+                     cache.size());
+    }
+
+    private KieServerDataSetCache.CacheKey key(final String uuid,
+                                               final int offset) {
+        return KieServerDataSetCache.key(uuid,
+                                         "user",
+                                         new QueryFilterSpec(),
+                                         offset,
+                                         10);
+    }
+}
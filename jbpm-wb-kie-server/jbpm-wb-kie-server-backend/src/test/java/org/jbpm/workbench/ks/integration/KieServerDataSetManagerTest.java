@@ -20,11 +20,21 @@ import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 import javax.enterprise.event.Event;
 
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+
 import org.dashbuilder.dataset.def.DataSetDefRegistry;
+import org.dashbuilder.dataset.events.DataSetDefRegisteredEvent;
+import org.dashbuilder.dataset.events.DataSetDefRemovedEvent;
 import org.jbpm.workbench.ks.events.KieServerDataSetRegistered;
 import org.jbpm.workbench.ks.integration.event.ServerInstanceRegistered;
 import org.junit.Before;
@@ -39,16 +49,20 @@ import org.kie.server.controller.api.model.runtime.ServerInstance;
 import org.kie.server.controller.api.model.spec.Capability;
 import org.kie.server.controller.api.model.spec.ServerTemplate;
 import org.kie.workbench.common.screens.server.management.service.SpecManagementService;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.runners.MockitoJUnitRunner;
+import org.slf4j.LoggerFactory;
 import org.uberfire.commons.async.DescriptiveThreadFactory;
 import org.uberfire.mocks.EventSourceMock;
 
+import static java.util.Arrays.asList;
 import static java.util.Collections.*;
 import static org.junit.Assert.*;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.*;
 
 @RunWith(MockitoJUnitRunner.class)
@@ -139,7 +153,9 @@ public class KieServerDataSetManagerTest {
         QueryServicesClient queryClientRecreated = Mockito.mock(QueryServicesClient.class);
         when(kieClientRecreated.getServicesClient(any())).thenReturn(queryClientRecreated);
 
-        when(kieServerIntegration.getAdminServerClientCheckEndpoints(anyString())).thenReturn(kieClientRecreated);
+        when(kieServerIntegration.getAdminServerClient(anyString(),
+                                                       anyString())).thenReturn(kieClient,
+                                                                                kieClientRecreated);
 
         doThrow(exception).when(queryClient).replaceQuery(any());
 
@@ -148,12 +164,15 @@ public class KieServerDataSetManagerTest {
                                                          definitions);
 
         verify(kieServerIntegration,
-               times(1)).getAdminServerClient(anyString(),
-                                              anyString());
+               times(2)).getAdminServerClient("template",
+                                              "instance");
         verify(kieServerIntegration,
-               times(1)).getAdminServerClientCheckEndpoints(anyString());
+               never()).getAdminServerClientCheckEndpoints(anyString());
         verify(queryClient,
                times(1)).replaceQuery(any());
+        // the retry checks the registry of the same server instance before registering again
+        verify(queryClientRecreated).getQueries(0,
+                                                Integer.MAX_VALUE);
         verify(queryClientRecreated,
                times(1)).replaceQuery(any());
 
@@ -216,4 +235,112 @@ public class KieServerDataSetManagerTest {
         assertEquals(0,
                      receivedEvents.size());
     }
+
+    @Test
+    public void testRegisterQueriesSkipsUpToDateDefinitions() throws Exception {
+        QueryDefinition unchanged = QueryDefinition.builder().name("unchanged").expression("expression").source("jbpm").target("CUSTOM").build();
+        QueryDefinition modified = QueryDefinition.builder().name("modified").expression("new expression").source("jbpm").target("CUSTOM").build();
+        QueryDefinition added = QueryDefinition.builder().name("added").expression("expression").source("jbpm").target("CUSTOM").build();
+        when(queryClient.getQueries(0,
+                                    Integer.MAX_VALUE)).thenReturn(asList(QueryDefinition.builder().name("unchanged").expression("expression").source("jbpm").target("CUSTOM").build(),
+                                                                          QueryDefinition.builder().name("modified").expression("old expression").source("jbpm").target("CUSTOM").build()));
+        Set<QueryDefinition> definitions = new HashSet<>(asList(unchanged,
+                                                                modified,
+                                                                added));
+
+        kieServerDataSetManager.registerQueriesWithRetry("template",
+                                                         "instance",
+                                                         definitions);
+
+        verify(queryClient,
+               never()).replaceQuery(unchanged);
+        verify(queryClient).replaceQuery(modified);
+        verify(queryClient).replaceQuery(added);
+        assertEquals(1,
+                     receivedEvents.size());
+        assertNotNull(kieServerDataSetManager.getRegistrationLatency("instance"));
+        assertNull(kieServerDataSetManager.getRegistrationLatency("anotherInstance"));
+    }
+
+    @Test
+    public void testWorkbenchSideDataSetNotRegisteredInKieServers() {
+        final RemoteDataSetDef remoteDef = new RemoteDataSetDef();
+        remoteDef.setUUID("remote");
+        remoteDef.setServerTemplateId("template");
+        remoteDef.setQueryTarget("CUSTOM");
+        final RemoteDataSetDef workbenchSideDef = new RemoteDataSetDef();
+        workbenchSideDef.setUUID("workbenchSide");
+        workbenchSideDef.setServerTemplateId("template");
+        workbenchSideDef.setQueryTarget(RemoteDataSetDef.PROCESS_VARIABLES_QUERY_TARGET);
+        when(kieServerIntegration.broadcastToKieServersAsync(anyString(),
+                                                             any())).thenReturn(emptyList());
+
+        kieServerDataSetManager.onDataSetDefRegisteredEvent(new DataSetDefRegisteredEvent(workbenchSideDef));
+        kieServerDataSetManager.onDataSetDefRemovedEvent(new DataSetDefRemovedEvent(workbenchSideDef));
+
+        verify(kieServerIntegration,
+               never()).broadcastToKieServersAsync(anyString(),
+                                                   any());
+        verify(kieServerIntegration,
+               never()).broadcastToKieServers(anyString(),
+                                              any());
+
+        kieServerDataSetManager.onDataSetDefRegisteredEvent(new DataSetDefRegisteredEvent(remoteDef));
+
+        verify(kieServerIntegration).broadcastToKieServersAsync(eq("template"),
+                                                                any());
+    }
+
+    @Test
+    public void testDataSetRemovedDespiteFailedKieServer() {
+        final RemoteDataSetDef remoteDef = new RemoteDataSetDef();
+        remoteDef.setUUID("remote");
+        remoteDef.setName("Remote");
+        remoteDef.setServerTemplateId("template");
+        remoteDef.setQueryTarget("CUSTOM");
+        final KieServicesClient unavailableClient = mock(KieServicesClient.class);
+        final QueryServicesClient unavailableQueryClient = mock(QueryServicesClient.class);
+        when(unavailableClient.getServicesClient(any())).thenReturn(unavailableQueryClient);
+        doThrow(new KieServicesException("KIE Server unavailable")).when(unavailableQueryClient).unregisterQuery(anyString());
+        when(kieServerIntegration.broadcastToKieServersAsync(anyString(),
+                                                             any())).then(invocation -> {
+            final Function<KieServicesClient, Object> operation = (Function<KieServicesClient, Object>) invocation.getArguments()[1];
+            return asList(kieClient,
+                          unavailableClient).stream()
+                    .map(client -> CompletableFuture.supplyAsync(() -> operation.apply(client)))
+                    .collect(Collectors.toList());
+        });
+        final Appender<ILoggingEvent> appender = mock(Appender.class);
+        final Logger logger = (Logger) LoggerFactory.getLogger(KieServerDataSetManager.class);
+        logger.addAppender(appender);
+
+        try {
+            kieServerDataSetManager.onDataSetDefRemovedEvent(new DataSetDefRemovedEvent(remoteDef));
+        } finally {
+            logger.detachAppender(appender);
+        }
+
+        verify(queryClient).unregisterQuery("remote");
+        verify(unavailableQueryClient).unregisterQuery("remote");
+        final ArgumentCaptor<ILoggingEvent> logged = ArgumentCaptor.forClass(ILoggingEvent.class);
+        verify(appender,
+               atLeastOnce()).doAppend(logged.capture());
+        assertEquals(singletonList("Data set definition remote (Remote) deletion event failed on 1 of 2 KIE Server instance(s)"),
+                     logged.getAllValues().stream()
+                             .filter(event -> event.getLevel() == Level.WARN)
+                             .map(ILoggingEvent::getFormattedMessage)
+                             .collect(Collectors.toList()));
+    }
+
+    @Test
+    public void testRetryDelayIsBoundedAndGrows() {
+        for (int attempt = 0; attempt < 100; attempt++) {
+            final long delay = kieServerDataSetManager.getRetryDelay(attempt);
+            final long max = Math.min(30000,
+                                      500L << Math.min(attempt,
+                                                       16));
+            assertTrue(delay >= max / 2);
+            assertTrue(delay <= max);
+        }
+    }
 }
@@ -16,17 +16,28 @@
 package org.jbpm.workbench.ks.integration;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutorService;
 
 import org.dashbuilder.dataset.ColumnType;
 import org.dashbuilder.dataset.DataColumn;
+import org.dashbuilder.dataset.DataSet;
 import org.dashbuilder.dataset.DataSetLookup;
+import org.dashbuilder.dataset.DataSetLookupFactory;
 import org.dashbuilder.dataset.def.DataSetDef;
 import org.dashbuilder.dataset.filter.ColumnFilter;
 import org.dashbuilder.dataset.filter.CoreFunctionFilter;
+import org.dashbuilder.dataset.filter.CoreFunctionType;
 import org.dashbuilder.dataset.filter.DataSetFilter;
+import org.dashbuilder.dataset.filter.LogicalExprFilter;
+import org.dashbuilder.dataset.filter.LogicalExprType;
+import org.dashbuilder.dataset.group.AggregateFunctionType;
 import org.dashbuilder.dataset.group.ColumnGroup;
 import org.dashbuilder.dataset.group.DataSetGroup;
 import org.dashbuilder.dataset.group.DateIntervalType;
@@ -34,9 +45,13 @@ import org.dashbuilder.dataset.group.GroupFunction;
 import org.dashbuilder.dataset.group.GroupStrategy;
 import org.dashbuilder.dataset.group.Interval;
 import org.dashbuilder.dataset.impl.DataSetImpl;
+import org.dashbuilder.dataset.sort.ColumnSort;
+import org.dashbuilder.dataset.sort.DataSetSort;
+import org.dashbuilder.dataset.sort.SortOrder;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.kie.internal.identity.IdentityProvider;
 import org.kie.server.api.model.definition.QueryDefinition;
 import org.kie.server.api.model.definition.QueryFilterSpec;
 import org.kie.server.api.model.definition.QueryParam;
@@ -46,9 +61,11 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
+import org.mockito.Spy;
 import org.mockito.runners.MockitoJUnitRunner;
 
 import static org.dashbuilder.dataset.filter.FilterFactory.OR;
+import static org.dashbuilder.dataset.filter.FilterFactory.equalsTo;
 import static org.dashbuilder.dataset.filter.FilterFactory.likeTo;
 import static org.junit.Assert.*;
 import static org.mockito.Matchers.any;
@@ -80,10 +97,34 @@ public class KieServerDataSetProviderTest {
     @Mock
     RemoteDataSetDef dataSetDef;
 
+    @Mock
+    IdentityProvider identityProvider;
+
+    @Spy
+    KieServerDataSetCache dataSetCache = new KieServerDataSetCache(60000,
+                                                                   10);
+
+    @Mock
+    ExecutorService executorService;
+
+    @Spy
+    MaterializedAggregates materializedAggregates = new MaterializedAggregates(60000,
+                                                                               3600000,
+                                                                               10,
+                                                                               100);
+
+    @Spy
+    DataSetAggregator dataSetAggregator = new DataSetAggregator(60000);
+
     @Before
     public void setUp() {
         when(kieServerIntegration.getServerClient("servereTemplateId")).thenReturn(kieServicesClient);
         when(kieServicesClient.getServicesClient(QueryServicesClient.class)).thenReturn(queryServicesClient);
+        doAnswer(invocation -> {
+            ((Runnable) invocation.getArguments()[0]).run();
+            return null;
+        }).when(executorService).execute(any(Runnable.class));
+        materializedAggregates.executorService = executorService;
     }
 
     @Test
@@ -264,8 +305,8 @@ public class KieServerDataSetProviderTest {
         
         kieServerDataSetProvider.performQuery(dataSetDef, dataSetLookup, queryServicesClient, filterSpec);
         
-        verify(kieServerIntegration).broadcastToKieServers(anyString(),
-                                                           any());
+        verify(kieServerIntegration).broadcastToKieServersAsync(anyString(),
+                                                                any());
         verify(dataSetLookup, times(1)).testMode();
         
         verify(queryServicesClient).query(anyString(),
@@ -288,8 +329,8 @@ public class KieServerDataSetProviderTest {
         
         kieServerDataSetProvider.performQuery(dataSetDef, dataSetLookup, queryServicesClient, filterSpec);
         
-        verify(kieServerIntegration, times(0)).broadcastToKieServers(anyString(),
-                                                           any());
+        verify(kieServerIntegration, times(0)).broadcastToKieServersAsync(anyString(),
+                                                                          any());
         verify(dataSetLookup, times(1)).testMode();
         
         verify(queryServicesClient).query(anyString(),
@@ -368,4 +409,685 @@ public class KieServerDataSetProviderTest {
                                                                          columnGroup,
                                                                          groupFunction));
     }
+
+    @Test
+    public void testPerformQueryUsesCache() {
+        QueryFilterSpec filterSpec = new QueryFilterSpec();
+
+        ConsoleDataSetLookup dataSetLookup = Mockito.mock(ConsoleDataSetLookup.class);
+        when(dataSetLookup.testMode()).thenReturn(false);
+        when(dataSetLookup.getNumberOfRows()).thenReturn(10);
+        when(dataSetLookup.getRowOffset()).thenReturn(0);
+        when(dataSetLookup.getDataSetUUID()).thenReturn("uuid");
+        when(dataSetLookup.getServerTemplateId()).thenReturn("servereTemplateId");
+        when(identityProvider.getName()).thenReturn("user");
+
+        kieServerDataSetProvider.performQuery(dataSetDef, dataSetLookup, queryServicesClient, filterSpec);
+        kieServerDataSetProvider.performQuery(dataSetDef, dataSetLookup, queryServicesClient, new QueryFilterSpec());
+
+        verify(queryServicesClient, times(1)).query(anyString(),
+                                                    anyString(),
+                                                    any(QueryFilterSpec.class),
+                                                    anyInt(),
+                                                    anyInt(),
+                                                    any());
+        assertEquals(1,
+                     dataSetCache.getHitCount());
+        assertEquals(1,
+                     dataSetCache.getMissCount());
+
+        when(identityProvider.getName()).thenReturn("anotherUser");
+        kieServerDataSetProvider.performQuery(dataSetDef, dataSetLookup, queryServicesClient, filterSpec);
+
+        verify(queryServicesClient, times(2)).query(anyString(),
+                                                    anyString(),
+                                                    any(QueryFilterSpec.class),
+                                                    anyInt(),
+                                                    anyInt(),
+                                                    any());
+    }
+
+    @Test
+    public void testPerformQueryTestModeInvalidatesCache() {
+        ConsoleDataSetLookup dataSetLookup = Mockito.mock(ConsoleDataSetLookup.class);
+        when(dataSetLookup.testMode()).thenReturn(true);
+        when(dataSetLookup.getNumberOfRows()).thenReturn(10);
+        when(dataSetLookup.getRowOffset()).thenReturn(0);
+        when(dataSetLookup.getDataSetUUID()).thenReturn("uuid");
+
+        kieServerDataSetProvider.performQuery(dataSetDef, dataSetLookup, queryServicesClient, new QueryFilterSpec());
+
+        verify(dataSetCache).invalidateDataSet("uuid");
+        verify(dataSetCache, never()).lookup(anyString(),
+                                             any(),
+                                             any());
+    }
+
+    @Test
+    public void testLookupProcessVariablesDataSet() throws Exception {
+        final DataSetDef def = RemoteDataSetDefBuilder.get()
+                .uuid("instancesWithVariableColumns")
+                .queryTarget(RemoteDataSetDef.PROCESS_VARIABLES_QUERY_TARGET)
+                .dbSQL("instances",
+                       false)
+                .number(KieServerDataSetProvider.PROCESS_INSTANCE_ID_COLUMN)
+                .label("processId")
+                .buildDef();
+        final DataSetLookup lookup = new DataSetLookup();
+        lookup.setDataSetUUID("instancesWithVariableColumns");
+        lookup.setRowOffset(0);
+        lookup.setNumberOfRows(10);
+        when(queryServicesClient.query(eq("instances"),
+                                       anyString(),
+                                       any(QueryFilterSpec.class),
+                                       anyInt(),
+                                       anyInt(),
+                                       any())).thenReturn(Arrays.asList(Arrays.asList(1,
+                                                                                      "process"),
+                                                                        Arrays.asList(2,
+                                                                                      "process")));
+        when(queryServicesClient.query(eq(KieServerDataSetProvider.PROCESS_INSTANCE_VARIABLES_QUERY),
+                                       anyString(),
+                                       any(QueryFilterSpec.class),
+                                       anyInt(),
+                                       anyInt(),
+                                       any())).thenReturn(Arrays.asList(Arrays.asList(2L,
+                                                                                      "name",
+                                                                                      "john"),
+                                                                        Arrays.asList(1L,
+                                                                                      "age",
+                                                                                      "30"),
+                                                                        Arrays.asList(3L,
+                                                                                      "other",
+                                                                                      "value")));
+
+        final DataSet dataSet = kieServerDataSetProvider.lookupDataSet(def,
+                                                                       ConsoleDataSetLookup.fromInstance(lookup,
+                                                                                                         "servereTemplateId"));
+
+        final ArgumentCaptor<QueryFilterSpec> captor = ArgumentCaptor.forClass(QueryFilterSpec.class);
+        verify(queryServicesClient).query(eq(KieServerDataSetProvider.PROCESS_INSTANCE_VARIABLES_QUERY),
+                                          eq(QueryServicesClient.QUERY_MAP_RAW),
+                                          captor.capture(),
+                                          eq(0),
+                                          eq(-1),
+                                          any());
+        final QueryParam[] parameters = captor.getValue().getParameters();
+        assertEquals(1,
+                     parameters.length);
+        assertEquals(KieServerDataSetProvider.PROCESS_INSTANCE_ID_COLUMN,
+                     parameters[0].getColumn());
+        assertEquals(Arrays.asList(1L,
+                                   2L),
+                     new ArrayList<>(new TreeSet<>((List<Long>) parameters[0].getValue())));
+
+        assertEquals(2,
+                     dataSet.getRowCount());
+        assertEquals(4,
+                     dataSet.getColumns().size());
+        assertEquals(RemoteDataSetDef.VARIABLE_COLUMN_PREFIX + "age",
+                     dataSet.getColumnByIndex(2).getId());
+        assertEquals(Arrays.asList("30",
+                                   null),
+                     dataSet.getColumnByIndex(2).getValues());
+        assertEquals(RemoteDataSetDef.VARIABLE_COLUMN_PREFIX + "name",
+                     dataSet.getColumnByIndex(3).getId());
+        assertEquals(Arrays.asList(null,
+                                   "john"),
+                     dataSet.getColumnByIndex(3).getValues());
+    }
+
+    @Test
+    public void testLookupProcessVariablesDataSetWithoutInstances() throws Exception {
+        final DataSetDef def = RemoteDataSetDefBuilder.get()
+                .uuid("instancesWithVariableColumns")
+                .queryTarget(RemoteDataSetDef.PROCESS_VARIABLES_QUERY_TARGET)
+                .dbSQL("instances",
+                       false)
+                .number(KieServerDataSetProvider.PROCESS_INSTANCE_ID_COLUMN)
+                .buildDef();
+        final DataSetLookup lookup = new DataSetLookup();
+        lookup.setDataSetUUID("instancesWithVariableColumns");
+        lookup.setRowOffset(0);
+        lookup.setNumberOfRows(10);
+        when(queryServicesClient.query(anyString(),
+                                       anyString(),
+                                       any(QueryFilterSpec.class),
+                                       anyInt(),
+                                       anyInt(),
+                                       any())).thenReturn(new ArrayList<>());
+
+        final DataSet dataSet = kieServerDataSetProvider.lookupDataSet(def,
+                                                                       ConsoleDataSetLookup.fromInstance(lookup,
+                                                                                                         "servereTemplateId"));
+
+        assertEquals(0,
+                     dataSet.getRowCount());
+        verify(queryServicesClient).query(eq("instances"),
+                                          anyString(),
+                                          any(QueryFilterSpec.class),
+                                          eq(0),
+                                          eq(10),
+                                          any());
+        // an empty first page needs no row count
+        verifyNoMoreInteractions(queryServicesClient);
+    }
+
+    @Test
+    public void testLookupCountsRowsAfterFullFirstPage() throws Exception {
+        final DataSetDef def = RemoteDataSetDefBuilder.get()
+                .uuid("uuid")
+                .number("id")
+                .buildDef();
+        when(queryServicesClient.query(eq("uuid"),
+                                       anyString(),
+                                       any(QueryFilterSpec.class),
+                                       eq(0),
+                                       eq(2),
+                                       any())).thenReturn(Arrays.asList(Arrays.asList(1),
+                                                                        Arrays.asList(2)));
+        when(queryServicesClient.query(eq("uuid"),
+                                       anyString(),
+                                       any(QueryFilterSpec.class),
+                                       eq(0),
+                                       eq(1),
+                                       any())).thenReturn(Collections.singletonList(Collections.singletonList(42.0)));
+
+        DataSet dataSet = kieServerDataSetProvider.lookupDataSet(def,
+                                                                 pagedLookup(0,
+                                                                             2,
+                                                                             SortOrder.ASCENDING));
+
+        assertEquals(2,
+                     dataSet.getRowCount());
+        assertEquals(42,
+                     dataSet.getRowCountNonTrimmed());
+        verify(executorService,
+               never()).execute(any(Runnable.class));
+        final ArgumentCaptor<QueryFilterSpec> captor = ArgumentCaptor.forClass(QueryFilterSpec.class);
+        verify(queryServicesClient).query(eq("uuid"),
+                                          eq(QueryServicesClient.QUERY_MAP_RAW),
+                                          captor.capture(),
+                                          eq(0),
+                                          eq(1),
+                                          any());
+        final QueryParam countParam = captor.getValue().getParameters()[captor.getValue().getParameters().length - 1];
+        assertEquals("id",
+                     countParam.getColumn());
+        assertEquals("COUNT",
+                     countParam.getOperator());
+        assertNull(captor.getValue().getOrderBy());
+
+        // count is shared by all sort orders
+        dataSet = kieServerDataSetProvider.lookupDataSet(def,
+                                                         pagedLookup(0,
+                                                                     2,
+                                                                     SortOrder.DESCENDING));
+
+        assertEquals(42,
+                     dataSet.getRowCountNonTrimmed());
+        verify(queryServicesClient).query(eq("uuid"),
+                                          anyString(),
+                                          any(QueryFilterSpec.class),
+                                          eq(0),
+                                          eq(1),
+                                          any());
+    }
+
+    @Test
+    public void testLookupCountsRowsConcurrentlyAfterFirstPage() throws Exception {
+        final DataSetDef def = RemoteDataSetDefBuilder.get()
+                .uuid("uuid")
+                .number("id")
+                .buildDef();
+        when(queryServicesClient.query(eq("uuid"),
+                                       anyString(),
+                                       any(QueryFilterSpec.class),
+                                       eq(1),
+                                       eq(2),
+                                       any())).thenReturn(Arrays.asList(Arrays.asList(3),
+                                                                        Arrays.asList(4)));
+        when(queryServicesClient.query(eq("uuid"),
+                                       anyString(),
+                                       any(QueryFilterSpec.class),
+                                       eq(0),
+                                       eq(1),
+                                       any())).thenReturn(Collections.singletonList(Collections.singletonList(42.0)));
+
+        final DataSet dataSet = kieServerDataSetProvider.lookupDataSet(def,
+                                                                       pagedLookup(2,
+                                                                                   2,
+                                                                                   SortOrder.ASCENDING));
+
+        assertEquals(42,
+                     dataSet.getRowCountNonTrimmed());
+        verify(executorService).execute(any(Runnable.class));
+    }
+
+    @Test
+    public void testLookupShortFirstPageNotCounted() throws Exception {
+        final DataSetDef def = RemoteDataSetDefBuilder.get()
+                .uuid("uuid")
+                .number("id")
+                .buildDef();
+        when(queryServicesClient.query(eq("uuid"),
+                                       anyString(),
+                                       any(QueryFilterSpec.class),
+                                       eq(0),
+                                       eq(2),
+                                       any())).thenReturn(Collections.singletonList(Arrays.asList(1)));
+
+        final DataSet dataSet = kieServerDataSetProvider.lookupDataSet(def,
+                                                                       pagedLookup(0,
+                                                                                   2,
+                                                                                   SortOrder.ASCENDING));
+
+        assertEquals(1,
+                     dataSet.getRowCountNonTrimmed());
+        verify(queryServicesClient,
+               never()).query(eq("uuid"),
+                              anyString(),
+                              any(QueryFilterSpec.class),
+                              eq(0),
+                              eq(1),
+                              any());
+        verify(executorService,
+               never()).execute(any(Runnable.class));
+    }
+
+    @Test
+    public void testLookupLastPageGivesExactRowCount() throws Exception {
+        final DataSetDef def = RemoteDataSetDefBuilder.get()
+                .uuid("uuid")
+                .number("id")
+                .buildDef();
+        when(queryServicesClient.query(eq("uuid"),
+                                       anyString(),
+                                       any(QueryFilterSpec.class),
+                                       eq(2),
+                                       eq(2),
+                                       any())).thenReturn(Collections.singletonList(Arrays.asList(5)));
+        when(queryServicesClient.query(eq("uuid"),
+                                       anyString(),
+                                       any(QueryFilterSpec.class),
+                                       eq(0),
+                                       eq(1),
+                                       any())).thenReturn(Collections.singletonList(Collections.singletonList(3)));
+
+        final DataSet dataSet = kieServerDataSetProvider.lookupDataSet(def,
+                                                                       pagedLookup(4,
+                                                                                   2,
+                                                                                   SortOrder.ASCENDING));
+
+        assertEquals(5,
+                     dataSet.getRowCountNonTrimmed());
+    }
+
+    @Test
+    public void testLookupRowCountFailure() throws Exception {
+        final DataSetDef def = RemoteDataSetDefBuilder.get()
+                .uuid("uuid")
+                .number("id")
+                .buildDef();
+        when(queryServicesClient.query(eq("uuid"),
+                                       anyString(),
+                                       any(QueryFilterSpec.class),
+                                       eq(0),
+                                       eq(2),
+                                       any())).thenReturn(Arrays.asList(Arrays.asList(1),
+                                                                        Arrays.asList(2)));
+        when(queryServicesClient.query(eq("uuid"),
+                                       anyString(),
+                                       any(QueryFilterSpec.class),
+                                       eq(0),
+                                       eq(1),
+                                       any())).thenThrow(new RuntimeException("COUNT not supported"));
+
+        final DataSet dataSet = kieServerDataSetProvider.lookupDataSet(def,
+                                                                       pagedLookup(0,
+                                                                                   2,
+                                                                                   SortOrder.ASCENDING));
+
+        assertEquals(2,
+                     dataSet.getRowCountNonTrimmed());
+    }
+
+    @Test
+    public void testLookupSeeksAfterPreviousPage() throws Exception {
+        final DataSetDef def = RemoteDataSetDefBuilder.get()
+                .uuid("uuid")
+                .number("id")
+                .date("start")
+                .buildDef();
+        final Date start = new Date();
+        final ConsoleDataSetLookup lookup = pagedLookup(4,
+                                                        2,
+                                                        "start",
+                                                        SortOrder.DESCENDING);
+        lookup.seekAfter("start",
+                         start,
+                         "id",
+                         7.0);
+        when(queryServicesClient.query(eq("uuid"),
+                                       anyString(),
+                                       any(QueryFilterSpec.class),
+                                       eq(0),
+                                       eq(2),
+                                       any())).thenReturn(Collections.singletonList(Arrays.asList(6,
+                                                                                                  start)));
+
+        final DataSet dataSet = kieServerDataSetProvider.lookupDataSet(def,
+                                                                       lookup);
+
+        assertEquals(1,
+                     dataSet.getRowCount());
+        assertEquals(5,
+                     dataSet.getRowCountNonTrimmed());
+        final ArgumentCaptor<QueryFilterSpec> captor = ArgumentCaptor.forClass(QueryFilterSpec.class);
+        verify(queryServicesClient).query(eq("uuid"),
+                                          eq(QueryServicesClient.QUERY_MAP_RAW),
+                                          captor.capture(),
+                                          eq(0),
+                                          eq(2),
+                                          any());
+        assertEquals("start,id",
+                     captor.getValue().getOrderBy());
+        assertFalse(captor.getValue().isAscending());
+        final QueryParam seekParam = captor.getValue().getParameters()[0];
+        assertEquals("OR",
+                     seekParam.getOperator());
+        final CoreFunctionFilter before = (CoreFunctionFilter) seekParam.getValue().get(0);
+        assertEquals(CoreFunctionType.LOWER_THAN,
+                     before.getType());
+        assertEquals(start,
+                     before.getParameters().get(0));
+        final LogicalExprFilter sameStart = (LogicalExprFilter) seekParam.getValue().get(1);
+        assertEquals(LogicalExprType.AND,
+                     sameStart.getLogicalOperator());
+        assertEquals(CoreFunctionType.EQUALS_TO,
+                     ((CoreFunctionFilter) sameStart.getLogicalTerms().get(0)).getType());
+        final CoreFunctionFilter beforeId = (CoreFunctionFilter) sameStart.getLogicalTerms().get(1);
+        assertEquals("id",
+                     beforeId.getColumnId());
+        assertEquals(CoreFunctionType.LOWER_THAN,
+                     beforeId.getType());
+        assertEquals(7L,
+                     beforeId.getParameters().get(0));
+    }
+
+    @Test
+    public void testLookupSeeksAfterIdOnly() throws Exception {
+        final DataSetDef def = RemoteDataSetDefBuilder.get()
+                .uuid("uuid")
+                .number("id")
+                .buildDef();
+        final ConsoleDataSetLookup lookup = pagedLookup(4,
+                                                        2,
+                                                        SortOrder.ASCENDING);
+        lookup.seekAfter("id",
+                         3.0,
+                         "id",
+                         3.0);
+
+        kieServerDataSetProvider.lookupDataSet(def,
+                                               lookup);
+
+        final ArgumentCaptor<QueryFilterSpec> captor = ArgumentCaptor.forClass(QueryFilterSpec.class);
+        verify(queryServicesClient).query(eq("uuid"),
+                                          eq(QueryServicesClient.QUERY_MAP_RAW),
+                                          captor.capture(),
+                                          eq(0),
+                                          eq(2),
+                                          any());
+        assertEquals("id",
+                     captor.getValue().getOrderBy());
+        assertTrue(captor.getValue().isAscending());
+        final QueryParam seekParam = captor.getValue().getParameters()[0];
+        assertEquals("GREATER_THAN",
+                     seekParam.getOperator());
+        assertEquals(3L,
+                     seekParam.getValue().get(0));
+    }
+
+    @Test
+    public void testLookupDoesNotSeekOnceOffsetChanged() throws Exception {
+        final DataSetDef def = RemoteDataSetDefBuilder.get()
+                .uuid("uuid")
+                .number("id")
+                .buildDef();
+        final ConsoleDataSetLookup lookup = pagedLookup(4,
+                                                        2,
+                                                        SortOrder.ASCENDING);
+        lookup.seekAfter("id",
+                         3.0,
+                         "id",
+                         3.0);
+        lookup.setRowOffset(8);
+
+        kieServerDataSetProvider.lookupDataSet(def,
+                                               lookup);
+
+        final ArgumentCaptor<QueryFilterSpec> captor = ArgumentCaptor.forClass(QueryFilterSpec.class);
+        verify(queryServicesClient).query(eq("uuid"),
+                                          eq(QueryServicesClient.QUERY_MAP_RAW),
+                                          captor.capture(),
+                                          eq(4),
+                                          eq(2),
+                                          any());
+        assertNull(captor.getValue().getParameters());
+    }
+
+    @Test
+    public void testGroupedLookupsAggregatedFromRowsFetchedOnce() throws Exception {
+        final DataSetDef def = RemoteDataSetDefBuilder.get()
+                .uuid("uuid")
+                .number("id")
+                .label("name")
+                .buildDef();
+        dataSetAggregator.register("uuid",
+                                   10);
+        when(queryServicesClient.query(eq("uuid"),
+                                       anyString(),
+                                       any(QueryFilterSpec.class),
+                                       eq(0),
+                                       eq(11),
+                                       any())).thenReturn(Arrays.asList(Arrays.asList(1,
+                                                                                      "a"),
+                                                                        Arrays.asList(2,
+                                                                                      "b"),
+                                                                        Arrays.asList(3,
+                                                                                      "a")));
+
+        final DataSet byName = kieServerDataSetProvider.lookupDataSet(def,
+                                                                      ConsoleDataSetLookup.fromInstance(DataSetLookupFactory.newDataSetLookupBuilder()
+                                                                                                                .dataset("uuid")
+                                                                                                                .group("name")
+                                                                                                                .column("name")
+                                                                                                                .column("id",
+                                                                                                                        AggregateFunctionType.COUNT,
+                                                                                                                        "count")
+                                                                                                                .buildLookup(),
+                                                                                                        "servereTemplateId"));
+        final DataSet total = kieServerDataSetProvider.lookupDataSet(def,
+                                                                     ConsoleDataSetLookup.fromInstance(DataSetLookupFactory.newDataSetLookupBuilder()
+                                                                                                               .dataset("uuid")
+                                                                                                               .filter(likeTo("name",
+                                                                                                                              "a"))
+                                                                                                               .column("id",
+                                                                                                                       AggregateFunctionType.COUNT,
+                                                                                                                       "count")
+                                                                                                               .buildLookup(),
+                                                                                                       "servereTemplateId"));
+
+        assertEquals(2,
+                     byName.getRowCount());
+        assertEquals("a",
+                     byName.getValueAt(0,
+                                       0));
+        assertEquals(2d,
+                     byName.getValueAt(0,
+                                       1));
+        assertEquals(1d,
+                     byName.getValueAt(1,
+                                       1));
+        assertEquals(2d,
+                     total.getValueAt(0,
+                                      0));
+        verify(queryServicesClient).query(eq("uuid"),
+                                          eq(QueryServicesClient.QUERY_MAP_RAW),
+                                          any(QueryFilterSpec.class),
+                                          eq(0),
+                                          eq(11),
+                                          any());
+        verifyNoMoreInteractions(queryServicesClient);
+    }
+
+    @Test
+    public void testGroupedLookupServedFromMaterializedAggregates() throws Exception {
+        final DataSetDef def = RemoteDataSetDefBuilder.get()
+                .uuid("uuid")
+                .number("id")
+                .label("name")
+                .number("status")
+                .buildDef();
+        materializedAggregates.register(new AggregateDefinition("uuid",
+                                                                "id",
+                                                                equalsTo("status",
+                                                                         1),
+                                                                Arrays.asList("name",
+                                                                              "status")));
+        when(queryServicesClient.query(eq("uuid"),
+                                       anyString(),
+                                       any(QueryFilterSpec.class),
+                                       eq(0),
+                                       eq(10),
+                                       any())).thenReturn(Arrays.asList(Arrays.asList(1,
+                                                                                      "a",
+                                                                                      2),
+                                                                        Arrays.asList(2,
+                                                                                      "b",
+                                                                                      1),
+                                                                        Arrays.asList(3,
+                                                                                      "a",
+                                                                                      1)));
+
+        final DataSet byName = kieServerDataSetProvider.lookupDataSet(def,
+                                                                      ConsoleDataSetLookup.fromInstance(DataSetLookupFactory.newDataSetLookupBuilder()
+                                                                                                                .dataset("uuid")
+                                                                                                                .filter(equalsTo("status",
+                                                                                                                                 1))
+                                                                                                                .group("name")
+                                                                                                                .column("name")
+                                                                                                                .column("id",
+                                                                                                                        AggregateFunctionType.COUNT,
+                                                                                                                        "count")
+                                                                                                                .buildLookup(),
+                                                                                                        "servereTemplateId"));
+
+        assertEquals(2,
+                     byName.getRowCount());
+        assertEquals("a",
+                     byName.getValueAt(0,
+                                       0));
+        assertEquals(1d,
+                     byName.getValueAt(0,
+                                       1));
+        final ArgumentCaptor<QueryFilterSpec> filterSpec = ArgumentCaptor.forClass(QueryFilterSpec.class);
+        verify(queryServicesClient).query(eq("uuid"),
+                                          eq(QueryServicesClient.QUERY_MAP_RAW),
+                                          filterSpec.capture(),
+                                          eq(0),
+                                          eq(10),
+                                          any());
+        verifyNoMoreInteractions(queryServicesClient);
+        assertEquals("id",
+                     filterSpec.getValue().getOrderBy());
+    }
+
+    @Test
+    public void testGroupedLookupOfLargeDataSetAggregatedOnKieServer() throws Exception {
+        final DataSetDef def = RemoteDataSetDefBuilder.get()
+                .uuid("uuid")
+                .number("id")
+                .label("name")
+                .buildDef();
+        dataSetAggregator.register("uuid",
+                                   1);
+        when(queryServicesClient.query(eq("uuid"),
+                                       anyString(),
+                                       any(QueryFilterSpec.class),
+                                       eq(0),
+                                       eq(2),
+                                       any())).thenReturn(Arrays.asList(Arrays.asList(1,
+                                                                                      "a"),
+                                                                        Arrays.asList(2,
+                                                                                      "b")));
+
+        kieServerDataSetProvider.lookupDataSet(def,
+                                               ConsoleDataSetLookup.fromInstance(DataSetLookupFactory.newDataSetLookupBuilder()
+                                                                                         .dataset("uuid")
+                                                                                         .group("name")
+                                                                                         .column("name")
+                                                                                         .column("id",
+                                                                                                 AggregateFunctionType.COUNT,
+                                                                                                 "count")
+                                                                                         .buildLookup(),
+                                                                                 "servereTemplateId"));
+        // another user doesn't fetch the rows of the data set again
+        when(identityProvider.getName()).thenReturn("otherUser");
+        kieServerDataSetProvider.lookupDataSet(def,
+                                               ConsoleDataSetLookup.fromInstance(DataSetLookupFactory.newDataSetLookupBuilder()
+                                                                                         .dataset("uuid")
+                                                                                         .group("name")
+                                                                                         .column("name")
+                                                                                         .column("id",
+                                                                                                 AggregateFunctionType.MAX,
+                                                                                                 "max")
+                                                                                         .buildLookup(),
+                                                                                 "servereTemplateId"));
+
+        verify(queryServicesClient).query(eq("uuid"),
+                                          eq(QueryServicesClient.QUERY_MAP_RAW),
+                                          any(QueryFilterSpec.class),
+                                          eq(0),
+                                          eq(2),
+                                          any());
+        final ArgumentCaptor<QueryFilterSpec> captor = ArgumentCaptor.forClass(QueryFilterSpec.class);
+        verify(queryServicesClient,
+               times(2)).query(eq("uuid"),
+                               eq(QueryServicesClient.QUERY_MAP_RAW),
+                               captor.capture(),
+                               eq(0),
+                               eq(-1),
+                               any());
+        assertEquals("group",
+                     captor.getValue().getParameters()[0].getOperator());
+        assertNull(dataSetAggregator.getMaxRows("servereTemplateId",
+                                                "uuid"));
+    }
+
+    private ConsoleDataSetLookup pagedLookup(final int offset,
+                                             final int numberOfRows,
+                                             final SortOrder sortOrder) {
+        return pagedLookup(offset,
+                           numberOfRows,
+                           "id",
+                           sortOrder);
+    }
+
+    private ConsoleDataSetLookup pagedLookup(final int offset,
+                                             final int numberOfRows,
+                                             final String sortColumnId,
+                                             final SortOrder sortOrder) {
+        final DataSetLookup lookup = new DataSetLookup();
+        lookup.setDataSetUUID("uuid");
+        lookup.setRowOffset(offset);
+        lookup.setNumberOfRows(numberOfRows);
+        final DataSetSort sort = new DataSetSort();
+        sort.addSortColumn(new ColumnSort(sortColumnId,
+                                          sortOrder));
+        lookup.addOperation(sort);
+        return (ConsoleDataSetLookup) ConsoleDataSetLookup.fromInstance(lookup,
+                                                                        "servereTemplateId");
+    }
 }
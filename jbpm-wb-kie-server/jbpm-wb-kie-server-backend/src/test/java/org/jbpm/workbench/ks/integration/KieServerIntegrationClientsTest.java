@@ -19,8 +19,11 @@ package org.jbpm.workbench.ks.integration;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.function.Function;
 
 import javax.enterprise.event.Event;
@@ -229,4 +232,76 @@ public class KieServerIntegrationClientsTest {
 
         verify(operation, times(2)).apply(any());
     }
+
+    @Test
+    public void testBroadcastToKieServersAsyncTimeout() throws Exception {
+        final String serverTemplateId = "kie-server-test";
+        final ServerTemplate serverTemplate = new ServerTemplate(serverTemplateId,
+                                                                 serverTemplateId);
+
+        final ServerInstance fastInstance = new ServerInstance();
+        fastInstance.setServerTemplateId(serverTemplateId);
+        fastInstance.setUrl("http://fast");
+        fastInstance.setServerInstanceId(serverTemplateId + "@fast");
+        serverTemplate.addServerInstance(fastInstance);
+
+        final ServerInstance slowInstance = new ServerInstance();
+        slowInstance.setServerTemplateId(serverTemplateId);
+        slowInstance.setUrl("http://slow");
+        slowInstance.setServerInstanceId(serverTemplateId + "@slow");
+        serverTemplate.addServerInstance(slowInstance);
+
+        final KieServicesClient fastClient = mock(KieServicesClient.class);
+        final KieServicesClient slowClient = mock(KieServicesClient.class);
+        final KieServicesClientProvider provider = mock(KieServicesClientProvider.class);
+        when(provider.supports(anyString())).thenReturn(true);
+        when(provider.get("http://fast")).thenReturn(fastClient);
+        when(provider.get("http://slow")).thenReturn(slowClient);
+        kieServerIntegration.setKieServicesClientProviders(Collections.singletonList(provider));
+        kieServerIntegration.setBroadcastTimeout(100);
+
+        when(specManagementService.getServerTemplate(serverTemplateId)).thenReturn(serverTemplate);
+
+        final CountDownLatch release = new CountDownLatch(1);
+        final CountDownLatch interrupted = new CountDownLatch(1);
+        final List<CompletableFuture<Object>> results = kieServerIntegration.broadcastToKieServersAsync(serverTemplateId,
+                                                                                                       client -> {
+                                                                                                           if (client == slowClient) {
+                                                                                                               try {
+                                                                                                                   release.await(5,
+                                                                                                                                 TimeUnit.SECONDS);
+                                                                                                               } catch (InterruptedException e) {
+                                                                                                                   interrupted.countDown();
+                                                                                                                   Thread.currentThread().interrupt();
+                                                                                                               }
+                                                                                                               return "slow";
+                                                                                                           }
+                                                                                                           return "fast";
+                                                                                                       });
+
+        try {
+            assertEquals(2,
+                         results.size());
+            final List<Object> completed = new ArrayList<>();
+            int timedOut = 0;
+            for (CompletableFuture<Object> result : results) {
+                try {
+                    completed.add(result.get(5,
+                                             TimeUnit.SECONDS));
+                } catch (ExecutionException e) {
+                    assertTrue(e.getCause() instanceof TimeoutException);
+                    timedOut++;
+                }
+            }
+            assertEquals(Collections.singletonList("fast"),
+                         completed);
+            assertEquals(1,
+                         timedOut);
+            // the timed out operation is cancelled
+            assertTrue(interrupted.await(5,
+                                         TimeUnit.SECONDS));
+        } finally {
+            release.countDown();
+        }
+    }
 }
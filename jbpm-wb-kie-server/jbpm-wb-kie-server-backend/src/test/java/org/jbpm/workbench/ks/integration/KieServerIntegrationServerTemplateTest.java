@@ -167,6 +167,11 @@ public class KieServerIntegrationServerTemplateTest {
         assertEquals(2,
                      kieServerIntegration.getServerInstancesById().size());
         assertNotNull(kieServerIntegration.getServerInstancesById().get(serverInstanceId1));
+        assertEquals(containerSpec.getReleasedId(),
+                     kieServerIntegration.getContainerReleaseId(serverTemplateId1,
+                                                                containerSpec.getId()));
+        assertNull(kieServerIntegration.getContainerReleaseId(serverTemplateId1,
+                                                              "unknown"));
 
         kieServerIntegration.onServerInstanceDisconnected(new ServerInstanceDisconnected(serverInstanceId1));
 
@@ -202,6 +207,8 @@ public class KieServerIntegrationServerTemplateTest {
 
         assertEquals(1,
                      kieServerIntegration.getServerTemplatesClients().size());
+        assertNull(kieServerIntegration.getContainerReleaseId(serverTemplateId1,
+                                                              containerSpec.getId()));
 
         kieServerIntegration.onServerTemplateDeleted(new ServerTemplateDeleted(serverTemplateId2));
         assertEquals(0,
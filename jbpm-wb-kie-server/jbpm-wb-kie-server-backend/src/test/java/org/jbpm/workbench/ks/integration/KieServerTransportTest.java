@@ -0,0 +1,160 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jbpm.workbench.ks.integration;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.kie.server.api.KieServerConstants;
+import org.kie.server.api.exception.KieServicesException;
+import org.kie.server.client.KieServicesClient;
+import org.kie.server.client.ProcessServicesClient;
+import org.kie.server.client.credentials.EnteredCredentialsProvider;
+import org.kie.server.client.impl.AbstractKieServicesClientImpl;
+
+import static org.junit.Assert.*;
+
+public class KieServerTransportTest {
+
+    private static final String SERVER_TEMPLATE_ID = "serverTemplateId";
+
+    private KieServerTransport transport;
+
+    private KieServicesClient client;
+
+    @Before
+    public void setUp() {
+        transport = new KieServerTransport(1,
+                                           1000,
+                                           50);
+        client = transport.createClient(SERVER_TEMPLATE_ID,
+                                        "http://localhost:1/kie-server/services/rest/server",
+                                        null,
+                                        new EnteredCredentialsProvider("user",
+                                                                       "password"),
+                                        KieServerConstants.CAPABILITY_BPM);
+    }
+
+    @Test
+    public void testServicesClientsGoThroughRoute() {
+        final ProcessServicesClient processServicesClient = client.getServicesClient(ProcessServicesClient.class);
+
+        assertSame(processServicesClient,
+                   client.getServicesClient(ProcessServicesClient.class));
+        assertNotNull(((AbstractKieServicesClientImpl) client).getLoadBalancer());
+        try {
+            processServicesClient.getProcessDefinition("container",
+                                                       "process");
+            fail("No KIE Server listening");
+        } catch (RuntimeException e) {
+            // expected
+        }
+
+        final KieServerTransport.Route route = transport.getRoute(SERVER_TEMPLATE_ID);
+        assertEquals(1,
+                     route.getRequests());
+        assertEquals(0,
+                     route.getActiveConnections());
+        assertEquals(0,
+                     route.getSaturations());
+    }
+
+    @Test
+    public void testRequestsBoundedPerRoute() throws Exception {
+        final KieServerTransport.Route route = transport.getRoute(SERVER_TEMPLATE_ID);
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final Runnable blocking = route.bound(Runnable.class,
+                                              () -> {
+                                                  started.countDown();
+                                                  try {
+                                                      release.await();
+                                                  } catch (InterruptedException e) {
+                                                      Thread.currentThread().interrupt();
+                                                  }
+                                              });
+        final Runnable noop = route.bound(Runnable.class,
+                                          () -> {
+                                          });
+        final Thread thread = new Thread(blocking);
+        thread.start();
+        assertTrue(started.await(5,
+                                 TimeUnit.SECONDS));
+
+        assertEquals(1,
+                     route.getActiveConnections());
+        try {
+            noop.run();
+            fail("Route saturated");
+        } catch (KieServicesException e) {
+            assertTrue(e.getMessage().contains(SERVER_TEMPLATE_ID));
+        }
+        assertEquals(1,
+                     route.getSaturations());
+        assertEquals(1,
+                     route.getRejections());
+        assertTrue(route.getMaxWaitMillis() >= 40);
+
+        release.countDown();
+        thread.join();
+        noop.run();
+
+        assertEquals(3,
+                     route.getRequests());
+        assertEquals(0,
+                     route.getActiveConnections());
+    }
+
+    @Test
+    public void testOpenedConnectionsBoundedPerRoute() throws Exception {
+        final KieServerTransport.Route route = transport.getRoute(SERVER_TEMPLATE_ID);
+
+        final KieServerTransport.RouteConnection connection = transport.openConnection(SERVER_TEMPLATE_ID,
+                                                                                       "http://localhost:1/kie-server/services/rest/server/documents/1/content");
+
+        assertEquals(1000,
+                     connection.getConnection().getConnectTimeout());
+        assertEquals(1000,
+                     connection.getConnection().getReadTimeout());
+        assertEquals(1,
+                     route.getActiveConnections());
+        try {
+            transport.openConnection(SERVER_TEMPLATE_ID,
+                                     "http://localhost:1/kie-server/services/rest/server/documents/2/content");
+            fail("Route saturated");
+        } catch (KieServicesException e) {
+            assertTrue(e.getMessage().contains(SERVER_TEMPLATE_ID));
+        }
+
+        connection.close();
+        connection.close();
+
+        assertEquals(0,
+                     route.getActiveConnections());
+    }
+
+    @Test
+    public void testRouteRemoved() {
+        assertNotNull(transport.getRoute(SERVER_TEMPLATE_ID));
+
+        transport.removeRoute(SERVER_TEMPLATE_ID);
+
+        assertNull(transport.getRoute(SERVER_TEMPLATE_ID));
+    }
+}
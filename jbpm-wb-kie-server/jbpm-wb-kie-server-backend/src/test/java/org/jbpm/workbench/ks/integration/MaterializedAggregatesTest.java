@@ -0,0 +1,520 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jbpm.workbench.ks.integration;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+
+import org.dashbuilder.dataset.ColumnType;
+import org.dashbuilder.dataset.DataColumn;
+import org.dashbuilder.dataset.DataSet;
+import org.dashbuilder.dataset.DataSetFactory;
+import org.dashbuilder.dataset.DataSetLookup;
+import org.dashbuilder.dataset.DataSetLookupFactory;
+import org.dashbuilder.dataset.def.DataSetDef;
+import org.dashbuilder.dataset.group.DateIntervalType;
+import org.dashbuilder.dataset.impl.DataColumnImpl;
+import org.dashbuilder.dataset.impl.DataSetBuilderImpl;
+import org.junit.Before;
+import org.junit.Test;
+import org.kie.server.api.model.definition.QueryFilterSpec;
+import org.kie.server.api.model.definition.QueryParam;
+
+import static org.dashbuilder.dataset.filter.FilterFactory.*;
+import static org.dashbuilder.dataset.group.AggregateFunctionType.*;
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+public class MaterializedAggregatesTest {
+
+    private static final List<String> COLUMNS = Arrays.asList("id",
+                                                              "name",
+                                                              "status",
+                                                              "duration",
+                                                              "start");
+
+    private final List<Object[]> rows = new ArrayList<>();
+
+    private final List<QueryFilterSpec> fetches = new ArrayList<>();
+
+    private final List<Runnable> tasks = new ArrayList<>();
+
+    private boolean background;
+
+    private boolean failing;
+
+    private long now = 1000;
+
+    private MaterializedAggregates materializedAggregates;
+
+    private DataSetDef def;
+
+    @Before
+    public void setUp() {
+        materializedAggregates = new MaterializedAggregates(100,
+                                                            1000,
+                                                            2,
+                                                            2) {
+            @Override
+            protected long currentTimeMillis() {
+                return now;
+            }
+        };
+        materializedAggregates.executorService = mock(ExecutorService.class);
+        doAnswer(invocation -> {
+            final Runnable task = (Runnable) invocation.getArguments()[0];
+            if (background) {
+                tasks.add(task);
+            } else {
+                task.run();
+            }
+            return null;
+        }).when(materializedAggregates.executorService).execute(any(Runnable.class));
+        def = RemoteDataSetDefBuilder.get()
+                .uuid("uuid")
+                .number("id")
+                .label("name")
+                .number("status")
+                .number("duration")
+                .date("start")
+                .buildDef();
+        materializedAggregates.register(new AggregateDefinition("uuid",
+                                                                "id",
+                                                                in("status",
+                                                                   Arrays.asList(1)),
+                                                                Arrays.asList("name",
+                                                                              "status"),
+                                                                "duration"));
+        addRow(1,
+               "Evaluation",
+               2,
+               10d);
+        addRow(2,
+               "Evaluation",
+               1,
+               null);
+        addRow(3,
+               "Hiring",
+               2,
+               30d);
+        addRow(4,
+               "Hiring",
+               2,
+               50d);
+        addRow(5,
+               "Evaluation",
+               1,
+               null);
+    }
+
+    @Test
+    public void testAggregatesBuiltInPages() throws Exception {
+        final DataSet result = countByName();
+
+        assertEquals(3,
+                     fetches.size());
+        for (QueryFilterSpec fetch : fetches) {
+            assertEquals("id",
+                         fetch.getOrderBy());
+            assertTrue(fetch.isAscending());
+        }
+        assertEquals(2,
+                     result.getRowCount());
+        assertEquals("Evaluation",
+                     result.getValueAt(0,
+                                       0));
+        assertEquals(3d,
+                     result.getValueAt(0,
+                                       1));
+        assertEquals(10d,
+                     result.getValueAt(0,
+                                       2));
+        assertEquals(2d,
+                     result.getValueAt(0,
+                                       3));
+        assertEquals("Hiring",
+                     result.getValueAt(1,
+                                       0));
+        assertEquals(2d,
+                     result.getValueAt(1,
+                                       1));
+        assertEquals(40d,
+                     result.getValueAt(1,
+                                       2));
+    }
+
+    @Test
+    public void testAggregatesNotRefreshedWithinPeriod() throws Exception {
+        countByName();
+        fetches.clear();
+        addRow(6,
+               "Hiring",
+               2,
+               10d);
+
+        now += 99;
+        final DataSet result = countByName();
+
+        assertTrue(fetches.isEmpty());
+        assertEquals(2d,
+                     result.getValueAt(1,
+                                       1));
+    }
+
+    @Test
+    public void testAggregatesRefreshedIncrementally() throws Exception {
+        countByName();
+        fetches.clear();
+        // an open row is completed, another one deleted, and a new row added
+        rows.get(1)[2] = 2;
+        rows.get(1)[3] = 20d;
+        rows.remove(4);
+        addRow(6,
+               "Hiring",
+               1,
+               null);
+
+        now += 100;
+        final DataSet result = countByName();
+
+        assertEquals(4,
+                     fetches.size());
+        assertParam(fetches.get(0),
+                    "LOWER_OR_EQUALS_TO",
+                    5L);
+        assertParam(fetches.get(1),
+                    "IN",
+                    2L,
+                    5L);
+        // ids 4 and 5 of the safety window are scanned again
+        assertParam(fetches.get(2),
+                    "GREATER_THAN",
+                    3L);
+        assertEquals("Evaluation",
+                     result.getValueAt(0,
+                                       0));
+        assertEquals(2d,
+                     result.getValueAt(0,
+                                       1));
+        assertEquals(15d,
+                     result.getValueAt(0,
+                                       2));
+        assertEquals(1d,
+                     result.getValueAt(0,
+                                       3));
+        assertEquals(3d,
+                     result.getValueAt(1,
+                                       1));
+        assertEquals(40d,
+                     result.getValueAt(1,
+                                       2));
+    }
+
+    @Test
+    public void testRowsCommittedLateWithinSafetyWindow() throws Exception {
+        // row 4 is committed after row 5
+        final Object[] late = rows.remove(3);
+        assertEquals(1d,
+                     countByName().getValueAt(1,
+                                              1));
+        fetches.clear();
+        rows.add(3,
+                 late);
+
+        now += 100;
+        final DataSet result = countByName();
+
+        // open rows are fetched in two pages, then the safety window
+        assertParam(fetches.get(2),
+                    "GREATER_THAN",
+                    3L);
+        // row 5 of the safety window is not counted twice
+        assertEquals(3d,
+                     result.getValueAt(0,
+                                       1));
+        assertEquals(2d,
+                     result.getValueAt(1,
+                                       1));
+        assertEquals(40d,
+                     result.getValueAt(1,
+                                       2));
+    }
+
+    @Test
+    public void testAggregatesBuiltInBackground() throws Exception {
+        background = true;
+
+        assertNull(countByName());
+        assertTrue(fetches.isEmpty());
+        // a single build at once
+        assertNull(countByName());
+        assertEquals(1,
+                     tasks.size());
+
+        tasks.get(0).run();
+
+        assertEquals(3,
+                     fetches.size());
+        assertEquals(2,
+                     countByName().getRowCount());
+        assertEquals(3,
+                     fetches.size());
+    }
+
+    @Test
+    public void testPreviousAggregatesServedWhileRefreshed() throws Exception {
+        countByName();
+        fetches.clear();
+        background = true;
+        addRow(6,
+               "Hiring",
+               2,
+               10d);
+
+        now += 100;
+        assertEquals(2d,
+                     countByName().getValueAt(1,
+                                              1));
+        // a single refresh at once, not run by the lookups
+        assertEquals(2d,
+                     countByName().getValueAt(1,
+                                              1));
+        assertEquals(1,
+                     tasks.size());
+        assertTrue(fetches.isEmpty());
+
+        tasks.get(0).run();
+
+        assertEquals(3d,
+                     countByName().getValueAt(1,
+                                              1));
+        assertEquals(1,
+                     tasks.size());
+    }
+
+    @Test
+    public void testAggregatesRebuiltAfterFailedRefresh() throws Exception {
+        countByName();
+        fetches.clear();
+        failing = true;
+
+        now += 100;
+        // the refresh fails, the previous aggregates being dropped
+        assertNotNull(countByName());
+        failing = false;
+        countByName();
+
+        assertEquals(0,
+                     fetches.get(0).getParameters().length);
+    }
+
+    @Test
+    public void testAggregatesRebuiltPeriodically() throws Exception {
+        countByName();
+        fetches.clear();
+        // row 5 is deleted, which refreshes don't notice once closed
+        rows.get(4)[2] = 2;
+        now += 100;
+        countByName();
+        rows.remove(4);
+        fetches.clear();
+
+        now += 900;
+        final DataSet result = countByName();
+
+        assertEquals(0,
+                     fetches.get(0).getParameters().length);
+        assertEquals(2d,
+                     result.getValueAt(0,
+                                       1));
+    }
+
+    @Test
+    public void testFilteredAggregates() throws Exception {
+        final DataSet result = materializedAggregates.lookup("serverTemplateId",
+                                                             def,
+                                                             DataSetLookupFactory.newDataSetLookupBuilder()
+                                                                     .filter(equalsTo("status",
+                                                                                      2),
+                                                                             notNull("duration"))
+                                                                     .column("id",
+                                                                             COUNT,
+                                                                             "count")
+                                                                     .column("duration",
+                                                                             SUM,
+                                                                             "duration")
+                                                                     .buildLookup(),
+                                                             columns("id",
+                                                                     "duration"),
+                                                             this::fetch);
+
+        assertEquals(3d,
+                     result.getValueAt(0,
+                                       0));
+        assertEquals(90d,
+                     result.getValueAt(0,
+                                       1));
+    }
+
+    @Test
+    public void testRebuild() throws Exception {
+        countByName();
+        fetches.clear();
+
+        materializedAggregates.rebuild("serverTemplateId");
+        countByName();
+
+        assertEquals(0,
+                     fetches.get(0).getParameters().length);
+    }
+
+    @Test
+    public void testLookupsNotSupported() throws Exception {
+        final DataSetLookup byDay = DataSetLookupFactory.newDataSetLookupBuilder()
+                .group("start").dynamic(10,
+                                        DateIntervalType.DAY,
+                                        true)
+                .column("start")
+                .column("id",
+                        COUNT,
+                        "count")
+                .buildLookup();
+        final DataSetLookup lastWeek = DataSetLookupFactory.newDataSetLookupBuilder()
+                .filter(timeFrame("start",
+                                  "now -7day till now"))
+                .column("id",
+                        COUNT,
+                        "count")
+                .buildLookup();
+        final DataSetLookup maxDuration = DataSetLookupFactory.newDataSetLookupBuilder()
+                .column("duration",
+                        MAX,
+                        "duration")
+                .buildLookup();
+
+        assertNull(materializedAggregates.lookup("serverTemplateId",
+                                                 def,
+                                                 byDay,
+                                                 columns("start",
+                                                         "id"),
+                                                 this::fetch));
+        assertNull(materializedAggregates.lookup("serverTemplateId",
+                                                 def,
+                                                 lastWeek,
+                                                 columns("id"),
+                                                 this::fetch));
+        assertNull(materializedAggregates.lookup("serverTemplateId",
+                                                 def,
+                                                 maxDuration,
+                                                 columns("duration"),
+                                                 this::fetch));
+    }
+
+    private DataSet countByName() throws Exception {
+        return materializedAggregates.lookup("serverTemplateId",
+                                             def,
+                                             DataSetLookupFactory.newDataSetLookupBuilder()
+                                                     .group("name")
+                                                     .column("name")
+                                                     .column("id",
+                                                             COUNT,
+                                                             "count")
+                                                     .column("duration",
+                                                             AVERAGE,
+                                                             "duration")
+                                                     .column("status",
+                                                             DISTINCT,
+                                                             "status")
+                                                     .buildLookup(),
+                                             columns("name",
+                                                     "id",
+                                                     "duration",
+                                                     "status"),
+                                             this::fetch);
+    }
+
+    private void addRow(final long id,
+                        final String name,
+                        final int status,
+                        final Double duration) {
+        rows.add(new Object[]{id, name, status, duration, new Date(id * 1000)});
+    }
+
+    private DataSet fetch(final QueryFilterSpec filterSpec,
+                          final int numberOfRows) {
+        if (failing) {
+            throw new IllegalStateException("KIE Server unavailable");
+        }
+        fetches.add(filterSpec);
+        final DataSetBuilderImpl builder = (DataSetBuilderImpl) DataSetFactory.newDataSetBuilder()
+                .number("id")
+                .label("name")
+                .number("status")
+                .number("duration")
+                .date("start");
+        int count = 0;
+        for (Object[] row : rows) {
+            if (count < numberOfRows && (filterSpec.getParameters() == null || Arrays.stream(filterSpec.getParameters()).allMatch(param -> matches(row,
+                                                                                                                                                   param)))) {
+                builder.row(row);
+                count++;
+            }
+        }
+        return builder.buildDataSet();
+    }
+
+    private boolean matches(final Object[] row,
+                            final QueryParam param) {
+        final double value = ((Number) row[COLUMNS.indexOf(param.getColumn())]).doubleValue();
+        final double first = ((Number) param.getValue().get(0)).doubleValue();
+        switch (param.getOperator()) {
+            case "GREATER_THAN":
+                return value > first;
+            case "LOWER_OR_EQUALS_TO":
+                return value <= first;
+            case "IN":
+                return param.getValue().stream().anyMatch(v -> ((Number) v).doubleValue() == value);
+            default:
+                throw new IllegalArgumentException(param.getOperator());
+        }
+    }
+
+    private void assertParam(final QueryFilterSpec filterSpec,
+                             final String operator,
+                             final Object... values) {
+        for (QueryParam param : filterSpec.getParameters()) {
+            if (param.getColumn().equals("id") && param.getOperator().equals(operator)) {
+                assertEquals(Arrays.asList(values),
+                             param.getValue());
+                return;
+            }
+        }
+        fail("No " + operator + " parameter");
+    }
+
+    private List<DataColumn> columns(final String... columnIds) {
+        final List<DataColumn> columns = new ArrayList<>();
+        for (String columnId : columnIds) {
+            columns.add(new DataColumnImpl(columnId,
+                                           "name".equals(columnId) ? ColumnType.LABEL : ColumnType.NUMBER));
+        }
+        return columns;
+    }
+}
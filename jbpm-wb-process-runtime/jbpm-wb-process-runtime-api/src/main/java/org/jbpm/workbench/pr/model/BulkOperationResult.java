@@ -0,0 +1,88 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jbpm.workbench.pr.model;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.jboss.errai.common.client.api.annotations.Portable;
+
+/**
+ * Outcome of an operation applied to several process instances, e.g. a bulk abort or signal, which may succeed for
+ * some of them and fail for others.
+ */
+@Portable
+public class BulkOperationResult implements Serializable {
+
+    private List<Long> succeeded = new ArrayList<>();
+
+    // error message by process instance id
+    private Map<Long, String> failures = new HashMap<>();
+
+    public BulkOperationResult() {
+    }
+
+    public List<Long> getSucceeded() {
+        return succeeded;
+    }
+
+    public void setSucceeded(List<Long> succeeded) {
+        this.succeeded = succeeded;
+    }
+
+    public Map<Long, String> getFailures() {
+        return failures;
+    }
+
+    public void setFailures(Map<Long, String> failures) {
+        this.failures = failures;
+    }
+
+    public void addSucceeded(List<Long> processInstanceIds) {
+        succeeded.addAll(processInstanceIds);
+    }
+
+    public void addFailure(Long processInstanceId,
+                           String message) {
+        failures.put(processInstanceId,
+                     message);
+    }
+
+    public void addAll(BulkOperationResult result) {
+        succeeded.addAll(result.getSucceeded());
+        failures.putAll(result.getFailures());
+    }
+
+    public int size() {
+        return succeeded.size() + failures.size();
+    }
+
+    public boolean hasFailures() {
+        return !failures.isEmpty();
+    }
+
+    @Override
+    public String toString() {
+        return "BulkOperationResult{" +
+                "succeeded=" + succeeded +
+                ", failures=" + failures +
+                '}';
+    }
+}
@@ -19,7 +19,8 @@ package org.jbpm.workbench.pr.model;
 public final class ProcessInstanceDataSetConstants {
 
     public static final String PROCESS_INSTANCE_DATASET = "jbpmProcessInstances";
-    public static final String PROCESS_INSTANCE_WITH_VARIABLES_DATASET = "jbpmProcessInstancesWithVariables";
+    public static final String PROCESS_INSTANCE_WITH_VARIABLE_COLUMNS_DATASET = "jbpmProcessInstancesWithVariableColumns";
+    public static final String PROCESS_INSTANCE_VARIABLES_DATASET = "jbpmProcessInstanceVariables";
     public static final String COLUMN_PROCESS_INSTANCE_ID = "processInstanceId";
     public static final String COLUMN_PROCESS_ID = "processId";
     public static final String COLUMN_START = "start_date";
@@ -44,6 +45,8 @@ public final class ProcessInstanceDataSetConstants {
     public static final String VARIABLE_NAME = "variableId";
     public static final String VARIABLE_VALUE = "value";
     public static final String VARIABLE_ID = "id";
+    public static final String VARIABLE_OLD_VALUE = "oldValue";
+    public static final String VARIABLE_LOG_DATE = "log_date";
 
     public static final String COL_PROCESS_INSTANCE_VAR_ID = "varId";
     public static final String COL_PROCESS_INSTANCE_VAR_VALUE = "varValue";
@@ -20,6 +20,7 @@ import java.util.List;
 import java.util.Map;
 
 import org.jboss.errai.bus.server.annotations.Remote;
+import org.jbpm.workbench.pr.model.BulkOperationResult;
 import org.jbpm.workbench.pr.model.ProcessInstanceKey;
 
 @Remote
@@ -27,8 +28,8 @@ public interface ProcessService {
 
     void abortProcessInstance(ProcessInstanceKey processInstance);
 
-    void abortProcessInstances(String serverTemplateId,
-                               Map<String, List<Long>> containerInstances);
+    BulkOperationResult abortProcessInstances(String serverTemplateId,
+                                              Map<String, List<Long>> containerInstances);
 
     Long startProcess(String serverTemplateId,
                       String containerId,
@@ -40,11 +41,11 @@ public interface ProcessService {
                                      String containerId,
                                      Long processInstanceId);
 
-    void signalProcessInstances(String serverTemplateId,
-                                List<String> containers,
-                                List<Long> processInstanceId,
-                                String signal,
-                                Object event);
+    BulkOperationResult signalProcessInstances(String serverTemplateId,
+                                               List<String> containers,
+                                               List<Long> processInstanceId,
+                                               String signal,
+                                               Object event);
 
     void setProcessVariable(String serverTemplateId,
                             String deploymentId,
@@ -29,4 +29,11 @@ public interface ProcessVariablesService extends GenericServiceEntryPoint<Proces
 
     List<ProcessVariableSummary> getVariableHistory(ProcessInstanceKey processInstance,
                                                     String variableName);
+
+    /**
+     * @return current state of the assigned process instance variables declared with the given type
+     */
+    List<ProcessVariableSummary> getProcessVariablesByType(ProcessInstanceKey processInstance,
+                                                           String processId,
+                                                           String variableType);
 }
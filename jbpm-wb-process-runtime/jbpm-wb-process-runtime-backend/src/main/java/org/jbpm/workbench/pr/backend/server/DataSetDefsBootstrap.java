@@ -15,50 +15,62 @@
  */
 package org.jbpm.workbench.pr.backend.server;
 
+import java.util.function.Consumer;
 import javax.enterprise.context.ApplicationScoped;
 import javax.enterprise.event.Observes;
 
 import org.jbpm.workbench.ks.integration.AbstractDataSetDefsBootstrap;
+import org.jbpm.workbench.ks.integration.RemoteDataSetDefBuilder;
 import org.jbpm.workbench.ks.integration.event.QueryDefinitionLoaded;
+import org.kie.server.api.model.definition.QueryDefinition;
 
-
+import static org.jbpm.workbench.ks.integration.RemoteDataSetDef.PROCESS_VARIABLES_QUERY_TARGET;
 import static org.jbpm.workbench.pr.model.ProcessInstanceDataSetConstants.*;
 import static org.jbpm.workbench.pr.model.ProcessInstanceLogDataSetConstants.*;
 
 @ApplicationScoped
 public class DataSetDefsBootstrap extends AbstractDataSetDefsBootstrap {
 
+    private static final Consumer<RemoteDataSetDefBuilder> PROCESS_INSTANCE_COLUMNS = builder ->
+            builder.number(COLUMN_PROCESS_INSTANCE_ID)
+                   .label(COLUMN_PROCESS_ID)
+                   .date(COLUMN_START)
+                   .date(COLUMN_END)
+                   .number(COLUMN_STATUS)
+                   .number(COLUMN_PARENT_PROCESS_INSTANCE_ID)
+                   .label(COLUMN_OUTCOME)
+                   .number(COLUMN_DURATION)
+                   .label(COLUMN_IDENTITY)
+                   .label(COLUMN_PROCESS_VERSION)
+                   .label(COLUMN_PROCESS_NAME)
+                   .label(COLUMN_CORRELATION_KEY)
+                   .label(COLUMN_EXTERNAL_ID)
+                   .label(COLUMN_PROCESS_INSTANCE_DESCRIPTION)
+                   .date(COLUMN_SLA_DUE_DATE)
+                   .number(COLUMN_SLA_COMPLIANCE)
+                   .date(COLUMN_LAST_MODIFICATION_DATE)
+                   .number(COLUMN_ERROR_COUNT);
+
     public void registerDataSetDefinitions(@Observes QueryDefinitionLoaded event) {
         if (event.getDefinition().getName().equals(PROCESS_INSTANCE_DATASET)) {
             registerDataSetDefinition(event.getDefinition(),
-                                      builder ->
-                                              builder.number(COLUMN_PROCESS_INSTANCE_ID)
-                                                      .label(COLUMN_PROCESS_ID)
-                                                      .date(COLUMN_START)
-                                                      .date(COLUMN_END)
-                                                      .number(COLUMN_STATUS)
-                                                      .number(COLUMN_PARENT_PROCESS_INSTANCE_ID)
-                                                      .label(COLUMN_OUTCOME)
-                                                      .number(COLUMN_DURATION)
-                                                      .label(COLUMN_IDENTITY)
-                                                      .label(COLUMN_PROCESS_VERSION)
-                                                      .label(COLUMN_PROCESS_NAME)
-                                                      .label(COLUMN_CORRELATION_KEY)
-                                                      .label(COLUMN_EXTERNAL_ID)
-                                                      .label(COLUMN_PROCESS_INSTANCE_DESCRIPTION)
-                                                      .date(COLUMN_SLA_DUE_DATE)
-                                                      .number(COLUMN_SLA_COMPLIANCE)
-                                                      .date(COLUMN_LAST_MODIFICATION_DATE)
-                                                      .number(COLUMN_ERROR_COUNT)
-            );
-        } else if (event.getDefinition().getName().equals(PROCESS_INSTANCE_WITH_VARIABLES_DATASET)) {
+                                      PROCESS_INSTANCE_COLUMNS);
+            // pages the process instances and joins the latest values of their variables within the workbench
+            registerDataSetDefinition(QueryDefinition.builder()
+                                              .name(PROCESS_INSTANCE_WITH_VARIABLE_COLUMNS_DATASET)
+                                              .target(PROCESS_VARIABLES_QUERY_TARGET)
+                                              .source(event.getDefinition().getSource())
+                                              .expression(PROCESS_INSTANCE_DATASET)
+                                              .build(),
+                                      PROCESS_INSTANCE_COLUMNS);
+        } else if (event.getDefinition().getName().equals(PROCESS_INSTANCE_VARIABLES_DATASET)) {
             registerDataSetDefinition(event.getDefinition(),
                                       builder ->
                                               builder.number(PROCESS_INSTANCE_ID)
-                                                      .label(PROCESS_NAME)
-                                                      .number(VARIABLE_ID)
                                                       .label(VARIABLE_NAME)
                                                       .label(VARIABLE_VALUE)
+                                                      .label(VARIABLE_OLD_VALUE)
+                                                      .date(VARIABLE_LOG_DATE)
             );
         } else if (event.getDefinition().getName().equals(PROCESS_INSTANCE_LOGS_DATASET)) {
             registerDataSetDefinition(event.getDefinition(),
@@ -0,0 +1,142 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jbpm.workbench.pr.backend.server;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Observes;
+
+import org.jbpm.workbench.ks.integration.ContainerReleaseCache;
+import org.jbpm.workbench.pr.model.ProcessSummary;
+import org.kie.server.api.model.ReleaseId;
+import org.kie.server.controller.api.model.events.ContainerSpecUpdated;
+import org.kie.server.controller.api.model.events.ServerTemplateDeleted;
+import org.kie.server.controller.api.model.events.ServerTemplateUpdated;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Memory bounded cache of process definitions, their variable definitions and (post processed) SVG diagrams. All of
+ * them can only change when a container is redeployed, therefore entries are keyed by the container release id and
+ * dropped on any container or server template update.
+ */
+@ApplicationScoped
+public class ProcessDefinitionCache {
+
+    public static final String PROCESS_CACHE_SIZE = "org.jbpm.wb.process.definition.cache.size";
+    public static final String DIAGRAM_CACHE_SIZE = "org.jbpm.wb.process.diagram.cache.size";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ProcessDefinitionCache.class);
+
+    private final ContainerReleaseCache<ProcessSummary> processes;
+    private final ContainerReleaseCache<Map<String, String>> variables;
+    private final ContainerReleaseCache<String> diagrams;
+
+    public ProcessDefinitionCache() {
+        this(Integer.getInteger(PROCESS_CACHE_SIZE,
+                                500),
+             Long.getLong(DIAGRAM_CACHE_SIZE,
+                          16 * 1024 * 1024L));
+    }
+
+    /**
+     * @param maxProcesses maximum number of process definitions (and of variable definitions) kept
+     * @param maxDiagramsLength maximum number of SVG characters kept over all diagrams
+     */
+    public ProcessDefinitionCache(final int maxProcesses,
+                                  final long maxDiagramsLength) {
+        this.processes = new ContainerReleaseCache<>(process -> 1,
+                                                     maxProcesses);
+        this.variables = new ContainerReleaseCache<>(processVariables -> 1,
+                                                     maxProcesses);
+        this.diagrams = new ContainerReleaseCache<>(String::length,
+                                                    maxDiagramsLength);
+    }
+
+    public ProcessSummary getProcess(final String serverTemplateId,
+                                     final String containerId,
+                                     final ReleaseId releaseId,
+                                     final String processId,
+                                     final Supplier<ProcessSummary> loader) {
+        return processes.get(serverTemplateId,
+                             containerId,
+                             releaseId,
+                             Collections.singletonList(processId),
+                             loader);
+    }
+
+    /**
+     * @return variable names mapped to their types, as returned by the loader
+     */
+    public Map<String, String> getProcessVariables(final String serverTemplateId,
+                                                   final String containerId,
+                                                   final ReleaseId releaseId,
+                                                   final String processId,
+                                                   final Supplier<Map<String, String>> loader) {
+        return variables.get(serverTemplateId,
+                             containerId,
+                             releaseId,
+                             Collections.singletonList(processId),
+                             () -> {
+                                 final Map<String, String> processVariables = loader.get();
+                                 return processVariables == null ? null : Collections.unmodifiableMap(processVariables);
+                             });
+    }
+
+    public String getProcessDiagram(final String serverTemplateId,
+                                    final String containerId,
+                                    final ReleaseId releaseId,
+                                    final String processId,
+                                    final Supplier<String> loader) {
+        return diagrams.get(serverTemplateId,
+                            containerId,
+                            releaseId,
+                            Collections.singletonList(processId),
+                            loader);
+    }
+
+    public void invalidate(final String serverTemplateId) {
+        processes.invalidate(serverTemplateId);
+        variables.invalidate(serverTemplateId);
+        diagrams.invalidate(serverTemplateId);
+        LOGGER.debug("Process definition cache invalidated for server template {}",
+                     serverTemplateId);
+    }
+
+    public int size() {
+        return processes.size() + variables.size() + diagrams.size();
+    }
+
+    protected long getDiagramsLength() {
+        return diagrams.getWeight();
+    }
+
+    public void onContainerSpecUpdated(@Observes ContainerSpecUpdated containerSpecUpdated) {
+        invalidate(containerSpecUpdated.getServerTemplate().getId());
+    }
+
+    public void onServerTemplateUpdated(@Observes ServerTemplateUpdated serverTemplateUpdated) {
+        invalidate(serverTemplateUpdated.getServerTemplate().getId());
+    }
+
+    public void onServerTemplateDeleted(@Observes ServerTemplateDeleted serverTemplateDeleted) {
+        invalidate(serverTemplateDeleted.getServerTemplateId());
+    }
+}
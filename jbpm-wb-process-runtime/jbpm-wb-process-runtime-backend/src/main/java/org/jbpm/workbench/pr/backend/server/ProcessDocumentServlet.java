@@ -15,8 +15,17 @@
  */
 package org.jbpm.workbench.pr.backend.server;
 
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
 import java.text.MessageFormat;
+import java.util.Date;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.CRC32;
 import javax.inject.Inject;
 import javax.servlet.ServletException;
 import javax.servlet.annotation.WebServlet;
@@ -24,23 +33,52 @@ import javax.servlet.http.HttpServlet;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 
+import org.jbpm.document.service.impl.util.DocumentDownloadLinkGenerator;
 import org.jbpm.workbench.ks.integration.KieServerIntegration;
+import org.jbpm.workbench.ks.integration.KieServerTransport;
+import org.jbpm.workbench.ks.utils.KieServerUtils;
 import org.kie.server.api.model.instance.DocumentInstance;
+import org.kie.server.client.CredentialsProvider;
 import org.kie.server.client.DocumentServicesClient;
 import org.kie.server.client.KieServicesClient;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.uberfire.server.util.FileServletUtil;
 
+/**
+ * Downloads process documents from KIE Server. When KIE Server exposes the document content over REST it is piped
+ * to the response through a fixed size buffer, otherwise the document is loaded with the {@link DocumentServicesClient}.
+ * <p>
+ * KIE Server does not send validators with the streamed content, so links to a document carry the version recorded
+ * with its process variable (see {@link #getDownloadLink(String, String, Date, long)}). That version is the entity tag
+ * of the document: conditional requests (If-None-Match) are answered before KIE Server is contacted. Links without a
+ * version fall back to the last modification sent by KIE Server, or to the one of the loaded document.
+ * <p>
+ * Single byte range requests are supported so browsers can resume downloads. When streaming, the range is forwarded
+ * to KIE Server, the skipped prefix being only read (and discarded) when KIE Server answers with the whole content.
+ */
 @WebServlet(name = "ProcessDocumentServlet", urlPatterns = "/jbpm/documents")
 public class ProcessDocumentServlet extends HttpServlet {
 
+    public static final String DOCUMENT_STREAMING = "org.jbpm.wb.documents.streaming";
+    public static final String DOCUMENT_BUFFER_SIZE = "org.jbpm.wb.documents.buffer.size";
+
     private static final Logger logger = LoggerFactory.getLogger(ProcessDocumentServlet.class);
     public static final String ERROR_RETRIEVING_DOC = "Error occured during document retrieval \"{0}\".";
     public static final String INVALID_SERVICES_CLIENT = "Unable to retrieve services client with template id \"{0}\"";
     public static final String INVALID_DOCUMENT = "Unable to retrieve document with id \"{0}\"";
     public static final String INVALID_PARAMS = "Invalid parameters to servlet: templateid: \"{0}\", docid: \"{1}\"";
 
+    private static final Pattern RANGE_PATTERN = Pattern.compile("^bytes=(\\d*)-(\\d*)$");
+    private static final Pattern CONTENT_RANGE_PATTERN = Pattern.compile("^bytes (\\d+)-\\d+/(\\d+)$");
+    private static final Pattern VERSION_PATTERN = Pattern.compile("^([0-9a-f]+)-([0-9a-f]+)$");
+    private static final Pattern FILE_NAME_PATTERN = Pattern.compile("filename=\"([^\"]*)\"");
+
+    private final boolean streaming = Boolean.parseBoolean(System.getProperty(DOCUMENT_STREAMING,
+                                                                              "true"));
+    private final int bufferSize = Integer.getInteger(DOCUMENT_BUFFER_SIZE,
+                                                      64 * 1024);
+
     @Inject
     private KieServerIntegration kieServerIntegration;
 
@@ -60,16 +98,49 @@ public class ProcessDocumentServlet extends HttpServlet {
                 return;
             }
 
+            // version of the document when the link was generated, see getDownloadLink
+            final Matcher linkVersion = VERSION_PATTERN.matcher(String.valueOf(request.getParameter("version")));
+            final boolean versioned = linkVersion.matches();
+            final long linkLength = versioned ? Long.parseLong(linkVersion.group(2),
+                                                               16) : -1;
+            final String linkETag = versioned ? getETag(linkVersion.group(1),
+                                                        linkLength) : null;
+            if (linkETag != null && matchesETag(request.getHeader("If-None-Match"),
+                                                linkETag)) {
+                response.setHeader("ETag",
+                                   linkETag);
+                response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+                return;
+            }
+
             KieServicesClient kieServicesClient = kieServerIntegration.getServerClient(templateId);
             if (kieServicesClient != null) {
                 DocumentServicesClient documentServicesClient = kieServicesClient.getServicesClient(DocumentServicesClient.class);
-                DocumentInstance documentInstance = documentServicesClient.getDocument(docId);
+                DocumentContent documentContent = null;
+                if (streaming) {
+                    // the range can only be forwarded when it does not depend on a validator known after the download
+                    final String ifRange = request.getHeader("If-Range");
+                    documentContent = openDocumentContent(templateId,
+                                                          documentServicesClient,
+                                                          docId,
+                                                          ifRange == null || ifRange.equals(linkETag) ? request.getHeader("Range") : null);
+                }
+                if (documentContent == null) {
+                    documentContent = loadDocumentContent(documentServicesClient,
+                                                          docId);
+                }
 
-                if (documentInstance != null) {
-                    response.setContentType("application/octet-stream");
-                    response.setHeader("Content-Disposition",
-                                       "attachment; filename=\"" + documentInstance.getName() + "\"");
-                    response.getOutputStream().write(documentInstance.getContent());
+                if (documentContent != null) {
+                    if (versioned && linkLength == documentContent.getLength()) {
+                        documentContent = documentContent.withVersion(linkVersion.group(1));
+                    }
+                    try {
+                        writeDocument(request,
+                                      response,
+                                      documentContent);
+                    } finally {
+                        documentContent.getContent().close();
+                    }
                 } else {
                     logger.error(MessageFormat.format(INVALID_DOCUMENT,
                                                       docId));
@@ -86,8 +157,334 @@ public class ProcessDocumentServlet extends HttpServlet {
         }
     }
 
+    /**
+     * Opens the document content REST resource of KIE Server without reading it. The connection goes through the
+     * {@link KieServerTransport} of the server template, it is given back once the content is closed.
+     * @param range byte range forwarded to KIE Server, null for the whole content
+     * @return the document content or null when it can not be streamed
+     */
+    protected DocumentContent openDocumentContent(final String templateId,
+                                                  final DocumentServicesClient documentServicesClient,
+                                                  final String docId,
+                                                  final String range) {
+        final String link = documentServicesClient.getDocumentLink(docId);
+        if (link == null) {
+            return null;
+        }
+        KieServerTransport.RouteConnection routeConnection = null;
+        try {
+            routeConnection = openConnection(templateId,
+                                             link);
+            final HttpURLConnection connection = routeConnection.getConnection();
+            final CredentialsProvider credentialsProvider = getCredentialsProvider();
+            connection.setRequestProperty(credentialsProvider.getHeaderName(),
+                                          credentialsProvider.getAuthorization());
+            if (range != null) {
+                connection.setRequestProperty("Range",
+                                              range);
+            }
+            long offset = 0;
+            long length = connection.getContentLengthLong();
+            final Matcher contentRange = CONTENT_RANGE_PATTERN.matcher(String.valueOf(connection.getHeaderField("Content-Range")));
+            if (connection.getResponseCode() == HttpURLConnection.HTTP_PARTIAL && contentRange.matches()) {
+                offset = Long.parseLong(contentRange.group(1));
+                length = Long.parseLong(contentRange.group(2));
+            } else if (connection.getResponseCode() != HttpURLConnection.HTTP_OK) {
+                logger.debug("Document {} can not be streamed, KIE Server responded with {}",
+                             docId,
+                             connection.getResponseCode());
+                connection.disconnect();
+                routeConnection.close();
+                return null;
+            }
+            // stored documents are versioned by their last modification, only known when KIE Server sends it
+            final long lastModified = connection.getLastModified();
+            final KieServerTransport.RouteConnection openedConnection = routeConnection;
+            return new DocumentContent(getFileName(connection.getHeaderField("Content-Disposition"),
+                                                   docId),
+                                       length,
+                                       lastModified > 0 ? Long.toHexString(lastModified) : null,
+                                       offset,
+                                       new FilterInputStream(connection.getInputStream()) {
+                                           @Override
+                                           public void close() throws IOException {
+                                               try {
+                                                   super.close();
+                                               } finally {
+                                                   openedConnection.close();
+                                               }
+                                           }
+                                       });
+        } catch (Exception e) {
+            if (routeConnection != null) {
+                routeConnection.close();
+            }
+            logger.debug("Document {} can not be streamed: {}",
+                         docId,
+                         e.getMessage());
+            return null;
+        }
+    }
+
+    protected KieServerTransport.RouteConnection openConnection(final String templateId,
+                                                                final String link) throws IOException {
+        return kieServerIntegration.getTransport().openConnection(templateId,
+                                                                  link);
+    }
+
+    protected CredentialsProvider getCredentialsProvider() {
+        return KieServerUtils.getCredentialsProvider();
+    }
+
+    protected DocumentContent loadDocumentContent(final DocumentServicesClient documentServicesClient,
+                                                  final String docId) {
+        final DocumentInstance documentInstance = documentServicesClient.getDocument(docId);
+        if (documentInstance == null) {
+            return null;
+        }
+        final byte[] content = documentInstance.getContent();
+        final String version;
+        if (documentInstance.getLastModified() != null) {
+            version = Long.toHexString(documentInstance.getLastModified().getTime());
+        } else {
+            final CRC32 checksum = new CRC32();
+            checksum.update(content);
+            version = Long.toHexString(checksum.getValue());
+        }
+        return new DocumentContent(documentInstance.getName(),
+                                   content.length,
+                                   version,
+                                   new ByteArrayInputStream(content));
+    }
+
+    protected void writeDocument(final HttpServletRequest request,
+                                 final HttpServletResponse response,
+                                 final DocumentContent documentContent) throws IOException {
+        final long length = documentContent.getLength();
+        final String eTag = getETag(documentContent.getVersion(),
+                                    length);
+
+        if (eTag != null) {
+            response.setHeader("ETag",
+                               eTag);
+            if (matchesETag(request.getHeader("If-None-Match"),
+                            eTag)) {
+                response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+                return;
+            }
+        }
+
+        response.setContentType("application/octet-stream");
+        response.setHeader("Content-Disposition",
+                           "attachment; filename=\"" + documentContent.getName() + "\"");
+
+        long start = 0;
+        long end = length - 1;
+        final String range = request.getHeader("Range");
+        final String ifRange = request.getHeader("If-Range");
+        if (length >= 0) {
+            response.setHeader("Accept-Ranges",
+                               "bytes");
+            if (range != null && (ifRange == null || (eTag != null && ifRange.equals(eTag)))) {
+                final Matcher matcher = RANGE_PATTERN.matcher(range.trim());
+                if (matcher.matches() && !(matcher.group(1).isEmpty() && matcher.group(2).isEmpty())) {
+                    if (matcher.group(1).isEmpty()) {
+                        start = Math.max(0,
+                                         length - Long.parseLong(matcher.group(2)));
+                    } else {
+                        start = Long.parseLong(matcher.group(1));
+                        if (!matcher.group(2).isEmpty()) {
+                            end = Math.min(end,
+                                           Long.parseLong(matcher.group(2)));
+                        }
+                    }
+                    if (start > end) {
+                        response.setHeader("Content-Range",
+                                           "bytes */" + length);
+                        response.setStatus(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                        return;
+                    }
+                    response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+                    response.setHeader("Content-Range",
+                                       "bytes " + start + "-" + end + "/" + length);
+                }
+            }
+            response.setContentLengthLong(end - start + 1);
+        }
+
+        if (start < documentContent.getOffset()) {
+            throw new IOException("Range " + range + " not returned by KIE Server");
+        }
+        copy(documentContent.getContent(),
+             response.getOutputStream(),
+             start - documentContent.getOffset(),
+             length >= 0 ? end - start + 1 : -1);
+    }
+
+    /**
+     * Copies count bytes (or everything when negative) after skipping the first offset bytes of the input.
+     */
+    protected void copy(final InputStream input,
+                        final OutputStream output,
+                        final long offset,
+                        final long count) throws IOException {
+        long skipped = 0;
+        while (skipped < offset) {
+            final long n = input.skip(offset - skipped);
+            if (n <= 0) {
+                if (input.read() == -1) {
+                    return;
+                }
+                skipped++;
+            } else {
+                skipped += n;
+            }
+        }
+
+        final byte[] buffer = new byte[bufferSize];
+        long remaining = count < 0 ? Long.MAX_VALUE : count;
+        while (remaining > 0) {
+            final int read = input.read(buffer,
+                                        0,
+                                        (int) Math.min(buffer.length,
+                                                       remaining));
+            if (read == -1) {
+                break;
+            }
+            output.write(buffer,
+                         0,
+                         read);
+            remaining -= read;
+        }
+        output.flush();
+    }
+
+    /**
+     * @param version last modification or content checksum of the document, null when unknown
+     * @return the entity tag of the document content or null when its version is unknown, as a document may be
+     * replaced by one of the same size
+     */
+    protected static String getETag(final String version,
+                                    final long length) {
+        if (version == null) {
+            return null;
+        }
+        return "\"" + version + "-" + Long.toHexString(length) + "\"";
+    }
+
+    /**
+     * Link to download a document, carrying the version recorded with its process variable when known.
+     * @param lastModified last modification of the document, null when unknown
+     * @param size size of the document in bytes
+     */
+    public static String getDownloadLink(final String serverTemplateId,
+                                         final String documentId,
+                                         final Date lastModified,
+                                         final long size) {
+        final String link = DocumentDownloadLinkGenerator.generateDownloadLink(serverTemplateId,
+                                                                               documentId);
+        if (lastModified == null) {
+            return link;
+        }
+        return link + "&version=" + Long.toHexString(lastModified.getTime()) + "-" + Long.toHexString(size);
+    }
+
+    protected static boolean matchesETag(final String ifNoneMatch,
+                                         final String eTag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String tag : ifNoneMatch.split(",")) {
+            tag = tag.trim();
+            if (tag.equals("*") || tag.equals(eTag) || tag.equals("W/" + eTag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    protected static String getFileName(final String contentDisposition,
+                                        final String defaultName) {
+        if (contentDisposition != null) {
+            final Matcher matcher = FILE_NAME_PATTERN.matcher(contentDisposition);
+            if (matcher.find()) {
+                return matcher.group(1);
+            }
+        }
+        return defaultName;
+    }
+
     // for testing
     public void setKieServerIntegration(KieServerIntegration kieServerIntegration) {
         this.kieServerIntegration = kieServerIntegration;
     }
+
+    protected static class DocumentContent {
+
+        private final String name;
+        private final long length;
+        private final String version;
+        private final long offset;
+        private final InputStream content;
+
+        DocumentContent(final String name,
+                        final long length,
+                        final String version,
+                        final InputStream content) {
+            this(name,
+                 length,
+                 version,
+                 0,
+                 content);
+        }
+
+        DocumentContent(final String name,
+                        final long length,
+                        final String version,
+                        final long offset,
+                        final InputStream content) {
+            this.name = name;
+            this.length = length;
+            this.version = version;
+            this.offset = offset;
+            this.content = content;
+        }
+
+        DocumentContent withVersion(final String version) {
+            return new DocumentContent(name,
+                                       length,
+                                       version,
+                                       offset,
+                                       content);
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * @return content length in bytes or -1 when unknown
+         */
+        public long getLength() {
+            return length;
+        }
+
+        /**
+         * @return last modification or content checksum of the document, null when unknown
+         */
+        public String getVersion() {
+            return version;
+        }
+
+        /**
+         * @return position of the first byte of the content within the document, when only a range has been returned
+         */
+        public long getOffset() {
+            return offset;
+        }
+
+        public InputStream getContent() {
+            return content;
+        }
+    }
 }
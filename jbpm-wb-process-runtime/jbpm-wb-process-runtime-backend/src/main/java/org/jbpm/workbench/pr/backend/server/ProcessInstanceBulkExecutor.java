@@ -0,0 +1,203 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jbpm.workbench.pr.backend.server;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.function.BiConsumer;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+
+import org.jbpm.workbench.pr.model.BulkOperationResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.uberfire.commons.concurrent.Managed;
+
+import static org.jbpm.workbench.ks.utils.KieServerUtils.getCredentialsProvider;
+
+/**
+ * Applies an operation to many process instances, e.g. a bulk abort or signal. Process instances are sent to KIE
+ * Server in chunks per container, and chunks are executed concurrently by a bounded number of workers. KIE Server bulk
+ * operations are not transactional, a failed chunk may have been applied to some of its process instances. Operations
+ * which are safe to repeat are then retried one by one so that the result reports which of them actually failed, the
+ * others are reported as failed for the whole chunk.
+ */
+@ApplicationScoped
+public class ProcessInstanceBulkExecutor {
+
+    public static final String BULK_CHUNK_SIZE = "org.jbpm.wb.process.bulk.chunksize";
+    public static final String BULK_PARALLELISM = "org.jbpm.wb.process.bulk.parallelism";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ProcessInstanceBulkExecutor.class);
+
+    private final int chunkSize;
+    private final int parallelism;
+
+    @Inject
+    @Managed
+    private ExecutorService executorService;
+
+    public ProcessInstanceBulkExecutor() {
+        this(Integer.getInteger(BULK_CHUNK_SIZE,
+                                100),
+             Integer.getInteger(BULK_PARALLELISM,
+                                4));
+    }
+
+    /**
+     * @param chunkSize maximum number of process instances sent to KIE Server at once
+     * @param parallelism maximum number of chunks executed concurrently by a single bulk operation
+     */
+    public ProcessInstanceBulkExecutor(final int chunkSize,
+                                       final int parallelism) {
+        this.chunkSize = Math.max(1,
+                                  chunkSize);
+        this.parallelism = Math.max(1,
+                                    parallelism);
+    }
+
+    /**
+     * Applies an operation which must not be repeated, e.g. a signal.
+     * @param containerInstances process instance ids by container
+     * @param chunkOperation applies the operation to a chunk of process instances of a container
+     */
+    public BulkOperationResult execute(final Map<String, List<Long>> containerInstances,
+                                       final BiConsumer<String, List<Long>> chunkOperation) {
+        return execute(containerInstances,
+                       chunkOperation,
+                       null);
+    }
+
+    /**
+     * @param containerInstances process instance ids by container
+     * @param chunkOperation applies the operation to a chunk of process instances of a container
+     * @param instanceOperation applies the operation to a single process instance of a container, which must succeed
+     * when the failed chunk already applied it; null if the operation must not be repeated
+     */
+    public BulkOperationResult execute(final Map<String, List<Long>> containerInstances,
+                                       final BiConsumer<String, List<Long>> chunkOperation,
+                                       final BiConsumer<String, Long> instanceOperation) {
+        final Queue<Chunk> chunks = new ConcurrentLinkedQueue<>();
+        containerInstances.forEach((containerId, processInstanceIds) -> {
+            for (int i = 0; i < processInstanceIds.size(); i += chunkSize) {
+                chunks.add(new Chunk(containerId,
+                                     new ArrayList<>(processInstanceIds.subList(i,
+                                                                                Math.min(i + chunkSize,
+                                                                                         processInstanceIds.size())))));
+            }
+        });
+
+        final BulkOperationResult result = new BulkOperationResult();
+        final List<CompletableFuture<Void>> workers = new ArrayList<>();
+        for (int i = Math.min(parallelism,
+                              chunks.size()); i > 0; i--) {
+            workers.add(runAsync(() -> {
+                Chunk chunk;
+                while ((chunk = chunks.poll()) != null) {
+                    execute(chunk,
+                            chunkOperation,
+                            instanceOperation,
+                            result);
+                }
+            }));
+        }
+        workers.forEach(CompletableFuture::join);
+        return result;
+    }
+
+    protected void execute(final Chunk chunk,
+                           final BiConsumer<String, List<Long>> chunkOperation,
+                           final BiConsumer<String, Long> instanceOperation,
+                           final BulkOperationResult result) {
+        try {
+            chunkOperation.accept(chunk.containerId,
+                                  chunk.processInstanceIds);
+            synchronized (result) {
+                result.addSucceeded(chunk.processInstanceIds);
+            }
+            return;
+        } catch (Exception e) {
+            if (instanceOperation == null || chunk.processInstanceIds.size() == 1) {
+                // outcome of each process instance is unknown
+                chunk.processInstanceIds.forEach(processInstanceId -> addFailure(chunk.containerId,
+                                                                                 processInstanceId,
+                                                                                 e,
+                                                                                 result));
+                return;
+            }
+            LOGGER.debug("Bulk operation failed for process instances {} of container {}, retrying them one by one",
+                         chunk.processInstanceIds,
+                         chunk.containerId,
+                         e);
+        }
+        for (Long processInstanceId : chunk.processInstanceIds) {
+            try {
+                instanceOperation.accept(chunk.containerId,
+                                         processInstanceId);
+                synchronized (result) {
+                    result.getSucceeded().add(processInstanceId);
+                }
+            } catch (Exception e) {
+                addFailure(chunk.containerId,
+                           processInstanceId,
+                           e,
+                           result);
+            }
+        }
+    }
+
+    protected void addFailure(final String containerId,
+                              final Long processInstanceId,
+                              final Exception e,
+                              final BulkOperationResult result) {
+        LOGGER.warn("Bulk operation failed for process instance {} of container {}: {}",
+                    processInstanceId,
+                    containerId,
+                    e.getMessage());
+        synchronized (result) {
+            result.addFailure(processInstanceId,
+                              e.getMessage());
+        }
+    }
+
+    protected CompletableFuture<Void> runAsync(final Runnable runnable) {
+        // KIE Server clients read the user credentials from the calling thread
+        return CompletableFuture.supplyAsync(getCredentialsProvider().propagate(() -> {
+                                                 runnable.run();
+                                                 return null;
+                                             }),
+                                             executorService);
+    }
+
+    protected static class Chunk {
+
+        private final String containerId;
+        private final List<Long> processInstanceIds;
+
+        Chunk(final String containerId,
+              final List<Long> processInstanceIds) {
+            this.containerId = containerId;
+            this.processInstanceIds = processInstanceIds;
+        }
+    }
+}
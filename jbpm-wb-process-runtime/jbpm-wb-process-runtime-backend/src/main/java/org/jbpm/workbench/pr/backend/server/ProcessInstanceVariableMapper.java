@@ -40,7 +40,7 @@ public class ProcessInstanceVariableMapper implements Function<VariableInstance,
 
         return new ProcessVariableSummary(variableInstance.getVariableName(), variableInstance.getVariableName(),
                                           variableInstance.getProcessInstanceId(), variableInstance.getOldValue(),
-                                          variableInstance.getValue(), variableInstance.getDate().getTime(), type,
+                                          variableInstance.getValue(), variableInstance.getDate() == null ? 0 : variableInstance.getDate().getTime(), type,
                                           deploymentId, serverTemplateId);
     }
 }
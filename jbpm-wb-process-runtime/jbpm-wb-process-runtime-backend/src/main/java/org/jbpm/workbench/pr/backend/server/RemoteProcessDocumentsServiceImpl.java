@@ -26,9 +26,9 @@ import javax.inject.Inject;
 
 import org.jboss.errai.bus.server.annotations.Service;
 import org.jbpm.document.Document;
-import org.jbpm.document.service.impl.util.DocumentDownloadLinkGenerator;
 import org.jbpm.workbench.common.model.QueryFilter;
 import org.jbpm.workbench.pr.model.DocumentSummary;
+import org.jbpm.workbench.pr.model.ProcessInstanceKey;
 import org.jbpm.workbench.pr.model.ProcessVariableSummary;
 import org.jbpm.workbench.pr.service.ProcessDocumentsService;
 import org.jbpm.workbench.pr.service.ProcessVariablesService;
@@ -76,8 +76,13 @@ public class RemoteProcessDocumentsServiceImpl implements ProcessDocumentsServic
     private List<DocumentSummary> getDocuments(QueryFilter filter) throws NumberFormatException {
 
         String serverTemplateId = (String) filter.getParams().get("serverTemplateId");
+        ProcessInstanceKey processInstance = new ProcessInstanceKey(serverTemplateId,
+                                                                    (String) filter.getParams().get("deploymentId"),
+                                                                    Long.valueOf((String) filter.getParams().get("processInstanceId")));
 
-        Collection<ProcessVariableSummary> processVariables = processVariablesService.getData(filter).getPageRowList();
+        Collection<ProcessVariableSummary> processVariables = processVariablesService.getProcessVariablesByType(processInstance,
+                                                                                                                (String) filter.getParams().get("processDefId"),
+                                                                                                                JBPM_DOCUMENT);
         SimpleDateFormat sdf = new SimpleDateFormat(Document.DOCUMENT_DATE_PATTERN);
         List<DocumentSummary> documents = new ArrayList<DocumentSummary>();
         for (ProcessVariableSummary pv : processVariables) {
@@ -95,8 +100,10 @@ public class RemoteProcessDocumentsServiceImpl implements ProcessDocumentsServic
                     documents.add(new DocumentSummary(values[0],
                                                       lastModified,
                                                       Long.valueOf(values[1]),
-                                                      DocumentDownloadLinkGenerator.generateDownloadLink(serverTemplateId,
-                                                                                                         values[3])));
+                                                      ProcessDocumentServlet.getDownloadLink(serverTemplateId,
+                                                                                             values[3],
+                                                                                             lastModified,
+                                                                                             Long.valueOf(values[1]))));
                 }
             }
         }
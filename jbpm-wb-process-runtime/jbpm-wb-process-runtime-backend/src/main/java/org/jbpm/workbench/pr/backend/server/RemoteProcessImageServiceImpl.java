@@ -17,6 +17,7 @@
 package org.jbpm.workbench.pr.backend.server;
 
 import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
 
 import org.jboss.errai.bus.server.annotations.Service;
 import org.jbpm.workbench.ks.integration.AbstractKieServerService;
@@ -32,6 +33,11 @@ public class RemoteProcessImageServiceImpl extends AbstractKieServerService impl
 
     private static final Logger LOGGER = LoggerFactory.getLogger(RemoteProcessImageServiceImpl.class);
 
+    private static final String[] SVG_ACTION_ATTRIBUTES = {"onclick=\"", "onmouseover=\""};
+
+    @Inject
+    private ProcessDefinitionCache processDefinitionCache;
+
     @Override
     public String getProcessInstanceDiagram(String serverTemplateId,
                                             String containerId,
@@ -64,6 +70,19 @@ public class RemoteProcessImageServiceImpl extends AbstractKieServerService impl
     public String getProcessDiagram(String serverTemplateId,
                                     String containerId,
                                     String processId) {
+        return processDefinitionCache.getProcessDiagram(serverTemplateId,
+                                                        containerId,
+                                                        kieServerIntegration.getContainerReleaseId(serverTemplateId,
+                                                                                                   containerId),
+                                                        processId,
+                                                        () -> loadProcessDiagram(serverTemplateId,
+                                                                                 containerId,
+                                                                                 processId));
+    }
+
+    protected String loadProcessDiagram(String serverTemplateId,
+                                        String containerId,
+                                        String processId) {
         UIServicesClient uiServicesClient = getClient(serverTemplateId,
                                                       containerId,
                                                       UIServicesClient.class);
@@ -82,12 +101,61 @@ public class RemoteProcessImageServiceImpl extends AbstractKieServerService impl
         }
     }
 
+    /**
+     * Strips onclick and onmouseover attributes in a single pass over the SVG. Attribute values are expected
+     * to be on a single line, others are kept as they are.
+     */
     protected String removeActionsFromSVG(final String originalHTML) {
         if (originalHTML == null) {
             return null;
         }
 
-        return originalHTML.replaceAll("onclick=\".*?\"|onmouseover=\".*?\"",
-                                       "");
+        StringBuilder result = null;
+        int copyFrom = 0;
+        int index = originalHTML.indexOf("on");
+        while (index >= 0) {
+            int next = index + 1;
+            for (String attribute : SVG_ACTION_ATTRIBUTES) {
+                if (originalHTML.startsWith(attribute,
+                                            index)) {
+                    final int valueEnd = findValueEnd(originalHTML,
+                                                      index + attribute.length());
+                    if (valueEnd >= 0) {
+                        if (result == null) {
+                            result = new StringBuilder(originalHTML.length());
+                        }
+                        result.append(originalHTML,
+                                      copyFrom,
+                                      index);
+                        copyFrom = valueEnd + 1;
+                        next = copyFrom;
+                    }
+                    break;
+                }
+            }
+            index = originalHTML.indexOf("on",
+                                         next);
+        }
+
+        if (result == null) {
+            return originalHTML;
+        }
+        return result.append(originalHTML,
+                             copyFrom,
+                             originalHTML.length()).toString();
+    }
+
+    private static int findValueEnd(final String html,
+                                    final int valueStart) {
+        for (int i = valueStart; i < html.length(); i++) {
+            final char c = html.charAt(i);
+            if (c == '"') {
+                return i;
+            }
+            if (c == '\n' || c == '\r') {
+                return -1;
+            }
+        }
+        return -1;
     }
-}
\ No newline at end of file
+}
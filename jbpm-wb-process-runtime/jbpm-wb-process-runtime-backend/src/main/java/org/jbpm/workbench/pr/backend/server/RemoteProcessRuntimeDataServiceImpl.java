@@ -16,7 +16,12 @@
 
 package org.jbpm.workbench.pr.backend.server;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Supplier;
 
 import javax.enterprise.context.ApplicationScoped;
 import javax.inject.Inject;
@@ -45,9 +50,11 @@ import org.kie.server.api.model.instance.WorkItemInstance;
 import org.kie.server.client.ProcessServicesClient;
 import org.kie.server.client.QueryServicesClient;
 import org.kie.server.client.admin.ProcessAdminServicesClient;
+import org.uberfire.commons.concurrent.Managed;
 
 import static java.util.Collections.emptyList;
 import static java.util.stream.Collectors.toList;
+import static org.jbpm.workbench.ks.utils.KieServerUtils.getCredentialsProvider;
 
 @Service
 @ApplicationScoped
@@ -55,9 +62,21 @@ public class RemoteProcessRuntimeDataServiceImpl extends AbstractKieServerServic
 
     public static int NOT_FOUND_ERROR_CODE = 404;    
 
+    public static final String NODE_INSTANCES_PAGE_SIZE = "org.jbpm.wb.process.nodes.pagesize";
+
+    private final int nodeInstancesPageSize = Integer.getInteger(NODE_INSTANCES_PAGE_SIZE,
+                                                                 500);
+
     @Inject
     private ProcessImageService processImageService;
 
+    @Inject
+    private ProcessDefinitionCache processDefinitionCache;
+
+    @Inject
+    @Managed
+    private ExecutorService executorService;
+
     @Override
     public ProcessInstanceSummary getProcessInstance(ProcessInstanceKey processInstanceKey) {
         if (processInstanceKey == null || processInstanceKey.isValid() == false) {
@@ -97,11 +116,23 @@ public class RemoteProcessRuntimeDataServiceImpl extends AbstractKieServerServic
         QueryServicesClient queryServicesClient = getClient(processInstanceKey.getServerTemplateId(),
                                                             QueryServicesClient.class);
 
-        List<NodeInstance> nodeInstances = queryServicesClient.findCompletedNodeInstances(processInstanceKey.getProcessInstanceId(),
-                                                                                          0,
-                                                                                          Integer.MAX_VALUE);
+        // completed node instances grow with the life of the process instance, fetch them page by page
+        // so that only the mapped summaries of all pages are kept in memory
+        final List<NodeInstanceSummary> nodes = new ArrayList<>();
+        final NodeInstanceSummaryMapper mapper = new NodeInstanceSummaryMapper();
+        int page = 0;
+        List<NodeInstance> nodeInstances;
+        do {
+            nodeInstances = queryServicesClient.findCompletedNodeInstances(processInstanceKey.getProcessInstanceId(),
+                                                                           page++,
+                                                                           nodeInstancesPageSize);
+            if (nodeInstances == null) {
+                break;
+            }
+            nodeInstances.stream().map(mapper).forEach(nodes::add);
+        } while (nodeInstances.size() == nodeInstancesPageSize);
 
-        return nodeInstances.stream().map(new NodeInstanceSummaryMapper()).collect(toList());
+        return nodes;
     }
 
     @Override
@@ -111,35 +142,60 @@ public class RemoteProcessRuntimeDataServiceImpl extends AbstractKieServerServic
             return null;
         }
 
+        // the diagram only depends on the key, request it while the instance is being loaded
+        final CompletableFuture<String> svgContent = supplyAsync(() -> processImageService.getProcessInstanceDiagram(processInstanceKey.getServerTemplateId(),
+                                                                                                                     processInstanceKey.getDeploymentId(),
+                                                                                                                     processInstanceKey.getProcessInstanceId(),
+                                                                                                                     completedNodeColor,
+                                                                                                                     completedNodeBorderColor,
+                                                                                                                     activeNodeBorderColor));
+
         final ProcessInstanceSummary processInstance = getProcessInstance(processInstanceKey);
 
+        final CompletableFuture<ProcessSummary> processDefinition = supplyAsync(() -> getProcess(new ProcessDefinitionKey(processInstance.getServerTemplateId(),
+                                                                                                                          processInstance.getDeploymentId(),
+                                                                                                                          processInstance.getProcessId())));
+
         ProcessInstanceDiagramSummary summary = new ProcessInstanceDiagramSummary();
         summary.setId(processInstance.getId());
         summary.setName(processInstance.getName());
 
-        summary.setSvgContent(processImageService.getProcessInstanceDiagram(processInstanceKey.getServerTemplateId(),
-                                                                            processInstanceKey.getDeploymentId(),
-                                                                            processInstanceKey.getProcessInstanceId(),
-                                                                            completedNodeColor,
-                                                                            completedNodeBorderColor,
-                                                                            activeNodeBorderColor));
-
-        summary.setProcessDefinition(getProcess(new ProcessDefinitionKey(processInstance.getServerTemplateId(),
-                                                                         processInstance.getDeploymentId(),
-                                                                         processInstance.getProcessId())));
-
         if (processInstance.getState() == org.kie.api.runtime.process.ProcessInstance.STATE_ACTIVE) {
-            List<NodeInstanceSummary> nodeInstances = getProcessInstanceActiveNodes(processInstanceKey);
-            nodeInstances.addAll(getProcessInstanceCompletedNodes(processInstanceKey));
+            final CompletableFuture<List<NodeInstanceSummary>> activeNodes = supplyAsync(() -> getProcessInstanceActiveNodes(processInstanceKey));
+            final CompletableFuture<List<NodeInstanceSummary>> completedNodes = supplyAsync(() -> getProcessInstanceCompletedNodes(processInstanceKey));
+            final CompletableFuture<List<TimerInstanceSummary>> timerInstances = supplyAsync(() -> getProcessInstanceTimerInstances(processInstanceKey));
+
+            List<NodeInstanceSummary> nodeInstances = new ArrayList<>(join(activeNodes));
+            nodeInstances.addAll(join(completedNodes));
             summary.setNodeInstances(nodeInstances);
-            summary.setTimerInstances(getProcessInstanceTimerInstances(processInstanceKey));
+            summary.setTimerInstances(join(timerInstances));
         } else {
             summary.setNodeInstances(emptyList());
             summary.setTimerInstances(emptyList());
         }
+
+        summary.setSvgContent(join(svgContent));
+        summary.setProcessDefinition(join(processDefinition));
         return summary;
     }
 
+    protected <T> CompletableFuture<T> supplyAsync(final Supplier<T> supplier) {
+        // KIE Server clients read the user credentials from the calling thread
+        return CompletableFuture.supplyAsync(getCredentialsProvider().propagate(supplier),
+                                             executorService);
+    }
+
+    protected <T> T join(final CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
     @Override
     public List<TimerInstanceSummary> getProcessInstanceTimerInstances(ProcessInstanceKey processInstanceKey) {
         if (processInstanceKey == null || processInstanceKey.isValid() == false) {
@@ -247,13 +303,20 @@ public class RemoteProcessRuntimeDataServiceImpl extends AbstractKieServerServic
             return null;
         }
 
-        ProcessServicesClient queryServicesClient = getClient(processDefinitionKey.getServerTemplateId(),
-                                                              ProcessServicesClient.class);
+        return processDefinitionCache.getProcess(processDefinitionKey.getServerTemplateId(),
+                                                processDefinitionKey.getDeploymentId(),
+                                                kieServerIntegration.getContainerReleaseId(processDefinitionKey.getServerTemplateId(),
+                                                                                           processDefinitionKey.getDeploymentId()),
+                                                processDefinitionKey.getProcessId(),
+                                                () -> {
+                                                    ProcessServicesClient queryServicesClient = getClient(processDefinitionKey.getServerTemplateId(),
+                                                                                                          ProcessServicesClient.class);
 
-        ProcessDefinition definition = queryServicesClient.getProcessDefinition(processDefinitionKey.getDeploymentId(),
-                                                                                processDefinitionKey.getProcessId());
+                                                    ProcessDefinition definition = queryServicesClient.getProcessDefinition(processDefinitionKey.getDeploymentId(),
+                                                                                                                            processDefinitionKey.getProcessId());
 
-        return new ProcessSummaryMapper().apply(definition);
+                                                    return new ProcessSummaryMapper().apply(definition);
+                                                });
     }
 
     @Override
@@ -16,23 +16,37 @@
 
 package org.jbpm.workbench.pr.backend.server;
 
-import java.util.HashSet;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Observes;
+import javax.inject.Inject;
 
 import org.jboss.errai.bus.server.annotations.Service;
 import org.jbpm.workbench.ks.integration.AbstractKieServerService;
+import org.jbpm.workbench.ks.integration.KieServerDataSetCache;
 import org.jbpm.workbench.pr.backend.server.model.RemoteCorrelationKey;
+import org.jbpm.workbench.pr.events.ProcessInstancesUpdateEvent;
+import org.jbpm.workbench.pr.model.BulkOperationResult;
 import org.jbpm.workbench.pr.model.ProcessInstanceKey;
 import org.jbpm.workbench.pr.service.ProcessService;
 import org.kie.internal.process.CorrelationKey;
+import org.kie.server.api.exception.KieServicesHttpException;
 import org.kie.server.client.ProcessServicesClient;
 
 @Service
 @ApplicationScoped
 public class RemoteProcessServiceImpl extends AbstractKieServerService implements ProcessService {
 
+    @Inject
+    private KieServerDataSetCache dataSetCache;
+
+    @Inject
+    private ProcessInstanceBulkExecutor bulkExecutor;
+
     @Override
     public void abortProcessInstance(ProcessInstanceKey processInstance) {
         ProcessServicesClient client = getClient(processInstance.getServerTemplateId(),
@@ -44,14 +58,31 @@ public class RemoteProcessServiceImpl extends AbstractKieServerService implement
     }
 
     @Override
-    public void abortProcessInstances(String serverTemplateId,
-                                      Map<String, List<Long>> containerInstances) {
+    public BulkOperationResult abortProcessInstances(String serverTemplateId,
+                                                     Map<String, List<Long>> containerInstances) {
         ProcessServicesClient client = getClient(serverTemplateId,
                                                  ProcessServicesClient.class);
-        containerInstances.forEach((container, instances) ->
-                                           client.abortProcessInstances(container,
-                                                                        instances)
-        );
+        return bulkExecutor.execute(containerInstances,
+                                    client::abortProcessInstances,
+                                    (containerId, processInstanceId) -> abortActiveProcessInstance(client,
+                                                                                                   containerId,
+                                                                                                   processInstanceId));
+    }
+
+    /**
+     * Process instances which are not active any more, e.g. aborted by the failed bulk abort, count as aborted.
+     */
+    protected void abortActiveProcessInstance(ProcessServicesClient client,
+                                              String containerId,
+                                              Long processInstanceId) {
+        try {
+            client.abortProcessInstance(containerId,
+                                        processInstanceId);
+        } catch (KieServicesHttpException ex) {
+            if (ex.getHttpCode() != 404) {
+                throw ex;
+            }
+        }
     }
 
     @Override
@@ -92,30 +123,29 @@ public class RemoteProcessServiceImpl extends AbstractKieServerService implement
     }
 
     @Override
-    public void signalProcessInstances(String serverTemplateId,
-                                       List<String> containers,
-                                       List<Long> processInstanceId,
-                                       String signal,
-                                       Object event) {
-        if (new HashSet<String>(containers).size() == 1) {
-            ProcessServicesClient client = getClient(serverTemplateId,
-                                                     containers.get(0),
-                                                     ProcessServicesClient.class);
-            client.signalProcessInstances(containers.get(0),
-                                          processInstanceId,
-                                          signal,
-                                          event);
-        } else {
-            for (int i = 0; i < processInstanceId.size(); i++) {
-                ProcessServicesClient client = getClient(serverTemplateId,
-                                                         containers.get(i),
-                                                         ProcessServicesClient.class);
-                client.signalProcessInstance(containers.get(i),
-                                             processInstanceId.get(i),
-                                             signal,
-                                             event);
-            }
+    public BulkOperationResult signalProcessInstances(String serverTemplateId,
+                                                      List<String> containers,
+                                                      List<Long> processInstanceId,
+                                                      String signal,
+                                                      Object event) {
+        // a single container applies to all process instances, otherwise containers are given per process instance
+        final Map<String, List<Long>> containerInstances = new LinkedHashMap<>();
+        for (int i = 0; i < processInstanceId.size(); i++) {
+            containerInstances.computeIfAbsent(containers.size() == 1 ? containers.get(0) : containers.get(i),
+                                               key -> new ArrayList<>()).add(processInstanceId.get(i));
         }
+
+        final Map<String, ProcessServicesClient> clients = new HashMap<>();
+        containerInstances.keySet().forEach(container -> clients.put(container,
+                                                                      getClient(serverTemplateId,
+                                                                                container,
+                                                                                ProcessServicesClient.class)));
+
+        return bulkExecutor.execute(containerInstances,
+                                    (container, instances) -> clients.get(container).signalProcessInstances(container,
+                                                                                                            instances,
+                                                                                                            signal,
+                                                                                                            event));
     }
 
     @Override
@@ -133,4 +163,9 @@ public class RemoteProcessServiceImpl extends AbstractKieServerService implement
                                   variableName,
                                   value);
     }
-}
\ No newline at end of file
+
+    public void onProcessInstancesUpdateEvent(@Observes ProcessInstancesUpdateEvent event) {
+        // event does not carry the server template, so drop cached results of all of them
+        dataSetCache.invalidateAll();
+    }
+}
@@ -17,10 +17,16 @@ package org.jbpm.workbench.pr.backend.server;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Date;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
 
 import org.jboss.errai.bus.server.annotations.Service;
 import org.jbpm.workbench.common.model.QueryFilter;
@@ -30,18 +36,40 @@ import org.jbpm.workbench.pr.model.ProcessInstanceKey;
 import org.jbpm.workbench.pr.model.ProcessVariableSummary;
 import org.jbpm.workbench.pr.service.ProcessVariablesService;
 import org.kie.server.api.exception.KieServicesHttpException;
+import org.kie.server.api.model.definition.QueryFilterSpec;
 import org.kie.server.api.model.definition.VariablesDefinition;
 import org.kie.server.api.model.instance.VariableInstance;
+import org.kie.server.api.util.QueryFilterSpecBuilder;
 import org.kie.server.client.ProcessServicesClient;
 import org.kie.server.client.QueryServicesClient;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.uberfire.paging.PageResponse;
 
+import static java.util.stream.Collectors.toList;
+import static org.jbpm.workbench.pr.model.ProcessInstanceDataSetConstants.*;
+
 @Service
 @ApplicationScoped
 public class RemoteProcessVariablesServiceImpl extends AbstractKieServerService implements ProcessVariablesService {
 
+    private static final Logger LOGGER = LoggerFactory.getLogger(RemoteProcessVariablesServiceImpl.class);
+
+    @Inject
+    private ProcessDefinitionCache processDefinitionCache;
+
     @Override
     public PageResponse<ProcessVariableSummary> getData(QueryFilter filter) {
+        // variable types only exist in the process definition, sorting by type requires all variables
+        if (filter.getParams() != null && !COL_PROCESS_INSTANCE_VAR_TYPE.equals(filter.getOrderBy())) {
+            try {
+                return getPagedProcessVariables(filter);
+            } catch (RuntimeException e) {
+                LOGGER.debug("Unable to query process variables page, loading all variables: {}",
+                             e.getMessage());
+            }
+        }
+
         PageResponse<ProcessVariableSummary> response = new PageResponse<ProcessVariableSummary>();
         List<ProcessVariableSummary> processVariablesSums = getProcessVariables(filter);
 
@@ -66,6 +94,221 @@ public class RemoteProcessVariablesServiceImpl extends AbstractKieServerService
         return response;
     }
 
+    /**
+     * Pages, filters and sorts the current variable values on KIE Server. Variables declared by the process
+     * definition that were never assigned have no value to query, they are merged into the assigned ones in the
+     * requested order. As at most all of them precede the page, the assigned variables are queried from as many rows
+     * before the page offset.
+     */
+    protected PageResponse<ProcessVariableSummary> getPagedProcessVariables(final QueryFilter filter) {
+        final Long processInstanceId = Long.valueOf((String) filter.getParams().get("processInstanceId"));
+        final String processId = (String) filter.getParams().get("processDefId");
+        final String deploymentId = (String) filter.getParams().get("deploymentId");
+        final String serverTemplateId = (String) filter.getParams().get("serverTemplateId");
+        final String textSearch = (String) filter.getParams().get("textSearch");
+        final int offset = filter.getOffset();
+        final int count = filter.getCount();
+
+        final QueryServicesClient queryServicesClient = getClient(serverTemplateId,
+                                                                  QueryServicesClient.class);
+        final Map<String, String> properties = getProcessVariableDefinitions(serverTemplateId,
+                                                                             deploymentId,
+                                                                             processId);
+
+        final List<String> unassignedNames = new ArrayList<>(properties.keySet());
+        if (!unassignedNames.isEmpty()) {
+            queryVariables(queryServicesClient,
+                           processInstanceId,
+                           unassignedNames,
+                           null,
+                           null,
+                           true,
+                           0,
+                           unassignedNames.size()).forEach(variable -> unassignedNames.remove(variable.getVariableName()));
+        }
+        unassignedNames.removeIf(name -> !matches(name,
+                                                  textSearch));
+        final List<ProcessVariableSummary> unassigned = VariableHelper.adaptCollection(new ArrayList<>(),
+                                                                                       getProperties(properties,
+                                                                                                     unassignedNames),
+                                                                                       processInstanceId,
+                                                                                       deploymentId,
+                                                                                       serverTemplateId,
+                                                                                       filter.getOrderBy(),
+                                                                                       filter.isAscending());
+
+        final int assignedOffset = Math.max(0,
+                                            offset - unassigned.size());
+        final int assignedCount = offset + count - assignedOffset;
+        final List<VariableInstance> assignedVariables = assignedCount > 0 ? queryVariables(queryServicesClient,
+                                                                                            processInstanceId,
+                                                                                            null,
+                                                                                            textSearch,
+                                                                                            filter.getOrderBy(),
+                                                                                            filter.isAscending(),
+                                                                                            assignedOffset,
+                                                                                            assignedCount) : Collections.emptyList();
+        final List<ProcessVariableSummary> assigned = VariableHelper.adaptCollection(new ArrayList<>(assignedVariables),
+                                                                                     getProperties(properties,
+                                                                                                   assignedVariables.stream().map(VariableInstance::getVariableName).collect(toList())),
+                                                                                     processInstanceId,
+                                                                                     deploymentId,
+                                                                                     serverTemplateId,
+                                                                                     filter.getOrderBy(),
+                                                                                     filter.isAscending());
+
+        // merged with the unassigned variables, the assigned ones start at their offset plus the unassigned ones
+        // preceding them, the unassigned variables preceding the queried assigned ones being ahead of the page
+        final Comparator<ProcessVariableSummary> comparator = VariableHelper.getComparator(filter.getOrderBy(),
+                                                                                           filter.isAscending());
+        final List<ProcessVariableSummary> pageRows = new ArrayList<>();
+        int index = assignedOffset;
+        int u = 0;
+        int a = 0;
+        while (index < offset + count && (u < unassigned.size() || a < assigned.size())) {
+            final ProcessVariableSummary next;
+            if (a == assigned.size() || (u < unassigned.size() && comparator.compare(unassigned.get(u),
+                                                                                     assigned.get(a)) <= 0)) {
+                next = unassigned.get(u++);
+            } else {
+                next = assigned.get(a++);
+            }
+            if (index >= offset) {
+                pageRows.add(next);
+            }
+            index++;
+        }
+
+        final boolean lastPage = assigned.size() < assignedCount && index == assignedOffset + unassigned.size() + assigned.size();
+        final PageResponse<ProcessVariableSummary> response = new PageResponse<>();
+        response.setPageRowList(pageRows);
+        response.setStartRowIndex(offset);
+        response.setTotalRowSize(lastPage ? index : offset + pageRows.size());
+        response.setTotalRowSizeExact(lastPage);
+        response.setLastPage(lastPage);
+        return response;
+    }
+
+    /**
+     * Queries the current state of the process instance variables, restricted to the given names and/or
+     * to the ones containing the text. The offset does not need to be aligned with the count.
+     */
+    protected List<VariableInstance> queryVariables(final QueryServicesClient queryServicesClient,
+                                                    final Long processInstanceId,
+                                                    final List<String> names,
+                                                    final String textSearch,
+                                                    final String orderBy,
+                                                    final boolean ascending,
+                                                    final int offset,
+                                                    final int count) {
+        final QueryFilterSpecBuilder builder = new QueryFilterSpecBuilder()
+                .equalsTo(PROCESS_INSTANCE_ID,
+                          processInstanceId)
+                .notEqualsTo(VARIABLE_NAME,
+                             "processId")
+                .oderBy(getVariableColumn(orderBy),
+                        ascending);
+        if (names != null) {
+            builder.in(VARIABLE_NAME,
+                       names);
+        }
+        if (textSearch != null && !textSearch.isEmpty()) {
+            builder.likeTo(VARIABLE_NAME,
+                           false,
+                           "%" + textSearch + "%");
+        }
+        final QueryFilterSpec filterSpec = builder.get();
+
+        final int page = offset / count;
+        final int skip = offset % count;
+        final List<List> rows = new ArrayList<>(queryServicesClient.query(PROCESS_INSTANCE_VARIABLES_DATASET,
+                                                                          QueryServicesClient.QUERY_MAP_RAW,
+                                                                          filterSpec,
+                                                                          page,
+                                                                          count,
+                                                                          List.class));
+        if (skip > 0 && rows.size() == count) {
+            rows.addAll(queryServicesClient.query(PROCESS_INSTANCE_VARIABLES_DATASET,
+                                                  QueryServicesClient.QUERY_MAP_RAW,
+                                                  filterSpec,
+                                                  page + 1,
+                                                  count,
+                                                  List.class));
+        }
+        return rows.subList(Math.min(skip,
+                                     rows.size()),
+                            Math.min(skip + count,
+                                     rows.size()))
+                .stream()
+                .map(row -> VariableInstance.builder()
+                        .processInstanceId(((Number) row.get(0)).longValue())
+                        .name((String) row.get(1))
+                        .value((String) row.get(2))
+                        .oldValue((String) row.get(3))
+                        .date(toDate(row.get(4)))
+                        .build())
+                .collect(toList());
+    }
+
+    protected static Map<String, String> getProperties(final Map<String, String> properties,
+                                                       final List<String> names) {
+        final Map<String, String> pageProperties = new HashMap<>();
+        names.stream()
+                .filter(properties::containsKey)
+                .forEach(name -> pageProperties.put(name,
+                                                    properties.get(name)));
+        return pageProperties;
+    }
+
+    protected static String getVariableColumn(final String orderBy) {
+        if (COL_PROCESS_INSTANCE_VAR_VALUE.equals(orderBy)) {
+            return VARIABLE_VALUE;
+        } else if (COL_PROCESS_INSTANCE_VAR_LASTMOD.equals(orderBy)) {
+            return VARIABLE_LOG_DATE;
+        }
+        return VARIABLE_NAME;
+    }
+
+    protected static Date toDate(final Object value) {
+        if (value instanceof Date) {
+            return (Date) value;
+        } else if (value instanceof Number) {
+            return new Date(((Number) value).longValue());
+        }
+        return null;
+    }
+
+    protected static boolean matches(final String variableName,
+                                     final String textSearch) {
+        return textSearch == null || textSearch.isEmpty() || variableName.toLowerCase().contains(textSearch.toLowerCase());
+    }
+
+    /**
+     * @return process variable names mapped to their types, empty when the container is not available
+     */
+    protected Map<String, String> getProcessVariableDefinitions(final String serverTemplateId,
+                                                                final String deploymentId,
+                                                                final String processId) {
+        final Map<String, String> properties = processDefinitionCache.getProcessVariables(serverTemplateId,
+                                                                                          deploymentId,
+                                                                                          kieServerIntegration.getContainerReleaseId(serverTemplateId,
+                                                                                                                                     deploymentId),
+                                                                                          processId,
+                                                                                          () -> {
+                                                                                              try {
+                                                                                                  ProcessServicesClient processClient = getClient(serverTemplateId,
+                                                                                                                                                  ProcessServicesClient.class);
+                                                                                                  VariablesDefinition vars = processClient.getProcessVariableDefinitions(deploymentId,
+                                                                                                                                                                         processId);
+                                                                                                  return new HashMap<>(vars.getVariables());
+                                                                                              } catch (KieServicesHttpException kieException) {
+                                                                                                  // It that vars can not be retrieve only the ones with associated value will be returned
+                                                                                                  return null;
+                                                                                              }
+                                                                                          });
+        return properties == null ? Collections.emptyMap() : properties;
+    }
+
     protected List<ProcessVariableSummary> getProcessVariables(QueryFilter filter) {
         Long processInstanceId = null;
         String processId = "";
@@ -78,19 +321,12 @@ public class RemoteProcessVariablesServiceImpl extends AbstractKieServerService
             serverTemplateId = (String) filter.getParams().get("serverTemplateId");
         }
 
-        Map<String, String> properties = new HashMap<String, String>();
         QueryServicesClient queryServicesClient = getClient(serverTemplateId,
                                                             QueryServicesClient.class);
-        ProcessServicesClient processClient = getClient(serverTemplateId,
-                                                        ProcessServicesClient.class);
-        try {
-            //try to add all the process definitions available variables if it is available
-            VariablesDefinition vars = processClient.getProcessVariableDefinitions(deploymentId,
-                                                                                   processId);
-            properties.putAll(vars.getVariables());
-        } catch (KieServicesHttpException kieException) {
-            // It that vars can not be retrieve only the ones with associated value will be returned
-        }
+        //try to add all the process definitions available variables if it is available
+        Map<String, String> properties = new HashMap<String, String>(getProcessVariableDefinitions(serverTemplateId,
+                                                                                                   deploymentId,
+                                                                                                   processId));
 
         List<VariableInstance> variables = queryServicesClient.findVariablesCurrentState(processInstanceId);
 
@@ -114,6 +350,56 @@ public class RemoteProcessVariablesServiceImpl extends AbstractKieServerService
         return processVariablesSums;
     }
 
+    @Override
+    public List<ProcessVariableSummary> getProcessVariablesByType(final ProcessInstanceKey processInstance,
+                                                                  final String processId,
+                                                                  final String variableType) {
+        final Map<String, String> properties = getProcessVariableDefinitions(processInstance.getServerTemplateId(),
+                                                                             processInstance.getDeploymentId(),
+                                                                             processId);
+        final Set<String> names = new HashSet<>();
+        properties.forEach((name, type) -> {
+            if (variableType.equals(type)) {
+                names.add(name);
+            }
+        });
+        if (names.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        final QueryServicesClient queryServicesClient = getClient(processInstance.getServerTemplateId(),
+                                                                  QueryServicesClient.class);
+        List<VariableInstance> variables;
+        try {
+            variables = queryVariables(queryServicesClient,
+                                       processInstance.getProcessInstanceId(),
+                                       new ArrayList<>(names),
+                                       null,
+                                       null,
+                                       true,
+                                       0,
+                                       names.size());
+        } catch (RuntimeException e) {
+            LOGGER.debug("Unable to query process variables by name, loading all variables: {}",
+                         e.getMessage());
+            variables = queryServicesClient.findVariablesCurrentState(processInstance.getProcessInstanceId())
+                    .stream()
+                    .filter(variable -> names.contains(variable.getVariableName()))
+                    .collect(toList());
+        }
+
+        final Map<String, String> typedProperties = new HashMap<>();
+        variables.forEach(variable -> typedProperties.put(variable.getVariableName(),
+                                                          variableType));
+        return VariableHelper.adaptCollection(new ArrayList<>(variables),
+                                              typedProperties,
+                                              processInstance.getProcessInstanceId(),
+                                              processInstance.getDeploymentId(),
+                                              processInstance.getServerTemplateId(),
+                                              null,
+                                              true);
+    }
+
     @Override
     public List<ProcessVariableSummary> getVariableHistory(ProcessInstanceKey processInstance,
                                                            String variableName) {
@@ -87,6 +87,14 @@ public class VariableHelper {
                                         .map(new ProcessInstanceVariableMapper(deploymentId, serverTemplateId, ""))
                                         .collect(Collectors.toList()));
 
+        variablesSummary.sort(getComparator(sortBy,
+                                            asc));
+
+        return variablesSummary;
+    }
+
+    public static Comparator<ProcessVariableSummary> getComparator(String sortBy,
+                                                                   boolean asc) {
         Comparator<ProcessVariableSummary> comparator;
         switch (ofNullable(sortBy).orElse(COL_PROCESS_INSTANCE_VAR_ID)) {
             case COL_PROCESS_INSTANCE_VAR_ID:
@@ -105,9 +113,7 @@ public class VariableHelper {
                 comparator = comparing(ProcessVariableSummary::getName);
         }
 
-        variablesSummary.sort(asc ? comparator : comparator.reversed());
-
-        return variablesSummary;
+        return asc ? comparator : comparator.reversed();
     }
 
     public interface VariableProcessor {
@@ -18,6 +18,7 @@ package org.jbpm.workbench.pr.backend.server;
 import org.dashbuilder.dataset.def.DataSetDefRegistry;
 import org.dashbuilder.dataset.def.SQLDataSetDef;
 import org.jbpm.workbench.ks.integration.KieServerDataSetProvider;
+import org.jbpm.workbench.ks.integration.RemoteDataSetDef;
 import org.jbpm.workbench.ks.integration.event.QueryDefinitionLoaded;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -27,8 +28,10 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
 
+import static org.jbpm.workbench.ks.integration.RemoteDataSetDef.PROCESS_VARIABLES_QUERY_TARGET;
 import static org.jbpm.workbench.pr.model.ProcessInstanceDataSetConstants.PROCESS_INSTANCE_DATASET;
-import static org.jbpm.workbench.pr.model.ProcessInstanceDataSetConstants.PROCESS_INSTANCE_WITH_VARIABLES_DATASET;
+import static org.jbpm.workbench.pr.model.ProcessInstanceDataSetConstants.PROCESS_INSTANCE_VARIABLES_DATASET;
+import static org.jbpm.workbench.pr.model.ProcessInstanceDataSetConstants.PROCESS_INSTANCE_WITH_VARIABLE_COLUMNS_DATASET;
 import static org.jbpm.workbench.pr.model.ProcessInstanceLogDataSetConstants.PROCESS_INSTANCE_LOGS_DATASET;
 import static org.junit.Assert.*;
 import static org.mockito.Mockito.*;
@@ -48,9 +51,10 @@ public class DataSetDefsBootstrapTest {
         dataSetsBootstrap.registerDataSetDefinitions(new QueryDefinitionLoaded(qd));
 
         ArgumentCaptor<SQLDataSetDef> argument = ArgumentCaptor.forClass(SQLDataSetDef.class);
-        verify(dataSetRegistry).registerDataSetDef(argument.capture());
+        verify(dataSetRegistry,
+               times(2)).registerDataSetDef(argument.capture());
 
-        SQLDataSetDef dataSetDef = argument.getValue();
+        SQLDataSetDef dataSetDef = argument.getAllValues().get(0);
         assertEquals(PROCESS_INSTANCE_DATASET,
                      dataSetDef.getUUID());
         assertEquals("target-" + PROCESS_INSTANCE_DATASET,
@@ -61,47 +65,59 @@ public class DataSetDefsBootstrapTest {
                      dataSetDef.getDbSQL());
         assertEquals(18,
                      dataSetDef.getColumns().size());
+
+        RemoteDataSetDef variableColumnsDef = (RemoteDataSetDef) argument.getAllValues().get(1);
+        assertEquals(PROCESS_INSTANCE_WITH_VARIABLE_COLUMNS_DATASET,
+                     variableColumnsDef.getUUID());
+        assertEquals(PROCESS_VARIABLES_QUERY_TARGET,
+                     variableColumnsDef.getQueryTarget());
+        assertEquals("source",
+                     variableColumnsDef.getDataSource());
+        assertEquals(PROCESS_INSTANCE_DATASET,
+                     variableColumnsDef.getDbSQL());
+        assertEquals(18,
+                     variableColumnsDef.getColumns().size());
     }
 
     @Test
-    public void testProcessInstanceWithVariablesDataSet() {
-        QueryDefinition qd = QueryDefinition.builder().name(PROCESS_INSTANCE_WITH_VARIABLES_DATASET).expression("SELECT *").source("source").target("target").build();
+    public void testProcessInstanceLogsDataSet() {
+        QueryDefinition qd = QueryDefinition.builder().name(PROCESS_INSTANCE_LOGS_DATASET).expression("SELECT *").source("source").target("target").build();
         dataSetsBootstrap.registerDataSetDefinitions(new QueryDefinitionLoaded(qd));
 
         ArgumentCaptor<SQLDataSetDef> argument = ArgumentCaptor.forClass(SQLDataSetDef.class);
         verify(dataSetRegistry).registerDataSetDef(argument.capture());
 
         SQLDataSetDef dataSetDef = argument.getValue();
-        assertEquals(PROCESS_INSTANCE_WITH_VARIABLES_DATASET,
+        assertEquals(PROCESS_INSTANCE_LOGS_DATASET,
                      dataSetDef.getUUID());
-        assertEquals("target-" + PROCESS_INSTANCE_WITH_VARIABLES_DATASET,
+        assertEquals("target-" + PROCESS_INSTANCE_LOGS_DATASET,
                      dataSetDef.getName());
         assertEquals(KieServerDataSetProvider.TYPE,
                      dataSetDef.getProvider());
         assertEquals("SELECT *",
                      dataSetDef.getDbSQL());
-        assertEquals(5,
+        assertEquals(14,
                      dataSetDef.getColumns().size());
     }
 
     @Test
-    public void testProcessInstanceLogsDataSet() {
-        QueryDefinition qd = QueryDefinition.builder().name(PROCESS_INSTANCE_LOGS_DATASET).expression("SELECT *").source("source").target("target").build();
+    public void testProcessInstanceVariablesDataSet() {
+        QueryDefinition qd = QueryDefinition.builder().name(PROCESS_INSTANCE_VARIABLES_DATASET).expression("SELECT *").source("source").target("target").build();
         dataSetsBootstrap.registerDataSetDefinitions(new QueryDefinitionLoaded(qd));
 
         ArgumentCaptor<SQLDataSetDef> argument = ArgumentCaptor.forClass(SQLDataSetDef.class);
         verify(dataSetRegistry).registerDataSetDef(argument.capture());
 
         SQLDataSetDef dataSetDef = argument.getValue();
-        assertEquals(PROCESS_INSTANCE_LOGS_DATASET,
+        assertEquals(PROCESS_INSTANCE_VARIABLES_DATASET,
                      dataSetDef.getUUID());
-        assertEquals("target-" + PROCESS_INSTANCE_LOGS_DATASET,
+        assertEquals("target-" + PROCESS_INSTANCE_VARIABLES_DATASET,
                      dataSetDef.getName());
         assertEquals(KieServerDataSetProvider.TYPE,
                      dataSetDef.getProvider());
         assertEquals("SELECT *",
                      dataSetDef.getDbSQL());
-        assertEquals(14,
+        assertEquals(5,
                      dataSetDef.getColumns().size());
     }
 }
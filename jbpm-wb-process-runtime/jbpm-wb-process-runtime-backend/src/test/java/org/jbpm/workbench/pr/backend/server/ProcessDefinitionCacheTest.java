@@ -0,0 +1,252 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jbpm.workbench.pr.backend.server;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import org.jbpm.workbench.pr.model.ProcessSummary;
+import org.junit.Before;
+import org.junit.Test;
+import org.kie.server.api.model.ReleaseId;
+import org.kie.server.controller.api.model.events.ContainerSpecUpdated;
+import org.kie.server.controller.api.model.events.ServerTemplateDeleted;
+import org.kie.server.controller.api.model.spec.ServerTemplate;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+public class ProcessDefinitionCacheTest {
+
+    private static final String SERVER_TEMPLATE_ID = "serverTemplateId";
+
+    private final ReleaseId releaseId = new ReleaseId("org.jbpm",
+                                                      "evaluation",
+                                                      "1.0");
+
+    private ProcessDefinitionCache cache;
+
+    @Before
+    public void setUp() {
+        cache = new ProcessDefinitionCache(2,
+                                           10);
+    }
+
+    @Test
+    public void testProcessSharedBetweenContainersOfSameRelease() {
+        final Supplier<ProcessSummary> loader = mock(Supplier.class);
+        when(loader.get()).thenReturn(new ProcessSummary());
+
+        final ProcessSummary first = cache.getProcess(SERVER_TEMPLATE_ID,
+                                                      "container",
+                                                      releaseId,
+                                                      "process",
+                                                      loader);
+        final ProcessSummary second = cache.getProcess(SERVER_TEMPLATE_ID,
+                                                       "alias",
+                                                       releaseId,
+                                                       "process",
+                                                       loader);
+
+        assertSame(first,
+                   second);
+        verify(loader).get();
+    }
+
+    @Test
+    public void testProcessWithoutReleaseIdKeyedByContainer() {
+        final Supplier<ProcessSummary> loader = mock(Supplier.class);
+        when(loader.get()).thenReturn(new ProcessSummary());
+
+        cache.getProcess(SERVER_TEMPLATE_ID,
+                         "container",
+                         null,
+                         "process",
+                         loader);
+        cache.getProcess(SERVER_TEMPLATE_ID,
+                         "anotherContainer",
+                         null,
+                         "process",
+                         loader);
+
+        verify(loader,
+               times(2)).get();
+    }
+
+    @Test
+    public void testProcessesAreBounded() {
+        for (int i = 0; i < 5; i++) {
+            cache.getProcess(SERVER_TEMPLATE_ID,
+                             "container",
+                             releaseId,
+                             "process" + i,
+                             ProcessSummary::new);
+        }
+
+        assertEquals(2,
+                     cache.size());
+    }
+
+    @Test
+    public void testDiagramsAreBoundedByLength() {
+        cache.getProcessDiagram(SERVER_TEMPLATE_ID,
+                                "container",
+                                releaseId,
+                                "process1",
+                                () -> "<svg1/>");
+        cache.getProcessDiagram(SERVER_TEMPLATE_ID,
+                                "container",
+                                releaseId,
+                                "process2",
+                                () -> "<svg2/>");
+
+        assertEquals(1,
+                     cache.size());
+        assertEquals(7,
+                     cache.getDiagramsLength());
+
+        assertEquals("<svg with a long content/>",
+                     cache.getProcessDiagram(SERVER_TEMPLATE_ID,
+                                             "container",
+                                             releaseId,
+                                             "process3",
+                                             () -> "<svg with a long content/>"));
+        assertEquals(1,
+                     cache.size());
+    }
+
+    @Test
+    public void testMissingDiagramNotCached() {
+        final Supplier<String> loader = mock(Supplier.class);
+
+        cache.getProcessDiagram(SERVER_TEMPLATE_ID,
+                                "container",
+                                releaseId,
+                                "process",
+                                loader);
+        cache.getProcessDiagram(SERVER_TEMPLATE_ID,
+                                "container",
+                                releaseId,
+                                "process",
+                                loader);
+
+        verify(loader,
+               times(2)).get();
+        assertEquals(0,
+                     cache.size());
+    }
+
+    @Test
+    public void testVariablesCachedUnlessMissing() {
+        final Supplier<Map<String, String>> loader = mock(Supplier.class);
+
+        assertNull(cache.getProcessVariables(SERVER_TEMPLATE_ID,
+                                             "container",
+                                             releaseId,
+                                             "process",
+                                             loader));
+        assertEquals(0,
+                     cache.size());
+
+        when(loader.get()).thenReturn(Collections.singletonMap("var",
+                                                               "String"));
+        cache.getProcessVariables(SERVER_TEMPLATE_ID,
+                                  "container",
+                                  releaseId,
+                                  "process",
+                                  loader);
+        final Map<String, String> variables = cache.getProcessVariables(SERVER_TEMPLATE_ID,
+                                                                        "alias",
+                                                                        releaseId,
+                                                                        "process",
+                                                                        loader);
+
+        assertEquals("String",
+                     variables.get("var"));
+        verify(loader,
+               times(2)).get();
+
+        cache.invalidate(SERVER_TEMPLATE_ID);
+
+        assertEquals(0,
+                     cache.size());
+    }
+
+    @Test
+    public void testInvalidateOnServerTemplateEvents() {
+        final ServerTemplate serverTemplate = new ServerTemplate(SERVER_TEMPLATE_ID,
+                                                                 "name");
+        cache.getProcess(SERVER_TEMPLATE_ID,
+                         "container",
+                         releaseId,
+                         "process",
+                         ProcessSummary::new);
+        cache.getProcessDiagram(SERVER_TEMPLATE_ID,
+                                "container",
+                                releaseId,
+                                "process",
+                                () -> "<svg/>");
+        cache.getProcess("anotherServerTemplateId",
+                         "container",
+                         releaseId,
+                         "process",
+                         ProcessSummary::new);
+
+        cache.onContainerSpecUpdated(new ContainerSpecUpdated(serverTemplate,
+                                                              null,
+                                                              null));
+
+        assertEquals(1,
+                     cache.size());
+        assertEquals(0,
+                     cache.getDiagramsLength());
+
+        cache.onServerTemplateDeleted(new ServerTemplateDeleted("anotherServerTemplateId"));
+
+        assertEquals(0,
+                     cache.size());
+    }
+
+    @Test
+    public void testValueLoadedDuringInvalidationNotCached() {
+        final Supplier<ProcessSummary> loader = () -> {
+            // container updated while the definition is being loaded
+            cache.invalidate(SERVER_TEMPLATE_ID);
+            return new ProcessSummary();
+        };
+
+        assertNotNull(cache.getProcess(SERVER_TEMPLATE_ID,
+                                       "container",
+                                       releaseId,
+                                       "process",
+                                       loader));
+        cache.getProcessDiagram(SERVER_TEMPLATE_ID,
+                                "container",
+                                releaseId,
+                                "process",
+                                () -> {
+                                    cache.invalidate(SERVER_TEMPLATE_ID);
+                                    return "<svg/>";
+                                });
+
+        assertEquals(0,
+                     cache.size());
+        assertEquals(0,
+                     cache.getDiagramsLength());
+    }
+}
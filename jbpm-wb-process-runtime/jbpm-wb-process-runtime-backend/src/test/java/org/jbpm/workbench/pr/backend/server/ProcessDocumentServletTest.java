@@ -15,11 +15,16 @@
  */
 package org.jbpm.workbench.pr.backend.server;
 
+import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
 import java.text.MessageFormat;
+import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.zip.CRC32;
 import javax.servlet.ServletOutputStream;
 import javax.servlet.WriteListener;
 import javax.servlet.http.HttpServletRequest;
@@ -30,11 +35,13 @@ import ch.qos.logback.classic.Logger;
 import ch.qos.logback.classic.spi.LoggingEvent;
 import ch.qos.logback.core.Appender;
 import org.jbpm.workbench.ks.integration.KieServerIntegration;
+import org.jbpm.workbench.ks.integration.KieServerTransport;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.kie.server.api.model.instance.DocumentInstance;
+import org.kie.server.client.CredentialsProvider;
 import org.kie.server.client.DocumentServicesClient;
 import org.kie.server.client.KieServicesClient;
 import org.mockito.ArgumentCaptor;
@@ -182,6 +189,338 @@ public class ProcessDocumentServletTest {
                      new String(((ProcessDocumentServletTest.StubServletOutputStream) response.getOutputStream()).getContent()));
     }
 
+    @Test
+    public void testStreamDocument() throws Exception {
+        final HttpURLConnection connection = mock(HttpURLConnection.class);
+        when(connection.getResponseCode()).thenReturn(HttpURLConnection.HTTP_OK);
+        when(connection.getHeaderField("Content-Disposition")).thenReturn("attachment; filename=\"testdoc.properties\"");
+        when(connection.getContentLengthLong()).thenReturn(13L);
+        when(connection.getInputStream()).thenReturn(new ByteArrayInputStream("sampleContent".getBytes()));
+        final CredentialsProvider credentialsProvider = mock(CredentialsProvider.class);
+        when(credentialsProvider.getHeaderName()).thenReturn("Authorization");
+        when(credentialsProvider.getAuthorization()).thenReturn("Basic token");
+        when(kieServerIntegration.getServerClient(anyString())).thenReturn(kieServicesClient);
+        when(kieServicesClient.getServicesClient(any())).thenReturn(documentServicesClient);
+        when(documentServicesClient.getDocumentLink("AAAA-BBBB-CCCC-DDDD")).thenReturn("http://localhost:8080/documents/AAAA-BBBB-CCCC-DDDD/content");
+
+        HttpServletRequest request = mock(HttpServletRequest.class);
+        HttpServletResponse response = mock(HttpServletResponse.class);
+        when(request.getParameter("templateid")).thenReturn("kie-server-id");
+        when(request.getParameter("docid")).thenReturn("AAAA-BBBB-CCCC-DDDD");
+        StubServletOutputStream stubServletOutputStream = new StubServletOutputStream();
+        when(response.getOutputStream()).thenReturn(stubServletOutputStream);
+
+        final KieServerTransport transport = mock(KieServerTransport.class);
+        final KieServerTransport.RouteConnection routeConnection = mock(KieServerTransport.RouteConnection.class);
+        when(kieServerIntegration.getTransport()).thenReturn(transport);
+        when(transport.openConnection("kie-server-id",
+                                      "http://localhost:8080/documents/AAAA-BBBB-CCCC-DDDD/content")).thenReturn(routeConnection);
+        when(routeConnection.getConnection()).thenReturn(connection);
+
+        ProcessDocumentServlet processDocServlet = new ProcessDocumentServlet() {
+
+            @Override
+            protected CredentialsProvider getCredentialsProvider() {
+                return credentialsProvider;
+            }
+        };
+        processDocServlet.setKieServerIntegration(kieServerIntegration);
+        processDocServlet.doGet(request,
+                                response);
+
+        assertEquals("sampleContent",
+                     new String(stubServletOutputStream.getContent()));
+        verify(connection).setRequestProperty("Authorization",
+                                              "Basic token");
+        verify(response).setHeader("Content-Disposition",
+                                   "attachment; filename=\"testdoc.properties\"");
+        verify(response).setContentLengthLong(13);
+        verify(documentServicesClient,
+               never()).getDocument(anyString());
+        // the connection is given back to the transport once streamed
+        verify(routeConnection).close();
+    }
+
+    @Test
+    public void testNotModifiedAnsweredBeforeKieServer() throws Exception {
+        final HttpServletRequest request = mock(HttpServletRequest.class);
+        final HttpServletResponse response = mock(HttpServletResponse.class);
+        when(request.getParameter("templateid")).thenReturn("kie-server-id");
+        when(request.getParameter("docid")).thenReturn("AAAA-BBBB-CCCC-DDDD");
+        when(request.getParameter("version")).thenReturn("3e8-d");
+        when(request.getHeader("If-None-Match")).thenReturn(ProcessDocumentServlet.getETag(Long.toHexString(1000),
+                                                                                           13));
+
+        processDocServlet.setKieServerIntegration(kieServerIntegration);
+        processDocServlet.doGet(request,
+                                response);
+
+        verify(response).setHeader("ETag",
+                                   "\"3e8-d\"");
+        verify(response).setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+        verifyZeroInteractions(kieServerIntegration);
+    }
+
+    @Test
+    public void testStreamDocumentRangeForwarded() throws Exception {
+        final HttpURLConnection connection = mock(HttpURLConnection.class);
+        when(connection.getResponseCode()).thenReturn(HttpURLConnection.HTTP_PARTIAL);
+        when(connection.getHeaderField("Content-Range")).thenReturn("bytes 6-12/13");
+        when(connection.getContentLengthLong()).thenReturn(7L);
+        when(connection.getInputStream()).thenReturn(new ByteArrayInputStream("Content".getBytes()));
+        final KieServerTransport.RouteConnection routeConnection = mock(KieServerTransport.RouteConnection.class);
+        when(routeConnection.getConnection()).thenReturn(connection);
+        when(kieServerIntegration.getServerClient(anyString())).thenReturn(kieServicesClient);
+        when(kieServicesClient.getServicesClient(any())).thenReturn(documentServicesClient);
+        when(documentServicesClient.getDocumentLink("AAAA-BBBB-CCCC-DDDD")).thenReturn("http://localhost:8080/documents/AAAA-BBBB-CCCC-DDDD/content");
+
+        final HttpServletRequest request = mock(HttpServletRequest.class);
+        final HttpServletResponse response = mock(HttpServletResponse.class);
+        final StubServletOutputStream stubServletOutputStream = new StubServletOutputStream();
+        when(response.getOutputStream()).thenReturn(stubServletOutputStream);
+        when(request.getParameter("templateid")).thenReturn("kie-server-id");
+        when(request.getParameter("docid")).thenReturn("AAAA-BBBB-CCCC-DDDD");
+        when(request.getParameter("version")).thenReturn("3e8-d");
+        when(request.getHeader("Range")).thenReturn("bytes=6-");
+        when(request.getHeader("If-Range")).thenReturn("\"3e8-d\"");
+
+        final ProcessDocumentServlet processDocServlet = new ProcessDocumentServlet() {
+            @Override
+            protected KieServerTransport.RouteConnection openConnection(final String templateId,
+                                                                        final String link) {
+                return routeConnection;
+            }
+
+            @Override
+            protected CredentialsProvider getCredentialsProvider() {
+                return mock(CredentialsProvider.class);
+            }
+        };
+        processDocServlet.setKieServerIntegration(kieServerIntegration);
+        processDocServlet.doGet(request,
+                                response);
+
+        verify(connection).setRequestProperty("Range",
+                                              "bytes=6-");
+        assertEquals("Content",
+                     new String(stubServletOutputStream.getContent()));
+        verify(response).setHeader("ETag",
+                                   "\"3e8-d\"");
+        verify(response).setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+        verify(response).setHeader("Content-Range",
+                                   "bytes 6-12/13");
+        verify(response).setContentLengthLong(7);
+    }
+
+    @Test
+    public void testDownloadLinkWithVersion() {
+        assertEquals("jbpm/documents?templateid=kie-server-id&docid=AAAA-BBBB-CCCC-DDDD&version=3e8-d",
+                     ProcessDocumentServlet.getDownloadLink("kie-server-id",
+                                                            "AAAA-BBBB-CCCC-DDDD",
+                                                            new Date(1000),
+                                                            13));
+        assertEquals("jbpm/documents?templateid=kie-server-id&docid=AAAA-BBBB-CCCC-DDDD",
+                     ProcessDocumentServlet.getDownloadLink("kie-server-id",
+                                                            "AAAA-BBBB-CCCC-DDDD",
+                                                            null,
+                                                            13));
+    }
+
+    @Test
+    public void testRetrieveDocumentRange() throws Exception {
+        final StubServletOutputStream stubServletOutputStream = new StubServletOutputStream();
+        final HttpServletRequest request = mockDocumentRequest();
+        final HttpServletResponse response = mock(HttpServletResponse.class);
+        when(response.getOutputStream()).thenReturn(stubServletOutputStream);
+        when(request.getHeader("Range")).thenReturn("bytes=2-5");
+
+        processDocServlet.setKieServerIntegration(kieServerIntegration);
+        processDocServlet.doGet(request,
+                                response);
+
+        assertEquals("mple",
+                     new String(stubServletOutputStream.getContent()));
+        verify(response).setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+        verify(response).setHeader("Content-Range",
+                                   "bytes 2-5/13");
+        verify(response).setContentLengthLong(4);
+    }
+
+    @Test
+    public void testRetrieveDocumentSuffixRange() throws Exception {
+        final StubServletOutputStream stubServletOutputStream = new StubServletOutputStream();
+        final HttpServletRequest request = mockDocumentRequest();
+        final HttpServletResponse response = mock(HttpServletResponse.class);
+        when(response.getOutputStream()).thenReturn(stubServletOutputStream);
+        when(request.getHeader("Range")).thenReturn("bytes=-7");
+
+        processDocServlet.setKieServerIntegration(kieServerIntegration);
+        processDocServlet.doGet(request,
+                                response);
+
+        assertEquals("Content",
+                     new String(stubServletOutputStream.getContent()));
+        verify(response).setHeader("Content-Range",
+                                   "bytes 6-12/13");
+    }
+
+    @Test
+    public void testRetrieveDocumentUnsatisfiableRange() throws Exception {
+        final StubServletOutputStream stubServletOutputStream = new StubServletOutputStream();
+        final HttpServletRequest request = mockDocumentRequest();
+        final HttpServletResponse response = mock(HttpServletResponse.class);
+        when(response.getOutputStream()).thenReturn(stubServletOutputStream);
+        when(request.getHeader("Range")).thenReturn("bytes=20-");
+
+        processDocServlet.setKieServerIntegration(kieServerIntegration);
+        processDocServlet.doGet(request,
+                                response);
+
+        assertEquals(0,
+                     stubServletOutputStream.getContent().length);
+        verify(response).setStatus(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+        verify(response).setHeader("Content-Range",
+                                   "bytes */13");
+    }
+
+    @Test
+    public void testRetrieveDocumentRangeWithStaleIfRange() throws Exception {
+        final StubServletOutputStream stubServletOutputStream = new StubServletOutputStream();
+        final HttpServletRequest request = mockDocumentRequest();
+        final HttpServletResponse response = mock(HttpServletResponse.class);
+        when(response.getOutputStream()).thenReturn(stubServletOutputStream);
+        when(request.getHeader("Range")).thenReturn("bytes=2-5");
+        when(request.getHeader("If-Range")).thenReturn("\"stale\"");
+
+        processDocServlet.setKieServerIntegration(kieServerIntegration);
+        processDocServlet.doGet(request,
+                                response);
+
+        assertEquals("sampleContent",
+                     new String(stubServletOutputStream.getContent()));
+        verify(response,
+               never()).setStatus(anyInt());
+    }
+
+    @Test
+    public void testRetrieveDocumentNotModified() throws Exception {
+        final StubServletOutputStream stubServletOutputStream = new StubServletOutputStream();
+        final HttpServletRequest request = mockDocumentRequest();
+        final HttpServletResponse response = mock(HttpServletResponse.class);
+        when(response.getOutputStream()).thenReturn(stubServletOutputStream);
+        when(request.getHeader("If-None-Match")).thenReturn(ProcessDocumentServlet.getETag(Long.toHexString(1000),
+                                                                                           13));
+
+        processDocServlet.setKieServerIntegration(kieServerIntegration);
+        processDocServlet.doGet(request,
+                                response);
+
+        assertEquals(0,
+                     stubServletOutputStream.getContent().length);
+        verify(response).setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+        verify(response).setHeader("ETag",
+                                   ProcessDocumentServlet.getETag(Long.toHexString(1000),
+                                                                  13));
+    }
+
+    @Test
+    public void testRetrieveReplacedDocumentOfSameSize() throws Exception {
+        final StubServletOutputStream stubServletOutputStream = new StubServletOutputStream();
+        final HttpServletRequest request = mockDocumentRequest();
+        final HttpServletResponse response = mock(HttpServletResponse.class);
+        when(response.getOutputStream()).thenReturn(stubServletOutputStream);
+        when(request.getHeader("If-None-Match")).thenReturn(ProcessDocumentServlet.getETag(Long.toHexString(500),
+                                                                                           13));
+
+        processDocServlet.setKieServerIntegration(kieServerIntegration);
+        processDocServlet.doGet(request,
+                                response);
+
+        assertEquals("sampleContent",
+                     new String(stubServletOutputStream.getContent()));
+        verify(response,
+               never()).setStatus(anyInt());
+    }
+
+    @Test
+    public void testRetrieveDocumentWithoutLastModificationTaggedByContent() throws Exception {
+        final HttpServletRequest request = mockDocumentRequest();
+        final HttpServletResponse response = mock(HttpServletResponse.class);
+        when(response.getOutputStream()).thenReturn(new StubServletOutputStream());
+        when(documentInstance.getLastModified()).thenReturn(null);
+        final CRC32 checksum = new CRC32();
+        checksum.update("sampleContent".getBytes());
+
+        processDocServlet.setKieServerIntegration(kieServerIntegration);
+        processDocServlet.doGet(request,
+                                response);
+
+        verify(response).setHeader("ETag",
+                                   ProcessDocumentServlet.getETag(Long.toHexString(checksum.getValue()),
+                                                                  13));
+    }
+
+    @Test
+    public void testStreamDocumentNotModified() throws Exception {
+        final InputStream content = mock(InputStream.class);
+        final HttpURLConnection connection = mock(HttpURLConnection.class);
+        when(connection.getResponseCode()).thenReturn(HttpURLConnection.HTTP_OK);
+        when(connection.getContentLengthLong()).thenReturn(13L);
+        when(connection.getLastModified()).thenReturn(1000L);
+        when(connection.getInputStream()).thenReturn(content);
+        when(kieServerIntegration.getServerClient(anyString())).thenReturn(kieServicesClient);
+        when(kieServicesClient.getServicesClient(any())).thenReturn(documentServicesClient);
+        when(documentServicesClient.getDocumentLink("AAAA-BBBB-CCCC-DDDD")).thenReturn("http://localhost:8080/documents/AAAA-BBBB-CCCC-DDDD/content");
+
+        final HttpServletRequest request = mock(HttpServletRequest.class);
+        final HttpServletResponse response = mock(HttpServletResponse.class);
+        when(request.getParameter("templateid")).thenReturn("kie-server-id");
+        when(request.getParameter("docid")).thenReturn("AAAA-BBBB-CCCC-DDDD");
+        when(request.getHeader("If-None-Match")).thenReturn(ProcessDocumentServlet.getETag(Long.toHexString(1000),
+                                                                                           13));
+
+        final KieServerTransport.RouteConnection routeConnection = mock(KieServerTransport.RouteConnection.class);
+        when(routeConnection.getConnection()).thenReturn(connection);
+
+        final ProcessDocumentServlet processDocServlet = new ProcessDocumentServlet() {
+            @Override
+            protected KieServerTransport.RouteConnection openConnection(final String templateId,
+                                                                        final String link) {
+                return routeConnection;
+            }
+
+            @Override
+            protected CredentialsProvider getCredentialsProvider() {
+                return mock(CredentialsProvider.class);
+            }
+        };
+        processDocServlet.setKieServerIntegration(kieServerIntegration);
+        processDocServlet.doGet(request,
+                                response);
+
+        verify(response).setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+        verify(content,
+               never()).read(any(byte[].class),
+                             anyInt(),
+                             anyInt());
+        verify(content).close();
+        verify(routeConnection).close();
+    }
+
+    private HttpServletRequest mockDocumentRequest() {
+        when(kieServerIntegration.getServerClient(anyString())).thenReturn(kieServicesClient);
+        when(kieServicesClient.getServicesClient(any())).thenReturn(documentServicesClient);
+        when(documentServicesClient.getDocument(anyString())).thenReturn(documentInstance);
+        when(documentInstance.getName()).thenReturn("testdoc.properties");
+        when(documentInstance.getContent()).thenReturn("sampleContent".getBytes());
+        when(documentInstance.getLastModified()).thenReturn(new Date(1000));
+
+        HttpServletRequest request = mock(HttpServletRequest.class);
+        when(request.getParameter("templateid")).thenReturn("kie-server-id");
+        when(request.getParameter("docid")).thenReturn("AAAA-BBBB-CCCC-DDDD");
+        return request;
+    }
+
     protected class StubServletOutputStream extends ServletOutputStream {
 
         public ByteArrayOutputStream baos = new ByteArrayOutputStream();
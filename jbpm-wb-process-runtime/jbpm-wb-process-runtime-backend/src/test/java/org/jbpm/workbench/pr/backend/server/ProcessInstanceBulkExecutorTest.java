@@ -0,0 +1,192 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jbpm.workbench.pr.backend.server;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.jbpm.workbench.pr.model.BulkOperationResult;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import static java.util.Collections.singletonList;
+import static java.util.Collections.singletonMap;
+import static org.junit.Assert.*;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.*;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ProcessInstanceBulkExecutorTest {
+
+    private final ExecutorService threadPool = Executors.newFixedThreadPool(4);
+
+    @Mock
+    private ExecutorService executorService;
+
+    @InjectMocks
+    private ProcessInstanceBulkExecutor bulkExecutor = new ProcessInstanceBulkExecutor(2,
+                                                                                       2);
+
+    private final List<String> chunks = Collections.synchronizedList(new ArrayList<>());
+
+    private final List<String> instances = Collections.synchronizedList(new ArrayList<>());
+
+    private Map<String, List<Long>> containerInstances;
+
+    @Before
+    public void setUp() {
+        doAnswer(invocation -> {
+            threadPool.execute((Runnable) invocation.getArguments()[0]);
+            return null;
+        }).when(executorService).execute(any(Runnable.class));
+        containerInstances = new LinkedHashMap<>();
+        containerInstances.put("containerId_1",
+                               Arrays.asList(1L,
+                                             2L,
+                                             3L));
+        containerInstances.put("containerId_2",
+                               singletonList(4L));
+    }
+
+    @After
+    public void tearDown() {
+        threadPool.shutdownNow();
+    }
+
+    @Test
+    public void testChunksPerContainer() {
+        final BulkOperationResult result = bulkExecutor.execute(containerInstances,
+                                                                (container, ids) -> chunks.add(container + ids),
+                                                                (container, id) -> instances.add(container + id));
+
+        assertEquals(new HashSet<>(Arrays.asList("containerId_1[1, 2]",
+                                                 "containerId_1[3]",
+                                                 "containerId_2[4]")),
+                     new HashSet<>(chunks));
+        assertEquals(3,
+                     chunks.size());
+        assertTrue(instances.isEmpty());
+        assertEquals(new HashSet<>(Arrays.asList(1L,
+                                                 2L,
+                                                 3L,
+                                                 4L)),
+                     new HashSet<>(result.getSucceeded()));
+        assertFalse(result.hasFailures());
+    }
+
+    @Test
+    public void testFailedChunkRetriedPerInstance() {
+        final BulkOperationResult result = bulkExecutor.execute(containerInstances,
+                                                                (container, ids) -> {
+                                                                    if (ids.contains(2L) || ids.contains(4L)) {
+                                                                        throw new RuntimeException("Chunk failed");
+                                                                    }
+                                                                },
+                                                                (container, id) -> {
+                                                                    instances.add(container + id);
+                                                                    if (id == 2L) {
+                                                                        throw new RuntimeException("Process instance 2 not found");
+                                                                    }
+                                                                });
+
+        // single process instance chunks are not retried
+        assertEquals(new HashSet<>(Arrays.asList("containerId_11",
+                                                 "containerId_12")),
+                     new HashSet<>(instances));
+        assertEquals(new HashSet<>(Arrays.asList(1L,
+                                                 3L)),
+                     new HashSet<>(result.getSucceeded()));
+        assertEquals(2,
+                     result.getFailures().size());
+        assertEquals("Process instance 2 not found",
+                     result.getFailures().get(2L));
+        assertEquals("Chunk failed",
+                     result.getFailures().get(4L));
+    }
+
+    @Test
+    public void testFailedChunkNotRepeated() {
+        final BulkOperationResult result = bulkExecutor.execute(containerInstances,
+                                                                (container, ids) -> {
+                                                                    if (ids.contains(2L)) {
+                                                                        throw new RuntimeException("Chunk failed");
+                                                                    }
+                                                                });
+
+        assertEquals(new HashSet<>(Arrays.asList(3L,
+                                                 4L)),
+                     new HashSet<>(result.getSucceeded()));
+        assertEquals(2,
+                     result.getFailures().size());
+        assertEquals("Chunk failed",
+                     result.getFailures().get(1L));
+        assertEquals("Chunk failed",
+                     result.getFailures().get(2L));
+    }
+
+    @Test
+    public void testParallelismBounded() throws Exception {
+        final AtomicInteger running = new AtomicInteger();
+        final AtomicInteger maxRunning = new AtomicInteger();
+        final CountDownLatch concurrent = new CountDownLatch(2);
+        final Map<String, List<Long>> manyInstances = singletonMap("containerId",
+                                                                   Arrays.asList(1L,
+                                                                                 2L,
+                                                                                 3L,
+                                                                                 4L,
+                                                                                 5L,
+                                                                                 6L,
+                                                                                 7L,
+                                                                                 8L));
+
+        final BulkOperationResult result = bulkExecutor.execute(manyInstances,
+                                                                (container, ids) -> {
+                                                                    maxRunning.accumulateAndGet(running.incrementAndGet(),
+                                                                                                Math::max);
+                                                                    concurrent.countDown();
+                                                                    try {
+                                                                        concurrent.await(5,
+                                                                                         TimeUnit.SECONDS);
+                                                                    } catch (InterruptedException e) {
+                                                                        Thread.currentThread().interrupt();
+                                                                    }
+                                                                    running.decrementAndGet();
+                                                                },
+                                                                (container, id) -> instances.add(container + id));
+
+        assertEquals(2,
+                     maxRunning.get());
+        assertEquals(8,
+                     result.getSucceeded().size());
+        assertTrue(instances.isEmpty());
+    }
+}
@@ -65,6 +65,19 @@ public class ProcessInstanceVariableMapperTest {
         assertEquals(varType, pivs.getType());
     }
 
+    @Test
+    public void testProcessInstanceVariableMapperUnknownDate() {
+        final VariableInstance vi = VariableInstance.builder()
+                .name("variableName")
+                .processInstanceId(1L)
+                .value("variableNewValue")
+                .build();
+
+        final ProcessVariableSummary pivs = new ProcessInstanceVariableMapper(deploymentId, serverTemplateId, varType).apply(vi);
+
+        assertEquals(0, pivs.getTimestamp());
+    }
+
     @Test
     public void testProcessInstanceVariableMapperMapNull() {
         final VariableInstance vi = null;
@@ -19,6 +19,7 @@ package org.jbpm.workbench.pr.backend.server;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Date;
+import java.util.List;
 import java.util.stream.IntStream;
 
 import org.jbpm.document.Document;
@@ -26,6 +27,7 @@ import org.jbpm.workbench.common.model.PortableQueryFilter;
 import org.jbpm.workbench.common.model.QueryFilter;
 import org.jbpm.workbench.pr.backend.server.util.VariableHelper;
 import org.jbpm.workbench.pr.model.DocumentSummary;
+import org.jbpm.workbench.pr.model.ProcessInstanceKey;
 import org.jbpm.workbench.pr.model.ProcessVariableSummary;
 import org.jbpm.workbench.pr.service.ProcessVariablesService;
 import org.junit.Test;
@@ -40,6 +42,7 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @RunWith(MockitoJUnitRunner.class)
@@ -63,21 +66,31 @@ public class RemoteProcessDocumentsServiceImplTest {
                                           VariableHelper.JBPM_DOCUMENT);
     }
 
-    @Test
-    public void testGetData() {
-        PageResponse<ProcessVariableSummary> variablesResponse = new PageResponse<>();
-        variablesResponse.setPageRowList(singletonList(newDocumentVariable()));
-
-        when(processVariablesService.getData(any())).thenReturn(variablesResponse);
-
+    private QueryFilter newQueryFilter() {
         QueryFilter queryFilter = new PortableQueryFilter(0,
                                                           10,
                                                           false,
                                                           "",
                                                           "",
                                                           true);
+        queryFilter.getParams().put("serverTemplateId",
+                                    serverTemplateId);
+        queryFilter.getParams().put("deploymentId",
+                                    "containerId");
+        queryFilter.getParams().put("processInstanceId",
+                                    "1");
+        queryFilter.getParams().put("processDefId",
+                                    "processId");
+        return queryFilter;
+    }
+
+    @Test
+    public void testGetData() {
+        when(processVariablesService.getProcessVariablesByType(any(),
+                                                               any(),
+                                                               any())).thenReturn(singletonList(newDocumentVariable()));
 
-        queryFilter.getParams().put(serverTemplateId, serverTemplateId);
+        QueryFilter queryFilter = newQueryFilter();
 
         final PageResponse<DocumentSummary> response = processDocumentsService.getData(queryFilter);
 
@@ -88,26 +101,25 @@ public class RemoteProcessDocumentsServiceImplTest {
         assertTrue(response.isTotalRowSizeExact());
         assertTrue(response.isFirstPage());
         assertTrue(response.isLastPage());
+        verify(processVariablesService).getProcessVariablesByType(new ProcessInstanceKey(serverTemplateId,
+                                                                                         "containerId",
+                                                                                         1L),
+                                                                  "processId",
+                                                                  VariableHelper.JBPM_DOCUMENT);
     }
 
     @Test
     public void testGetDataPaginated() {
         int totalItems = 12;
 
-        PageResponse<ProcessVariableSummary> variablesResponse = new PageResponse<>();
-        variablesResponse.setPageRowList(new ArrayList<>());
-        IntStream.range(0, totalItems).forEach(i -> variablesResponse.getPageRowList().add(newDocumentVariable()));
+        List<ProcessVariableSummary> variables = new ArrayList<>();
+        IntStream.range(0, totalItems).forEach(i -> variables.add(newDocumentVariable()));
 
-        when(processVariablesService.getData(any())).thenReturn(variablesResponse);
-
-        QueryFilter queryFilter = new PortableQueryFilter(0,
-                                                          10,
-                                                          false,
-                                                          "",
-                                                          "",
-                                                          true);
+        when(processVariablesService.getProcessVariablesByType(any(),
+                                                               any(),
+                                                               any())).thenReturn(variables);
 
-        queryFilter.getParams().put(serverTemplateId, serverTemplateId);
+        QueryFilter queryFilter = newQueryFilter();
 
         final PageResponse<DocumentSummary> response = processDocumentsService.getData(queryFilter);
 
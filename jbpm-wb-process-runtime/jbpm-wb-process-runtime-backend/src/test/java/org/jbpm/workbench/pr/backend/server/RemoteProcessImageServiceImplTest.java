@@ -25,6 +25,7 @@ import org.kie.server.client.KieServicesClient;
 import org.kie.server.client.UIServicesClient;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.runners.MockitoJUnitRunner;
 
 import static org.junit.Assert.*;
@@ -44,6 +45,10 @@ public class RemoteProcessImageServiceImplTest {
     @Mock
     UIServicesClient uiServicesClient;
 
+    @Spy
+    ProcessDefinitionCache processDefinitionCache = new ProcessDefinitionCache(10,
+                                                                               10000);
+
     @InjectMocks
     RemoteProcessImageServiceImpl service;
 
@@ -75,6 +80,26 @@ public class RemoteProcessImageServiceImplTest {
         validateHTMLContent(service.getProcessDiagram("",
                                                       "",
                                                       ""));
+
+        verify(uiServicesClient).getProcessImage("",
+                                                 "");
+    }
+
+    @Test
+    public void testRemoveActionsFromSVG() {
+        assertNull(service.removeActionsFromSVG(null));
+        assertEquals("<svg></svg>",
+                     service.removeActionsFromSVG("<svg></svg>"));
+        assertEquals("<g  id=\"one\">",
+                     service.removeActionsFromSVG("<g onclick=\"a()\" id=\"one\">"));
+        assertEquals("<g  >",
+                     service.removeActionsFromSVG("<g onmouseover=\"a()\" onclick=\"b()\">"));
+        assertEquals("<g onclick=\"a(\n)\">",
+                     service.removeActionsFromSVG("<g onclick=\"a(\n)\">"));
+        assertEquals("<g onclick=\"a()",
+                     service.removeActionsFromSVG("<g onclick=\"a()"));
+        assertEquals("<text>Action on click</text>",
+                     service.removeActionsFromSVG("<text>Action on click</text>"));
     }
 
     @Test
@@ -17,10 +17,12 @@
 package org.jbpm.workbench.pr.backend.server;
 
 import java.lang.reflect.Method;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Date;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
 
 import org.jbpm.workbench.ks.integration.KieServerIntegration;
 import org.jbpm.workbench.pr.model.NodeInstanceSummary;
@@ -37,6 +39,7 @@ import org.jbpm.workbench.pr.service.ProcessRuntimeDataService;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.kie.server.api.model.ReleaseId;
 import org.kie.server.api.model.admin.TimerInstance;
 import org.kie.server.api.model.definition.NodeDefinition;
 import org.kie.server.api.model.definition.ProcessDefinition;
@@ -52,6 +55,7 @@ import org.kie.server.client.QueryServicesClient;
 import org.kie.server.client.admin.ProcessAdminServicesClient;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.runners.MockitoJUnitRunner;
 
 import static java.lang.String.format;
@@ -67,8 +71,10 @@ import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Matchers.anyString;
 import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
@@ -81,6 +87,7 @@ public class RemoteProcessRuntimeDataServiceImplTest {
     private final String processId = "processId";
     private final String containerId = "containerId";
     private final String serverTemplateId = "serverTemplateId";
+    private static final int NODE_INSTANCES_PAGE_SIZE = 500;
 
     @Mock
     private KieServerIntegration kieServerIntegration;
@@ -97,11 +104,22 @@ public class RemoteProcessRuntimeDataServiceImplTest {
     @Mock
     private ProcessImageService processImageService;
 
+    @Mock
+    private ExecutorService executorService;
+
+    @Spy
+    private ProcessDefinitionCache processDefinitionCache = new ProcessDefinitionCache(10,
+                                                                                       1000);
+
     @InjectMocks
     private RemoteProcessRuntimeDataServiceImpl service;
 
     @Before
     public void setup() {
+        doAnswer(invocation -> {
+            ((Runnable) invocation.getArguments()[0]).run();
+            return null;
+        }).when(executorService).execute(any(Runnable.class));
         final KieServicesClient kieServicesClient = mock(KieServicesClient.class);
         when(kieServerIntegration.getServerClient(anyString())).thenReturn(kieServicesClient);
         when(kieServicesClient.getServicesClient(QueryServicesClient.class)).thenReturn(queryServicesClient);
@@ -267,6 +285,38 @@ public class RemoteProcessRuntimeDataServiceImplTest {
         assertProcessSummary(def, summary);
     }
 
+    @Test
+    public void testGetProcessCachedByReleaseId() {
+        final ProcessDefinition def = ProcessDefinition.builder().id(processId).nodes(emptyList()).timers(emptyList()).build();
+        final ReleaseId releaseId = new ReleaseId("org.jbpm",
+                                                  "evaluation",
+                                                  "1.0");
+
+        when(processServicesClient.getProcessDefinition(any(), any())).thenReturn(def);
+        when(kieServerIntegration.getContainerReleaseId(serverTemplateId,
+                                                        containerId)).thenReturn(releaseId);
+        when(kieServerIntegration.getContainerReleaseId(serverTemplateId,
+                                                        "alias")).thenReturn(releaseId);
+
+        final ProcessSummary summary = service.getProcess(new ProcessDefinitionKey(serverTemplateId,
+                                                                                   containerId,
+                                                                                   processId));
+        assertEquals(summary,
+                     service.getProcess(new ProcessDefinitionKey(serverTemplateId,
+                                                                 "alias",
+                                                                 processId)));
+        verify(processServicesClient).getProcessDefinition(containerId,
+                                                           processId);
+
+        processDefinitionCache.invalidate(serverTemplateId);
+        service.getProcess(new ProcessDefinitionKey(serverTemplateId,
+                                                    containerId,
+                                                    processId));
+        verify(processServicesClient,
+               times(2)).getProcessDefinition(containerId,
+                                              processId);
+    }
+
     @Test
     public void testGetWorkItemByProcessInstanceId() {
         Long workItemId = 1L;
@@ -321,7 +371,7 @@ public class RemoteProcessRuntimeDataServiceImplTest {
 
         when(queryServicesClient.findCompletedNodeInstances(instanceKey.getProcessInstanceId(),
                                                             0,
-                                                            Integer.MAX_VALUE)).thenReturn(nodeInstances);
+                                                            NODE_INSTANCES_PAGE_SIZE)).thenReturn(nodeInstances);
 
         List<NodeInstanceSummary> nodes = service.getProcessInstanceCompletedNodes(instanceKey);
 
@@ -329,6 +379,37 @@ public class RemoteProcessRuntimeDataServiceImplTest {
                                                      NodeInstanceSummary.builder().withId(2l).withName(" ").withType("Split").build());
     }
 
+    @Test
+    public void testGetProcessInstanceCompletedNodesPaged() {
+        ProcessInstanceKey instanceKey = new ProcessInstanceKey(serverTemplateId,
+                                                                containerId,
+                                                                processInstanceId);
+
+        List<NodeInstance> firstPage = new ArrayList<>();
+        for (long i = 0; i < NODE_INSTANCES_PAGE_SIZE; i++) {
+            firstPage.add(NodeInstance.builder().id(i).name("name-" + i).nodeType("HumanTask").build());
+        }
+        List<NodeInstance> secondPage = singletonList(NodeInstance.builder().id(1000l).name("last").nodeType("End").build());
+
+        when(queryServicesClient.findCompletedNodeInstances(processInstanceId,
+                                                            0,
+                                                            NODE_INSTANCES_PAGE_SIZE)).thenReturn(firstPage);
+        when(queryServicesClient.findCompletedNodeInstances(processInstanceId,
+                                                            1,
+                                                            NODE_INSTANCES_PAGE_SIZE)).thenReturn(secondPage);
+
+        List<NodeInstanceSummary> nodes = service.getProcessInstanceCompletedNodes(instanceKey);
+
+        assertEquals(NODE_INSTANCES_PAGE_SIZE + 1,
+                     nodes.size());
+        assertEquals("last",
+                     nodes.get(NODE_INSTANCES_PAGE_SIZE).getName());
+        verify(queryServicesClient,
+               times(2)).findCompletedNodeInstances(any(),
+                                                    any(),
+                                                    any());
+    }
+
     @Test
     public void testGetProcessInstanceTimerInstances() {
         ProcessInstanceKey instanceKey = new ProcessInstanceKey(serverTemplateId, containerId, processInstanceId);
@@ -415,7 +496,7 @@ public class RemoteProcessRuntimeDataServiceImplTest {
         List<NodeInstance> completedNodeInstances = Arrays.asList(NodeInstance.builder().id(3l).name("name-3").nodeType("HumanTask").completed(true).build(),
                                                                   NodeInstance.builder().id(4l).name(" ").nodeType("End").completed(true).build());
 
-        when(queryServicesClient.findCompletedNodeInstances(processInstanceId, 0, Integer.MAX_VALUE)).thenReturn(completedNodeInstances);
+        when(queryServicesClient.findCompletedNodeInstances(processInstanceId, 0, NODE_INSTANCES_PAGE_SIZE)).thenReturn(completedNodeInstances);
 
         List<TimerInstance> timerInstances = Arrays.asList(TimerInstance.builder().id(1l).timerId(1l).timerName("timer1").processInstanceId(processInstanceId).repeatLimit(1).period(2l).delay(1).build(),
                                                            TimerInstance.builder().id(2l).timerId(2l).timerName("time2").processInstanceId(processInstanceId).repeatLimit(1).period(1l).delay(2).build());
@@ -454,6 +535,9 @@ public class RemoteProcessRuntimeDataServiceImplTest {
 
         assertThat(summary.getTimerInstances()).hasSize(2).containsExactly(TimerInstanceSummary.builder().withId(1l).withTimerId(1l).withName("timer1").withProcessInstanceId(processInstanceId).withRepeatLimit(1).withPeriod(2l).withDelay(1l).build(),
                                                                            TimerInstanceSummary.builder().withId(2l).withTimerId(2l).withName("time2").withProcessInstanceId(processInstanceId).withRepeatLimit(1).withPeriod(1l).withDelay(2l).build());
+
+        verify(executorService,
+               times(5)).execute(any(Runnable.class));
     }
 
     @Test
@@ -21,19 +21,27 @@ import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
+import org.jbpm.workbench.ks.integration.KieServerDataSetCache;
 import org.jbpm.workbench.ks.integration.KieServerIntegration;
+import org.jbpm.workbench.pr.events.ProcessInstancesUpdateEvent;
+import org.jbpm.workbench.pr.model.BulkOperationResult;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.kie.server.api.exception.KieServicesHttpException;
 import org.kie.server.client.KieServicesClient;
 import org.kie.server.client.ProcessServicesClient;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.runners.MockitoJUnitRunner;
 
 import static java.util.Collections.singletonList;
 import static java.util.Collections.singletonMap;
+import static org.junit.Assert.*;
+import static org.mockito.Matchers.anyLong;
 import static org.mockito.Matchers.anyString;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.*;
@@ -48,6 +56,19 @@ public class RemoteProcessServiceImplTest {
     @Mock
     private KieServerIntegration kieServerIntegration;
 
+    @Mock
+    private KieServerDataSetCache dataSetCache;
+
+    @Spy
+    private ProcessInstanceBulkExecutor bulkExecutor = new ProcessInstanceBulkExecutor(2,
+                                                                                       2) {
+        @Override
+        protected CompletableFuture<Void> runAsync(final Runnable runnable) {
+            runnable.run();
+            return CompletableFuture.completedFuture(null);
+        }
+    };
+
     @InjectMocks
     private RemoteProcessServiceImpl remoteProcessService;
 
@@ -107,6 +128,39 @@ public class RemoteProcessServiceImplTest {
         verifyNoMoreInteractions(processServicesClientMock);
     }
 
+    @Test
+    public void bulkAbortProcessInstancesTest_partialFailure() {
+        final String containerId = "containerId";
+        doThrow(new RuntimeException("Chunk failed")).when(processServicesClientMock).abortProcessInstances(containerId,
+                                                                                                          Arrays.asList(1L,
+                                                                                                                        2L));
+        // process instance 1 was aborted by the failed chunk
+        doThrow(new KieServicesHttpException("Process instance 1 not found",
+                                             404,
+                                             "url",
+                                             "")).when(processServicesClientMock).abortProcessInstance(containerId,
+                                                                                                       1L);
+        doThrow(new RuntimeException("Process instance 2 could not be aborted")).when(processServicesClientMock).abortProcessInstance(containerId,
+                                                                                                                                    2L);
+
+        final BulkOperationResult result = remoteProcessService.abortProcessInstances(SERVER_TEMPLATE_ID,
+                                                                                      singletonMap(containerId,
+                                                                                                   Arrays.asList(1L,
+                                                                                                                 2L,
+                                                                                                                 3L)));
+
+        verify(processServicesClientMock).abortProcessInstances(containerId,
+                                                                singletonList(3L));
+        verify(processServicesClientMock).abortProcessInstance(containerId,
+                                                               1L);
+        assertEquals(Arrays.asList(1L,
+                                   3L),
+                     result.getSucceeded());
+        assertEquals(singletonMap(2L,
+                                  "Process instance 2 could not be aborted"),
+                     result.getFailures());
+    }
+
     private final String signal = "signal";
 
     private final Object event = new Object();
@@ -157,14 +211,52 @@ public class RemoteProcessServiceImplTest {
                                                     processInstanceIds,
                                                     signal,
                                                     event);
-        verify(processServicesClientMock).signalProcessInstance(containerIds.get(0),
-                                                                processInstanceIds.get(0),
-                                                                signal,
-                                                                event);
-        verify(processServicesClientMock).signalProcessInstance(containerIds.get(1),
-                                                                processInstanceIds.get(1),
-                                                                signal,
-                                                                event);
+        verify(processServicesClientMock).signalProcessInstances(containerIds.get(0),
+                                                                 singletonList(processInstanceIds.get(0)),
+                                                                 signal,
+                                                                 event);
+        verify(processServicesClientMock).signalProcessInstances(containerIds.get(1),
+                                                                 singletonList(processInstanceIds.get(1)),
+                                                                 signal,
+                                                                 event);
         verifyNoMoreInteractions(processServicesClientMock);
     }
+
+    @Test
+    public void bulkSignalProcessInstancesTest_failedChunkNotRepeated() {
+        final String containerId = "containerId";
+        final List<Long> processInstanceIds = new ArrayList<>(Arrays.asList(1L,
+                                                                            2L,
+                                                                            3L));
+        doThrow(new RuntimeException("Chunk failed")).when(processServicesClientMock).signalProcessInstances(containerId,
+                                                                                                           Arrays.asList(1L,
+                                                                                                                         2L),
+                                                                                                           signal,
+                                                                                                           event);
+
+        final BulkOperationResult result = remoteProcessService.signalProcessInstances(SERVER_TEMPLATE_ID,
+                                                                                       singletonList(containerId),
+                                                                                       processInstanceIds,
+                                                                                       signal,
+                                                                                       event);
+
+        verify(processServicesClientMock,
+               never()).signalProcessInstance(anyString(),
+                                              anyLong(),
+                                              anyString(),
+                                              any());
+        assertEquals(singletonList(3L),
+                     result.getSucceeded());
+        assertEquals(2,
+                     result.getFailures().size());
+        assertEquals("Chunk failed",
+                     result.getFailures().get(1L));
+    }
+
+    @Test
+    public void testProcessInstancesUpdateEventInvalidatesDataSetCache() {
+        remoteProcessService.onProcessInstancesUpdateEvent(new ProcessInstancesUpdateEvent(1L));
+
+        verify(dataSetCache).invalidateAll();
+    }
 }
@@ -17,6 +17,7 @@
 package org.jbpm.workbench.pr.backend.server;
 
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
@@ -26,11 +27,13 @@ import org.jbpm.workbench.common.model.PortableQueryFilter;
 import org.jbpm.workbench.common.model.QueryFilter;
 import org.jbpm.workbench.ks.integration.KieServerIntegration;
 import org.jbpm.workbench.pr.backend.server.util.VariableHelper;
+import org.jbpm.workbench.pr.model.ProcessInstanceKey;
 import org.jbpm.workbench.pr.model.ProcessVariableSummary;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.kie.server.api.exception.KieServicesHttpException;
+import org.kie.server.api.model.definition.QueryFilterSpec;
 import org.kie.server.api.model.definition.VariablesDefinition;
 import org.kie.server.api.model.instance.VariableInstance;
 import org.kie.server.client.KieServicesClient;
@@ -38,11 +41,13 @@ import org.kie.server.client.ProcessServicesClient;
 import org.kie.server.client.QueryServicesClient;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.runners.MockitoJUnitRunner;
 import org.uberfire.paging.PageResponse;
 
 import static java.util.Collections.singletonList;
 import static java.util.Collections.singletonMap;
+import static org.jbpm.workbench.pr.model.ProcessInstanceDataSetConstants.*;
 import static org.junit.Assert.*;
 import static org.mockito.Mockito.*;
 
@@ -74,6 +79,10 @@ public class RemoteProcessVariablesServiceImplTest {
     @Mock
     private ProcessServicesClient processServicesClient;
 
+    @Spy
+    private ProcessDefinitionCache processDefinitionCache = new ProcessDefinitionCache(10,
+                                                                                       1000);
+
     private QueryFilter queryFilter;
 
     @InjectMocks
@@ -293,12 +302,268 @@ public class RemoteProcessVariablesServiceImplTest {
 
         final PageResponse<ProcessVariableSummary> response = processVariablesService.getData(queryFilter);
 
-        assertEquals(totalItems,
+        assertEquals(10,
+                     response.getPageRowList().size());
+        assertEquals(10,
                      response.getTotalRowSize());
         assertEquals(0,
                      response.getStartRowIndex());
-        assertTrue(response.isTotalRowSizeExact());
+        assertFalse(response.isTotalRowSizeExact());
         assertTrue(response.isFirstPage());
         assertFalse(response.isLastPage());
+
+        queryFilter.setOffset(10);
+        final PageResponse<ProcessVariableSummary> lastPage = processVariablesService.getData(queryFilter);
+
+        assertEquals(2,
+                     lastPage.getPageRowList().size());
+        assertEquals(totalItems,
+                     lastPage.getTotalRowSize());
+        assertTrue(lastPage.isTotalRowSizeExact());
+        assertTrue(lastPage.isLastPage());
+        verify(processServicesClient).getProcessVariableDefinitions(containerId,
+                                                                    processId);
+    }
+
+    @Test
+    public void testGetDataPagedOnServer() {
+        final HashMap<String, String> processDefVars = new HashMap<>();
+        processDefVars.put(var1,
+                           "");
+        processDefVars.put(var2,
+                           "");
+        when(processServicesClient.getProcessVariableDefinitions(containerId,
+                                                                 processId)).thenReturn(new VariablesDefinition(processDefVars));
+        when(queryServicesClient.query(eq(PROCESS_INSTANCE_VARIABLES_DATASET),
+                                       eq(QueryServicesClient.QUERY_MAP_RAW),
+                                       any(QueryFilterSpec.class),
+                                       anyInt(),
+                                       anyInt(),
+                                       eq(List.class))).thenReturn(singletonList(row(var1,
+                                                                                     var1_value)));
+        queryFilter.setCount(3);
+
+        final PageResponse<ProcessVariableSummary> response = processVariablesService.getData(queryFilter);
+
+        assertEquals(2,
+                     response.getPageRowList().size());
+        assertEquals(var1,
+                     response.getPageRowList().get(0).getName());
+        assertEquals(var1_value,
+                     response.getPageRowList().get(0).getNewValue());
+        assertEquals(var2,
+                     response.getPageRowList().get(1).getName());
+        assertEquals("",
+                     response.getPageRowList().get(1).getNewValue());
+        assertEquals(2,
+                     response.getTotalRowSize());
+        assertTrue(response.isTotalRowSizeExact());
+        assertTrue(response.isLastPage());
+        // assigned variables lookup, then the page of assigned variables
+        verify(queryServicesClient).query(eq(PROCESS_INSTANCE_VARIABLES_DATASET),
+                                          eq(QueryServicesClient.QUERY_MAP_RAW),
+                                          any(QueryFilterSpec.class),
+                                          eq(0),
+                                          eq(2),
+                                          eq(List.class));
+        verify(queryServicesClient).query(eq(PROCESS_INSTANCE_VARIABLES_DATASET),
+                                          eq(QueryServicesClient.QUERY_MAP_RAW),
+                                          any(QueryFilterSpec.class),
+                                          eq(0),
+                                          eq(3),
+                                          eq(List.class));
+        verify(queryServicesClient,
+               never()).findVariablesCurrentState(any());
+    }
+
+    @Test
+    public void testGetDataMergesUnassignedVariablesInOrder() {
+        final HashMap<String, String> processDefVars = new HashMap<>();
+        processDefVars.put("b",
+                           "");
+        processDefVars.put("d",
+                           "");
+        when(processServicesClient.getProcessVariableDefinitions(containerId,
+                                                                 processId)).thenReturn(new VariablesDefinition(processDefVars));
+        // both unassigned variables may precede the page, assigned ones are queried from offset 0
+        when(queryServicesClient.query(eq(PROCESS_INSTANCE_VARIABLES_DATASET),
+                                       eq(QueryServicesClient.QUERY_MAP_RAW),
+                                       any(QueryFilterSpec.class),
+                                       eq(0),
+                                       eq(4),
+                                       eq(List.class))).thenReturn(Arrays.asList(row("a",
+                                                                                     "1"),
+                                                                                 row("c",
+                                                                                     "3"),
+                                                                                 row("e",
+                                                                                     "5"),
+                                                                                 row("f",
+                                                                                     "6")));
+        queryFilter.setOffset(2);
+        queryFilter.setCount(2);
+
+        final PageResponse<ProcessVariableSummary> response = processVariablesService.getData(queryFilter);
+
+        assertEquals(2,
+                     response.getPageRowList().size());
+        assertEquals("c",
+                     response.getPageRowList().get(0).getName());
+        assertEquals("d",
+                     response.getPageRowList().get(1).getName());
+        assertEquals("",
+                     response.getPageRowList().get(1).getNewValue());
+        assertFalse(response.isTotalRowSizeExact());
+        assertFalse(response.isLastPage());
+    }
+
+    @Test
+    public void testGetDataUnalignedOffset() {
+        when(processServicesClient.getProcessVariableDefinitions(containerId,
+                                                                 processId)).thenReturn(new VariablesDefinition(Collections.emptyMap()));
+        when(queryServicesClient.query(eq(PROCESS_INSTANCE_VARIABLES_DATASET),
+                                       eq(QueryServicesClient.QUERY_MAP_RAW),
+                                       any(QueryFilterSpec.class),
+                                       eq(0),
+                                       eq(2),
+                                       eq(List.class))).thenReturn(Arrays.asList(row("a",
+                                                                                     "1"),
+                                                                                 row("b",
+                                                                                     "2")));
+        when(queryServicesClient.query(eq(PROCESS_INSTANCE_VARIABLES_DATASET),
+                                       eq(QueryServicesClient.QUERY_MAP_RAW),
+                                       any(QueryFilterSpec.class),
+                                       eq(1),
+                                       eq(2),
+                                       eq(List.class))).thenReturn(Arrays.asList(row("c",
+                                                                                     "3"),
+                                                                                 row("d",
+                                                                                     "4")));
+        queryFilter.setOffset(1);
+        queryFilter.setCount(2);
+
+        final PageResponse<ProcessVariableSummary> response = processVariablesService.getData(queryFilter);
+
+        assertEquals(2,
+                     response.getPageRowList().size());
+        assertEquals("b",
+                     response.getPageRowList().get(0).getName());
+        assertEquals("c",
+                     response.getPageRowList().get(1).getName());
+        assertEquals(3,
+                     response.getTotalRowSize());
+        assertFalse(response.isLastPage());
+    }
+
+    @Test
+    public void testGetDataSortedByTypeLoadsAllVariables() {
+        when(processServicesClient.getProcessVariableDefinitions(containerId,
+                                                                 processId)).thenReturn(new VariablesDefinition(singletonMap(var1,
+                                                                                                                             "")));
+        when(queryServicesClient.findVariablesCurrentState(any())).thenReturn(Collections.emptyList());
+        queryFilter.setOrderBy(COL_PROCESS_INSTANCE_VAR_TYPE);
+
+        final PageResponse<ProcessVariableSummary> response = processVariablesService.getData(queryFilter);
+
+        assertEquals(1,
+                     response.getTotalRowSize());
+        assertTrue(response.isTotalRowSizeExact());
+        verify(queryServicesClient).findVariablesCurrentState(Long.valueOf(processInstanceId));
+        verify(queryServicesClient,
+               never()).query(anyString(),
+                              anyString(),
+                              any(QueryFilterSpec.class),
+                              anyInt(),
+                              anyInt(),
+                              any());
+    }
+
+    @Test
+    public void testGetDataFallbackWhenQueryFails() {
+        when(processServicesClient.getProcessVariableDefinitions(containerId,
+                                                                 processId)).thenReturn(new VariablesDefinition(singletonMap(var1,
+                                                                                                                             "")));
+        when(queryServicesClient.query(anyString(),
+                                       anyString(),
+                                       any(QueryFilterSpec.class),
+                                       anyInt(),
+                                       anyInt(),
+                                       any())).thenThrow(new KieServicesHttpException());
+        when(queryServicesClient.findVariablesCurrentState(any())).thenReturn(Collections.emptyList());
+
+        final PageResponse<ProcessVariableSummary> response = processVariablesService.getData(queryFilter);
+
+        assertEquals(1,
+                     response.getTotalRowSize());
+        assertTrue(response.isLastPage());
+        // definitions are loaded only once
+        verify(processServicesClient).getProcessVariableDefinitions(containerId,
+                                                                    processId);
+    }
+
+    @Test
+    public void testToDate() {
+        final Date date = new Date();
+
+        assertEquals(date,
+                     RemoteProcessVariablesServiceImpl.toDate(date));
+        assertEquals(date,
+                     RemoteProcessVariablesServiceImpl.toDate(date.getTime()));
+        assertNull(RemoteProcessVariablesServiceImpl.toDate(null));
+        assertNull(RemoteProcessVariablesServiceImpl.toDate("unknown"));
+    }
+
+    @Test
+    public void testGetProcessVariablesByType() {
+        final HashMap<String, String> processDefVars = new HashMap<>();
+        processDefVars.put(var1,
+                           "");
+        processDefVars.put(doc,
+                           VariableHelper.JBPM_DOCUMENT);
+        when(processServicesClient.getProcessVariableDefinitions(containerId,
+                                                                 processId)).thenReturn(new VariablesDefinition(processDefVars));
+        when(queryServicesClient.query(eq(PROCESS_INSTANCE_VARIABLES_DATASET),
+                                       eq(QueryServicesClient.QUERY_MAP_RAW),
+                                       any(QueryFilterSpec.class),
+                                       eq(0),
+                                       eq(1),
+                                       eq(List.class))).thenReturn(singletonList(row(doc,
+                                                                                     docValue)));
+
+        final List<ProcessVariableSummary> documents = processVariablesService.getProcessVariablesByType(new ProcessInstanceKey(serverTemplateId,
+                                                                                                                                containerId,
+                                                                                                                                Long.valueOf(processInstanceId)),
+                                                                                                         processId,
+                                                                                                         VariableHelper.JBPM_DOCUMENT);
+
+        assertEquals(1,
+                     documents.size());
+        assertEquals(doc,
+                     documents.get(0).getName());
+        assertEquals(docValue,
+                     documents.get(0).getNewValue());
+        assertEquals(VariableHelper.JBPM_DOCUMENT,
+                     documents.get(0).getType());
+    }
+
+    @Test
+    public void testGetProcessVariablesByTypeWithoutDefinitions() {
+        when(processServicesClient.getProcessVariableDefinitions(containerId,
+                                                                 processId)).thenThrow(new KieServicesHttpException());
+
+        assertTrue(processVariablesService.getProcessVariablesByType(new ProcessInstanceKey(serverTemplateId,
+                                                                                            containerId,
+                                                                                            Long.valueOf(processInstanceId)),
+                                                                     processId,
+                                                                     VariableHelper.JBPM_DOCUMENT).isEmpty());
+        verifyZeroInteractions(queryServicesClient);
+    }
+
+    private List<Object> row(final String name,
+                             final String value) {
+        return Arrays.asList(Long.valueOf(processInstanceId),
+                             name,
+                             value,
+                             "",
+                             new Date().getTime());
     }
 }
\ No newline at end of file
@@ -20,15 +20,12 @@ import java.util.Arrays;
 import java.util.List;
 import javax.enterprise.context.Dependent;
 
-import org.dashbuilder.dataset.sort.SortOrder;
 import org.jbpm.workbench.df.client.filter.FilterSettings;
-import org.jbpm.workbench.df.client.filter.FilterSettingsBuilderHelper;
 import org.jbpm.workbench.df.client.filter.FilterSettingsManagerImpl;
 import org.jbpm.workbench.pr.client.resources.i18n.Constants;
 import org.kie.api.runtime.process.ProcessInstance;
 
 import static org.dashbuilder.dataset.filter.FilterFactory.equalsTo;
-import static org.dashbuilder.dataset.filter.FilterFactory.in;
 import static org.jbpm.workbench.pr.model.ProcessInstanceDataSetConstants.*;
 
 @Dependent
@@ -83,39 +80,4 @@ public class ProcessInstanceListFilterSettingsManager extends FilterSettingsMana
                                      constants.FilterAborted())
         );
     }
-
-    @Override
-    public FilterSettings getVariablesFilterSettings(final List<Long> processIds) {
-        FilterSettingsBuilderHelper builder = FilterSettingsBuilderHelper.init();
-        builder.initBuilder();
-
-        builder.dataset(PROCESS_INSTANCE_WITH_VARIABLES_DATASET);
-        builder.filter(in(PROCESS_INSTANCE_ID,
-                          processIds));
-
-        builder.setColumn(PROCESS_INSTANCE_ID,
-                          "processInstanceId");
-        builder.setColumn(PROCESS_NAME,
-                          "processName");
-        builder.setColumn(VARIABLE_ID,
-                          "variableID");
-        builder.setColumn(VARIABLE_NAME,
-                          "variableName");
-        builder.setColumn(VARIABLE_VALUE,
-                          "variableValue");
-
-        builder.filterOn(true,
-                         true,
-                         true);
-        builder.tableOrderEnabled(true);
-        builder.tableOrderDefault(PROCESS_INSTANCE_ID,
-                                  SortOrder.ASCENDING);
-
-        FilterSettings varTableSettings = builder.buildSettings();
-        varTableSettings.setTablePageSize(-1);
-        varTableSettings.setTableName("Filtered");
-        varTableSettings.setTableDescription("Filtered Desc");
-
-        return varTableSettings;
-    }
 }
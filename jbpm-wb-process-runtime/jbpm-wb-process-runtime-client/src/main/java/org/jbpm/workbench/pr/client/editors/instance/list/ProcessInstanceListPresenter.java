@@ -25,12 +25,13 @@ import javax.enterprise.event.Event;
 import javax.enterprise.event.Observes;
 import javax.inject.Inject;
 
+import org.dashbuilder.dataset.DataColumn;
 import org.dashbuilder.dataset.DataSet;
 import org.dashbuilder.dataset.DataSetOp;
 import org.dashbuilder.dataset.DataSetOpType;
 import org.dashbuilder.dataset.client.DataSetReadyCallback;
 import org.dashbuilder.dataset.filter.*;
-import org.dashbuilder.dataset.sort.SortOrder;
+import org.jboss.errai.bus.client.api.messaging.Message;
 import org.jboss.errai.common.client.api.Caller;
 import org.jbpm.workbench.common.client.filters.active.ActiveFilterItem;
 import org.jbpm.workbench.common.client.list.AbstractMultiGridPresenter;
@@ -40,12 +41,14 @@ import org.jbpm.workbench.common.client.menu.RefreshMenuBuilder;
 import org.jbpm.workbench.df.client.filter.FilterSettings;
 import org.jbpm.workbench.df.client.list.DataSetQueryHelper;
 import org.jbpm.workbench.forms.client.display.process.QuickNewProcessInstancePopup;
+import org.jbpm.workbench.ks.integration.RemoteDataSetDef;
 import org.jbpm.workbench.pr.client.editors.instance.signal.ProcessInstanceSignalPresenter;
 import org.jbpm.workbench.pr.client.resources.i18n.Constants;
 import org.jbpm.workbench.pr.client.util.ProcessInstanceStatusUtils;
 import org.jbpm.workbench.pr.events.NewProcessInstanceEvent;
 import org.jbpm.workbench.pr.events.ProcessInstanceSelectionEvent;
 import org.jbpm.workbench.pr.events.ProcessInstancesUpdateEvent;
+import org.jbpm.workbench.pr.model.BulkOperationResult;
 import org.jbpm.workbench.pr.model.ProcessInstanceKey;
 import org.jbpm.workbench.pr.model.ProcessInstanceSummary;
 import org.jbpm.workbench.pr.service.ProcessService;
@@ -61,21 +64,25 @@ import org.uberfire.workbench.model.menu.Menus;
 import static org.dashbuilder.dataset.filter.FilterFactory.equalsTo;
 import static org.jbpm.workbench.common.client.PerspectiveIds.*;
 import static org.jbpm.workbench.common.client.util.DataSetUtils.*;
+import static org.jbpm.workbench.ks.integration.RemoteDataSetDef.VARIABLE_COLUMN_PREFIX;
 import static org.jbpm.workbench.pr.model.ProcessInstanceDataSetConstants.*;
 
 @Dependent
 @WorkbenchScreen(identifier = PROCESS_INSTANCE_LIST_SCREEN)
 public class ProcessInstanceListPresenter extends AbstractMultiGridPresenter<ProcessInstanceSummary, ProcessInstanceListPresenter.ProcessInstanceListView> {
 
+    // process instances aborted per request, so that large selections report progress instead of timing out
+    public static final int BULK_ABORT_BATCH_SIZE = 500;
+
+    // process instance ids listed when reporting failures
+    protected static final int MAX_REPORTED_FAILURES = 10;
+
     protected final List<ProcessInstanceSummary> myProcessInstancesFromDataSet = new ArrayList<ProcessInstanceSummary>();
 
     private final Constants constants = Constants.INSTANCE;
 
     private final org.jbpm.workbench.common.client.resources.i18n.Constants commonConstants = org.jbpm.workbench.common.client.resources.i18n.Constants.INSTANCE;
 
-    @Inject
-    private DataSetQueryHelper dataSetQueryHelperDomainSpecific;
-
     @Inject
     private QuickNewProcessInstancePopup newProcessInstancePopup;
 
@@ -101,44 +108,6 @@ public class ProcessInstanceListPresenter extends AbstractMultiGridPresenter<Pro
                               PROCESS_INSTANCE_DETAILS_SCREEN);
     }
 
-    protected DataSetReadyCallback createDataSetDomainSpecificCallback(final int startRange,
-                                                                       final FilterSettings tableSettings,
-                                                                       boolean lastPage) {
-        return errorHandlerBuilder.get().withUUID(tableSettings.getUUID()).withDataSetCallback(
-                dataSet -> {
-                    Set<String> columns = new HashSet<String>();
-                    for (int i = 0; i < dataSet.getRowCount(); i++) {
-                        Long processInstanceId = getColumnLongValue(dataSet,
-                                                                    PROCESS_INSTANCE_ID,
-                                                                    i);
-                        String variableName = getColumnStringValue(dataSet,
-                                                                   VARIABLE_NAME,
-                                                                   i);
-                        String variableValue = getColumnStringValue(dataSet,
-                                                                    VARIABLE_VALUE,
-                                                                    i);
-
-                        for (ProcessInstanceSummary pis : myProcessInstancesFromDataSet) {
-                            String initiator = pis.getInitiator();
-                            if (pis.getProcessInstanceId().equals(processInstanceId) && !filterInitiator(variableName,
-                                                                                                         variableValue,
-                                                                                                         initiator)) {
-                                pis.addDomainData(variableName,
-                                                  variableValue);
-                                columns.add(variableName);
-                            }
-                        }
-                    }
-                    view.addDomainSpecifColumns(columns);
-
-                    updateDataOnCallback(myProcessInstancesFromDataSet,
-                                         startRange,
-                                         startRange + myProcessInstancesFromDataSet.size(),
-                                         lastPage);
-                })
-                .withEmptyResultsCallback(() -> setEmptyResults());
-    }
-
     protected boolean filterInitiator(String variableName,
                                       String variableValue,
                                       String initiator) {
@@ -165,15 +134,13 @@ public class ProcessInstanceListPresenter extends AbstractMultiGridPresenter<Pro
 
                         final String filterValue = isFilteredByProcessId(tableSettings.getDataSetLookup().getOperationList());
                         if (filterValue != null) {
-                            getDomainSpecifDataForProcessInstances(startRange,
-                                                                   myProcessInstancesFromDataSet,
-                                                                   lastPage);
-                        } else {
-                            updateDataOnCallback(myProcessInstancesFromDataSet,
-                                                 startRange,
-                                                 startRange + myProcessInstancesFromDataSet.size(),
-                                                 lastPage);
+                            view.addDomainSpecifColumns(addDomainSpecifData(dataSet,
+                                                                            myProcessInstancesFromDataSet));
                         }
+                        updatePageOnCallback(myProcessInstancesFromDataSet,
+                                             startRange,
+                                             lastPage,
+                                             dataSet.getRowCountNonTrimmed());
                     }
                     view.hideBusyIndicator();
                 })
@@ -218,22 +185,48 @@ public class ProcessInstanceListPresenter extends AbstractMultiGridPresenter<Pro
         return null;
     }
 
-    public void getDomainSpecifDataForProcessInstances(final Integer startRange,
-                                                       final List<ProcessInstanceSummary> instancesFromDataSet,
-                                                       final Boolean lastPage) {
-        List<Long> processIds = instancesFromDataSet.stream().map(t -> t.getId()).collect(Collectors.toList());
-        FilterSettings variablesTableSettings = filterSettingsManager.getVariablesFilterSettings(processIds);
-        variablesTableSettings.setServerTemplateId(getSelectedServerTemplate());
-        variablesTableSettings.setTablePageSize(-1);
+    /**
+     * Instances filtered by process id are looked up along with one column per process variable, see
+     * {@link RemoteDataSetDef#PROCESS_VARIABLES_QUERY_TARGET}.
+     */
+    @Override
+    protected void setDataSetHandler(final FilterSettings tableSettings) {
+        if (isFilteredByProcessId(tableSettings.getDataSetLookup().getOperationList()) != null) {
+            getDataSetQueryHelper().setDataSetHandler(tableSettings,
+                                                      PROCESS_INSTANCE_WITH_VARIABLE_COLUMNS_DATASET);
+        } else {
+            super.setDataSetHandler(tableSettings);
+        }
+    }
 
-        dataSetQueryHelperDomainSpecific.setDataSetHandler(variablesTableSettings);
-        dataSetQueryHelperDomainSpecific.setCurrentTableSettings(variablesTableSettings);
-        dataSetQueryHelperDomainSpecific.setLastOrderedColumn(PROCESS_INSTANCE_ID);
-        dataSetQueryHelperDomainSpecific.setLastSortOrder(SortOrder.ASCENDING);
-        dataSetQueryHelperDomainSpecific.lookupDataSet(0,
-                                                       createDataSetDomainSpecificCallback(startRange,
-                                                                                           variablesTableSettings,
-                                                                                           lastPage));
+    /**
+     * @return names of the variables added to at least one of the instances
+     */
+    protected Set<String> addDomainSpecifData(final DataSet dataSet,
+                                              final List<ProcessInstanceSummary> instancesFromDataSet) {
+        final Set<String> columns = new HashSet<>();
+        for (DataColumn column : dataSet.getColumns()) {
+            if (!column.getId().startsWith(VARIABLE_COLUMN_PREFIX)) {
+                continue;
+            }
+            final String variableName = column.getId().substring(VARIABLE_COLUMN_PREFIX.length());
+            for (int i = 0; i < instancesFromDataSet.size(); i++) {
+                final Object value = column.getValues().get(i);
+                if (value == null) {
+                    continue;
+                }
+                final ProcessInstanceSummary pis = instancesFromDataSet.get(i);
+                final String variableValue = value.toString();
+                if (!filterInitiator(variableName,
+                                     variableValue,
+                                     pis.getInitiator())) {
+                    pis.addDomainData(variableName,
+                                      variableValue);
+                    columns.add(variableName);
+                }
+            }
+        }
+        return columns;
     }
 
     protected ProcessInstanceSummary createProcessInstanceSummaryFromDataSet(DataSet dataSet,
@@ -308,8 +301,78 @@ public class ProcessInstanceListPresenter extends AbstractMultiGridPresenter<Pro
     }
 
     public void abortProcessInstances(Map<String, List<Long>> containerInstances) {
-        processService.call((Void v) -> refreshGrid()).abortProcessInstances(getSelectedServerTemplate(),
-                                                                             containerInstances);
+        final List<Map<String, List<Long>>> batches = new ArrayList<>();
+        Map<String, List<Long>> batch = new HashMap<>();
+        int batchSize = 0;
+        int total = 0;
+        for (Map.Entry<String, List<Long>> entry : containerInstances.entrySet()) {
+            for (Long processInstanceId : entry.getValue()) {
+                if (batchSize == BULK_ABORT_BATCH_SIZE) {
+                    batches.add(batch);
+                    batch = new HashMap<>();
+                    batchSize = 0;
+                }
+                batch.computeIfAbsent(entry.getKey(),
+                                      key -> new ArrayList<>()).add(processInstanceId);
+                batchSize++;
+                total++;
+            }
+        }
+        if (batchSize > 0) {
+            batches.add(batch);
+        }
+        abortProcessInstances(batches,
+                              total,
+                              new BulkOperationResult());
+    }
+
+    protected void abortProcessInstances(final List<Map<String, List<Long>>> batches,
+                                         final int total,
+                                         final BulkOperationResult result) {
+        if (batches.isEmpty()) {
+            if (result.hasFailures()) {
+                view.displayNotification(constants.Aborting_Process_Instances_Failed(result.getFailures().size(),
+                                                                                     total,
+                                                                                     result.getFailures().keySet().stream()
+                                                                                             .limit(MAX_REPORTED_FAILURES)
+                                                                                             .map(String::valueOf)
+                                                                                             .collect(Collectors.joining(","))));
+            }
+            refreshGrid();
+            return;
+        }
+        final Map<String, List<Long>> batch = batches.get(0);
+        processService.call((BulkOperationResult batchResult) -> {
+                                result.addAll(batchResult);
+                                abortRemainingProcessInstances(batches,
+                                                               total,
+                                                               result);
+                            },
+                            (Message message, Throwable throwable) -> {
+                                // the whole batch is reported as failed, the remaining batches are still aborted
+                                batch.values().forEach(processInstanceIds -> processInstanceIds.forEach(
+                                        processInstanceId -> result.addFailure(processInstanceId,
+                                                                               throwable == null ? null : throwable.getMessage())));
+                                abortRemainingProcessInstances(batches,
+                                                               total,
+                                                               result);
+                                return false;
+                            }).abortProcessInstances(getSelectedServerTemplate(),
+                                                     batch);
+    }
+
+    private void abortRemainingProcessInstances(final List<Map<String, List<Long>>> batches,
+                                                final int total,
+                                                final BulkOperationResult result) {
+        final List<Map<String, List<Long>>> remaining = batches.subList(1,
+                                                                        batches.size());
+        if (!remaining.isEmpty()) {
+            view.displayNotification(constants.Aborting_Process_Instances_Progress(result.size(),
+                                                                                   total));
+        }
+        abortProcessInstances(remaining,
+                              total,
+                              result);
     }
 
     public void bulkSignal(List<ProcessInstanceSummary> processInstances) {
@@ -358,9 +421,12 @@ public class ProcessInstanceListPresenter extends AbstractMultiGridPresenter<Pro
                 continue;
             }
             containerInstances.computeIfAbsent(selected.getDeploymentId(), key -> new ArrayList<>()).add(selected.getProcessInstanceId());
-            view.displayNotification(constants.Aborting_Process_Instance(selected.getId()));
         }
         if (containerInstances.size() > 0) {
+            final int count = containerInstances.values().stream().mapToInt(List::size).sum();
+            view.displayNotification(count == 1 ?
+                                             constants.Aborting_Process_Instance(containerInstances.values().iterator().next().get(0)) :
+                                             constants.Aborting_Process_Instances(count));
             abortProcessInstances(containerInstances);
         }
     }
@@ -414,6 +480,15 @@ public class ProcessInstanceListPresenter extends AbstractMultiGridPresenter<Pro
         super.setFilterSettingsManager(filterSettingsManager);
     }
 
+    @Inject
+    @Override
+    public void setDataSetQueryHelper(final DataSetQueryHelper dataSetQueryHelper) {
+        super.setDataSetQueryHelper(dataSetQueryHelper);
+        dataSetQueryHelper.setKeysetPagination(COLUMN_PROCESS_INSTANCE_ID,
+                                               COLUMN_PROCESS_INSTANCE_ID,
+                                               COLUMN_START);
+    }
+
     @Inject
     public void setProcessService(final Caller<ProcessService> processService) {
         this.processService = processService;
@@ -20,7 +20,6 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.Date;
 import java.util.List;
-import java.util.stream.Collectors;
 import javax.annotation.PostConstruct;
 import javax.enterprise.context.Dependent;
 import javax.inject.Inject;
@@ -52,6 +51,8 @@ import static org.jbpm.workbench.pr.model.ProcessInstanceLogDataSetConstants.COL
 public class ProcessInstanceLogPresenter extends AbstractMultiGridPresenter<ProcessInstanceLogSummary, ProcessInstanceLogPresenter.ProcessInstanceLogView> implements ProcessInstanceSummaryAware {
 
     public static final int PAGE_SIZE = 10;
+    // logs kept in the view, the ones scrolled out of this window are removed and rendered again when scrolled back to
+    public static final int MAX_RENDERED_LOGS = 10 * PAGE_SIZE;
     private Constants constants = Constants.INSTANCE;
 
     @Inject
@@ -67,6 +68,15 @@ public class ProcessInstanceLogPresenter extends AbstractMultiGridPresenter<Proc
 
     List<ProcessInstanceLogSummary> visibleLogs = new ArrayList<ProcessInstanceLogSummary>();
 
+    // range of visibleLogs rendered in the view
+    private int renderedFrom = 0;
+
+    private int renderedTo = 0;
+
+    private boolean allLogsLoaded = false;
+
+    private boolean loading = false;
+
     public int getPageSize() {
         return PAGE_SIZE;
     }
@@ -124,40 +134,122 @@ public class ProcessInstanceLogPresenter extends AbstractMultiGridPresenter<Proc
             currentTableSettings.setTablePageSize(getPageSize());
             logsDataSetQueryHelper.setCurrentTableSettings(currentTableSettings);
             logsDataSetQueryHelper.setDataSetHandler(currentTableSettings);
+            loading = true;
             logsDataSetQueryHelper.lookupDataSet(
                     currentPage * getPageSize(),
                     errorHandlerBuilder.get().withUUID(currentTableSettings.getUUID()).withDataSetCallback(
                             dataSet -> {
+                                loading = false;
                                 if (dataSet != null && logsDataSetQueryHelper.getCurrentTableSettings().getKey().equals(currentTableSettings.getKey())) {
                                     List<ProcessInstanceLogSummary> logs = new ArrayList<ProcessInstanceLogSummary>();
                                     for (int i = 0; i < dataSet.getRowCount(); i++) {
                                         logs.add(new ProcessInstanceLogSummaryDataSetMapper().apply(dataSet,
                                                                                                     i));
                                     }
+                                    allLogsLoaded = logs.size() < PAGE_SIZE;
                                     if (currentPage == 0) {
-                                        visibleLogs = new ArrayList();
+                                        visibleLogs = new ArrayList<ProcessInstanceLogSummary>(logs);
+                                        renderedFrom = 0;
+                                        renderedTo = logs.size();
+                                        view.setLogsList(new ArrayList<ProcessInstanceLogSummary>(logs));
+                                    } else {
+                                        visibleLogs.addAll(logs);
+                                        renderLogs(Math.max(renderedFrom,
+                                                            visibleLogs.size() - MAX_RENDERED_LOGS),
+                                                   visibleLogs.size());
                                     }
-                                    visibleLogs.addAll(logs);
-                                    view.hideLoadButton(logs.size() < PAGE_SIZE);
-                                    view.setLogsList(visibleLogs.stream().collect(Collectors.toList()));
+                                    updateLoadButton();
                                 }
                             })
                             .withEmptyResultsCallback(() -> {
+                                loading = false;
                                 currentPage = 0;
+                                visibleLogs = new ArrayList<ProcessInstanceLogSummary>();
+                                renderedFrom = 0;
+                                renderedTo = 0;
+                                allLogsLoaded = true;
                                 view.hideLoadButton(false);
                                 view.setLogsList(Collections.emptyList());
                             })
             );
         } catch (Exception e) {
+            loading = false;
             errorCallback.error(e);
         }
     }
 
     public void loadMoreProcessInstanceLogs() {
+        if (renderedTo < visibleLogs.size()) {
+            showNextLogs();
+            return;
+        }
         setCurrentPage(currentPage + 1);
         loadProcessInstanceLogs();
     }
 
+    /**
+     * Called by the view while the end of the logs is scrolled into sight. Logs already loaded are rendered again,
+     * otherwise the next page is fetched before the user reaches the end.
+     */
+    public void onScrolledToEnd() {
+        if (renderedTo < visibleLogs.size()) {
+            showNextLogs();
+        } else if (!allLogsLoaded && !loading) {
+            loadMoreProcessInstanceLogs();
+        }
+    }
+
+    /**
+     * Called by the view while the start of the logs is scrolled into sight, renders back the previous page of logs.
+     */
+    public void onScrolledToStart() {
+        if (renderedFrom > 0) {
+            final int from = Math.max(0,
+                                      renderedFrom - PAGE_SIZE);
+            renderLogs(from,
+                       Math.min(renderedTo,
+                                from + MAX_RENDERED_LOGS));
+            updateLoadButton();
+        }
+    }
+
+    private void showNextLogs() {
+        final int to = Math.min(visibleLogs.size(),
+                                renderedTo + PAGE_SIZE);
+        renderLogs(Math.max(renderedFrom,
+                            to - MAX_RENDERED_LOGS),
+                   to);
+        updateLoadButton();
+    }
+
+    /**
+     * Moves the window of rendered logs, only the logs entering or leaving the window are added to or removed from the
+     * view. Windows are expected to overlap, as they move by one page at most.
+     */
+    private void renderLogs(final int from,
+                            final int to) {
+        if (from > renderedFrom) {
+            view.removeFirstLogs(from - renderedFrom);
+        }
+        if (to < renderedTo) {
+            view.removeLastLogs(renderedTo - to);
+        }
+        if (from < renderedFrom) {
+            view.prependLogs(new ArrayList<ProcessInstanceLogSummary>(visibleLogs.subList(from,
+                                                                                          renderedFrom)));
+        }
+        if (to > renderedTo) {
+            view.appendLogs(new ArrayList<ProcessInstanceLogSummary>(visibleLogs.subList(renderedTo,
+                                                                                         to)));
+        }
+        renderedFrom = from;
+        renderedTo = to;
+    }
+
+    private void updateLoadButton() {
+        view.hideLoadButton(allLogsLoaded && renderedTo == visibleLogs.size());
+    }
+
     public void loadTaskDetails(Long workItemId,
                                 final Date logDate,
                                 ProcessInstanceLogItemDetailsView workItemView) {
@@ -195,6 +287,7 @@ public class ProcessInstanceLogPresenter extends AbstractMultiGridPresenter<Proc
 
     public void refreshGrid() {
         currentPage = 0;
+        loading = false;
         loadProcessInstanceLogs();
     }
 
@@ -270,6 +363,14 @@ public class ProcessInstanceLogPresenter extends AbstractMultiGridPresenter<Proc
 
         void setLogsList(final List<ProcessInstanceLogSummary> processInstanceLogSummaries);
 
+        void appendLogs(final List<ProcessInstanceLogSummary> processInstanceLogSummaries);
+
+        void prependLogs(final List<ProcessInstanceLogSummary> processInstanceLogSummaries);
+
+        void removeFirstLogs(int count);
+
+        void removeLastLogs(int count);
+
         void hideLoadButton(boolean hidden);
     }
 }
\ No newline at end of file
@@ -21,11 +21,18 @@ import java.util.List;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 
+import javax.annotation.PreDestroy;
 import javax.enterprise.context.Dependent;
 import javax.inject.Inject;
 
+import com.google.gwt.user.client.Window;
+import elemental2.dom.DomGlobal;
+import elemental2.dom.Element;
+import elemental2.dom.Event;
+import elemental2.dom.EventListener;
 import org.gwtbootstrap3.client.ui.Button;
 
+import org.jboss.errai.common.client.dom.DOMClientRect;
 import org.jboss.errai.common.client.dom.Div;
 import org.jboss.errai.common.client.dom.MouseEvent;
 import org.jboss.errai.databinding.client.api.DataBinder;
@@ -52,6 +59,9 @@ import static org.jboss.errai.common.client.dom.DOMUtil.removeCSSClass;
 public class ProcessInstanceLogViewImpl extends AbstractMultiGridView<ProcessInstanceLogSummary, ProcessInstanceLogPresenter>
         implements ProcessInstanceLogPresenter.ProcessInstanceLogView {
 
+    // distance in pixels to the start or the end of the logs at which more logs are rendered or fetched
+    private static final int SCROLL_THRESHOLD = 300;
+
     @Inject
     @DataField("logFilters")
     private Div logFilters;
@@ -88,11 +98,73 @@ public class ProcessInstanceLogViewImpl extends AbstractMultiGridView<ProcessIns
     @DataField("empty-list-item")
     private Div emptyContainer;
 
+    private final EventListener scrollListener = this::onScrollEvent;
+
+    // element scrolled last, scrolled back as logs are added or removed above the ones in sight
+    private Element scrollContainer;
+
+    private boolean scrollPending = false;
+
     @Override
     public void init(final ProcessInstanceLogPresenter presenter) {
         super.init(presenter);
         logs.addComponentCreationHandler(v -> v.init(presenter));
         logFilters.appendChild(presenter.getBasicFiltersView());
+        // captures the scroll events of any scrollable container of the logs
+        DomGlobal.document.addEventListener("scroll",
+                                            scrollListener,
+                                            true);
+    }
+
+    @PreDestroy
+    public void removeScrollListener() {
+        DomGlobal.document.removeEventListener("scroll",
+                                               scrollListener,
+                                               true);
+    }
+
+    protected void onScrollEvent(final Event event) {
+        if (!isScrolledBy(event.target)) {
+            return;
+        }
+        scrollContainer = event.target instanceof Element ? (Element) event.target : DomGlobal.document.scrollingElement;
+        // scroll events come in bursts, the logs are checked once per frame
+        if (!scrollPending) {
+            scrollPending = true;
+            DomGlobal.requestAnimationFrame(timestamp -> {
+                scrollPending = false;
+                onScroll();
+                return null;
+            });
+        }
+    }
+
+    // scroll events of containers which don't hold the logs are ignored
+    private boolean isScrolledBy(final Object target) {
+        if (target == DomGlobal.document) {
+            return true;
+        }
+        org.jboss.errai.common.client.dom.Element ancestor = logs.getElement().getParentElement();
+        while (ancestor != null) {
+            if (ancestor == target) {
+                return true;
+            }
+            ancestor = ancestor.getParentElement();
+        }
+        return false;
+    }
+
+    protected void onScroll() {
+        final DOMClientRect logsRect = logs.getElement().getBoundingClientRect();
+        if (logsRect.getHeight() == 0) {
+            // not displayed
+            return;
+        }
+        if (logsRect.getBottom() - Window.getClientHeight() < SCROLL_THRESHOLD) {
+            presenter.onScrolledToEnd();
+        } else if (logsRect.getTop() > -SCROLL_THRESHOLD) {
+            presenter.onScrolledToStart();
+        }
     }
 
     @Override
@@ -107,6 +179,48 @@ public class ProcessInstanceLogViewImpl extends AbstractMultiGridView<ProcessIns
         }
     }
 
+    @Override
+    public void appendLogs(final List<ProcessInstanceLogSummary> processInstanceLogSummaries) {
+        // the bound list only creates the components of the added logs
+        logsList.getModel().addAll(processInstanceLogSummaries);
+    }
+
+    @Override
+    public void prependLogs(final List<ProcessInstanceLogSummary> processInstanceLogSummaries) {
+        keepScrollPosition(() -> logsList.getModel().addAll(0,
+                                                            processInstanceLogSummaries));
+    }
+
+    @Override
+    public void removeFirstLogs(final int count) {
+        keepScrollPosition(() -> {
+            // removed one by one, as changes to a sub list of the bound list are not propagated to its components
+            final List<ProcessInstanceLogSummary> model = logsList.getModel();
+            for (int i = 0; i < count; i++) {
+                model.remove(0);
+            }
+        });
+    }
+
+    /**
+     * Changes the first logs, scrolling by the height they add or remove so that the logs in sight don't move.
+     */
+    protected void keepScrollPosition(final Runnable change) {
+        final double height = logs.getElement().getBoundingClientRect().getHeight();
+        change.run();
+        if (scrollContainer != null) {
+            scrollContainer.scrollTop += logs.getElement().getBoundingClientRect().getHeight() - height;
+        }
+    }
+
+    @Override
+    public void removeLastLogs(final int count) {
+        final List<ProcessInstanceLogSummary> model = logsList.getModel();
+        for (int i = 0; i < count; i++) {
+            model.remove(model.size() - 1);
+        }
+    }
+
     @Override
     public void hideLoadButton(boolean hidden) {
         loadDiv.setHidden(hidden);
@@ -19,6 +19,7 @@ package org.jbpm.workbench.pr.client.editors.instance.signal;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
+import java.util.stream.Collectors;
 import javax.enterprise.context.Dependent;
 import javax.enterprise.event.Event;
 import javax.inject.Inject;
@@ -28,6 +29,7 @@ import org.jboss.errai.common.client.api.Caller;
 import org.jboss.errai.common.client.api.RemoteCallback;
 import org.jbpm.workbench.pr.client.resources.i18n.Constants;
 import org.jbpm.workbench.pr.events.ProcessInstancesUpdateEvent;
+import org.jbpm.workbench.pr.model.BulkOperationResult;
 import org.jbpm.workbench.pr.service.ProcessService;
 import org.uberfire.client.annotations.WorkbenchPartTitle;
 import org.uberfire.client.annotations.WorkbenchPartView;
@@ -44,6 +46,9 @@ public class ProcessInstanceSignalPresenter {
 
     public static final String SIGNAL_PROCESS_POPUP = "Signal Process Popup";
 
+    // process instance ids listed when reporting failures
+    protected static final int MAX_REPORTED_FAILURES = 10;
+
     private Constants constants = GWT.create(Constants.class);
 
     @Inject
@@ -92,7 +97,15 @@ public class ProcessInstanceSignalPresenter {
             view.displayNotification(constants.Signaling_Process_Instance() + " (" + constants.Id() + " = " + processInstanceId + ") " + constants.Signal() + " = "
                                              + view.getSignalRefText() + " - " + constants.Signal_Data() + " = " + view.getEventText());
         }
-        processService.call((Void v) -> {
+        processService.call((BulkOperationResult result) -> {
+                                if (result.hasFailures()) {
+                                    view.displayNotification(constants.Signaling_Process_Instances_Failed(result.getFailures().size(),
+                                                                                                          processInstanceIds.size(),
+                                                                                                          result.getFailures().keySet().stream()
+                                                                                                                  .limit(MAX_REPORTED_FAILURES)
+                                                                                                                  .map(String::valueOf)
+                                                                                                                  .collect(Collectors.joining(","))));
+                                }
                                 processInstancesUpdatedEvent.fire(new ProcessInstancesUpdateEvent(0L));
                                 placeManager.closePlace(place);
                             }
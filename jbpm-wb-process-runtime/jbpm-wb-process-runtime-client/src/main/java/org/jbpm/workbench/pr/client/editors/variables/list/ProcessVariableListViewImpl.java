@@ -198,7 +198,7 @@ public class ProcessVariableListViewImpl extends AbstractListView<ProcessVariabl
 
             @Override
             public String getValue(ProcessVariableSummary object) {
-                return DateUtils.getDateTimeStr(new Date(object.getTimestamp()));
+                return object.getTimestamp() == 0 ? "" : DateUtils.getDateTimeStr(new Date(object.getTimestamp()));
             }
         };
         lastModificationColumn.setSortable(true);
@@ -79,12 +79,25 @@ public interface Constants extends Messages {
 
     String Aborting_Process_Instance(Object id);
 
+    String Aborting_Process_Instances(int count);
+
+    String Aborting_Process_Instances_Progress(int done,
+                                               int total);
+
+    String Aborting_Process_Instances_Failed(int failed,
+                                             int total,
+                                             String ids);
+
     String Signaling_Process_Instance();
 
     String Signal_Name_Required();
 
     String Signaling_Process_Instance_Not_Allowed(Object id);
 
+    String Signaling_Process_Instances_Failed(int failed,
+                                              int total,
+                                              String ids);
+
     String Bulk_Signal();
 
     String ProcessInstanceBreadcrumb(Long processInstanceId);
@@ -17,19 +17,22 @@ package org.jbpm.workbench.pr.client.editors.instance.list;
 
 import java.util.*;
 import java.util.function.Predicate;
+import java.util.stream.Collectors;
 
 import com.google.common.collect.Lists;
 import com.google.gwt.dev.util.collect.HashSet;
 import com.google.gwt.view.client.Range;
 import com.google.gwtmockito.GwtMockitoTestRunner;
 import org.apache.commons.lang3.StringUtils;
+import org.dashbuilder.dataset.ColumnType;
+import org.dashbuilder.dataset.DataColumn;
 import org.dashbuilder.dataset.DataSet;
 import org.dashbuilder.dataset.DataSetLookup;
 import org.dashbuilder.dataset.DataSetOp;
 import org.dashbuilder.dataset.client.DataSetReadyCallback;
 import org.dashbuilder.dataset.filter.ColumnFilter;
 import org.dashbuilder.dataset.filter.DataSetFilter;
-import org.dashbuilder.dataset.sort.SortOrder;
+import org.dashbuilder.dataset.impl.DataColumnImpl;
 import org.jboss.errai.ioc.client.api.ManagedInstance;
 import org.jboss.errai.security.shared.api.identity.User;
 import org.jbpm.workbench.common.client.PerspectiveIds;
@@ -46,6 +49,7 @@ import org.jbpm.workbench.df.client.list.DataSetQueryHelper;
 import org.jbpm.workbench.pr.client.editors.instance.signal.ProcessInstanceSignalPresenter;
 import org.jbpm.workbench.pr.client.resources.i18n.Constants;
 import org.jbpm.workbench.pr.events.ProcessInstanceSelectionEvent;
+import org.jbpm.workbench.pr.model.BulkOperationResult;
 import org.jbpm.workbench.pr.model.ProcessInstanceKey;
 import org.jbpm.workbench.pr.model.ProcessInstanceSummary;
 import org.jbpm.workbench.pr.service.ProcessService;
@@ -73,11 +77,13 @@ import org.uberfire.security.authz.AuthorizationManager;
 import org.uberfire.workbench.model.ActivityResourceType;
 
 import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
 import static java.util.Collections.singletonMap;
 import static org.dashbuilder.dataset.filter.FilterFactory.equalsTo;
 import static org.dashbuilder.dataset.filter.FilterFactory.in;
 import static org.dashbuilder.dataset.filter.FilterFactory.likeTo;
 import static org.jbpm.workbench.common.client.PerspectiveIds.*;
+import static org.jbpm.workbench.ks.integration.RemoteDataSetDef.VARIABLE_COLUMN_PREFIX;
 import static org.jbpm.workbench.pr.model.ProcessInstanceDataSetConstants.*;
 import static org.junit.Assert.*;
 import static org.kie.workbench.common.workbench.client.PerspectiveIds.EXECUTION_ERRORS;
@@ -114,9 +120,6 @@ public class ProcessInstanceListPresenterTest {
     @Mock
     private DataSet dataSetProcessVar;
 
-    @Mock
-    private DataSetQueryHelper dataSetQueryHelperDomainSpecific;
-
     @Mock
     private ListTable extendedPagedTable;
 
@@ -222,10 +225,15 @@ public class ProcessInstanceListPresenterTest {
         when(filterSettingsJSONMarshaller.fromJsonString(anyString())).thenReturn(filterSettings);
         when(dataSetQueryHelper.getCurrentTableSettings()).thenReturn(filterSettings);
         when(filterSettings.getUUID()).thenReturn(datasetUId);
-        when(filterSettingsManager.getVariablesFilterSettings(any())).thenReturn(filterSettings);
         when(serverTemplateSelectorMenuBuilder.getView()).thenReturn(mock(ServerTemplateSelectorMenuBuilder.ServerTemplateSelectorElementView.class));
         when(perspectiveManager.getCurrentPerspective()).thenReturn(perspectiveActivity);
         when(perspectiveActivity.getIdentifier()).thenReturn(PERSPECTIVE_ID);
+        when(processService.abortProcessInstances(anyString(),
+                                                  any())).thenAnswer(invocation -> {
+            final BulkOperationResult result = new BulkOperationResult();
+            ((Map<String, List<Long>>) invocation.getArguments()[1]).values().forEach(result::addSucceeded);
+            return result;
+        });
 
         doAnswer(new Answer() {
 
@@ -236,16 +244,6 @@ public class ProcessInstanceListPresenterTest {
             }
         }).when(dataSetQueryHelper).lookupDataSet(anyInt(),
                                                   any(DataSetReadyCallback.class));
-
-        doAnswer(new Answer() {
-
-            @Override
-            public Object answer(InvocationOnMock invocation) throws Throwable {
-                ((DataSetReadyCallback) invocation.getArguments()[1]).callback(dataSetProcessVar);
-                return null;
-            }
-        }).when(dataSetQueryHelperDomainSpecific).lookupDataSet(anyInt(),
-                                                                any(DataSetReadyCallback.class));
         commonConstants = org.jbpm.workbench.common.client.resources.i18n.Constants.INSTANCE;
 
         presenter.setProcessService(remoteProcessServiceCaller);
@@ -258,11 +256,11 @@ public class ProcessInstanceListPresenterTest {
         presenter.getData(new Range(0,
                                     5));
 
+        verify(dataSetQueryHelper).setDataSetHandler(filterSettings);
         verify(dataSetQueryHelper).lookupDataSet(anyInt(),
                                                  any(DataSetReadyCallback.class));
-        verify(dataSetQueryHelperDomainSpecific,
-               never()).lookupDataSet(anyInt(),
-                                      any(DataSetReadyCallback.class));
+        verify(viewMock,
+               never()).addDomainSpecifColumns(any());
         verify(viewMock,
                times(2)).hideBusyIndicator();
     }
@@ -330,6 +328,76 @@ public class ProcessInstanceListPresenterTest {
                                                      eq(containerInstance));
     }
 
+    @Test
+    public void abortProcessInstancesInBatchesTest() {
+        final List<Long> processInstanceIds = new ArrayList<>();
+        for (long id = 1; id <= ProcessInstanceListPresenter.BULK_ABORT_BATCH_SIZE + 1; id++) {
+            processInstanceIds.add(id);
+        }
+        final Map<String, List<Long>> containerInstance = singletonMap("container",
+                                                                       processInstanceIds);
+        presenter = spy(presenter);
+
+        presenter.abortProcessInstances(containerInstance);
+
+        verify(processService).abortProcessInstances(anyString(),
+                                                     eq(singletonMap("container",
+                                                                     processInstanceIds.subList(0,
+                                                                                                ProcessInstanceListPresenter.BULK_ABORT_BATCH_SIZE))));
+        verify(processService).abortProcessInstances(anyString(),
+                                                     eq(singletonMap("container",
+                                                                     singletonList((long) ProcessInstanceListPresenter.BULK_ABORT_BATCH_SIZE + 1))));
+        verify(viewMock).displayNotification(Constants.INSTANCE.Aborting_Process_Instances_Progress(ProcessInstanceListPresenter.BULK_ABORT_BATCH_SIZE,
+                                                                                                    processInstanceIds.size()));
+        verify(presenter).refreshGrid();
+    }
+
+    @Test
+    public void abortProcessInstancesPartialFailureTest() {
+        final BulkOperationResult result = new BulkOperationResult();
+        result.addSucceeded(singletonList(1L));
+        result.addFailure(2L,
+                          "Process instance 2 not found");
+        doReturn(result).when(processService).abortProcessInstances(anyString(),
+                                                                    any());
+
+        presenter.abortProcessInstances(singletonMap("container",
+                                                     Arrays.asList(1L,
+                                                                   2L)));
+
+        verify(viewMock).displayNotification(Constants.INSTANCE.Aborting_Process_Instances_Failed(1,
+                                                                                                  2,
+                                                                                                  "2"));
+    }
+
+    @Test
+    public void abortProcessInstancesFailedBatchTest() {
+        final List<Long> processInstanceIds = new ArrayList<>();
+        for (long id = 1; id <= ProcessInstanceListPresenter.BULK_ABORT_BATCH_SIZE + 1; id++) {
+            processInstanceIds.add(id);
+        }
+        final List<Long> firstBatch = processInstanceIds.subList(0,
+                                                                 ProcessInstanceListPresenter.BULK_ABORT_BATCH_SIZE);
+        doThrow(new RuntimeException("KIE Server unavailable")).when(processService).abortProcessInstances(anyString(),
+                                                                                                           eq(singletonMap("container",
+                                                                                                                           firstBatch)));
+        presenter = spy(presenter);
+
+        presenter.abortProcessInstances(singletonMap("container",
+                                                     processInstanceIds));
+
+        verify(processService).abortProcessInstances(anyString(),
+                                                     eq(singletonMap("container",
+                                                                     singletonList((long) ProcessInstanceListPresenter.BULK_ABORT_BATCH_SIZE + 1))));
+        verify(viewMock).displayNotification(Constants.INSTANCE.Aborting_Process_Instances_Failed(ProcessInstanceListPresenter.BULK_ABORT_BATCH_SIZE,
+                                                                                                  processInstanceIds.size(),
+                                                                                                  firstBatch.stream()
+                                                                                                          .limit(ProcessInstanceListPresenter.MAX_REPORTED_FAILURES)
+                                                                                                          .map(String::valueOf)
+                                                                                                          .collect(Collectors.joining(","))));
+        verify(presenter).refreshGrid();
+    }
+
     @Test
     public void bulkAbortProcessInstancesTest() {
         final Map<String, List<Long>> containerInstance = new HashMap<>();
@@ -408,23 +476,14 @@ public class ProcessInstanceListPresenterTest {
         when(dataSet.getRowCount()).thenReturn(1);//1 process instance
         when(dataSet.getValueAt(0,
                                 COLUMN_PROCESS_INSTANCE_ID)).thenReturn(Long.valueOf(1));
-
-        when(dataSetProcessVar.getRowCount()).thenReturn(2); //two domain variables associated
-        when(dataSetProcessVar.getValueAt(0,
-                                          PROCESS_INSTANCE_ID)).thenReturn(Long.valueOf(1));
         String processVariable1 = "var1";
-        when(dataSetProcessVar.getValueAt(0,
-                                          VARIABLE_NAME)).thenReturn(processVariable1);
-        when(dataSetProcessVar.getValueAt(0,
-                                          VARIABLE_VALUE)).thenReturn("value1");
-
-        when(dataSetProcessVar.getValueAt(1,
-                                          PROCESS_INSTANCE_ID)).thenReturn(Long.valueOf(1));
         String processVariable2 = "var2";
-        when(dataSetProcessVar.getValueAt(1,
-                                          VARIABLE_NAME)).thenReturn(processVariable2);
-        when(dataSetProcessVar.getValueAt(1,
-                                          VARIABLE_VALUE)).thenReturn("value2");
+        when(dataSet.getColumns()).thenReturn(asList(createColumn(COLUMN_PROCESS_INSTANCE_ID,
+                                                                  1L),
+                                                     createColumn(VARIABLE_COLUMN_PREFIX + processVariable1,
+                                                                  "value1"),
+                                                     createColumn(VARIABLE_COLUMN_PREFIX + processVariable2,
+                                                                  "value2")));
 
         Set<String> expectedColumns = new HashSet<String>();
         expectedColumns.add(processVariable1);
@@ -439,21 +498,20 @@ public class ProcessInstanceListPresenterTest {
         assertEquals(expectedColumns,
                      argument.getValue());
 
+        verify(dataSetQueryHelper).setDataSetHandler(filterSettings,
+                                                     PROCESS_INSTANCE_WITH_VARIABLE_COLUMNS_DATASET);
+        verify(dataSetQueryHelper,
+               never()).setDataSetHandler(filterSettings);
         verify(dataSetQueryHelper).lookupDataSet(anyInt(),
                                                  any(DataSetReadyCallback.class));
-        verify(dataSetQueryHelperDomainSpecific).lookupDataSet(anyInt(),
-                                                               any(DataSetReadyCallback.class));
-        verify(dataSetQueryHelperDomainSpecific).setLastOrderedColumn(PROCESS_INSTANCE_ID);
-        verify(dataSetQueryHelperDomainSpecific).setLastSortOrder(SortOrder.ASCENDING);
 
-        when(dataSetProcessVar.getRowCount()).thenReturn(1); //one domain variables associated
-        when(dataSetProcessVar.getValueAt(0,
-                                          PROCESS_INSTANCE_ID)).thenReturn(Long.valueOf(1));
         processVariable1 = "varTest1";
-        when(dataSetProcessVar.getValueAt(0,
-                                          VARIABLE_NAME)).thenReturn(processVariable1);
-        when(dataSetProcessVar.getValueAt(0,
-                                          VARIABLE_VALUE)).thenReturn("value1");
+        when(dataSet.getColumns()).thenReturn(asList(createColumn(COLUMN_PROCESS_INSTANCE_ID,
+                                                                  1L),
+                                                     createColumn(VARIABLE_COLUMN_PREFIX + processVariable1,
+                                                                  "value1"),
+                                                     createColumn(VARIABLE_COLUMN_PREFIX + "unset",
+                                                                  null)));
 
         expectedColumns = Collections.singleton(processVariable1);
 
@@ -468,9 +526,14 @@ public class ProcessInstanceListPresenterTest {
         verify(dataSetQueryHelper,
                times(2)).lookupDataSet(anyInt(),
                                        any(DataSetReadyCallback.class));
-        verify(dataSetQueryHelperDomainSpecific,
-               times(2)).lookupDataSet(anyInt(),
-                                       any(DataSetReadyCallback.class));
+    }
+
+    private DataColumn createColumn(final String columnId,
+                                    final Object value) {
+        final DataColumn column = new DataColumnImpl(columnId,
+                                                     ColumnType.LABEL);
+        column.getValues().add(value);
+        return column;
     }
 
     public ArrayList<ProcessInstanceSummary> createProcessInstanceSummaryList(int listSize) {
@@ -253,13 +253,110 @@ public class ProcessInstanceLogPresenterTest {
                      presenter.getCurrentPage());
         verify(logsDataSetQueryHelper).lookupDataSet(eq(presenter.getPageSize() * presenter.getCurrentPage()),
                                                      any());
-        verify(view,
-               times(2)).setLogsList(argumentDESC.capture());
-        assertEquals(8,
+        // only the new page is added to the view
+        verify(view).setLogsList(anyList());
+        verify(view).appendLogs(argumentDESC.capture());
+        assertEquals(4,
                      argumentDESC.getValue().size());
+        assertEquals(8,
+                     presenter.visibleLogs.size());
+    }
+
+    @Test
+    public void testRenderedLogsWindow() {
+        for (int i = pilIds.length; i < ProcessInstanceLogPresenter.PAGE_SIZE; i++) {
+            defineDatasetAnswer(i,
+                                Long.valueOf(i + 1),
+                                logDate,
+                                "",
+                                LogUtils.NODE_TYPE_START,
+                                false);
+        }
+        when(dataSet.getRowCount()).thenReturn(ProcessInstanceLogPresenter.PAGE_SIZE);
+        final int pages = ProcessInstanceLogPresenter.MAX_RENDERED_LOGS / ProcessInstanceLogPresenter.PAGE_SIZE;
+        presenter.setProcessInstance(new ProcessInstanceSummary());
+        for (int i = 1; i < pages; i++) {
+            presenter.onScrolledToEnd();
+        }
+        verify(view,
+               never()).removeFirstLogs(anyInt());
+
+        // a page beyond the window removes the first page from the view
+        presenter.onScrolledToEnd();
+
+        verify(view).removeFirstLogs(ProcessInstanceLogPresenter.PAGE_SIZE);
+        verify(view,
+               times(pages)).appendLogs(anyList());
+        assertEquals(ProcessInstanceLogPresenter.MAX_RENDERED_LOGS + ProcessInstanceLogPresenter.PAGE_SIZE,
+                     presenter.visibleLogs.size());
+
+        // scrolling back renders the first page again, without fetching it
+        presenter.onScrolledToStart();
+        presenter.onScrolledToStart();
+
+        final ArgumentCaptor<List> prepended = ArgumentCaptor.forClass(List.class);
+        verify(view).prependLogs(prepended.capture());
+        assertEquals(presenter.visibleLogs.subList(0,
+                                                   ProcessInstanceLogPresenter.PAGE_SIZE),
+                     prepended.getValue());
+        verify(view).removeLastLogs(ProcessInstanceLogPresenter.PAGE_SIZE);
+
+        // scrolling to the end renders the last page from the loaded logs, then fetches the next one
+        presenter.onScrolledToEnd();
+
+        verify(view,
+               times(pages + 1)).appendLogs(anyList());
+        verify(logsDataSetQueryHelper,
+               times(pages + 1)).lookupDataSet(anyInt(),
+                                               any());
 
+        presenter.onScrolledToEnd();
+
+        verify(logsDataSetQueryHelper).lookupDataSet(eq(ProcessInstanceLogPresenter.MAX_RENDERED_LOGS + ProcessInstanceLogPresenter.PAGE_SIZE),
+                                                     any());
+    }
+
+    @Test
+    public void testScrolledToEndAfterFailedLookup() {
+        for (int i = pilIds.length; i < ProcessInstanceLogPresenter.PAGE_SIZE; i++) {
+            defineDatasetAnswer(i,
+                                Long.valueOf(i + 1),
+                                logDate,
+                                "",
+                                LogUtils.NODE_TYPE_START,
+                                false);
+        }
+        when(dataSet.getRowCount()).thenReturn(ProcessInstanceLogPresenter.PAGE_SIZE);
+        presenter.setProcessInstance(new ProcessInstanceSummary());
+        final RuntimeException error = new RuntimeException("error");
+        doThrow(error).when(logsDataSetQueryHelper).lookupDataSet(anyInt(),
+                                                                  any(DataSetReadyCallback.class));
+
+        presenter.onScrolledToEnd();
+
+        verify(errorCallback).error(error);
+
+        // the failed lookup doesn't keep the next ones from being issued
+        presenter.onScrolledToEnd();
+
+        verify(logsDataSetQueryHelper,
+               times(3)).lookupDataSet(anyInt(),
+                                       any());
+    }
+
+    @Test
+    public void testScrolledToEndWhenAllLogsLoaded() {
+        presenter.setProcessInstance(new ProcessInstanceSummary());
+
+        presenter.onScrolledToEnd();
+        presenter.onScrolledToStart();
+
+        verify(logsDataSetQueryHelper).lookupDataSet(anyInt(),
+                                                     any());
+        verify(view,
+               never()).appendLogs(anyList());
         verify(view,
-               times(2)).setLogsList(anyList());
+               never()).prependLogs(anyList());
     }
 
     @Test
@@ -22,6 +22,7 @@ import javax.enterprise.event.Event;
 import com.google.gwtmockito.GwtMockitoTestRunner;
 import org.jbpm.workbench.pr.client.resources.i18n.Constants;
 import org.jbpm.workbench.pr.events.ProcessInstancesUpdateEvent;
+import org.jbpm.workbench.pr.model.BulkOperationResult;
 import org.jbpm.workbench.pr.service.ProcessService;
 import org.junit.Before;
 import org.junit.Test;
@@ -79,6 +80,11 @@ public class ProcessInstanceSignalPresenterTest {
                                 "")).thenReturn(PI_DEPLOYMENT_ID);
         when(place.getParameter("processInstanceId",
                                 "-1")).thenReturn(PI_ID + "");
+        when(processService.signalProcessInstances(anyString(),
+                                                   anyList(),
+                                                   anyList(),
+                                                   anyString(),
+                                                   any())).thenReturn(new BulkOperationResult());
     }
 
     @Test
@@ -117,4 +123,28 @@ public class ProcessInstanceSignalPresenterTest {
                                                       eq(signalRef),
                                                       eq(eventText));
     }
+
+    @Test
+    public void signalProcessInstancesPartialFailureTest() {
+        final BulkOperationResult result = new BulkOperationResult();
+        result.addSucceeded(Arrays.asList(PI_ID));
+        result.addFailure(PI_ID2,
+                          "Process instance 2 not found");
+        when(processService.signalProcessInstances(anyString(),
+                                                   anyList(),
+                                                   anyList(),
+                                                   anyString(),
+                                                   any())).thenReturn(result);
+        when(view.getSignalRefText()).thenReturn("SIGNAL_REF");
+
+        presenter.onStartup(place);
+        presenter.onOpen();
+        presenter.signalProcessInstances(Arrays.asList(PI_ID,
+                                                       PI_ID2));
+
+        verify(view).displayNotification(Constants.INSTANCE.Signaling_Process_Instances_Failed(1,
+                                                                                               2,
+                                                                                               String.valueOf(PI_ID2)));
+        verify(placeManager).closePlace(place);
+    }
 }